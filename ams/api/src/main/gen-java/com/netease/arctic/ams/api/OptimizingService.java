@@ -18,6 +18,8 @@ public class OptimizingService {
 
     public OptimizingTask pollTask(java.lang.String authToken, int threadId) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException;
 
+    public java.util.List<OptimizingTask> pollTasks(java.lang.String authToken, java.util.List<java.lang.Integer> threadIds, long waitTimeout) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException;
+
     public void ackTask(java.lang.String authToken, int threadId, OptimizingTaskId taskId) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException;
 
     public void completeTask(java.lang.String authToken, OptimizingTaskResult taskResult) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException;
@@ -34,6 +36,8 @@ public class OptimizingService {
 
     public void pollTask(java.lang.String authToken, int threadId, org.apache.thrift.async.AsyncMethodCallback<OptimizingTask> resultHandler) throws org.apache.thrift.TException;
 
+    public void pollTasks(java.lang.String authToken, java.util.List<java.lang.Integer> threadIds, long waitTimeout, org.apache.thrift.async.AsyncMethodCallback<java.util.List<OptimizingTask>> resultHandler) throws org.apache.thrift.TException;
+
     public void ackTask(java.lang.String authToken, int threadId, OptimizingTaskId taskId, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException;
 
     public void completeTask(java.lang.String authToken, OptimizingTaskResult taskResult, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException;
@@ -131,6 +135,34 @@ public class OptimizingService {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "pollTask failed: unknown result");
     }
 
+    public java.util.List<OptimizingTask> pollTasks(java.lang.String authToken, java.util.List<java.lang.Integer> threadIds, long waitTimeout) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException
+    {
+      send_pollTasks(authToken, threadIds, waitTimeout);
+      return recv_pollTasks();
+    }
+
+    public void send_pollTasks(java.lang.String authToken, java.util.List<java.lang.Integer> threadIds, long waitTimeout) throws org.apache.thrift.TException
+    {
+      pollTasks_args args = new pollTasks_args();
+      args.setAuthToken(authToken);
+      args.setThreadIds(threadIds);
+      args.setWaitTimeout(waitTimeout);
+      sendBase("pollTasks", args);
+    }
+
+    public java.util.List<OptimizingTask> recv_pollTasks() throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException
+    {
+      pollTasks_result result = new pollTasks_result();
+      receiveBase(result, "pollTasks");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.e1 != null) {
+        throw result.e1;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "pollTasks failed: unknown result");
+    }
+
     public void ackTask(java.lang.String authToken, int threadId, OptimizingTaskId taskId) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException
     {
       send_ackTask(authToken, threadId, taskId);
@@ -320,6 +352,44 @@ public class OptimizingService {
       }
     }
 
+    public void pollTasks(java.lang.String authToken, java.util.List<java.lang.Integer> threadIds, long waitTimeout, org.apache.thrift.async.AsyncMethodCallback<java.util.List<OptimizingTask>> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      pollTasks_call method_call = new pollTasks_call(authToken, threadIds, waitTimeout, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class pollTasks_call extends org.apache.thrift.async.TAsyncMethodCall<java.util.List<OptimizingTask>> {
+      private java.lang.String authToken;
+      private java.util.List<java.lang.Integer> threadIds;
+      private long waitTimeout;
+      public pollTasks_call(java.lang.String authToken, java.util.List<java.lang.Integer> threadIds, long waitTimeout, org.apache.thrift.async.AsyncMethodCallback<java.util.List<OptimizingTask>> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.authToken = authToken;
+        this.threadIds = threadIds;
+        this.waitTimeout = waitTimeout;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("pollTasks", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        pollTasks_args args = new pollTasks_args();
+        args.setAuthToken(authToken);
+        args.setThreadIds(threadIds);
+        args.setWaitTimeout(waitTimeout);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public java.util.List<OptimizingTask> getResult() throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new java.lang.IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_pollTasks();
+      }
+    }
+
     public void ackTask(java.lang.String authToken, int threadId, OptimizingTaskId taskId, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException {
       checkReady();
       ackTask_call method_call = new ackTask_call(authToken, threadId, taskId, resultHandler, this, ___protocolFactory, ___transport);
@@ -441,6 +511,7 @@ public class OptimizingService {
       processMap.put("ping", new ping());
       processMap.put("touch", new touch());
       processMap.put("pollTask", new pollTask());
+      processMap.put("pollTasks", new pollTasks());
       processMap.put("ackTask", new ackTask());
       processMap.put("completeTask", new completeTask());
       processMap.put("authenticate", new authenticate());
@@ -530,6 +601,35 @@ public class OptimizingService {
       }
     }
 
+    public static class pollTasks<I extends Iface> extends org.apache.thrift.ProcessFunction<I, pollTasks_args> {
+      public pollTasks() {
+        super("pollTasks");
+      }
+
+      public pollTasks_args getEmptyArgsInstance() {
+        return new pollTasks_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      @Override
+      protected boolean rethrowUnhandledExceptions() {
+        return false;
+      }
+
+      public pollTasks_result getResult(I iface, pollTasks_args args) throws org.apache.thrift.TException {
+        pollTasks_result result = new pollTasks_result();
+        try {
+          result.success = iface.pollTasks(args.authToken, args.threadIds, args.waitTimeout);
+        } catch (com.netease.arctic.ams.api.ArcticException e1) {
+          result.e1 = e1;
+        }
+        return result;
+      }
+    }
+
     public static class ackTask<I extends Iface> extends org.apache.thrift.ProcessFunction<I, ackTask_args> {
       public ackTask() {
         super("ackTask");
@@ -633,6 +733,7 @@ public class OptimizingService {
       processMap.put("ping", new ping());
       processMap.put("touch", new touch());
       processMap.put("pollTask", new pollTask());
+      processMap.put("pollTasks", new pollTasks());
       processMap.put("ackTask", new ackTask());
       processMap.put("completeTask", new completeTask());
       processMap.put("authenticate", new authenticate());
@@ -828,6 +929,71 @@ public class OptimizingService {
       }
     }
 
+    public static class pollTasks<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, pollTasks_args, java.util.List<OptimizingTask>> {
+      public pollTasks() {
+        super("pollTasks");
+      }
+
+      public pollTasks_args getEmptyArgsInstance() {
+        return new pollTasks_args();
+      }
+
+      public org.apache.thrift.async.AsyncMethodCallback<java.util.List<OptimizingTask>> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new org.apache.thrift.async.AsyncMethodCallback<java.util.List<OptimizingTask>>() { 
+          public void onComplete(java.util.List<OptimizingTask> o) {
+            pollTasks_result result = new pollTasks_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb, result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+            } catch (org.apache.thrift.transport.TTransportException e) {
+              _LOGGER.error("TTransportException writing to internal frame buffer", e);
+              fb.close();
+            } catch (java.lang.Exception e) {
+              _LOGGER.error("Exception writing to internal frame buffer", e);
+              onError(e);
+            }
+          }
+          public void onError(java.lang.Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TSerializable msg;
+            pollTasks_result result = new pollTasks_result();
+            if (e instanceof com.netease.arctic.ams.api.ArcticException) {
+              result.e1 = (com.netease.arctic.ams.api.ArcticException) e;
+              result.setE1IsSet(true);
+              msg = result;
+            } else if (e instanceof org.apache.thrift.transport.TTransportException) {
+              _LOGGER.error("TTransportException inside handler", e);
+              fb.close();
+              return;
+            } else if (e instanceof org.apache.thrift.TApplicationException) {
+              _LOGGER.error("TApplicationException inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TApplicationException)e;
+            } else {
+              _LOGGER.error("Exception inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+            } catch (java.lang.Exception ex) {
+              _LOGGER.error("Exception writing to internal frame buffer", ex);
+              fb.close();
+            }
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, pollTasks_args args, org.apache.thrift.async.AsyncMethodCallback<java.util.List<OptimizingTask>> resultHandler) throws org.apache.thrift.TException {
+        iface.pollTasks(args.authToken, args.threadIds, args.waitTimeout,resultHandler);
+      }
+    }
+
     public static class ackTask<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, ackTask_args, Void> {
       public ackTask() {
         super("ackTask");
@@ -3213,6 +3379,1157 @@ public class OptimizingService {
     }
   }
 
+  public static class pollTasks_args implements org.apache.thrift.TBase<pollTasks_args, pollTasks_args._Fields>, java.io.Serializable, Cloneable, Comparable<pollTasks_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("pollTasks_args");
+
+    private static final org.apache.thrift.protocol.TField AUTH_TOKEN_FIELD_DESC = new org.apache.thrift.protocol.TField("authToken", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField THREAD_IDS_FIELD_DESC = new org.apache.thrift.protocol.TField("threadIds", org.apache.thrift.protocol.TType.LIST, (short)2);
+    private static final org.apache.thrift.protocol.TField WAIT_TIMEOUT_FIELD_DESC = new org.apache.thrift.protocol.TField("waitTimeout", org.apache.thrift.protocol.TType.I64, (short)3);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new pollTasks_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new pollTasks_argsTupleSchemeFactory();
+
+    public @org.apache.thrift.annotation.Nullable java.lang.String authToken; // required
+    public @org.apache.thrift.annotation.Nullable java.util.List<java.lang.Integer> threadIds; // required
+    public long waitTimeout; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      AUTH_TOKEN((short)1, "authToken"),
+      THREAD_IDS((short)2, "threadIds"),
+      WAIT_TIMEOUT((short)3, "waitTimeout");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // AUTH_TOKEN
+            return AUTH_TOKEN;
+          case 2: // THREAD_IDS
+            return THREAD_IDS;
+          case 3: // WAIT_TIMEOUT
+            return WAIT_TIMEOUT;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __WAITTIMEOUT_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.AUTH_TOKEN, new org.apache.thrift.meta_data.FieldMetaData("authToken", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.THREAD_IDS, new org.apache.thrift.meta_data.FieldMetaData("threadIds", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32))));
+      tmpMap.put(_Fields.WAIT_TIMEOUT, new org.apache.thrift.meta_data.FieldMetaData("waitTimeout", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(pollTasks_args.class, metaDataMap);
+    }
+
+    public pollTasks_args() {
+    }
+
+    public pollTasks_args(
+      java.lang.String authToken,
+      java.util.List<java.lang.Integer> threadIds,
+      long waitTimeout)
+    {
+      this();
+      this.authToken = authToken;
+      this.threadIds = threadIds;
+      this.waitTimeout = waitTimeout;
+      setWaitTimeoutIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public pollTasks_args(pollTasks_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      if (other.isSetAuthToken()) {
+        this.authToken = other.authToken;
+      }
+      if (other.isSetThreadIds()) {
+        java.util.List<java.lang.Integer> __this__threadIds = new java.util.ArrayList<java.lang.Integer>(other.threadIds);
+        this.threadIds = __this__threadIds;
+      }
+      this.waitTimeout = other.waitTimeout;
+    }
+
+    public pollTasks_args deepCopy() {
+      return new pollTasks_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.authToken = null;
+      this.threadIds = null;
+      setWaitTimeoutIsSet(false);
+      this.waitTimeout = 0;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.String getAuthToken() {
+      return this.authToken;
+    }
+
+    public pollTasks_args setAuthToken(@org.apache.thrift.annotation.Nullable java.lang.String authToken) {
+      this.authToken = authToken;
+      return this;
+    }
+
+    public void unsetAuthToken() {
+      this.authToken = null;
+    }
+
+    /** Returns true if field authToken is set (has been assigned a value) and false otherwise */
+    public boolean isSetAuthToken() {
+      return this.authToken != null;
+    }
+
+    public void setAuthTokenIsSet(boolean value) {
+      if (!value) {
+        this.authToken = null;
+      }
+    }
+
+    public int getThreadIdsSize() {
+      return (this.threadIds == null) ? 0 : this.threadIds.size();
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.util.Iterator<java.lang.Integer> getThreadIdsIterator() {
+      return (this.threadIds == null) ? null : this.threadIds.iterator();
+    }
+
+    public void addToThreadIds(int elem) {
+      if (this.threadIds == null) {
+        this.threadIds = new java.util.ArrayList<java.lang.Integer>();
+      }
+      this.threadIds.add(elem);
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.util.List<java.lang.Integer> getThreadIds() {
+      return this.threadIds;
+    }
+
+    public pollTasks_args setThreadIds(@org.apache.thrift.annotation.Nullable java.util.List<java.lang.Integer> threadIds) {
+      this.threadIds = threadIds;
+      return this;
+    }
+
+    public void unsetThreadIds() {
+      this.threadIds = null;
+    }
+
+    /** Returns true if field threadIds is set (has been assigned a value) and false otherwise */
+    public boolean isSetThreadIds() {
+      return this.threadIds != null;
+    }
+
+    public void setThreadIdsIsSet(boolean value) {
+      if (!value) {
+        this.threadIds = null;
+      }
+    }
+
+    public long getWaitTimeout() {
+      return this.waitTimeout;
+    }
+
+    public pollTasks_args setWaitTimeout(long waitTimeout) {
+      this.waitTimeout = waitTimeout;
+      setWaitTimeoutIsSet(true);
+      return this;
+    }
+
+    public void unsetWaitTimeout() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __WAITTIMEOUT_ISSET_ID);
+    }
+
+    /** Returns true if field waitTimeout is set (has been assigned a value) and false otherwise */
+    public boolean isSetWaitTimeout() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __WAITTIMEOUT_ISSET_ID);
+    }
+
+    public void setWaitTimeoutIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __WAITTIMEOUT_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
+      switch (field) {
+      case AUTH_TOKEN:
+        if (value == null) {
+          unsetAuthToken();
+        } else {
+          setAuthToken((java.lang.String)value);
+        }
+        break;
+
+      case THREAD_IDS:
+        if (value == null) {
+          unsetThreadIds();
+        } else {
+          setThreadIds((java.util.List<java.lang.Integer>)value);
+        }
+        break;
+
+      case WAIT_TIMEOUT:
+        if (value == null) {
+          unsetWaitTimeout();
+        } else {
+          setWaitTimeout((java.lang.Long)value);
+        }
+        break;
+
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case AUTH_TOKEN:
+        return getAuthToken();
+
+      case THREAD_IDS:
+        return getThreadIds();
+
+      case WAIT_TIMEOUT:
+        return getWaitTimeout();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case AUTH_TOKEN:
+        return isSetAuthToken();
+      case THREAD_IDS:
+        return isSetThreadIds();
+      case WAIT_TIMEOUT:
+        return isSetWaitTimeout();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof pollTasks_args)
+        return this.equals((pollTasks_args)that);
+      return false;
+    }
+
+    public boolean equals(pollTasks_args that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_authToken = true && this.isSetAuthToken();
+      boolean that_present_authToken = true && that.isSetAuthToken();
+      if (this_present_authToken || that_present_authToken) {
+        if (!(this_present_authToken && that_present_authToken))
+          return false;
+        if (!this.authToken.equals(that.authToken))
+          return false;
+      }
+
+      boolean this_present_threadIds = true && this.isSetThreadIds();
+      boolean that_present_threadIds = true && that.isSetThreadIds();
+      if (this_present_threadIds || that_present_threadIds) {
+        if (!(this_present_threadIds && that_present_threadIds))
+          return false;
+        if (!this.threadIds.equals(that.threadIds))
+          return false;
+      }
+
+      boolean this_present_waitTimeout = true;
+      boolean that_present_waitTimeout = true;
+      if (this_present_waitTimeout || that_present_waitTimeout) {
+        if (!(this_present_waitTimeout && that_present_waitTimeout))
+          return false;
+        if (this.waitTimeout != that.waitTimeout)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetAuthToken()) ? 131071 : 524287);
+      if (isSetAuthToken())
+        hashCode = hashCode * 8191 + authToken.hashCode();
+
+      hashCode = hashCode * 8191 + ((isSetThreadIds()) ? 131071 : 524287);
+      if (isSetThreadIds())
+        hashCode = hashCode * 8191 + threadIds.hashCode();
+
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(waitTimeout);
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(pollTasks_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetAuthToken()).compareTo(other.isSetAuthToken());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetAuthToken()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.authToken, other.authToken);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetThreadIds()).compareTo(other.isSetThreadIds());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetThreadIds()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.threadIds, other.threadIds);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetWaitTimeout()).compareTo(other.isSetWaitTimeout());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetWaitTimeout()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.waitTimeout, other.waitTimeout);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+    }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("pollTasks_args(");
+      boolean first = true;
+
+      sb.append("authToken:");
+      if (this.authToken == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.authToken);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("threadIds:");
+      if (this.threadIds == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.threadIds);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("waitTimeout:");
+      sb.append(this.waitTimeout);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class pollTasks_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pollTasks_argsStandardScheme getScheme() {
+        return new pollTasks_argsStandardScheme();
+      }
+    }
+
+    private static class pollTasks_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<pollTasks_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, pollTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // AUTH_TOKEN
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.authToken = iprot.readString();
+                struct.setAuthTokenIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // THREAD_IDS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list30 = iprot.readListBegin();
+                  struct.threadIds = new java.util.ArrayList<java.lang.Integer>(_list30.size);
+                  int _elem31;
+                  for (int _i32 = 0; _i32 < _list30.size; ++_i32)
+                  {
+                    _elem31 = iprot.readI32();
+                    struct.threadIds.add(_elem31);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setThreadIdsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // WAIT_TIMEOUT
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.waitTimeout = iprot.readI64();
+                struct.setWaitTimeoutIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, pollTasks_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.authToken != null) {
+          oprot.writeFieldBegin(AUTH_TOKEN_FIELD_DESC);
+          oprot.writeString(struct.authToken);
+          oprot.writeFieldEnd();
+        }
+        if (struct.threadIds != null) {
+          oprot.writeFieldBegin(THREAD_IDS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.I32, struct.threadIds.size()));
+            for (int _iter33 : struct.threadIds)
+            {
+              oprot.writeI32(_iter33);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(WAIT_TIMEOUT_FIELD_DESC);
+        oprot.writeI64(struct.waitTimeout);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class pollTasks_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pollTasks_argsTupleScheme getScheme() {
+        return new pollTasks_argsTupleScheme();
+      }
+    }
+
+    private static class pollTasks_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<pollTasks_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, pollTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetAuthToken()) {
+          optionals.set(0);
+        }
+        if (struct.isSetThreadIds()) {
+          optionals.set(1);
+        }
+        if (struct.isSetWaitTimeout()) {
+          optionals.set(2);
+        }
+        oprot.writeBitSet(optionals, 3);
+        if (struct.isSetAuthToken()) {
+          oprot.writeString(struct.authToken);
+        }
+        if (struct.isSetThreadIds()) {
+          {
+            oprot.writeI32(struct.threadIds.size());
+            for (int _iter34 : struct.threadIds)
+            {
+              oprot.writeI32(_iter34);
+            }
+          }
+        }
+        if (struct.isSetWaitTimeout()) {
+          oprot.writeI64(struct.waitTimeout);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, pollTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(3);
+        if (incoming.get(0)) {
+          struct.authToken = iprot.readString();
+          struct.setAuthTokenIsSet(true);
+        }
+        if (incoming.get(1)) {
+          {
+            org.apache.thrift.protocol.TList _list35 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.I32, iprot.readI32());
+            struct.threadIds = new java.util.ArrayList<java.lang.Integer>(_list35.size);
+            int _elem36;
+            for (int _i37 = 0; _i37 < _list35.size; ++_i37)
+            {
+              _elem36 = iprot.readI32();
+              struct.threadIds.add(_elem36);
+            }
+          }
+          struct.setThreadIdsIsSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.waitTimeout = iprot.readI64();
+          struct.setWaitTimeoutIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class pollTasks_result implements org.apache.thrift.TBase<pollTasks_result, pollTasks_result._Fields>, java.io.Serializable, Cloneable, Comparable<pollTasks_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("pollTasks_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.LIST, (short)0);
+    private static final org.apache.thrift.protocol.TField E1_FIELD_DESC = new org.apache.thrift.protocol.TField("e1", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new pollTasks_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new pollTasks_resultTupleSchemeFactory();
+
+    public @org.apache.thrift.annotation.Nullable java.util.List<OptimizingTask> success; // required
+    public @org.apache.thrift.annotation.Nullable com.netease.arctic.ams.api.ArcticException e1; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success"),
+      E1((short)1, "e1");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // E1
+            return E1;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, OptimizingTask.class))));
+      tmpMap.put(_Fields.E1, new org.apache.thrift.meta_data.FieldMetaData("e1", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, com.netease.arctic.ams.api.ArcticException.class)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(pollTasks_result.class, metaDataMap);
+    }
+
+    public pollTasks_result() {
+    }
+
+    public pollTasks_result(
+      java.util.List<OptimizingTask> success,
+      com.netease.arctic.ams.api.ArcticException e1)
+    {
+      this();
+      this.success = success;
+      this.e1 = e1;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public pollTasks_result(pollTasks_result other) {
+      if (other.isSetSuccess()) {
+        java.util.List<OptimizingTask> __this__success = new java.util.ArrayList<OptimizingTask>(other.success.size());
+        for (OptimizingTask other_element : other.success) {
+          __this__success.add(new OptimizingTask(other_element));
+        }
+        this.success = __this__success;
+      }
+      if (other.isSetE1()) {
+        this.e1 = new com.netease.arctic.ams.api.ArcticException(other.e1);
+      }
+    }
+
+    public pollTasks_result deepCopy() {
+      return new pollTasks_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+      this.e1 = null;
+    }
+
+    public int getSuccessSize() {
+      return (this.success == null) ? 0 : this.success.size();
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.util.Iterator<OptimizingTask> getSuccessIterator() {
+      return (this.success == null) ? null : this.success.iterator();
+    }
+
+    public void addToSuccess(OptimizingTask elem) {
+      if (this.success == null) {
+        this.success = new java.util.ArrayList<OptimizingTask>();
+      }
+      this.success.add(elem);
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.util.List<OptimizingTask> getSuccess() {
+      return this.success;
+    }
+
+    public pollTasks_result setSuccess(@org.apache.thrift.annotation.Nullable java.util.List<OptimizingTask> success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public com.netease.arctic.ams.api.ArcticException getE1() {
+      return this.e1;
+    }
+
+    public pollTasks_result setE1(@org.apache.thrift.annotation.Nullable com.netease.arctic.ams.api.ArcticException e1) {
+      this.e1 = e1;
+      return this;
+    }
+
+    public void unsetE1() {
+      this.e1 = null;
+    }
+
+    /** Returns true if field e1 is set (has been assigned a value) and false otherwise */
+    public boolean isSetE1() {
+      return this.e1 != null;
+    }
+
+    public void setE1IsSet(boolean value) {
+      if (!value) {
+        this.e1 = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((java.util.List<OptimizingTask>)value);
+        }
+        break;
+
+      case E1:
+        if (value == null) {
+          unsetE1();
+        } else {
+          setE1((com.netease.arctic.ams.api.ArcticException)value);
+        }
+        break;
+
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      case E1:
+        return getE1();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case E1:
+        return isSetE1();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof pollTasks_result)
+        return this.equals((pollTasks_result)that);
+      return false;
+    }
+
+    public boolean equals(pollTasks_result that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_e1 = true && this.isSetE1();
+      boolean that_present_e1 = true && that.isSetE1();
+      if (this_present_e1 || that_present_e1) {
+        if (!(this_present_e1 && that_present_e1))
+          return false;
+        if (!this.e1.equals(that.e1))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetSuccess()) ? 131071 : 524287);
+      if (isSetSuccess())
+        hashCode = hashCode * 8191 + success.hashCode();
+
+      hashCode = hashCode * 8191 + ((isSetE1()) ? 131071 : 524287);
+      if (isSetE1())
+        hashCode = hashCode * 8191 + e1.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(pollTasks_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetE1()).compareTo(other.isSetE1());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE1()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e1, other.e1);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+      }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("pollTasks_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("e1:");
+      if (this.e1 == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e1);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class pollTasks_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pollTasks_resultStandardScheme getScheme() {
+        return new pollTasks_resultStandardScheme();
+      }
+    }
+
+    private static class pollTasks_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<pollTasks_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, pollTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list38 = iprot.readListBegin();
+                  struct.success = new java.util.ArrayList<OptimizingTask>(_list38.size);
+                  @org.apache.thrift.annotation.Nullable OptimizingTask _elem39;
+                  for (int _i40 = 0; _i40 < _list38.size; ++_i40)
+                  {
+                    _elem39 = new OptimizingTask();
+                    _elem39.read(iprot);
+                    struct.success.add(_elem39);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 1: // E1
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e1 = new com.netease.arctic.ams.api.ArcticException();
+                struct.e1.read(iprot);
+                struct.setE1IsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, pollTasks_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.success.size()));
+            for (OptimizingTask _iter41 : struct.success)
+            {
+              _iter41.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        if (struct.e1 != null) {
+          oprot.writeFieldBegin(E1_FIELD_DESC);
+          struct.e1.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class pollTasks_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pollTasks_resultTupleScheme getScheme() {
+        return new pollTasks_resultTupleScheme();
+      }
+    }
+
+    private static class pollTasks_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<pollTasks_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, pollTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        if (struct.isSetE1()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetSuccess()) {
+          {
+            oprot.writeI32(struct.success.size());
+            for (OptimizingTask _iter42 : struct.success)
+            {
+              _iter42.write(oprot);
+            }
+          }
+        }
+        if (struct.isSetE1()) {
+          struct.e1.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, pollTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TList _list43 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.success = new java.util.ArrayList<OptimizingTask>(_list43.size);
+            @org.apache.thrift.annotation.Nullable OptimizingTask _elem44;
+            for (int _i45 = 0; _i45 < _list43.size; ++_i45)
+            {
+              _elem44 = new OptimizingTask();
+              _elem44.read(iprot);
+              struct.success.add(_elem44);
+            }
+          }
+          struct.setSuccessIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.e1 = new com.netease.arctic.ams.api.ArcticException();
+          struct.e1.read(iprot);
+          struct.setE1IsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
   public static class ackTask_args implements org.apache.thrift.TBase<ackTask_args, ackTask_args._Fields>, java.io.Serializable, Cloneable, Comparable<ackTask_args>   {
     private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("ackTask_args");
 
@@ -15,4 +15,8 @@ public class PropertyNames {
   public static final boolean OPTIMIZER_EXTEND_DISK_STORAGE_DEFAULT = false;
   public static final String OPTIMIZER_DISK_STORAGE_PATH = "disk-storage-path";
   public static final String OPTIMIZER_MEMORY_STORAGE_SIZE = "memory-storage-size";
+  public static final String OPTIMIZER_TABLE_CACHE_SIZE = "table-cache-size";
+  public static final String OPTIMIZER_DELETE_CACHE_SIZE = "delete-cache-size";
+  public static final String OPTIMIZER_REWRITE_PARALLELISM = "rewrite-parallelism";
+  public static final String OPTIMIZER_POLL_TASK_WAIT_TIMEOUT = "poll-task-wait-timeout";
 }
@@ -36,6 +36,11 @@ import java.util.regex.Pattern;
 
 public class ArcticThriftUrl {
   public static final String PARAM_SOCKET_TIMEOUT = "socketTimeout";
+  /**
+   * Resource group of the caller, zookeeper urls of the optimizing service resolve to the AMS node owning
+   * the group when AMS runs in sharding mode.
+   */
+  public static final String PARAM_RESOURCE_GROUP = "resourceGroup";
   public static final int DEFAULT_SOCKET_TIMEOUT = 5000;
   public static final String ZOOKEEPER_FLAG = "zookeeper";
   public static final String THRIFT_FLAG = "thrift";
@@ -81,6 +86,25 @@ public class ArcticThriftUrl {
     }
   }
 
+  /**
+   * Get the socket timeout set in the query of a thrift or zookeeper url, without resolving the url.
+   *
+   * @param url - thrift url
+   * @return the socket timeout in milliseconds
+   */
+  public static int parseSocketTimeout(String url) {
+    int socketTimeout = DEFAULT_SOCKET_TIMEOUT;
+    if (url != null && url.contains("?")) {
+      for (String paramExpression : url.substring(url.indexOf("?") + 1).split("&")) {
+        String[] paramSplit = paramExpression.split("=");
+        if (paramSplit.length == 2 && paramSplit[0].equalsIgnoreCase(PARAM_SOCKET_TIMEOUT)) {
+          socketTimeout = Integer.parseInt(paramSplit[1]);
+        }
+      }
+    }
+    return socketTimeout;
+  }
+
   private static ArcticThriftUrl parserThriftUrl(String url) {
     int socketTimeout = DEFAULT_SOCKET_TIMEOUT;
     try {
@@ -129,21 +153,24 @@ public class ArcticThriftUrl {
         zkServerAddress = m.group(1);
         cluster = m.group(2);
       }
+      int socketTimeout = DEFAULT_SOCKET_TIMEOUT;
+      String resourceGroup = null;
+      for (String paramExpression : query.replace("?", "").split("&")) {
+        String[] paramSplit = paramExpression.split("=");
+        if (paramSplit.length == 2) {
+          if (paramSplit[0].equalsIgnoreCase(PARAM_SOCKET_TIMEOUT)) {
+            socketTimeout = Integer.parseInt(paramSplit[1]);
+          } else if (paramSplit[0].equalsIgnoreCase(PARAM_RESOURCE_GROUP)) {
+            resourceGroup = paramSplit[1];
+          }
+        }
+      }
       int retryCount = 0;
       while (retryCount < maxRetries) {
         try {
-          AmsServerInfo serverInfo = findAmsServerInfo(serviceName, zkServerAddress, cluster);
+          AmsServerInfo serverInfo = findAmsServerInfo(serviceName, zkServerAddress, cluster, resourceGroup);
           url = String.format(THRIFT_URL_FORMAT, serverInfo.getHost(),
               serverInfo.getThriftBindPort(), catalog, query);
-          int socketTimeout = DEFAULT_SOCKET_TIMEOUT;
-          for (String paramExpression : query.replace("?", "").split("&")) {
-            String[] paramSplit = paramExpression.split("=");
-            if (paramSplit.length == 2) {
-              if (paramSplit[0].equalsIgnoreCase(PARAM_SOCKET_TIMEOUT)) {
-                socketTimeout = Integer.parseInt(paramSplit[1]);
-              }
-            }
-          }
           return new ArcticThriftUrl("thrift",
               serverInfo.getHost(), serverInfo.getThriftBindPort(), catalog.toLowerCase(), socketTimeout, url);
         } catch (KeeperException.AuthFailedException authFailedException) {
@@ -176,14 +203,22 @@ public class ArcticThriftUrl {
     return null;
   }
 
-  private static AmsServerInfo findAmsServerInfo(String serviceName, String zkServerAddress, String cluster)
-      throws Exception {
+  private static AmsServerInfo findAmsServerInfo(
+      String serviceName, String zkServerAddress, String cluster, String resourceGroup) throws Exception {
     switch (serviceName) {
       case Constants.THRIFT_TABLE_SERVICE_NAME:
         return JSONObject.parseObject(
             ZookeeperService.getInstance(zkServerAddress).getData(AmsHAProperties.getTableServiceMasterPath(cluster)),
             AmsServerInfo.class);
       case Constants.THRIFT_OPTIMIZING_SERVICE_NAME:
+        if (resourceGroup != null) {
+          // in sharding mode the owner of the group serves its optimizers, the lease holds its address
+          String ownerPath = AmsHAProperties.getShardOwnerPath(cluster, resourceGroup);
+          ZookeeperService zkService = ZookeeperService.getInstance(zkServerAddress);
+          if (zkService.exist(ownerPath)) {
+            return JSONObject.parseObject(zkService.getData(ownerPath), AmsServerInfo.class);
+          }
+        }
         return JSONObject.parseObject(
             ZookeeperService.getInstance(zkServerAddress)
                 .getData(AmsHAProperties.getOptimizingServiceMasterPath(cluster)),
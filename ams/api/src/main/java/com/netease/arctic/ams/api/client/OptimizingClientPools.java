@@ -41,6 +41,18 @@ public class OptimizingClientPools {
     return CLIENT_POOLS.get(metastoreUrl).iface();
   }
 
+  /**
+   * Drop the client pool of the url, the next {@link #getClient(String)} resolves the url again. Used when the
+   * resolved server no longer serves the caller, e.g. the resource group moved to another AMS node.
+   */
+  public static void invalidate(String metastoreUrl) {
+    ThriftClientPool<OptimizingService.Client> pool = CLIENT_POOLS.getIfPresent(metastoreUrl);
+    CLIENT_POOLS.invalidate(metastoreUrl);
+    if (pool != null) {
+      pool.close();
+    }
+  }
+
   private static ThriftClientPool<OptimizingService.Client> buildClient(String url) {
     PoolConfig poolConfig = new PoolConfig();
     poolConfig.setFailover(true);
@@ -254,4 +254,11 @@ public class ThriftClientPool<T extends org.apache.thrift.TServiceClient> {
         }
       });
   }
+
+  /**
+   * Close the pool and the idle connections in it, borrowed connections are closed when returned.
+   */
+  public void close() {
+    pool.close();
+  }
 }
@@ -25,6 +25,8 @@ public class AmsHAProperties {
   private static final String LEADER_PATH = "/leader";
   private static final String TABLE_SERVICE_MASTER_PATH = "/master";
   private static final String OPTIMIZING_SERVICE_MASTER_PATH = "/optimizing-service-master";
+  private static final String SHARD_MEMBERS_PATH = "/shards/members";
+  private static final String SHARD_OWNERS_PATH = "/shards/owners";
   private static final String NAMESPACE_DEFAULT = "default";
 
   private static String getBasePath(String namespace) {
@@ -45,4 +47,16 @@ public class AmsHAProperties {
   public static String getLeaderPath(String namespace) {
     return getBasePath(namespace) + LEADER_PATH;
   }
+
+  public static String getShardMembersPath(String namespace) {
+    return getBasePath(namespace) + SHARD_MEMBERS_PATH;
+  }
+
+  public static String getShardOwnersPath(String namespace) {
+    return getBasePath(namespace) + SHARD_OWNERS_PATH;
+  }
+
+  public static String getShardOwnerPath(String namespace, String resourceGroup) {
+    return getShardOwnersPath(namespace) + "/" + resourceGroup;
+  }
 }
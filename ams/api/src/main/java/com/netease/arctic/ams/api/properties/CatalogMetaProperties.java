@@ -70,6 +70,15 @@ public class CatalogMetaProperties {
   public static final String CLIENT_POOL_CACHE_EVICTION_INTERVAL_MS = "client.pool.cache.eviction-interval-ms";
   public static final long CLIENT_POOL_CACHE_EVICTION_INTERVAL_MS_DEFAULT = TimeUnit.MINUTES.toMillis(5);
 
+  public static final String CLIENT_TABLE_CACHE_ENABLED = "client.table-cache.enabled";
+  public static final boolean CLIENT_TABLE_CACHE_ENABLED_DEFAULT = false;
+
+  public static final String CLIENT_TABLE_CACHE_EXPIRATION_INTERVAL_MS = "client.table-cache.expiration-interval-ms";
+  public static final long CLIENT_TABLE_CACHE_EXPIRATION_INTERVAL_MS_DEFAULT = TimeUnit.MINUTES.toMillis(5);
+
+  public static final String CLIENT_TABLE_CACHE_MAX_ENTRIES = "client.table-cache.max-entries";
+  public static final int CLIENT_TABLE_CACHE_MAX_ENTRIES_DEFAULT = 1000;
+
   // only used for engine properties
   public static final String LOAD_AUTH_FROM_AMS = "auth.load-from-ams";
   public static final boolean LOAD_AUTH_FROM_AMS_DEFAULT = true;
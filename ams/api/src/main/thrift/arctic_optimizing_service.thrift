@@ -39,6 +39,10 @@ service OptimizingService {
     OptimizingTask pollTask(1: string authToken, 2: i32 threadId)
             throws (1: arctic_commons.ArcticException e1)
 
+    // poll at most one task for each of the threads, waiting up to waitTimeout ms if there is no task
+    list<OptimizingTask> pollTasks(1: string authToken, 2: list<i32> threadIds, 3: i64 waitTimeout)
+            throws (1: arctic_commons.ArcticException e1)
+
     void ackTask(1: string authToken, 2: i32 threadId, 3: OptimizingTaskId taskId)
             throws(1: arctic_commons.ArcticException e1)
 
@@ -402,6 +402,32 @@ public class MockArcticMetastoreServer implements Runnable {
       return pendingTasks.poll();
     }
 
+    @Override
+    public List<OptimizingTask> pollTasks(String authToken, List<Integer> threadIds, long waitTimeout)
+        throws TException {
+      checkToken(authToken);
+      long deadline = System.currentTimeMillis() + waitTimeout;
+      List<OptimizingTask> tasks = new ArrayList<>();
+      while (true) {
+        for (int i = tasks.size(); i < threadIds.size(); i++) {
+          OptimizingTask task = pendingTasks.poll();
+          if (task == null) {
+            break;
+          }
+          tasks.add(task);
+        }
+        if (!tasks.isEmpty() || System.currentTimeMillis() >= deadline) {
+          return tasks;
+        }
+        try {
+          Thread.sleep(10);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return tasks;
+        }
+      }
+    }
+
     @Override
     public void ackTask(String authToken, int threadId, OptimizingTaskId taskId) throws TException {
       checkToken(authToken);
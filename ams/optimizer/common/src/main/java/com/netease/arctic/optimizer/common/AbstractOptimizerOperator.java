@@ -3,6 +3,7 @@ package com.netease.arctic.optimizer.common;
 import com.netease.arctic.ams.api.ArcticException;
 import com.netease.arctic.ams.api.ErrorCodes;
 import com.netease.arctic.ams.api.OptimizingService;
+import com.netease.arctic.ams.api.client.ArcticThriftUrl;
 import com.netease.arctic.ams.api.client.OptimizingClientPools;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.thrift.TApplicationException;
@@ -21,20 +22,39 @@ public class AbstractOptimizerOperator implements Serializable {
   private static long callAmsInterval = TimeUnit.SECONDS.toMillis(5);
 
   private final OptimizerConfig config;
+  private final String amsUrl;
   private final AtomicReference<String> token = new AtomicReference<>();
   private boolean stopped = false;
 
   public AbstractOptimizerOperator(OptimizerConfig config) {
     Preconditions.checkNotNull(config);
     this.config = config;
+    this.amsUrl = routedAmsUrl(config);
+  }
+
+  /**
+   * Zookeeper urls carry the resource group, so that a sharded AMS routes the optimizer to the node owning
+   * its group.
+   */
+  private static String routedAmsUrl(OptimizerConfig config) {
+    String url = config.getAmsUrl();
+    if (url == null || !url.startsWith(ArcticThriftUrl.ZOOKEEPER_FLAG) || config.getGroupName() == null ||
+        url.contains(ArcticThriftUrl.PARAM_RESOURCE_GROUP + "=")) {
+      return url;
+    }
+    return url + (url.contains("?") ? "&" : "?") + ArcticThriftUrl.PARAM_RESOURCE_GROUP + "=" + config.getGroupName();
   }
 
   protected <T> T callAms(AmsCallOperation<T> operation) throws TException {
     while (isStarted()) {
       try {
-        return operation.call(OptimizingClientPools.getClient(config.getAmsUrl()));
+        return operation.call(OptimizingClientPools.getClient(amsUrl));
       } catch (Throwable t) {
-        if (shouldReturnNull(t)) {
+        if (isShardNotOwned(t)) {
+          LOG.warn("Resource group {} moved to another ams, reconnect later", config.getGroupName());
+          OptimizingClientPools.invalidate(amsUrl);
+          waitAShortTime();
+        } else if (shouldReturnNull(t)) {
           return null;
         } else if (shouldRetryLater(t)) {
           LOG.error("Call ams got an error and will try again later", t);
@@ -59,6 +79,11 @@ public class AbstractOptimizerOperator implements Serializable {
     }
   }
 
+  private boolean isShardNotOwned(Throwable t) {
+    return t instanceof ArcticException &&
+        ErrorCodes.SHARD_NOT_OWNED_ERROR_CODE == ((ArcticException) t).getErrorCode();
+  }
+
   // Return null if got MISSING_RESULT error
   private boolean shouldReturnNull(Throwable t) {
     if (t instanceof TApplicationException) {
@@ -73,9 +98,15 @@ public class AbstractOptimizerOperator implements Serializable {
       if (tokenIsReady()) {
         String token = getToken();
         try {
-          return operation.call(OptimizingClientPools.getClient(config.getAmsUrl()), token);
+          return operation.call(OptimizingClientPools.getClient(amsUrl), token);
         } catch (Throwable t) {
-          if (t instanceof ArcticException &&
+          if (isShardNotOwned(t)) {
+            //The token was issued by the former owner of the group, register to the new owner
+            LOG.warn("Resource group {} moved to another ams, reset token and reconnect later", config.getGroupName());
+            OptimizingClientPools.invalidate(amsUrl);
+            resetToken(token);
+            waitAShortTime();
+          } else if (t instanceof ArcticException &&
               ErrorCodes.PLUGIN_RETRY_AUTH_ERROR_CODE == ((ArcticException) (t)).getErrorCode()) {
             //Reset the token when got a authorization error
             LOG.error("Got a authorization error while calling ams, reset token and wait for a new one", t);
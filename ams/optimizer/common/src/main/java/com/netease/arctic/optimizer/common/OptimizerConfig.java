@@ -65,6 +65,24 @@ public class OptimizerConfig implements Serializable {
       usage = "Memory storage size limit when extending disk storage(MB), default 512MB")
   private long memoryStorageSize = 512; // 512 M
 
+  @Option(name = "-tcs", aliases = "--" + PropertyNames.OPTIMIZER_TABLE_CACHE_SIZE,
+      usage = "Max number of tables cached for optimizing tasks, default 32")
+  private int tableCacheSize = 32;
+
+  @Option(name = "-dcs", aliases = "--" + PropertyNames.OPTIMIZER_DELETE_CACHE_SIZE,
+      usage = "Memory size of equality delete indexes shared by tasks(MB), default 0 to disable sharing")
+  private long deleteCacheSize = 0;
+
+  @Option(name = "-rp", aliases = "--" + PropertyNames.OPTIMIZER_REWRITE_PARALLELISM,
+      usage = "Number of threads rewriting the data files of one task, default 1. It is ignored when the"
+          + " extend-disk-storage is enabled")
+  private int rewriteParallelism = 1;
+
+  @Option(name = "-pwt", aliases = "--" + PropertyNames.OPTIMIZER_POLL_TASK_WAIT_TIMEOUT,
+      usage = "Max time(ms) waiting in ams when there is no task to poll, default 3000, 0 to poll without waiting."
+          + " It is capped at 1000 less than the socketTimeout of the ams url, 5000 by default")
+  private long pollTaskWaitTimeout = 3000;
+
   @Option(name = "-id", aliases = "--" + PropertyNames.RESOURCE_ID, usage = "Resource id")
   private String resourceId;
 
@@ -140,6 +158,38 @@ public class OptimizerConfig implements Serializable {
     this.diskStoragePath = diskStoragePath;
   }
 
+  public int getTableCacheSize() {
+    return tableCacheSize;
+  }
+
+  public void setTableCacheSize(int tableCacheSize) {
+    this.tableCacheSize = tableCacheSize;
+  }
+
+  public long getDeleteCacheSize() {
+    return deleteCacheSize;
+  }
+
+  public void setDeleteCacheSize(long deleteCacheSize) {
+    this.deleteCacheSize = deleteCacheSize;
+  }
+
+  public int getRewriteParallelism() {
+    return rewriteParallelism;
+  }
+
+  public void setRewriteParallelism(int rewriteParallelism) {
+    this.rewriteParallelism = rewriteParallelism;
+  }
+
+  public long getPollTaskWaitTimeout() {
+    return pollTaskWaitTimeout;
+  }
+
+  public void setPollTaskWaitTimeout(long pollTaskWaitTimeout) {
+    this.pollTaskWaitTimeout = pollTaskWaitTimeout;
+  }
+
   public String getResourceId() {
     return resourceId;
   }
@@ -159,6 +209,10 @@ public class OptimizerConfig implements Serializable {
         .add("extendDiskStorage", extendDiskStorage)
         .add("rocksDBBasePath", diskStoragePath)
         .add("memoryStorageSize", memoryStorageSize)
+        .add("tableCacheSize", tableCacheSize)
+        .add("deleteCacheSize", deleteCacheSize)
+        .add("rewriteParallelism", rewriteParallelism)
+        .add("pollTaskWaitTimeout", pollTaskWaitTimeout)
         .add("resourceId", resourceId)
         .toString();
   }
@@ -1,13 +1,17 @@
 package com.netease.arctic.optimizer.common;
 
+import com.netease.arctic.ams.api.ArcticException;
+import com.netease.arctic.ams.api.ErrorCodes;
 import com.netease.arctic.ams.api.OptimizingTask;
 import com.netease.arctic.ams.api.OptimizingTaskResult;
+import com.netease.arctic.ams.api.client.ArcticThriftUrl;
+import com.netease.arctic.io.reader.DeleteIndexCache;
+import com.netease.arctic.optimizing.OptimizingCodec;
 import com.netease.arctic.optimizing.OptimizingExecutor;
 import com.netease.arctic.optimizing.OptimizingExecutorFactory;
 import com.netease.arctic.optimizing.OptimizingInputProperties;
 import com.netease.arctic.optimizing.TableOptimizing;
 import com.netease.arctic.utils.ExceptionUtil;
-import com.netease.arctic.utils.SerializationUtil;
 import org.apache.iceberg.common.DynConstructors;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
@@ -19,6 +23,9 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
 
   private static final Logger LOG = LoggerFactory.getLogger(OptimizerExecutor.class);
 
+  // waiting in ams must end before the client socket times out, leaving time for the response
+  private static final long POLL_TASK_RESPONSE_TIME = 1000;
+
   private final int threadId;
 
   public OptimizerExecutor(OptimizerConfig config, int threadId) {
@@ -46,22 +53,56 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
 
   private OptimizingTask pollTask() {
     OptimizingTask task = null;
+    long waitTimeout = Math.min(getConfig().getPollTaskWaitTimeout(),
+        maxPollTaskWaitTimeout(getConfig().getAmsUrl()));
     while (isStarted()) {
+      boolean failed = false;
       try {
-        task = callAuthenticatedAms((client, token) -> client.pollTask(token, threadId));
+        task = waitTimeout > 0 ? pollTaskWithWait(waitTimeout) :
+            callAuthenticatedAms((client, token) -> client.pollTask(token, threadId));
       } catch (TException exception) {
         LOG.error("Optimizer executor[{}] polled task failed", threadId, exception);
+        failed = true;
       }
       if (task != null) {
         LOG.info("Optimizer executor[{}] polled task[{}] from ams", threadId, task.getTaskId());
         break;
-      } else {
+      } else if (waitTimeout <= 0 || failed) {
+        // ams has already waited for a task when polling with a wait timeout, poll again immediately
         waitAShortTime();
       }
     }
     return task;
   }
 
+  /**
+   * The max time to wait in ams when polling tasks through the given url, derived from the socket timeout of its
+   * client, unlimited if the socket never times out.
+   */
+  static long maxPollTaskWaitTimeout(String amsUrl) {
+    int socketTimeout = ArcticThriftUrl.parseSocketTimeout(amsUrl);
+    return socketTimeout > 0 ? socketTimeout - POLL_TASK_RESPONSE_TIME : Long.MAX_VALUE;
+  }
+
+  private OptimizingTask pollTaskWithWait(long waitTimeout) throws TException {
+    if (!tokenIsReady()) {
+      LOG.debug("Optimizer executor[{}] wait for token is ready", threadId);
+      waitAShortTime();
+      return null;
+    }
+    String token = getToken();
+    try {
+      return OptimizerTaskPoller.getInstance(getConfig().getAmsUrl()).poll(token, threadId,
+          threadIds -> callAms(client -> client.pollTasks(token, threadIds, waitTimeout)));
+    } catch (ArcticException exception) {
+      if (ErrorCodes.PLUGIN_RETRY_AUTH_ERROR_CODE == exception.getErrorCode()) {
+        LOG.error("Got a authorization error while polling tasks, reset token and wait for a new one", exception);
+        resetToken(token);
+      }
+      throw exception;
+    }
+  }
+
   private boolean ackTask(OptimizingTask task) {
     try {
       callAuthenticatedAms((client, token) -> {
@@ -81,7 +122,8 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
     try {
       OptimizingInputProperties properties = OptimizingInputProperties.parse(task.getProperties());
       String executorFactoryImpl = properties.getExecutorFactoryImpl();
-      TableOptimizing.OptimizingInput input = SerializationUtil.simpleDeserialize(task.getTaskInput());
+      TableOptimizing.OptimizingInput input = OptimizingCodec.deserialize(
+          task.getTaskInput(), OptimizerTableCache.getInstance(getConfig().getTableCacheSize())::resolve);
       DynConstructors.Ctor<OptimizingExecutorFactory> ctor = DynConstructors.builder(OptimizingExecutorFactory.class)
           .impl(executorFactoryImpl).buildChecked();
       OptimizingExecutorFactory factory = ctor.newInstance();
@@ -91,11 +133,13 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
       }
       properties.setMaxSizeInMemory(getConfig().getMemoryStorageSize() * 1024 * 1024);
       properties.setSpillMapPath(getConfig().getDiskStoragePath());
+      properties.setRewriteParallelism(getConfig().getRewriteParallelism());
+      DeleteIndexCache.initialize(getConfig().getDeleteCacheSize() * 1024 * 1024);
       factory.initialize(properties.getProperties());
 
       OptimizingExecutor executor = factory.createExecutor(input);
       TableOptimizing.OptimizingOutput output = executor.execute();
-      ByteBuffer outputByteBuffer = SerializationUtil.simpleSerialize(output);
+      ByteBuffer outputByteBuffer = OptimizingCodec.serialize(output);
       OptimizingTaskResult result = new OptimizingTaskResult(task.getTaskId(), threadId);
       result.setTaskOutput(outputByteBuffer);
       result.setSummary(output.summary());
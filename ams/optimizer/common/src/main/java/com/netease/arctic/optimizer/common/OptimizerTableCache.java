@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizer.common;
+
+import com.netease.arctic.catalog.ArcticCatalog;
+import com.netease.arctic.catalog.CatalogLoader;
+import com.netease.arctic.optimizing.TableHandle;
+import com.netease.arctic.table.ArcticTable;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tables loaded by the optimizer for the {@link TableHandle}s of optimizing tasks, shared by all executors of the
+ * JVM. Tasks of the same optimizing process carry equal handles, so the table is loaded from the catalog once and
+ * reused until the handle changes or the table is evicted by the LRU bound.
+ */
+public class OptimizerTableCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(OptimizerTableCache.class);
+
+  private static volatile OptimizerTableCache instance;
+
+  private final Map<TableHandle, ArcticTable> tables;
+  private final Map<String, CachedCatalog> catalogs = new ConcurrentHashMap<>();
+
+  @VisibleForTesting
+  OptimizerTableCache(int maxSize) {
+    Preconditions.checkArgument(maxSize > 0, "table cache size must be positive");
+    this.tables = new LinkedHashMap<TableHandle, ArcticTable>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<TableHandle, ArcticTable> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  public static OptimizerTableCache getInstance(int maxSize) {
+    if (instance == null) {
+      synchronized (OptimizerTableCache.class) {
+        if (instance == null) {
+          instance = new OptimizerTableCache(maxSize);
+        }
+      }
+    }
+    return instance;
+  }
+
+  public ArcticTable resolve(TableHandle handle) {
+    synchronized (tables) {
+      ArcticTable table = tables.get(handle);
+      if (table != null) {
+        return table;
+      }
+    }
+    // load outside the lock, concurrent misses of the same handle load twice and keep the first one
+    ArcticTable loaded = load(handle);
+    synchronized (tables) {
+      ArcticTable table = tables.get(handle);
+      if (table != null) {
+        return table;
+      }
+      tables.put(handle, loaded);
+      return loaded;
+    }
+  }
+
+  @VisibleForTesting
+  int size() {
+    synchronized (tables) {
+      return tables.size();
+    }
+  }
+
+  protected ArcticTable load(TableHandle handle) {
+    LOG.info("Loading table {} for optimizing", handle);
+    ArcticTable table = loadTable(handle, false);
+    if (!propertiesMatch(table, handle)) {
+      // the cached catalog may hold stale catalog properties, which are merged into the table properties
+      LOG.info("Properties of table {} differ from the task, reload it with a new catalog", handle.getIdentifier());
+      table = loadTable(handle, true);
+      if (!propertiesMatch(table, handle)) {
+        LOG.warn("Properties of table {} changed since the task was planned, use the latest ones",
+            handle.getIdentifier());
+      }
+    }
+    if (table.schema().schemaId() != handle.getSchemaId()) {
+      throw new IllegalStateException(String.format(
+          "Schema of table %s changed since the task was planned, expected schema %d but found %d",
+          handle.getIdentifier(), handle.getSchemaId(), table.schema().schemaId()));
+    }
+    return table;
+  }
+
+  protected ArcticTable loadTable(TableHandle handle, boolean reloadCatalog) {
+    return catalog(handle, reloadCatalog).loadTable(handle.getIdentifier());
+  }
+
+  private static boolean propertiesMatch(ArcticTable table, TableHandle handle) {
+    return TableHandle.propertiesFingerprint(table.properties()).equals(handle.getPropertiesFingerprint());
+  }
+
+  private ArcticCatalog catalog(TableHandle handle, boolean reload) {
+    CachedCatalog cached = catalogs.compute(handle.getCatalogUrl(), (url, current) -> {
+      if (!reload && current != null && current.authFingerprint.equals(handle.getAuthFingerprint())) {
+        return current;
+      }
+      return new CachedCatalog(handle.getAuthFingerprint(), CatalogLoader.load(url));
+    });
+    return cached.catalog;
+  }
+
+  private static class CachedCatalog {
+    private final String authFingerprint;
+    private final ArcticCatalog catalog;
+
+    CachedCatalog(String authFingerprint, ArcticCatalog catalog) {
+      this.authFingerprint = authFingerprint;
+      this.catalog = catalog;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizer.common;
+
+import com.netease.arctic.ams.api.OptimizingTask;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.thrift.TException;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Batches the task polling of all executors in the JVM. The executors waiting for a task at the same time are served
+ * by one pollTasks call, made by the first of them while the others wait for its result, so an optimizer with many
+ * idle threads sends one long-poll request to ams instead of one request per thread every few seconds.
+ */
+public class OptimizerTaskPoller {
+
+  private static final Map<String, OptimizerTaskPoller> POLLERS = new ConcurrentHashMap<>();
+
+  private final List<PollSlot> waitingSlots = Lists.newLinkedList();
+  private boolean polling = false;
+
+  OptimizerTaskPoller() {
+  }
+
+  public static OptimizerTaskPoller getInstance(String amsUrl) {
+    return POLLERS.computeIfAbsent(amsUrl, url -> new OptimizerTaskPoller());
+  }
+
+  /**
+   * Poll a task for the thread, joining the polling round in progress if there is one.
+   *
+   * @return the polled task, or null if there is no task for the thread in this round
+   */
+  public OptimizingTask poll(String token, int threadId, BatchPollOperation operation) throws TException {
+    PollSlot slot = new PollSlot(token, threadId);
+    List<PollSlot> round;
+    synchronized (this) {
+      waitingSlots.add(slot);
+      try {
+        while (polling && !slot.done) {
+          wait();
+        }
+      } catch (InterruptedException e) {
+        waitingSlots.remove(slot);
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      if (slot.done) {
+        return slot.task;
+      }
+      polling = true;
+      round = takeSlots(token);
+    }
+
+    List<OptimizingTask> tasks = null;
+    try {
+      List<Integer> threadIds = Lists.newArrayListWithCapacity(round.size());
+      round.forEach(s -> threadIds.add(s.threadId));
+      tasks = operation.poll(threadIds);
+    } finally {
+      synchronized (this) {
+        for (int i = 0; i < round.size(); i++) {
+          PollSlot s = round.get(i);
+          s.task = tasks != null && i < tasks.size() ? tasks.get(i) : null;
+          s.done = true;
+        }
+        polling = false;
+        notifyAll();
+      }
+    }
+    return slot.task;
+  }
+
+  // slots of other tokens are left for the next round, since a request could only carry one token
+  private List<PollSlot> takeSlots(String token) {
+    List<PollSlot> round = Lists.newArrayList();
+    Iterator<PollSlot> iterator = waitingSlots.iterator();
+    while (iterator.hasNext()) {
+      PollSlot slot = iterator.next();
+      if (slot.token.equals(token)) {
+        round.add(slot);
+        iterator.remove();
+      }
+    }
+    return round;
+  }
+
+  private static class PollSlot {
+    private final String token;
+    private final int threadId;
+    private OptimizingTask task;
+    private boolean done;
+
+    PollSlot(String token, int threadId) {
+      this.token = token;
+      this.threadId = threadId;
+    }
+  }
+
+  public interface BatchPollOperation {
+    /**
+     * Poll tasks for the threads, the i-th returned task belongs to the i-th thread.
+     */
+    List<OptimizingTask> poll(List<Integer> threadIds) throws TException;
+  }
+}
@@ -25,7 +25,7 @@ public class OptimizerTestHelpers {
 
   public static OptimizerConfig buildOptimizerConfig(String amsUrl) {
     String[] optimizerArgs = new String[]{"-a", amsUrl, "-p", "2", "-g", "g1",
-                                          "-id", "test_id", "-hb", "1000"};
+                                          "-id", "test_id", "-hb", "1000", "-pwt", "100"};
     try {
       return new OptimizerConfig(optimizerArgs);
     } catch (CmdLineException e) {
@@ -56,6 +56,17 @@ public class TestOptimizerExecutor extends OptimizerTestBase {
     optimizerExecutor.stop();
   }
 
+  @Test
+  public void testMaxPollTaskWaitTimeout() {
+    Assert.assertEquals(4000, OptimizerExecutor.maxPollTaskWaitTimeout("thrift://127.0.0.1:1260"));
+    Assert.assertEquals(29000,
+        OptimizerExecutor.maxPollTaskWaitTimeout("thrift://127.0.0.1:1260?socketTimeout=30000"));
+    Assert.assertEquals(29000, OptimizerExecutor.maxPollTaskWaitTimeout(
+        "zookeeper://127.0.0.1:2181/cluster?socketTimeout=30000&resourceGroup=group"));
+    Assert.assertEquals(Long.MAX_VALUE,
+        OptimizerExecutor.maxPollTaskWaitTimeout("thrift://127.0.0.1:1260?socketTimeout=0"));
+  }
+
   @Test
   public void testWaitForToken() throws InterruptedException {
     TEST_AMS.getOptimizerHandler().offerTask(TestOptimizingInput.successInput(1).toTask(0, 0));
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizer.common;
+
+import com.netease.arctic.optimizing.TableHandle;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.TableIdentifier;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestOptimizerTableCache {
+
+  private static TableHandle handle(String table, long snapshotId) {
+    return new TableHandle("thrift://127.0.0.1:1260/catalog", TableIdentifier.of("catalog", "db", table),
+        snapshotId, TableHandle.NO_SNAPSHOT, 0, "", "");
+  }
+
+  private static class CountingCache extends OptimizerTableCache {
+    private final AtomicInteger loads = new AtomicInteger();
+
+    CountingCache(int maxSize) {
+      super(maxSize);
+    }
+
+    @Override
+    protected ArcticTable load(TableHandle handle) {
+      loads.incrementAndGet();
+      return (ArcticTable) Proxy.newProxyInstance(
+          ArcticTable.class.getClassLoader(), new Class<?>[] {ArcticTable.class}, (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+          });
+    }
+  }
+
+  @Test
+  public void testReuseTableOfEqualHandle() {
+    CountingCache cache = new CountingCache(4);
+    ArcticTable table = cache.resolve(handle("t1", 1));
+    Assert.assertSame(table, cache.resolve(handle("t1", 1)));
+    Assert.assertEquals(1, cache.loads.get());
+
+    Assert.assertNotSame(table, cache.resolve(handle("t1", 2)));
+    Assert.assertEquals(2, cache.loads.get());
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsed() {
+    CountingCache cache = new CountingCache(2);
+    cache.resolve(handle("t1", 1));
+    cache.resolve(handle("t2", 1));
+    cache.resolve(handle("t1", 1));
+    cache.resolve(handle("t3", 1));
+    Assert.assertEquals(2, cache.size());
+    Assert.assertEquals(3, cache.loads.get());
+
+    cache.resolve(handle("t1", 1));
+    Assert.assertEquals(3, cache.loads.get());
+    cache.resolve(handle("t2", 1));
+    Assert.assertEquals(4, cache.loads.get());
+  }
+
+  @Test
+  public void testReloadTableOfDifferentProperties() {
+    Map<String, String> plannedProperties = Collections.singletonMap("key", "planned");
+    TableHandle handle = new TableHandle("thrift://127.0.0.1:1260/catalog",
+        TableIdentifier.of("catalog", "db", "t1"), 1, TableHandle.NO_SNAPSHOT, 0, "",
+        TableHandle.propertiesFingerprint(plannedProperties));
+    AtomicInteger catalogReloads = new AtomicInteger();
+    OptimizerTableCache cache = new OptimizerTableCache(4) {
+      @Override
+      protected ArcticTable loadTable(TableHandle tableHandle, boolean reloadCatalog) {
+        if (reloadCatalog) {
+          catalogReloads.incrementAndGet();
+        }
+        // a stale catalog returns the table with properties other than the planned ones
+        return table(reloadCatalog ? plannedProperties : Collections.singletonMap("key", "stale"));
+      }
+    };
+    Assert.assertEquals(plannedProperties, cache.resolve(handle).properties());
+    Assert.assertEquals(1, catalogReloads.get());
+  }
+
+  private static ArcticTable table(Map<String, String> properties) {
+    Schema schema = new Schema(0,
+        Collections.singletonList(Types.NestedField.required(1, "id", Types.IntegerType.get())));
+    return (ArcticTable) Proxy.newProxyInstance(
+        ArcticTable.class.getClassLoader(), new Class<?>[] {ArcticTable.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "properties":
+              return properties;
+            case "schema":
+              return schema;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+}
@@ -68,6 +68,19 @@ public class ArcticManagementConf {
           .defaultValue(1000000)
           .withDescription("The queue size of the executors of the external catalog explorer.");
 
+  public static final ConfigOption<Integer> TABLE_CACHE_MAX_SIZE =
+      ConfigOptions.key("table-cache.max-size")
+          .intType()
+          .defaultValue(1000)
+          .withDescription("Max number of loaded tables shared by table executors, optimizing and dashboard, " +
+              "0 to load tables every time.");
+
+  public static final ConfigOption<Long> TABLE_CACHE_EXPIRE_AFTER_ACCESS =
+      ConfigOptions.key("table-cache.expire-after-access")
+          .longType()
+          .defaultValue(10 * 60 * 1000L)
+          .withDescription("Interval in milliseconds after which a cached table is dropped if nobody loads it.");
+
   public static final ConfigOption<Boolean> EXPIRE_SNAPSHOTS_ENABLED =
       ConfigOptions.key("expire-snapshots.enabled")
           .booleanType()
@@ -140,6 +153,20 @@ public class ArcticManagementConf {
           .defaultValue("")
           .withDescription("The Zookeeper address used for high availability.");
 
+  public static final ConfigOption<Boolean> HA_SHARDING_ENABLE =
+      ConfigOptions.key("ha.sharding.enabled")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription("Whether all AMS nodes of the cluster are active, each one serving the table runtimes" +
+              " and optimizers of the resource groups it owns.");
+
+  public static final ConfigOption<Long> HA_SHARDING_REBALANCE_INTERVAL =
+      ConfigOptions.key("ha.sharding.rebalance-interval")
+          .longType()
+          .defaultValue(30000L)
+          .withDescription("Interval in milliseconds for checking the ownership of resource groups and syncing" +
+              " table runtimes changed by other AMS nodes.");
+
   public static final ConfigOption<Integer> TABLE_SERVICE_THRIFT_BIND_PORT =
       ConfigOptions.key("thrift-server.table-service.bind-port")
           .intType()
@@ -188,6 +215,40 @@ public class ArcticManagementConf {
           .defaultValue(10)
           .withDescription("The number of threads that self-optimizing uses to submit results.");
 
+  public static final ConfigOption<Integer> OPTIMIZING_PLAN_THREAD_COUNT =
+      ConfigOptions.key("self-optimizing.plan-thread-count")
+          .intType()
+          .defaultValue(2)
+          .withDescription("The number of threads that each resource group uses to plan self-optimizing tasks.");
+
+  public static final ConfigOption<Integer> OPTIMIZING_PLAN_AHEAD_TASK_COUNT =
+      ConfigOptions.key("self-optimizing.plan-ahead-task-count")
+          .intType()
+          .defaultValue(10)
+          .withDescription("The number of planned tasks that each resource group keeps ready ahead of polling.");
+
+  public static final ConfigOption<Long> OPTIMIZING_PLAN_TIMEOUT =
+      ConfigOptions.key("self-optimizing.plan-timeout")
+          .longType()
+          .defaultValue(10 * 60 * 1000L)
+          .withDescription("Timeout duration for planning a single table. It is best-effort: a timed out planning is " +
+              "not interrupted, its result is abandoned once it finishes and the table is skipped for the same " +
+              "duration.");
+
+  public static final ConfigOption<Long> OPTIMIZING_FILE_SCAN_CACHE_MAX_FILES =
+      ConfigOptions.key("self-optimizing.file-scan-cache.max-files")
+          .longType()
+          .defaultValue(500000L)
+          .withDescription("Max number of files kept in memory across all tables to evaluate self-optimizing " +
+              "incrementally, 0 to scan the files of tables every time.");
+
+  public static final ConfigOption<Boolean> OPTIMIZING_TASK_TABLE_HANDLE_ENABLED =
+      ConfigOptions.key("self-optimizing.task-table-handle.enabled")
+          .booleanType()
+          .defaultValue(true)
+          .withDescription("Whether to send optimizing tasks with a table handle which optimizers resolve through " +
+              "the table service, instead of the serialized table.");
+
   public static final ConfigOption<String> DB_TYPE =
       ConfigOptions.key("database.type")
           .stringType()
@@ -218,6 +279,19 @@ public class ArcticManagementConf {
           .defaultValue("")
           .withDescription("The password for connecting to the database.");
 
+  public static final ConfigOption<Long> DB_WRITE_BEHIND_FLUSH_INTERVAL =
+      ConfigOptions.key("database.write-behind.flush-interval")
+          .longType()
+          .defaultValue(0L)
+          .withDescription("Interval in milliseconds to flush coalesced task and table runtime updates in batches, " +
+              "0 to write them synchronously.");
+
+  public static final ConfigOption<Integer> DB_WRITE_BEHIND_BATCH_SIZE =
+      ConfigOptions.key("database.write-behind.batch-size")
+          .intType()
+          .defaultValue(500)
+          .withDescription("Number of pending updates that triggers a flush before the flush interval elapses.");
+
   public static final ConfigOption<Long> OPTIMIZER_HB_TIMEOUT =
       ConfigOptions.key("optimizer.heart-beat-timeout")
           .longType()
@@ -230,6 +304,13 @@ public class ArcticManagementConf {
           .defaultValue(30000L)
           .withDescription("Timeout duration for task acknowledgment.");
 
+  public static final ConfigOption<Long> OPTIMIZER_POLL_TASK_MAX_WAIT =
+      ConfigOptions.key("optimizer.poll-task-max-wait")
+          .longType()
+          .defaultValue(3000L)
+          .withDescription("Max duration an optimizer polling tasks waits for a task when there is none, it must " +
+              "be less than the socket timeout of optimizers, which is 5000 ms by default.");
+
   /**
    * config key prefix of terminal
    */
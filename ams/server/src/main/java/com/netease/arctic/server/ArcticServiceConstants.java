@@ -4,6 +4,8 @@ public class ArcticServiceConstants {
 
   public static final long OPTIMIZER_CHECK_INTERVAL = 10 * 1000;
 
+  public static final long PLANNING_CHECK_INTERVAL = 1000;
+
   public static final long INVALID_TIME = 0;
 
   public static final long QUOTA_LOOK_BACK_TIME = 60 * 60 * 1000;
@@ -27,18 +27,23 @@ import com.netease.arctic.ams.api.Constants;
 import com.netease.arctic.ams.api.Environments;
 import com.netease.arctic.ams.api.OptimizingService;
 import com.netease.arctic.ams.api.PropertyNames;
+import com.netease.arctic.ams.api.resource.ResourceGroup;
 import com.netease.arctic.server.dashboard.DashboardServer;
 import com.netease.arctic.server.dashboard.response.ErrorResponse;
 import com.netease.arctic.server.dashboard.utils.AmsUtil;
 import com.netease.arctic.server.dashboard.utils.CommonUtil;
 import com.netease.arctic.server.exception.ArcticRuntimeException;
 import com.netease.arctic.server.manager.MetricsManager;
+import com.netease.arctic.server.metrics.ServiceMetricsContent;
+import com.netease.arctic.server.optimizing.scan.TableFileScanCache;
 import com.netease.arctic.server.persistence.SqlSessionFactoryProvider;
+import com.netease.arctic.server.persistence.WriteBehindPersistence;
 import com.netease.arctic.server.resource.ContainerMetadata;
 import com.netease.arctic.server.resource.OptimizerManager;
 import com.netease.arctic.server.resource.ResourceContainers;
 import com.netease.arctic.server.table.DefaultTableService;
 import com.netease.arctic.server.table.RuntimeHandlerChain;
+import com.netease.arctic.server.table.TableCache;
 import com.netease.arctic.server.table.TableService;
 import com.netease.arctic.server.table.executor.AsyncTableExecutors;
 import com.netease.arctic.server.terminal.TerminalManager;
@@ -75,9 +80,11 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.stream.Collectors;
 
 public class ArcticServiceContainer {
 
@@ -94,6 +101,7 @@ public class ArcticServiceContainer {
   private TServer optimizingServiceServer;
   private Javalin httpServer;
   private MetricsManager metricsManager;
+  private ResourceGroupShards resourceGroupShards;
 
   public ArcticServiceContainer() throws Exception {
     initConfig();
@@ -129,8 +137,24 @@ public class ArcticServiceContainer {
   }
 
   public void startService() throws Exception {
+    metricsManager = new MetricsManager();
+    metricsManager.initialize();
+    WriteBehindPersistence.getInstance().start(
+        serviceConfig.getLong(ArcticManagementConf.DB_WRITE_BEHIND_FLUSH_INTERVAL),
+        serviceConfig.getInteger(ArcticManagementConf.DB_WRITE_BEHIND_BATCH_SIZE),
+        metrics -> metricsManager.emit(ServiceMetricsContent.wrap("write-behind-persistence", metrics)));
+    TableCache.getInstance().start(
+        serviceConfig.getInteger(ArcticManagementConf.TABLE_CACHE_MAX_SIZE),
+        serviceConfig.getLong(ArcticManagementConf.TABLE_CACHE_EXPIRE_AFTER_ACCESS),
+        metrics -> metricsManager.emit(ServiceMetricsContent.wrap("table-cache", metrics)));
+    TableFileScanCache.setMaxCachedFiles(
+        serviceConfig.getLong(ArcticManagementConf.OPTIMIZING_FILE_SCAN_CACHE_MAX_FILES));
+
     tableService = new DefaultTableService(serviceConfig);
     optimizingService = new DefaultOptimizingService(serviceConfig, tableService);
+    resourceGroupShards = haContainer.createResourceGroupShards(() ->
+        optimizingService.listResourceGroups().stream().map(ResourceGroup::getName).collect(Collectors.toList()));
+    tableService.setResourceGroupShards(resourceGroupShards);
 
     LOG.info("Setting up AMS table executors...");
     AsyncTableExecutors.getInstance().setup(tableService, serviceConfig);
@@ -147,14 +171,31 @@ public class ArcticServiceContainer {
     LOG.info("AMS table service have been initialized");
     terminalManager = new TerminalManager(serviceConfig, tableService);
 
-    metricsManager = new MetricsManager();
-    metricsManager.initialize();
-
     initThriftService();
     startThriftService();
 
     initHttpService();
     startHttpService();
+
+    if (resourceGroupShards != null) {
+      resourceGroupShards.start(new ResourceGroupShards.ShardListener() {
+        @Override
+        public void onAcquired(String resourceGroup) {
+          tableService.acquireResourceGroup(resourceGroup);
+        }
+
+        @Override
+        public void onReleased(String resourceGroup) {
+          tableService.releaseResourceGroup(resourceGroup);
+        }
+
+        @Override
+        public void afterRebalance(Set<String> ownedGroups) {
+          tableService.syncOwnedTableRuntimes(ownedGroups);
+        }
+      });
+      LOG.info("AMS joined the sharding cluster as {}", resourceGroupShards.getMemberId());
+    }
   }
 
   private void addHandlerChain(RuntimeHandlerChain chain) {
@@ -173,6 +214,10 @@ public class ArcticServiceContainer {
     if (httpServer != null) {
       httpServer.stop();
     }
+    if (resourceGroupShards != null) {
+      resourceGroupShards.close();
+      resourceGroupShards = null;
+    }
     if (tableService != null) {
       tableService.dispose();
       tableService = null;
@@ -181,6 +226,8 @@ public class ArcticServiceContainer {
       terminalManager.dispose();
       terminalManager = null;
     }
+    WriteBehindPersistence.getInstance().stop();
+    TableCache.getInstance().stop();
     optimizingService = null;
   }
 
@@ -273,7 +320,10 @@ public class ArcticServiceContainer {
 
     ArcticTableMetastore.Processor<ArcticTableMetastore.Iface> tableManagementProcessor =
         new ArcticTableMetastore.Processor<>(ThriftServiceProxy.createProxy(ArcticTableMetastore.Iface.class,
-            new TableManagementService(tableService), ArcticRuntimeException::normalizeCompatibly));
+            resourceGroupShards == null ?
+                new TableManagementService(tableService) :
+                new TableManagementService(tableService, resourceGroupShards),
+            ArcticRuntimeException::normalizeCompatibly));
     tableManagementServer =
         createThriftServer(tableManagementProcessor, Constants.THRIFT_TABLE_SERVICE_NAME, bindHost,
             serviceConfig.getInteger(ArcticManagementConf.TABLE_SERVICE_THRIFT_BIND_PORT),
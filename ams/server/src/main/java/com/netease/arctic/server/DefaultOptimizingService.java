@@ -21,6 +21,7 @@ package com.netease.arctic.server;
 import com.google.common.base.Preconditions;
 import com.netease.arctic.AmoroTable;
 import com.netease.arctic.ams.api.CatalogMeta;
+import com.netease.arctic.ams.api.Constants;
 import com.netease.arctic.ams.api.OptimizerRegisterInfo;
 import com.netease.arctic.ams.api.OptimizingService;
 import com.netease.arctic.ams.api.OptimizingTask;
@@ -30,8 +31,10 @@ import com.netease.arctic.ams.api.properties.CatalogMetaProperties;
 import com.netease.arctic.ams.api.resource.Resource;
 import com.netease.arctic.ams.api.resource.ResourceGroup;
 import com.netease.arctic.ams.api.resource.ResourceManager;
+import com.netease.arctic.server.dashboard.utils.AmsUtil;
 import com.netease.arctic.server.exception.ObjectNotExistsException;
 import com.netease.arctic.server.exception.PluginRetryAuthException;
+import com.netease.arctic.server.exception.ShardNotOwnedException;
 import com.netease.arctic.server.optimizing.OptimizingQueue;
 import com.netease.arctic.server.optimizing.OptimizingStatus;
 import com.netease.arctic.server.persistence.StatedPersistentBase;
@@ -76,6 +79,11 @@ public class DefaultOptimizingService extends StatedPersistentBase implements Op
 
   private final long optimizerTouchTimeout;
   private final long taskAckTimeout;
+  private final long pollTaskMaxWait;
+  private final int planThreadCount;
+  private final int planAheadTaskCount;
+  private final long planTimeout;
+  private final String tableServiceUrl;
   @StatedPersistentBase.StateField
   private final Map<String, OptimizingQueue> optimizingQueueByGroup = new ConcurrentHashMap<>();
   private final Map<String, OptimizingQueue> optimizingQueueByToken = new ConcurrentHashMap<>();
@@ -86,6 +94,12 @@ public class DefaultOptimizingService extends StatedPersistentBase implements Op
   public DefaultOptimizingService(Configurations serviceConfig, DefaultTableService tableService) {
     this.optimizerTouchTimeout = serviceConfig.getLong(ArcticManagementConf.OPTIMIZER_HB_TIMEOUT);
     this.taskAckTimeout = serviceConfig.getLong(ArcticManagementConf.OPTIMIZER_TASK_ACK_TIMEOUT);
+    this.pollTaskMaxWait = serviceConfig.getLong(ArcticManagementConf.OPTIMIZER_POLL_TASK_MAX_WAIT);
+    this.planThreadCount = serviceConfig.getInteger(ArcticManagementConf.OPTIMIZING_PLAN_THREAD_COUNT);
+    this.planAheadTaskCount = serviceConfig.getInteger(ArcticManagementConf.OPTIMIZING_PLAN_AHEAD_TASK_COUNT);
+    this.planTimeout = serviceConfig.getLong(ArcticManagementConf.OPTIMIZING_PLAN_TIMEOUT);
+    this.tableServiceUrl = serviceConfig.getBoolean(ArcticManagementConf.OPTIMIZING_TASK_TABLE_HANDLE_ENABLED) ?
+        AmsUtil.getAMSThriftAddress(serviceConfig, Constants.THRIFT_TABLE_SERVICE_NAME) : null;
     this.tableManager = tableService;
     this.tableHandlerChain = new TableRuntimeHandlerImpl();
   }
@@ -102,22 +116,27 @@ public class DefaultOptimizingService extends StatedPersistentBase implements Op
         optimizers.stream().collect(Collectors.groupingBy(OptimizerInstance::getGroupName));
     Map<String, List<TableRuntimeMeta>> groupToTableRuntimes = tableRuntimeMetaList.stream()
         .collect(Collectors.groupingBy(TableRuntimeMeta::getOptimizerGroup));
-    optimizerGroups.forEach(group -> {
-      String groupName = group.getName();
-      List<TableRuntimeMeta> tableRuntimeMetas = groupToTableRuntimes.remove(groupName);
-      List<OptimizerInstance> optimizersUnderGroup = optimizersByGroup.get(groupName);
-      OptimizingQueue optimizingQueue = new OptimizingQueue(tableManager, group,
-          Optional.ofNullable(tableRuntimeMetas).orElseGet(ArrayList::new),
-          Optional.ofNullable(optimizersUnderGroup).orElseGet(ArrayList::new),
-          optimizerTouchTimeout, taskAckTimeout);
-      optimizingQueueByGroup.put(groupName, optimizingQueue);
-      if (CollectionUtils.isNotEmpty(optimizersUnderGroup)) {
-        optimizersUnderGroup.forEach(optimizer -> optimizingQueueByToken.put(optimizer.getToken(), optimizingQueue));
-      }
-    });
+    optimizerGroups.stream()
+        .filter(group -> tableManager.ownsResourceGroup(group.getName()))
+        .forEach(group -> {
+          String groupName = group.getName();
+          loadOptimizingQueue(group, groupToTableRuntimes.remove(groupName), optimizersByGroup.get(groupName));
+        });
     groupToTableRuntimes.keySet().forEach(groupName -> LOG.warn("Unloaded task runtime in group " + groupName));
   }
 
+  private void loadOptimizingQueue(
+      ResourceGroup group, List<TableRuntimeMeta> tableRuntimeMetas, List<OptimizerInstance> optimizersUnderGroup) {
+    OptimizingQueue optimizingQueue = new OptimizingQueue(tableManager, group,
+        Optional.ofNullable(tableRuntimeMetas).orElseGet(ArrayList::new),
+        Optional.ofNullable(optimizersUnderGroup).orElseGet(ArrayList::new),
+        optimizerTouchTimeout, taskAckTimeout, planThreadCount, planAheadTaskCount, planTimeout, tableServiceUrl);
+    optimizingQueueByGroup.put(group.getName(), optimizingQueue);
+    if (CollectionUtils.isNotEmpty(optimizersUnderGroup)) {
+      optimizersUnderGroup.forEach(optimizer -> optimizingQueueByToken.put(optimizer.getToken(), optimizingQueue));
+    }
+  }
+
   @Override
   public void ping() {
   }
@@ -140,6 +159,18 @@ public class DefaultOptimizingService extends StatedPersistentBase implements Op
     return task;
   }
 
+  @Override
+  public List<OptimizingTask> pollTasks(String authToken, List<Integer> threadIds, long waitTimeout) {
+    LOG.debug("Optimizer {} (threadIds {}) try polling tasks", authToken, threadIds);
+    OptimizingQueue queue = getQueueByToken(authToken);
+    List<OptimizingTask> tasks = queue.pollTasks(authToken, threadIds,
+        Math.max(0, Math.min(waitTimeout, pollTaskMaxWait)));
+    for (int i = 0; i < tasks.size(); i++) {
+      LOG.info("Optimizer {} (threadId {}) polled task {}", authToken, threadIds.get(i), tasks.get(i).getTaskId());
+    }
+    return tasks;
+  }
+
   @Override
   public void ackTask(String authToken, int threadId, OptimizingTaskId taskId) {
     LOG.info("Ack task {} by optimizer {} (threadId {})", taskId, authToken, threadId);
@@ -170,7 +201,9 @@ public class DefaultOptimizingService extends StatedPersistentBase implements Op
    */
   private OptimizingQueue getQueueByGroup(String optimizerGroup) {
     return getOptionalQueueByGroup(optimizerGroup)
-        .orElseThrow(() -> new ObjectNotExistsException("Optimizer group " + optimizerGroup));
+        .orElseThrow(() -> tableManager.ownsResourceGroup(optimizerGroup) ?
+            new ObjectNotExistsException("Optimizer group " + optimizerGroup) :
+            new ShardNotOwnedException(optimizerGroup));
   }
 
   private Optional<OptimizingQueue> getOptionalQueueByGroup(String optimizerGroup) {
@@ -219,13 +252,21 @@ public class DefaultOptimizingService extends StatedPersistentBase implements Op
         doAsTransaction(() -> {
           doAs(ResourceMapper.class, mapper -> mapper.insertResourceGroup(resourceGroup));
           String groupName = resourceGroup.getName();
+          if (!tableManager.ownsResourceGroup(groupName)) {
+            // in sharding mode the node acquiring the new group creates its queue
+            return;
+          }
           OptimizingQueue optimizingQueue = new OptimizingQueue(
               tableManager,
               resourceGroup,
               new ArrayList<>(),
               new ArrayList<>(),
               optimizerTouchTimeout,
-              taskAckTimeout);
+              taskAckTimeout,
+              planThreadCount,
+              planAheadTaskCount,
+              planTimeout,
+              tableServiceUrl);
           optimizingQueueByGroup.put(groupName, optimizingQueue);
         })
     );
@@ -235,7 +276,7 @@ public class DefaultOptimizingService extends StatedPersistentBase implements Op
   public void deleteResourceGroup(String groupName) {
     if (canDeleteResourceGroup(groupName)) {
       invokeConsisitency(() -> {
-        optimizingQueueByGroup.remove(groupName);
+        Optional.ofNullable(optimizingQueueByGroup.remove(groupName)).ifPresent(OptimizingQueue::dispose);
         doAs(ResourceMapper.class, mapper -> mapper.deleteResourceGroup(groupName));
       });
     } else {
@@ -355,11 +396,37 @@ public class DefaultOptimizingService extends StatedPersistentBase implements Op
       LOG.info("OptimizerManagementService initializing has completed");
     }
 
+    @Override
+    protected void handleResourceGroupAcquired(String resourceGroup, List<TableRuntimeMeta> tableRuntimeMetaList) {
+      ResourceGroup group = getAs(ResourceMapper.class, mapper -> mapper.selectResourceGroup(resourceGroup));
+      if (group == null) {
+        LOG.warn("Resource group {} has been deleted, skip loading its optimizing queue", resourceGroup);
+        return;
+      }
+      List<OptimizerInstance> optimizers = getAs(OptimizerMapper.class, OptimizerMapper::selectAll).stream()
+          .filter(optimizer -> resourceGroup.equals(optimizer.getGroupName()))
+          .collect(Collectors.toList());
+      loadOptimizingQueue(group, tableRuntimeMetaList, optimizers);
+      LOG.info("Loaded optimizing queue of resource group {} with {} tables and {} optimizers",
+          resourceGroup, tableRuntimeMetaList.size(), optimizers.size());
+    }
+
+    @Override
+    protected void handleResourceGroupReleased(String resourceGroup) {
+      Optional.ofNullable(optimizingQueueByGroup.remove(resourceGroup)).ifPresent(queue -> {
+        // optimizers of the group authenticate again and are routed to the new owner
+        optimizingQueueByToken.values().removeIf(tokenQueue -> tokenQueue == queue);
+        queue.dispose();
+        LOG.info("Released optimizing queue of resource group {}", resourceGroup);
+      });
+    }
+
     @Override
     protected void doDispose() {
       if (Objects.nonNull(optimizerMonitorTimer)) {
         optimizerMonitorTimer.cancel();
       }
+      optimizingQueueByGroup.values().forEach(OptimizingQueue::dispose);
     }
   }
 
@@ -26,6 +26,7 @@ import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.framework.recipes.leader.LeaderLatch;
 import org.apache.curator.framework.recipes.leader.LeaderLatchListener;
+import org.apache.curator.framework.state.ConnectionState;
 import org.apache.curator.retry.ExponentialBackoffRetry;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
@@ -34,7 +35,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
 
 public class HighAvailabilityContainer implements LeaderLatchListener {
 
@@ -46,12 +49,17 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
   private final String optimizingServiceMasterPath;
   private final AmsServerInfo tableServiceServerInfo;
   private final AmsServerInfo optimizingServiceServerInfo;
+  private final String haClusterName;
+  private final boolean shardingEnabled;
+  private final long shardingRebalanceInterval;
   private transient CountDownLatch followerLath;
 
   public HighAvailabilityContainer(Configurations serviceConfig) throws Exception {
     if (serviceConfig.getBoolean(ArcticManagementConf.HA_ENABLE)) {
       String zkServerAddress = serviceConfig.getString(ArcticManagementConf.HA_ZOOKEEPER_ADDRESS);
-      String haClusterName = serviceConfig.getString(ArcticManagementConf.HA_CLUSTER_NAME);
+      haClusterName = serviceConfig.getString(ArcticManagementConf.HA_CLUSTER_NAME);
+      shardingEnabled = serviceConfig.getBoolean(ArcticManagementConf.HA_SHARDING_ENABLE);
+      shardingRebalanceInterval = serviceConfig.getLong(ArcticManagementConf.HA_SHARDING_REBALANCE_INTERVAL);
       tableServiceMasterPath = AmsHAProperties.getTableServiceMasterPath(haClusterName);
       optimizingServiceMasterPath = AmsHAProperties.getOptimizingServiceMasterPath(haClusterName);
       ExponentialBackoffRetry retryPolicy = new ExponentialBackoffRetry(1000, 3, 5000);
@@ -66,15 +74,24 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
       createPathIfNeeded(optimizingServiceMasterPath);
       String leaderPath = AmsHAProperties.getLeaderPath(haClusterName);
       createPathIfNeeded(leaderPath);
-      leaderLatch = new LeaderLatch(zkClient, leaderPath);
-      leaderLatch.addListener(this);
-      leaderLatch.start();
       this.tableServiceServerInfo = buildServerInfo(
           serviceConfig.getString(ArcticManagementConf.SERVER_EXPOSE_HOST),
           serviceConfig.getInteger(ArcticManagementConf.TABLE_SERVICE_THRIFT_BIND_PORT));
       this.optimizingServiceServerInfo = buildServerInfo(
           serviceConfig.getString(ArcticManagementConf.SERVER_EXPOSE_HOST),
           serviceConfig.getInteger(ArcticManagementConf.OPTIMIZING_SERVICE_THRIFT_BIND_PORT));
+      if (shardingEnabled) {
+        // restart the services once the session and with it the leases of resource groups are lost
+        zkClient.getConnectionStateListenable().addListener((client, newState) -> {
+          if (newState == ConnectionState.LOST && followerLath != null) {
+            LOG.warn("Lost the zookeeper session of AMS in sharding mode");
+            followerLath.countDown();
+          }
+        });
+      }
+      leaderLatch = new LeaderLatch(zkClient, leaderPath);
+      leaderLatch.addListener(this);
+      leaderLatch.start();
     } else {
       leaderLatch = null;
       zkClient = null;
@@ -82,29 +99,49 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
       optimizingServiceMasterPath = null;
       tableServiceServerInfo = null;
       optimizingServiceServerInfo = null;
+      haClusterName = null;
+      shardingEnabled = false;
+      shardingRebalanceInterval = 0;
       // block follower latch forever when ha is disabled
       followerLath = new CountDownLatch(1);
     }
   }
 
+  public boolean isShardingEnabled() {
+    return shardingEnabled;
+  }
+
+  /**
+   * Every AMS node is active in sharding mode, the leader only publishes the default service addresses for
+   * clients not routed by resource group.
+   */
   public void waitLeaderShip() throws Exception {
+    if (shardingEnabled) {
+      followerLath = new CountDownLatch(1);
+      LOG.info("AMS runs in sharding mode, start serving without leadership");
+      return;
+    }
     LOG.info("Waiting to become the leader of AMS");
     if (leaderLatch != null) {
       leaderLatch.await();
       if (leaderLatch.hasLeadership()) {
-        zkClient.setData()
-            .forPath(
-                tableServiceMasterPath,
-                JSONObject.toJSONString(tableServiceServerInfo).getBytes(StandardCharsets.UTF_8));
-        zkClient.setData()
-            .forPath(
-                optimizingServiceMasterPath,
-                JSONObject.toJSONString(optimizingServiceServerInfo).getBytes(StandardCharsets.UTF_8));
+        publishMasterInfo();
       }
     }
     LOG.info("Became the leader of AMS");
   }
 
+  /**
+   * Create the shards of resource groups for this node, null if sharding mode is disabled.
+   */
+  public ResourceGroupShards createResourceGroupShards(Supplier<Collection<String>> resourceGroups) {
+    if (!shardingEnabled) {
+      return null;
+    }
+    return new ResourceGroupShards(zkClient, haClusterName, tableServiceServerInfo, optimizingServiceServerInfo,
+        resourceGroups, shardingRebalanceInterval);
+  }
+
   public void waitFollowerShip() throws Exception {
     LOG.info("Waiting to become the follower of AMS");
     if (followerLath != null) {
@@ -128,6 +165,14 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
   public void isLeader() {
     LOG.info("Table service server {} and optimizing service server {} got leadership",
         tableServiceServerInfo.toString(), optimizingServiceServerInfo.toString());
+    if (shardingEnabled) {
+      try {
+        publishMasterInfo();
+      } catch (Exception e) {
+        LOG.error("Failed to publish the service addresses of the leader", e);
+      }
+      return;
+    }
     followerLath = new CountDownLatch(1);
   }
 
@@ -135,7 +180,20 @@ public class HighAvailabilityContainer implements LeaderLatchListener {
   public void notLeader() {
     LOG.info("Table service server {} and optimizing service server {} lost leadership",
         tableServiceServerInfo.toString(), optimizingServiceServerInfo.toString());
-    followerLath.countDown();
+    if (!shardingEnabled) {
+      followerLath.countDown();
+    }
+  }
+
+  private void publishMasterInfo() throws Exception {
+    zkClient.setData()
+        .forPath(
+            tableServiceMasterPath,
+            JSONObject.toJSONString(tableServiceServerInfo).getBytes(StandardCharsets.UTF_8));
+    zkClient.setData()
+        .forPath(
+            optimizingServiceMasterPath,
+            JSONObject.toJSONString(optimizingServiceServerInfo).getBytes(StandardCharsets.UTF_8));
   }
 
   private AmsServerInfo buildServerInfo(String host, int port) {
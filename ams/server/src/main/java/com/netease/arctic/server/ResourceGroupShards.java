@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server;
+
+import com.alibaba.fastjson.JSONObject;
+import com.netease.arctic.ams.api.client.AmsServerInfo;
+import com.netease.arctic.ams.api.properties.AmsHAProperties;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
+import org.apache.curator.framework.state.ConnectionState;
+import org.apache.curator.framework.state.ConnectionStateListener;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.relocated.com.google.common.hash.Hashing;
+import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Distributes resource groups over the live AMS nodes of a cluster running in sharding mode.
+ *
+ * <p>Every node registers an ephemeral member node. Each resource group is assigned to one of the members by
+ * rendezvous hashing, so a joining or leaving node only moves the groups it wins or owned. The assigned node
+ * takes an ephemeral lease on the group before serving it, and the former owner releases its lease only after it
+ * stopped serving the group, so a group is never served by two nodes at once. The lease carries the address of the
+ * owner, which is how optimizers and forwarded table service calls find it.
+ *
+ * <p>A node stops serving its groups as soon as its zookeeper connection is suspended, since its session and with it
+ * the leases may expire meanwhile and be taken by other nodes. Once reconnected, it only serves again the groups whose
+ * leases are still held by its session.
+ */
+public class ResourceGroupShards {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ResourceGroupShards.class);
+
+  private static final String TABLE_SERVICE_PORT_KEY = "tableServiceThriftBindPort";
+
+  /**
+   * Callbacks of ownership changes, invoked from the single rebalancing thread.
+   */
+  public interface ShardListener {
+
+    void onAcquired(String resourceGroup);
+
+    void onReleased(String resourceGroup);
+
+    /**
+     * Called after every rebalance, for syncing the owned groups with changes made by other nodes.
+     */
+    default void afterRebalance(Set<String> ownedGroups) {
+    }
+  }
+
+  private final CuratorFramework zkClient;
+  private final String cluster;
+  private final String memberId;
+  private final byte[] ownerInfo;
+  private final Supplier<Collection<String>> resourceGroups;
+  private final long rebalanceInterval;
+  private final Set<String> ownedGroups = ConcurrentHashMap.newKeySet();
+  private final ScheduledExecutorService rebalanceScheduler = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder()
+          .setNameFormat("resource-group-shards-rebalancer")
+          .setDaemon(true)
+          .build());
+  private final Set<String> suspendedGroups = Sets.newHashSet();
+  private final ConnectionStateListener connectionStateListener = (client, newState) -> {
+    if (newState == ConnectionState.SUSPENDED || newState == ConnectionState.LOST) {
+      rebalanceScheduler.execute(this::suspend);
+    } else if (newState == ConnectionState.RECONNECTED) {
+      rebalanceScheduler.execute(this::resume);
+    }
+  };
+  private boolean suspended = false;
+  private CuratorCache memberCache;
+  private ShardListener listener;
+
+  public ResourceGroupShards(
+      CuratorFramework zkClient, String cluster, AmsServerInfo tableServiceInfo,
+      AmsServerInfo optimizingServiceInfo, Supplier<Collection<String>> resourceGroups, long rebalanceInterval) {
+    this.zkClient = zkClient;
+    this.cluster = cluster;
+    this.memberId = tableServiceInfo.toString();
+    JSONObject owner = (JSONObject) JSONObject.toJSON(optimizingServiceInfo);
+    owner.put(TABLE_SERVICE_PORT_KEY, tableServiceInfo.getThriftBindPort());
+    this.ownerInfo = owner.toJSONString().getBytes(StandardCharsets.UTF_8);
+    this.resourceGroups = resourceGroups;
+    this.rebalanceInterval = rebalanceInterval;
+  }
+
+  public void start(ShardListener listener) throws Exception {
+    this.listener = listener;
+    String memberPath = AmsHAProperties.getShardMembersPath(cluster) + "/" + memberId;
+    try {
+      zkClient.delete().forPath(memberPath);
+    } catch (KeeperException.NoNodeException e) {
+      // ignore
+    }
+    zkClient.create().creatingParentsIfNeeded().withMode(CreateMode.EPHEMERAL).forPath(memberPath, ownerInfo);
+    LOG.info("AMS {} joined the shards of cluster {}", memberId, cluster);
+
+    memberCache = CuratorCache.build(zkClient, AmsHAProperties.getShardMembersPath(cluster));
+    memberCache.listenable().addListener(CuratorCacheListener.builder()
+        .forCreates(member -> rebalanceScheduler.execute(this::rebalance))
+        .forDeletes(member -> rebalanceScheduler.execute(this::rebalance))
+        .build());
+    memberCache.start();
+    zkClient.getConnectionStateListenable().addListener(connectionStateListener);
+    rebalanceScheduler.scheduleWithFixedDelay(this::rebalance, 0, rebalanceInterval, TimeUnit.MILLISECONDS);
+  }
+
+  public boolean owns(String resourceGroup) {
+    return ownedGroups.contains(resourceGroup);
+  }
+
+  public String getMemberId() {
+    return memberId;
+  }
+
+  /**
+   * Address of the table service of the node owning the resource group, empty if the group has no owner now.
+   */
+  public Optional<AmsServerInfo> getOwnerTableService(String resourceGroup) {
+    try {
+      byte[] data = zkClient.getData().forPath(AmsHAProperties.getShardOwnerPath(cluster, resourceGroup));
+      JSONObject owner = JSONObject.parseObject(new String(data, StandardCharsets.UTF_8));
+      AmsServerInfo serverInfo = new AmsServerInfo();
+      serverInfo.setHost(owner.getString("host"));
+      serverInfo.setThriftBindPort(owner.getInteger(TABLE_SERVICE_PORT_KEY));
+      return Optional.of(serverInfo);
+    } catch (KeeperException.NoNodeException e) {
+      return Optional.empty();
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to read the owner of resource group " + resourceGroup, e);
+    }
+  }
+
+  public void close() {
+    zkClient.getConnectionStateListenable().removeListener(connectionStateListener);
+    if (memberCache != null) {
+      memberCache.close();
+      memberCache = null;
+    }
+    rebalanceScheduler.shutdownNow();
+    try {
+      zkClient.delete().forPath(AmsHAProperties.getShardMembersPath(cluster) + "/" + memberId);
+    } catch (KeeperException.NoNodeException e) {
+      // ignore
+    } catch (Exception e) {
+      LOG.warn("Failed to leave the shards of cluster {}", cluster, e);
+    }
+    // services are disposed by the caller, only hand the leases over
+    synchronized (this) {
+      ownedGroups.forEach(this::deleteLease);
+      ownedGroups.clear();
+      suspendedGroups.forEach(this::deleteLease);
+      suspendedGroups.clear();
+    }
+  }
+
+  @VisibleForTesting
+  synchronized void rebalance() {
+    if (suspended) {
+      return;
+    }
+    try {
+      List<String> members = zkClient.getChildren().forPath(AmsHAProperties.getShardMembersPath(cluster));
+      Set<String> assignedGroups = Sets.newHashSet();
+      for (String group : resourceGroups.get()) {
+        if (memberId.equals(assign(group, members))) {
+          assignedGroups.add(group);
+        }
+      }
+
+      for (String group : Sets.newHashSet(Sets.difference(ownedGroups, assignedGroups))) {
+        LOG.info("AMS {} releases resource group {}", memberId, group);
+        try {
+          listener.onReleased(group);
+        } finally {
+          ownedGroups.remove(group);
+          deleteLease(group);
+        }
+      }
+
+      for (String group : Sets.newHashSet(Sets.difference(assignedGroups, ownedGroups))) {
+        if (acquireLease(group)) {
+          LOG.info("AMS {} acquires resource group {}", memberId, group);
+          ownedGroups.add(group);
+          try {
+            listener.onAcquired(group);
+          } catch (RuntimeException e) {
+            LOG.error("Failed to serve resource group {}, hand it over", group, e);
+            ownedGroups.remove(group);
+            listener.onReleased(group);
+            deleteLease(group);
+          }
+        }
+      }
+      listener.afterRebalance(ownedGroups);
+    } catch (Throwable t) {
+      LOG.error("Failed to rebalance resource groups, try again later", t);
+    }
+  }
+
+  /**
+   * Stop serving the owned groups while the connection is suspended, their leases are kept for resuming.
+   */
+  @VisibleForTesting
+  synchronized void suspend() {
+    if (suspended) {
+      return;
+    }
+    suspended = true;
+    LOG.warn("AMS {} lost the zookeeper connection, stop serving resource groups {}", memberId, ownedGroups);
+    for (String group : Sets.newHashSet(ownedGroups)) {
+      ownedGroups.remove(group);
+      suspendedGroups.add(group);
+      try {
+        listener.onReleased(group);
+      } catch (RuntimeException e) {
+        LOG.error("Failed to stop serving resource group {}", group, e);
+      }
+    }
+  }
+
+  /**
+   * Serve again the suspended groups whose leases are still held by the session of this node, then rebalance.
+   */
+  @VisibleForTesting
+  synchronized void resume() {
+    if (!suspended) {
+      return;
+    }
+    suspended = false;
+    for (String group : Sets.newHashSet(suspendedGroups)) {
+      suspendedGroups.remove(group);
+      try {
+        if (!holdsLease(group)) {
+          LOG.warn("AMS {} lost the lease of resource group {} while disconnected", memberId, group);
+          continue;
+        }
+        LOG.info("AMS {} resumes serving resource group {}", memberId, group);
+        ownedGroups.add(group);
+        listener.onAcquired(group);
+      } catch (Exception e) {
+        LOG.error("Failed to resume serving resource group {}, hand it over", group, e);
+        if (ownedGroups.remove(group)) {
+          listener.onReleased(group);
+        }
+        deleteLease(group);
+      }
+    }
+    rebalance();
+  }
+
+  /**
+   * Rendezvous hashing, the member with the highest hash for the group wins.
+   */
+  @VisibleForTesting
+  static String assign(String resourceGroup, Collection<String> members) {
+    String winner = null;
+    long winnerHash = Long.MIN_VALUE;
+    for (String member : members) {
+      long hash = Hashing.murmur3_128()
+          .hashString(member + "/" + resourceGroup, StandardCharsets.UTF_8)
+          .asLong();
+      if (winner == null || hash > winnerHash || (hash == winnerHash && member.compareTo(winner) > 0)) {
+        winner = member;
+        winnerHash = hash;
+      }
+    }
+    return winner;
+  }
+
+  private boolean acquireLease(String group) throws Exception {
+    String ownerPath = AmsHAProperties.getShardOwnerPath(cluster, group);
+    try {
+      zkClient.create().creatingParentsIfNeeded().withMode(CreateMode.EPHEMERAL).forPath(ownerPath, ownerInfo);
+      return true;
+    } catch (KeeperException.NodeExistsException e) {
+      if (holdsLease(group)) {
+        return true;
+      }
+      // the former owner is still handing over, or its session has not expired yet
+      LOG.info("Resource group {} is still leased by another AMS, try again later", group);
+      return false;
+    }
+  }
+
+  private boolean holdsLease(String group) throws Exception {
+    return heldLease(group) != null;
+  }
+
+  /**
+   * The stat of the lease of the group if it is held by the session of this node, null otherwise.
+   */
+  private Stat heldLease(String group) throws Exception {
+    Stat stat = zkClient.checkExists().forPath(AmsHAProperties.getShardOwnerPath(cluster, group));
+    return stat != null &&
+        stat.getEphemeralOwner() == zkClient.getZookeeperClient().getZooKeeper().getSessionId() ? stat : null;
+  }
+
+  /**
+   * Delete the lease of the group only if this node still holds it, since the lease may have expired with a former
+   * session of this node and been taken by another node.
+   */
+  private void deleteLease(String group) {
+    try {
+      Stat stat = heldLease(group);
+      if (stat == null) {
+        LOG.info("AMS {} does not hold the lease of resource group {}, leave it", memberId, group);
+        return;
+      }
+      zkClient.delete().withVersion(stat.getVersion()).forPath(AmsHAProperties.getShardOwnerPath(cluster, group));
+    } catch (KeeperException.NoNodeException | KeeperException.BadVersionException e) {
+      // the lease has gone or been replaced meanwhile
+    } catch (Exception e) {
+      LOG.warn("Failed to delete the lease of resource group {}", group, e);
+    }
+  }
+}
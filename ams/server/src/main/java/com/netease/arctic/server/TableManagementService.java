@@ -22,11 +22,13 @@ import com.netease.arctic.ams.api.ArcticTableMetastore;
 import com.netease.arctic.ams.api.BlockableOperation;
 import com.netease.arctic.ams.api.Blocker;
 import com.netease.arctic.ams.api.CatalogMeta;
-import com.netease.arctic.ams.api.NoSuchObjectException;
-import com.netease.arctic.ams.api.OperationConflictException;
 import com.netease.arctic.ams.api.TableCommitMeta;
 import com.netease.arctic.ams.api.TableIdentifier;
 import com.netease.arctic.ams.api.TableMeta;
+import com.netease.arctic.ams.api.client.AmsClientPools;
+import com.netease.arctic.ams.api.client.AmsServerInfo;
+import com.netease.arctic.server.exception.ShardNotOwnedException;
+import com.netease.arctic.server.table.DefaultTableService;
 import com.netease.arctic.server.table.ServerTableIdentifier;
 import com.netease.arctic.server.table.TableMetadata;
 import com.netease.arctic.server.table.TableService;
@@ -34,15 +36,31 @@ import org.apache.thrift.TException;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
 public class TableManagementService implements ArcticTableMetastore.Iface {
 
   private final TableService tableService;
+  private final Function<TableIdentifier, String> optimizerGroupLocator;
+  private final ResourceGroupShards shards;
 
   public TableManagementService(TableService tableService) {
     this.tableService = tableService;
+    this.optimizerGroupLocator = null;
+    this.shards = null;
+  }
+
+  /**
+   * Create a table management service in sharding mode, blocker requests of tables whose resource group is owned by
+   * another server are forwarded to that server, where the table runtimes live.
+   */
+  public TableManagementService(DefaultTableService tableService, ResourceGroupShards shards) {
+    this.tableService = tableService;
+    this.optimizerGroupLocator = tableService::getOptimizerGroup;
+    this.shards = shards;
   }
 
   @Override
@@ -115,22 +133,54 @@ public class TableManagementService implements ArcticTableMetastore.Iface {
   @Override
   public Blocker block(
       TableIdentifier tableIdentifier, List<BlockableOperation> operations, Map<String, String> properties)
-      throws OperationConflictException {
+      throws TException {
+    Optional<ArcticTableMetastore.Iface> owner = remoteOwner(tableIdentifier);
+    if (owner.isPresent()) {
+      return owner.get().block(tableIdentifier, operations, properties);
+    }
     return tableService.block(tableIdentifier, operations, properties);
   }
 
   @Override
-  public void releaseBlocker(TableIdentifier tableIdentifier, String blockerId) {
+  public void releaseBlocker(TableIdentifier tableIdentifier, String blockerId) throws TException {
+    Optional<ArcticTableMetastore.Iface> owner = remoteOwner(tableIdentifier);
+    if (owner.isPresent()) {
+      owner.get().releaseBlocker(tableIdentifier, blockerId);
+      return;
+    }
     tableService.releaseBlocker(tableIdentifier, blockerId);
   }
 
   @Override
-  public long renewBlocker(TableIdentifier tableIdentifier, String blockerId) throws NoSuchObjectException {
+  public long renewBlocker(TableIdentifier tableIdentifier, String blockerId) throws TException {
+    Optional<ArcticTableMetastore.Iface> owner = remoteOwner(tableIdentifier);
+    if (owner.isPresent()) {
+      return owner.get().renewBlocker(tableIdentifier, blockerId);
+    }
     return tableService.renewBlocker(tableIdentifier, blockerId);
   }
 
   @Override
-  public List<Blocker> getBlockers(TableIdentifier tableIdentifier) {
+  public List<Blocker> getBlockers(TableIdentifier tableIdentifier) throws TException {
+    Optional<ArcticTableMetastore.Iface> owner = remoteOwner(tableIdentifier);
+    if (owner.isPresent()) {
+      return owner.get().getBlockers(tableIdentifier);
+    }
     return tableService.getBlockers(tableIdentifier);
   }
+
+  private Optional<ArcticTableMetastore.Iface> remoteOwner(TableIdentifier tableIdentifier) {
+    if (shards == null) {
+      return Optional.empty();
+    }
+    String resourceGroup = optimizerGroupLocator.apply(tableIdentifier);
+    if (resourceGroup == null || shards.owns(resourceGroup)) {
+      return Optional.empty();
+    }
+    AmsServerInfo ownerInfo = shards.getOwnerTableService(resourceGroup)
+        .orElseThrow(() -> new ShardNotOwnedException(resourceGroup));
+    String ownerUrl = String.format("thrift://%s:%d", ownerInfo.getHost(), ownerInfo.getThriftBindPort());
+    ArcticTableMetastore.Iface ownerClient = AmsClientPools.getClientPool(ownerUrl).iface();
+    return Optional.of(ownerClient);
+  }
 }
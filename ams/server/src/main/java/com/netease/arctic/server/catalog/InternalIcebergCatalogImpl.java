@@ -15,11 +15,14 @@ import com.netease.arctic.server.utils.Configurations;
 import com.netease.arctic.server.utils.IcebergTableUtil;
 import org.apache.iceberg.BaseTable;
 import org.apache.iceberg.CatalogProperties;
+import org.apache.iceberg.HasTableOperations;
 import org.apache.iceberg.TableOperations;
 import org.apache.iceberg.catalog.TableIdentifier;
 import org.apache.iceberg.io.FileIO;
 import org.apache.iceberg.rest.RESTCatalog;
 
+import java.util.Objects;
+
 public class InternalIcebergCatalogImpl extends InternalCatalog {
 
   private static final String URI = "uri";
@@ -73,6 +76,22 @@ public class InternalIcebergCatalogImpl extends InternalCatalog {
     );
   }
 
+  @Override
+  public boolean validateLoadedTable(AmoroTable<?> table) {
+    // commits of internal tables only change the metadata location kept in the database
+    if (!(table.originalTable() instanceof HasTableOperations)) {
+      return false;
+    }
+    TableMetadata tableMetadata = getAs(TableMetaMapper.class, mapper ->
+        mapper.selectTableMetaByName(name(), table.id().getDatabase(), table.id().getTableName()));
+    if (tableMetadata == null) {
+      return false;
+    }
+    org.apache.iceberg.TableMetadata current = ((HasTableOperations) table.originalTable()).operations().current();
+    return current != null && Objects.equals(
+        current.metadataFileLocation(),
+        tableMetadata.getProperties().get(IcebergTableUtil.PROPERTIES_METADATA_LOCATION));
+  }
 
   private String defaultRestURI() {
     return "http://" + exposedHost + ":" + httpPort + IcebergRestCatalogService.ICEBERG_REST_API_PREFIX;
@@ -5,6 +5,8 @@ import com.netease.arctic.ams.api.CatalogMeta;
 import com.netease.arctic.ams.api.TableIdentifier;
 import com.netease.arctic.server.persistence.PersistentBase;
 import com.netease.arctic.server.persistence.mapper.CatalogMetaMapper;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.utils.ArcticTableUtil;
 
 import java.util.List;
 
@@ -41,4 +43,14 @@ public abstract class ServerCatalog extends PersistentBase {
   public abstract List<TableIdentifier> listTables(String database);
 
   public abstract AmoroTable<?> loadTable(String database, String tableName);
+
+  /**
+   * Check whether a table loaded before can be reused, tables failing the check are loaded again as new instances.
+   * A loaded table is shared by many threads, so it is never refreshed in place. By default only the stores of
+   * Hadoop tables are validated, by comparing the version hint with the version of the loaded metadata file.
+   */
+  public boolean validateLoadedTable(AmoroTable<?> table) {
+    return table.originalTable() instanceof ArcticTable &&
+        ArcticTableUtil.isCurrentMetadata((ArcticTable) table.originalTable());
+  }
 }
@@ -59,6 +59,7 @@ import com.netease.arctic.server.table.TableService;
 import com.netease.arctic.server.utils.Configurations;
 import com.netease.arctic.table.TableIdentifier;
 import com.netease.arctic.table.TableProperties;
+import com.netease.arctic.utils.CatalogUtil;
 import io.javalin.http.Context;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hive.metastore.api.FieldSchema;
@@ -174,10 +175,10 @@ public class TableController {
     UpgradeHiveMeta upgradeHiveMeta = ctx.bodyAsClass(UpgradeHiveMeta.class);
 
     ArcticHiveCatalog arcticHiveCatalog
-        = (ArcticHiveCatalog) CatalogLoader.load(String.join(
+        = (ArcticHiveCatalog) CatalogUtil.unwrap(CatalogLoader.load(String.join(
         "/",
         AmsUtil.getAMSThriftAddress(serviceConfig, Constants.THRIFT_TABLE_SERVICE_NAME),
-        catalog));
+        catalog)));
 
     tableUpgradeExecutor.execute(() -> {
       TableIdentifier tableIdentifier = TableIdentifier.of(catalog, db, table);
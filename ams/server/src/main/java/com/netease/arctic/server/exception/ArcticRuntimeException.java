@@ -31,6 +31,7 @@ public class ArcticRuntimeException extends RuntimeException {
     CODE_MAP.put(IllegalTaskStateException.class, ErrorCodes.ILLEGAL_TASK_STATE_ERROR_CODE);
     CODE_MAP.put(PluginAuthException.class, ErrorCodes.PLUGIN_AUTH_ERROR_CODE);
     CODE_MAP.put(PluginRetryAuthException.class, ErrorCodes.PLUGIN_RETRY_AUTH_ERROR_CODE);
+    CODE_MAP.put(ShardNotOwnedException.class, ErrorCodes.SHARD_NOT_OWNED_ERROR_CODE);
 
     CODE_MAP.put(BlockerConflictException.class, ErrorCodes.BLOCKER_CONFLICT_ERROR_CODE);
   }
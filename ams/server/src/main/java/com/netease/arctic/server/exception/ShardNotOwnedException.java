@@ -0,0 +1,11 @@
+package com.netease.arctic.server.exception;
+
+/**
+ * Thrown by an AMS running in sharding mode for a resource group owned by another AMS node.
+ */
+public class ShardNotOwnedException extends ArcticRuntimeException {
+
+  public ShardNotOwnedException(String resourceGroup) {
+    super("Resource group " + resourceGroup + " is not owned by this AMS");
+  }
+}
@@ -3,6 +3,7 @@ package com.netease.arctic.server.iceberg;
 import com.netease.arctic.server.persistence.PersistentBase;
 import com.netease.arctic.server.persistence.mapper.TableMetaMapper;
 import com.netease.arctic.server.table.ServerTableIdentifier;
+import com.netease.arctic.server.table.TableCache;
 import com.netease.arctic.server.utils.IcebergTableUtil;
 import org.apache.iceberg.LocationProviders;
 import org.apache.iceberg.TableMetadata;
@@ -87,6 +88,7 @@ public class InternalTableOperations extends PersistentBase implements TableOper
       io.deleteFile(newMetadataFileLocation);
     } finally {
       this.tableMetadata = null;
+      TableCache.getInstance().invalidate(identifier);
     }
     refresh();
   }
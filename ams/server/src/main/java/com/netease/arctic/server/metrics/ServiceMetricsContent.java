@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.metrics;
+
+import com.netease.arctic.ams.api.metrics.AmoroMetrics;
+import com.netease.arctic.ams.api.metrics.MetricType;
+import com.netease.arctic.ams.api.metrics.MetricsContent;
+
+public class ServiceMetricsContent<T extends AmoroMetrics> implements MetricsContent<T> {
+
+  private final String name;
+  private final T data;
+
+  private ServiceMetricsContent(String name, T data) {
+    this.name = name;
+    this.data = data;
+  }
+
+  public static <T extends AmoroMetrics> MetricsContent<T> wrap(String name, T metrics) {
+    return new ServiceMetricsContent<>(name, metrics);
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public MetricType type() {
+    return MetricType.SERVICE;
+  }
+
+  @Override
+  public T data() {
+    return data;
+  }
+}
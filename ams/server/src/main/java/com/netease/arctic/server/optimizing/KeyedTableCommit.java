@@ -136,6 +136,9 @@ public class KeyedTableCommit extends UnKeyedTableCommit {
     //overwrite files
     OverwriteBaseFiles overwriteBaseFiles = new OverwriteBaseFiles(table.asKeyedTable());
     overwriteBaseFiles.set(SnapshotSummary.SNAPSHOT_PRODUCER, CommitMetaProducer.OPTIMIZE.name());
+    if (commitId != null) {
+      overwriteBaseFiles.set(COMMIT_ID_PROPERTY, commitId);
+    }
     overwriteBaseFiles.validateNoConflictingAppends(Expressions.alwaysFalse());
     overwriteBaseFiles.dynamic(false);
     toSequenceOfPartitions.forEach(overwriteBaseFiles::updateOptimizedSequence);
@@ -152,6 +155,9 @@ public class KeyedTableCommit extends UnKeyedTableCommit {
     if (CollectionUtils.isNotEmpty(removedDeleteFiles)) {
       RewriteFiles rewriteFiles = table.asKeyedTable().baseTable().newRewrite();
       rewriteFiles.set(SnapshotSummary.SNAPSHOT_PRODUCER, CommitMetaProducer.OPTIMIZE.name());
+      if (commitId != null) {
+        rewriteFiles.set(COMMIT_ID_PROPERTY, commitId);
+      }
       rewriteFiles.rewriteFiles(Collections.emptySet(), removedDeleteFiles,
           Collections.emptySet(), Collections.emptySet());
       try {
@@ -58,6 +58,9 @@ public class OptimizingConfig {
   //self-optimizing.full.rewrite-all-files
   private boolean fullRewriteAllFiles;
 
+  //self-optimizing.commit.partition-batch-size
+  private int commitPartitionBatchSize;
+
   //base.file-index.hash-bucket
   private int baseHashBucket;
 
@@ -204,6 +207,15 @@ public class OptimizingConfig {
     return this;
   }
 
+  public int getCommitPartitionBatchSize() {
+    return commitPartitionBatchSize;
+  }
+
+  public OptimizingConfig setCommitPartitionBatchSize(int commitPartitionBatchSize) {
+    this.commitPartitionBatchSize = commitPartitionBatchSize;
+    return this;
+  }
+
   public int getBaseHashBucket() {
     return baseHashBucket;
   }
@@ -243,8 +255,8 @@ public class OptimizingConfig {
         minorLeastFileCount == that.minorLeastFileCount && minorLeastInterval == that.minorLeastInterval &&
         Double.compare(that.majorDuplicateRatio, majorDuplicateRatio) == 0 &&
         fullTriggerInterval == that.fullTriggerInterval && fullRewriteAllFiles == that.fullRewriteAllFiles &&
-        baseHashBucket == that.baseHashBucket && baseRefreshInterval == that.baseRefreshInterval &&
-        hiveRefreshInterval == that.hiveRefreshInterval &&
+        commitPartitionBatchSize == that.commitPartitionBatchSize && baseHashBucket == that.baseHashBucket &&
+        baseRefreshInterval == that.baseRefreshInterval && hiveRefreshInterval == that.hiveRefreshInterval &&
         Objects.equal(optimizerGroup, that.optimizerGroup);
   }
 
@@ -252,8 +264,8 @@ public class OptimizingConfig {
   public int hashCode() {
     return Objects.hashCode(enabled, targetQuota, optimizerGroup, maxExecuteRetryCount, maxCommitRetryCount, targetSize,
         maxTaskSize, maxFileCount, openFileCost, fragmentRatio, minorLeastFileCount, minorLeastInterval,
-        majorDuplicateRatio, fullTriggerInterval, fullRewriteAllFiles, baseHashBucket, baseRefreshInterval,
-        hiveRefreshInterval);
+        majorDuplicateRatio, fullTriggerInterval, fullRewriteAllFiles, commitPartitionBatchSize, baseHashBucket,
+        baseRefreshInterval, hiveRefreshInterval);
   }
 
   @Override
@@ -274,6 +286,7 @@ public class OptimizingConfig {
         .add("majorDuplicateRatio", majorDuplicateRatio)
         .add("fullTriggerInterval", fullTriggerInterval)
         .add("fullRewriteAllFiles", fullRewriteAllFiles)
+        .add("commitPartitionBatchSize", commitPartitionBatchSize)
         .add("baseHashBucket", baseHashBucket)
         .add("baseRefreshInterval", baseRefreshInterval)
         .add("hiveRefreshInterval", hiveRefreshInterval)
@@ -337,6 +350,10 @@ public class OptimizingConfig {
             properties,
             TableProperties.SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES,
             TableProperties.SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES_DEFAULT))
+        .setCommitPartitionBatchSize(PropertyUtil.propertyAsInt(
+            properties,
+            TableProperties.SELF_OPTIMIZING_COMMIT_PARTITION_BATCH_SIZE,
+            TableProperties.SELF_OPTIMIZING_COMMIT_PARTITION_BATCH_SIZE_DEFAULT))
         .setBaseHashBucket(CompatiblePropertyUtil.propertyAsInt(
             properties,
             TableProperties.BASE_FILE_INDEX_HASH_BUCKET,
@@ -3,6 +3,8 @@ package com.netease.arctic.server.optimizing;
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.netease.arctic.AmoroTable;
 import com.netease.arctic.ams.api.BlockableOperation;
 import com.netease.arctic.ams.api.OptimizerRegisterInfo;
@@ -12,7 +14,10 @@ import com.netease.arctic.ams.api.OptimizingTaskId;
 import com.netease.arctic.ams.api.OptimizingTaskResult;
 import com.netease.arctic.ams.api.resource.Resource;
 import com.netease.arctic.ams.api.resource.ResourceGroup;
+import com.netease.arctic.optimizing.OptimizingInputProperties;
 import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.optimizing.TableHandle;
+import com.netease.arctic.server.ArcticManagementConf;
 import com.netease.arctic.server.ArcticServiceConstants;
 import com.netease.arctic.server.exception.OptimizingClosedException;
 import com.netease.arctic.server.exception.PluginRetryAuthException;
@@ -30,27 +35,42 @@ import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.server.table.TableRuntimeMeta;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.TableIdentifier;
+import com.netease.arctic.table.UnkeyedTable;
 import com.netease.arctic.utils.ArcticDataFiles;
 import com.netease.arctic.utils.ExceptionUtil;
 import com.netease.arctic.utils.TablePropertyUtil;
 import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
 import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.util.SnapshotUtil;
 import org.apache.iceberg.util.StructLikeMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class OptimizingQueue extends PersistentBase implements OptimizingService.Iface {
@@ -58,10 +78,27 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
   private static final Logger LOG = LoggerFactory.getLogger(OptimizingQueue.class);
   private final long optimizerTouchTimeout;
   private final long taskAckTimeout;
+  private final int planThreadCount;
+  private final int planAheadTaskCount;
+  private final long planTimeout;
+  // url of the table service optimizers load tables from, tasks carry the whole table if it is null
+  private final String tableServiceUrl;
   private final Lock planLock = new ReentrantLock();
+  private final AtomicInteger runningPlanJobs = new AtomicInteger(0);
+  // keeps the tables being planned, a table could only be planned by one thread at the same time
+  private final Map<ServerTableIdentifier, PlanningTable> planningTables = new ConcurrentHashMap<>();
+  // keeps the tables whose last planning timed out, they are skipped until the planning timeout elapses again
+  private final Map<ServerTableIdentifier, Long> planTimeoutTables = new ConcurrentHashMap<>();
+  private final ExecutorService planExecutor;
+  private final ScheduledExecutorService planScheduler;
+  // commits the partitions whose tasks have all succeeded before the whole process is prepared
+  private final ExecutorService partitionCommitExecutor;
   private ResourceGroup optimizerGroup;
   private final Queue<TaskRuntime> taskQueue = new LinkedTransferQueue<>();
   private final Queue<TaskRuntime> retryQueue = new LinkedTransferQueue<>();
+  // optimizers long-polling an empty queue wait on this condition until a task is planned or retried
+  private final Lock taskLock = new ReentrantLock();
+  private final Condition taskArrived = taskLock.newCondition();
   private final SchedulingPolicy schedulingPolicy;
   // keeps the SCHEDULED and ACKED tasks
   private final Map<OptimizingTaskId, TaskRuntime> executingTaskMap = new ConcurrentHashMap<>();
@@ -76,15 +113,55 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
       List<OptimizerInstance> authOptimizers,
       long optimizerTouchTimeout,
       long taskAckTimeout) {
+    this(tableManager, optimizerGroup, tableRuntimeMetaList, authOptimizers, optimizerTouchTimeout, taskAckTimeout,
+        ArcticManagementConf.OPTIMIZING_PLAN_THREAD_COUNT.defaultValue(),
+        ArcticManagementConf.OPTIMIZING_PLAN_AHEAD_TASK_COUNT.defaultValue(),
+        ArcticManagementConf.OPTIMIZING_PLAN_TIMEOUT.defaultValue(), null);
+  }
+
+  public OptimizingQueue(
+      TableManager tableManager,
+      ResourceGroup optimizerGroup,
+      List<TableRuntimeMeta> tableRuntimeMetaList,
+      List<OptimizerInstance> authOptimizers,
+      long optimizerTouchTimeout,
+      long taskAckTimeout,
+      int planThreadCount,
+      int planAheadTaskCount,
+      long planTimeout,
+      String tableServiceUrl) {
     Preconditions.checkNotNull(optimizerGroup, "optimizerGroup can not be null");
+    Preconditions.checkArgument(planThreadCount > 0, "planThreadCount must be positive");
     this.optimizerTouchTimeout = optimizerTouchTimeout;
     this.taskAckTimeout = taskAckTimeout;
+    this.planThreadCount = planThreadCount;
+    this.planAheadTaskCount = Math.max(planAheadTaskCount, 1);
+    this.planTimeout = planTimeout;
+    this.tableServiceUrl = tableServiceUrl;
     this.optimizerGroup = optimizerGroup;
     this.schedulingPolicy = new SchedulingPolicy(optimizerGroup);
     this.tableManager = tableManager;
     this.authOptimizers.putAll(authOptimizers.stream().collect(Collectors.toMap(
         OptimizerInstance::getToken, optimizer -> optimizer)));
     tableRuntimeMetaList.forEach(this::initTableRuntime);
+    this.planExecutor = Executors.newFixedThreadPool(
+        planThreadCount,
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("optimizing-plan-" + optimizerGroup.getName() + "-%d").build());
+    this.planScheduler = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("optimizing-plan-scheduler-" + optimizerGroup.getName() + "-%d").build());
+    this.partitionCommitExecutor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("optimizing-partition-commit-" + optimizerGroup.getName() + "-%d").build());
+    this.planScheduler.scheduleWithFixedDelay(
+        this::checkPlanning,
+        ArcticServiceConstants.PLANNING_CHECK_INTERVAL,
+        ArcticServiceConstants.PLANNING_CHECK_INTERVAL,
+        TimeUnit.MILLISECONDS);
   }
 
   private void initTableRuntime(TableRuntimeMeta tableRuntimeMeta) {
@@ -169,14 +246,89 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
   @Override
   public OptimizingTask pollTask(String authToken, int threadId) {
     getAuthenticatedOptimizer(authToken);
-    TaskRuntime task = Optional.ofNullable(retryQueue.poll())
-        .orElseGet(this::pollOrPlan);
+    TaskRuntime task = pollAndSchedule(authToken, threadId);
+    // planning never runs on the polling thread, it only wakes up the background planner
+    triggerPlanning();
+    return task != null ? task.getOptimizingTask() : null;
+  }
 
+  /**
+   * Poll at most one task for each of the threads. If there is no task at all, wait up to waitTimeout ms for a task
+   * to be planned or retried instead of returning an empty result immediately.
+   */
+  @Override
+  public List<OptimizingTask> pollTasks(String authToken, List<Integer> threadIds, long waitTimeout) {
+    getAuthenticatedOptimizer(authToken);
+    long deadline = System.currentTimeMillis() + waitTimeout;
+    List<OptimizingTask> tasks = pollTasks(authToken, threadIds);
+    while (tasks.isEmpty() && !threadIds.isEmpty() && awaitTask(deadline)) {
+      tasks = pollTasks(authToken, threadIds);
+    }
+    return tasks;
+  }
+
+  private List<OptimizingTask> pollTasks(String authToken, List<Integer> threadIds) {
+    List<OptimizingTask> tasks = Lists.newArrayList();
+    try {
+      for (Integer threadId : threadIds) {
+        TaskRuntime task = pollAndSchedule(authToken, threadId);
+        if (task == null) {
+          break;
+        }
+        tasks.add(task.getOptimizingTask());
+      }
+    } catch (Throwable t) {
+      // tasks already scheduled must be handed out, the failed one has been put back to the retry queue
+      if (tasks.isEmpty()) {
+        throw t;
+      }
+    } finally {
+      triggerPlanning();
+    }
+    return tasks;
+  }
+
+  private TaskRuntime pollAndSchedule(String authToken, int threadId) {
+    TaskRuntime task = Optional.ofNullable(retryQueue.poll())
+        .orElseGet(taskQueue::poll);
     if (task != null) {
       safelySchedule(task, new OptimizingThread(authToken, threadId));
       executingTaskMap.putIfAbsent(task.getTaskId(), task);
     }
-    return task != null ? task.getOptimizingTask() : null;
+    return task;
+  }
+
+  /**
+   * Wait until a task arrives or the deadline passes.
+   *
+   * @return false if the deadline has passed or the waiting thread is interrupted
+   */
+  private boolean awaitTask(long deadline) {
+    taskLock.lock();
+    try {
+      long remaining = deadline - System.currentTimeMillis();
+      if (remaining <= 0) {
+        return false;
+      }
+      if (retryQueue.isEmpty() && taskQueue.isEmpty()) {
+        taskArrived.await(remaining, TimeUnit.MILLISECONDS);
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      taskLock.unlock();
+    }
+  }
+
+  private void signalTaskArrived() {
+    taskLock.lock();
+    try {
+      taskArrived.signalAll();
+    } finally {
+      taskLock.unlock();
+    }
   }
 
   private void safelySchedule(TaskRuntime task, OptimizingThread thread) {
@@ -192,6 +344,7 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
   private void retryTask(TaskRuntime taskRuntime, boolean incRetryCount) {
     taskRuntime.reset(incRetryCount);
     retryQueue.offer(taskRuntime);
+    signalTaskArrived();
   }
 
   @Override
@@ -225,6 +378,7 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
     LOG.debug("Register optimizer: {}", optimizer);
     doAs(OptimizerMapper.class, mapper -> mapper.insertOptimizer(optimizer));
     authOptimizers.put(optimizer.getToken(), optimizer);
+    triggerPlanning();
     return optimizer.getToken();
   }
 
@@ -284,30 +438,97 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
     return executingTaskMap;
   }
 
-  private TaskRuntime pollOrPlan() {
-    planLock.lock();
+  /**
+   * Release the background planning threads of this queue, tables being planned are abandoned.
+   */
+  public void dispose() {
+    planScheduler.shutdownNow();
+    planExecutor.shutdownNow();
+    partitionCommitExecutor.shutdownNow();
+  }
+
+  @VisibleForTesting
+  int getPlannedTaskCount() {
+    return taskQueue.size();
+  }
+
+  private void checkPlanning() {
+    try {
+      long currentTime = System.currentTimeMillis();
+      planTimeoutTables.values().removeIf(timeoutTime -> currentTime - timeoutTime > planTimeout);
+      planningTables.values().stream()
+          .filter(planning -> planning.isTimeout(currentTime))
+          .forEach(PlanningTable::cancel);
+      triggerPlanning();
+    } catch (Throwable t) {
+      LOG.error("{} check planning failed, try next round", optimizerGroup.getName(), t);
+    }
+  }
+
+  /**
+   * Submit a planning job if there are not enough planned tasks and there is an idle planning thread. It never blocks
+   * the caller, since the lock is only used to make the check-and-submit atomic.
+   */
+  private void triggerPlanning() {
+    if (!planLock.tryLock()) {
+      return;
+    }
     try {
-      if (taskQueue.isEmpty()) {
-        planTasks();
+      if (authOptimizers.isEmpty() || taskQueue.size() >= planAheadTaskCount ||
+          runningPlanJobs.get() >= planThreadCount) {
+        return;
+      }
+      runningPlanJobs.incrementAndGet();
+      try {
+        planExecutor.execute(this::planTasks);
+      } catch (RejectedExecutionException e) {
+        runningPlanJobs.decrementAndGet();
+        LOG.warn("{} planning executor has been shutdown", optimizerGroup.getName());
       }
-      return taskQueue.poll();
     } finally {
       planLock.unlock();
     }
   }
 
   private void planTasks() {
+    boolean planned = false;
+    try {
+      planned = planTables();
+    } finally {
+      runningPlanJobs.decrementAndGet();
+    }
+    if (planned) {
+      triggerPlanning();
+    }
+  }
+
+  private boolean planTables() {
     long startTime = System.currentTimeMillis();
-    List<TableRuntime> scheduledTables = schedulingPolicy.scheduleTables();
+    List<TableRuntime> scheduledTables = schedulingPolicy.scheduleTables().stream()
+        .filter(tableRuntime -> !planningTables.containsKey(tableRuntime.getTableIdentifier()) &&
+            !planTimeoutTables.containsKey(tableRuntime.getTableIdentifier()))
+        .collect(Collectors.toList());
     LOG.debug("Calculating and sorting tables by quota : {}", scheduledTables);
 
     if (scheduledTables.size() <= 0) {
-      return;
+      return false;
     }
+    boolean planned = false;
     List<TableIdentifier> plannedTables = Lists.newArrayList();
     for (TableRuntime tableRuntime : scheduledTables) {
+      if (planExecutor.isShutdown()) {
+        break;
+      }
+      PlanningTable planning = new PlanningTable(tableRuntime.getTableIdentifier());
+      if (planningTables.putIfAbsent(tableRuntime.getTableIdentifier(), planning) != null) {
+        continue;
+      }
       LOG.debug("Planning table {}", tableRuntime.getTableIdentifier());
       try {
+        // another planning thread may have planned the table since the tables were scheduled
+        if (tableRuntime.getOptimizingStatus() != OptimizingStatus.PENDING) {
+          continue;
+        }
         AmoroTable<?> table = tableManager.loadTable(tableRuntime.getTableIdentifier());
         OptimizingPlanner planner = new OptimizingPlanner(
             tableRuntime.refresh(table),
@@ -319,21 +540,33 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
         }
         plannedTables.add(table.id());
         if (planner.isNecessary()) {
+          planner.planTasks();
+          if (!planning.complete()) {
+            LOG.warn("{} planning has timed out, abandon the plan result", tableRuntime.getTableIdentifier());
+            break;
+          }
           TableOptimizingProcess optimizingProcess = new TableOptimizingProcess(planner);
           LOG.info("{} after plan get {} tasks", tableRuntime.getTableIdentifier(),
               optimizingProcess.getTaskMap().size());
           optimizingProcess.taskMap.values().forEach(taskQueue::offer);
+          signalTaskArrived();
+          planned = true;
           break;
         } else {
           tableRuntime.cleanPendingInput();
         }
       } catch (Throwable e) {
         LOG.error(tableRuntime.getTableIdentifier() + " plan failed, continue", e);
+      } finally {
+        // mark as finished so that a late timeout check will not mark the table as timed out
+        planning.complete();
+        planningTables.remove(tableRuntime.getTableIdentifier(), planning);
       }
     }
     long end = System.currentTimeMillis();
     LOG.info("{} completes planning tasks with a total cost of {} ms, which involves {}/{}(planned/pending) tables, {}",
         optimizerGroup.getName(), end - startTime, plannedTables.size(), scheduledTables.size(), plannedTables);
+    return planned;
   }
 
   private double getAvailableCore() {
@@ -364,6 +597,9 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
     private Map<String, Long> toSequence = Maps.newHashMap();
 
     private boolean hasCommitted = false;
+    // partitions submitted to be committed ahead of the whole process
+    private final Set<String> committingPartitions = Sets.newHashSet();
+    private volatile TableHandle tableHandle;
 
     public TableOptimizingProcess(OptimizingPlanner planner) {
       processId = planner.getProcessId();
@@ -423,6 +659,18 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
       }
     }
 
+    @Override
+    public TableHandle getTableHandle(ArcticTable table) {
+      if (tableServiceUrl == null) {
+        return null;
+      }
+      // all tasks of a process are planned against the same table, so the handle is computed once
+      if (tableHandle == null) {
+        tableHandle = TableHandle.of(table, tableServiceUrl);
+      }
+      return tableHandle;
+    }
+
     @Override
     public void acceptResult(TaskRuntime taskRuntime) {
       lock.lock();
@@ -438,7 +686,9 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
         }
         if (taskRuntime.getStatus() == TaskRuntime.Status.SUCCESS) {
           // the lock of TableOptimizingProcess makes it thread-safe
-          if (allTasksPrepared() && tableRuntime.getOptimizingStatus().isProcessing() &&
+          if (!allTasksPrepared()) {
+            commitPreparedPartitionsIfNeeded();
+          } else if (tableRuntime.getOptimizingStatus().isProcessing() &&
               tableRuntime.getOptimizingStatus() != OptimizingStatus.COMMITTING) {
             tableRuntime.beginCommitting();
           }
@@ -522,6 +772,64 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
           .sum();
     }
 
+    /**
+     * Submit the partitions whose tasks have all succeeded to be committed ahead of the whole process, once there are
+     * at least self-optimizing.commit.partition-batch-size of them. Tasks moving files to hive locations are always
+     * left to the process commit.
+     */
+    private void commitPreparedPartitionsIfNeeded() {
+      int batchSize = tableRuntime.getOptimizingConfig().getCommitPartitionBatchSize();
+      if (batchSize <= 0) {
+        return;
+      }
+      Map<String, List<TaskRuntime>> tasksByPartition = taskMap.values().stream()
+          .filter(task -> !task.isCommitted() && !committingPartitions.contains(task.getPartition()))
+          .collect(Collectors.groupingBy(TaskRuntime::getPartition));
+      // a partition whose commit has an unknown result is left to the process commit, which resolves it
+      tasksByPartition.values().removeIf(tasks -> tasks.stream().anyMatch(task -> task.getCommitId() != null));
+      Set<String> preparedPartitions = tasksByPartition.entrySet().stream()
+          .filter(entry -> entry.getValue().stream().allMatch(task -> task.getStatus() == TaskRuntime.Status.SUCCESS &&
+              !OptimizingInputProperties.parse(task.getProperties()).getMoveFile2HiveLocation()))
+          .map(Map.Entry::getKey)
+          .collect(Collectors.toSet());
+      if (preparedPartitions.size() < batchSize) {
+        return;
+      }
+      committingPartitions.addAll(preparedPartitions);
+      try {
+        partitionCommitExecutor.execute(() -> commitPartitions(preparedPartitions));
+      } catch (RejectedExecutionException e) {
+        committingPartitions.removeAll(preparedPartitions);
+        LOG.warn("{} partition commit executor has been shutdown", optimizerGroup.getName());
+      }
+    }
+
+    private void commitPartitions(Set<String> partitions) {
+      lock.lock();
+      try {
+        // the process commit has taken over these partitions
+        if (hasCommitted || status != OptimizingProcess.Status.RUNNING) {
+          return;
+        }
+        List<TaskRuntime> tasks = taskMap.values().stream()
+            .filter(task -> partitions.contains(task.getPartition()))
+            .collect(Collectors.toList());
+        // persist the commit id first, the process commit finds it in the table if the result is unknown
+        String commitId = processId + "-" + UUID.randomUUID();
+        tasks.forEach(task -> task.markCommitting(commitId));
+        buildCommit(loadTableForCommit(), tasks, partitions::contains).withCommitId(commitId).commit();
+        tasks.forEach(TaskRuntime::markCommitted);
+        LOG.info("{} committed {} tasks of partitions {} ahead of process {}", tableRuntime.getTableIdentifier(),
+            tasks.size(), partitions, processId);
+      } catch (Exception e) {
+        LOG.warn("{} failed to commit partitions {} ahead of process {}, leave them to the process commit",
+            tableRuntime.getTableIdentifier(), partitions, processId, e);
+      } finally {
+        committingPartitions.removeAll(partitions);
+        lock.unlock();
+      }
+    }
+
     @Override
     public void commit() {
       LOG.debug("{} get {} tasks of {} partitions to commit", tableRuntime.getTableIdentifier(),
@@ -534,7 +842,19 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
           throw new IllegalStateException("repeat commit, and last error " + failedReason);
         }
         hasCommitted = true;
-        buildCommit().commit();
+        ArcticTable table = loadTableForCommit();
+        resolveCommittingTasks(table);
+        // partitions committed ahead are excluded, together with their sequences
+        Set<String> committedPartitions = taskMap.values().stream()
+            .filter(TaskRuntime::isCommitted)
+            .map(TaskRuntime::getPartition)
+            .collect(Collectors.toSet());
+        List<TaskRuntime> tasks = taskMap.values().stream()
+            .filter(task -> !task.isCommitted())
+            .collect(Collectors.toList());
+        if (!tasks.isEmpty()) {
+          buildCommit(table, tasks, partition -> !committedPartitions.contains(partition)).commit();
+        }
         status = Status.SUCCESS;
         endTime = System.currentTimeMillis();
         persistProcessCompleted(true);
@@ -554,20 +874,63 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
       return new MetricsSummary(taskMap.values());
     }
 
-    private UnKeyedTableCommit buildCommit() {
-      ArcticTable table = (ArcticTable) tableManager.loadTable(tableRuntime.getTableIdentifier()).originalTable();
+    /**
+     * Mark the tasks committed if their commits ahead of the process are found in the snapshots since the target
+     * snapshot, the other tasks are committed again by the process commit.
+     */
+    private void resolveCommittingTasks(ArcticTable table) {
+      List<TaskRuntime> committingTasks = taskMap.values().stream()
+          .filter(task -> !task.isCommitted() && task.getCommitId() != null)
+          .collect(Collectors.toList());
+      if (committingTasks.isEmpty()) {
+        return;
+      }
+      UnkeyedTable store = table.isKeyedTable() ? table.asKeyedTable().baseTable() : table.asUnkeyedTable();
+      Snapshot currentSnapshot = store.currentSnapshot();
+      if (currentSnapshot == null) {
+        return;
+      }
+      Long fromSnapshotId = targetSnapshotId == ArcticServiceConstants.INVALID_SNAPSHOT_ID ? null : targetSnapshotId;
+      Set<String> committedIds = Sets.newHashSet();
+      for (Snapshot snapshot : SnapshotUtil.ancestorsBetween(currentSnapshot.snapshotId(), fromSnapshotId,
+          store::snapshot)) {
+        String commitId = snapshot.summary().get(UnKeyedTableCommit.COMMIT_ID_PROPERTY);
+        if (commitId != null) {
+          committedIds.add(commitId);
+        }
+      }
+      committingTasks.stream()
+          .filter(task -> committedIds.contains(task.getCommitId()))
+          .forEach(task -> {
+            LOG.info("{} found task {} committed ahead of process {} by commit {}",
+                tableRuntime.getTableIdentifier(), task.getTaskId(), processId, task.getCommitId());
+            task.markCommitted();
+          });
+    }
+
+    private ArcticTable loadTableForCommit() {
+      return (ArcticTable) tableManager.loadTableForUpdate(tableRuntime.getTableIdentifier()).originalTable();
+    }
+
+    private UnKeyedTableCommit buildCommit(
+        ArcticTable table, Collection<TaskRuntime> tasks, Predicate<String> partitionFilter) {
       if (table.isUnkeyedTable()) {
-        return new UnKeyedTableCommit(targetSnapshotId, table, taskMap.values());
+        return new UnKeyedTableCommit(targetSnapshotId, table, tasks);
       } else {
-        return new KeyedTableCommit(table, taskMap.values(), targetSnapshotId,
-            convertPartitionSequence(table, fromSequence), convertPartitionSequence(table, toSequence));
+        return new KeyedTableCommit(table, tasks, targetSnapshotId,
+            convertPartitionSequence(table, fromSequence, partitionFilter),
+            convertPartitionSequence(table, toSequence, partitionFilter));
       }
     }
 
-    private StructLikeMap<Long> convertPartitionSequence(ArcticTable table, Map<String, Long> partitionSequence) {
+    private StructLikeMap<Long> convertPartitionSequence(
+        ArcticTable table, Map<String, Long> partitionSequence, Predicate<String> partitionFilter) {
       PartitionSpec spec = table.spec();
       StructLikeMap<Long> results = StructLikeMap.create(spec.partitionType());
       partitionSequence.forEach((partition, sequence) -> {
+        if (!partitionFilter.test(partition)) {
+          return;
+        }
         if (spec.isUnpartitioned()) {
           results.put(TablePropertyUtil.EMPTY_STRUCT, sequence);
         } else {
@@ -634,6 +997,38 @@ public class OptimizingQueue extends PersistentBase implements OptimizingService
     }
   }
 
+  /**
+   * Planning of a table, which is canceled cooperatively on timeout: the planning thread checks the flag when the plan
+   * is done and abandons it. The thread is never interrupted, since an interrupt during HDFS I/O may break the Hadoop
+   * IPC client shared by the thread. So the plan timeout is best-effort, it does not bound how long a planning thread
+   * is occupied, but a timed out table is neither planned again nor offered tasks until the timeout passes once more.
+   */
+  private class PlanningTable {
+    private final ServerTableIdentifier tableIdentifier;
+    private final long startTime = System.currentTimeMillis();
+    // set to true once the planning completes or times out, whichever comes first
+    private final AtomicBoolean finished = new AtomicBoolean(false);
+
+    private PlanningTable(ServerTableIdentifier tableIdentifier) {
+      this.tableIdentifier = tableIdentifier;
+    }
+
+    private boolean isTimeout(long currentTime) {
+      return currentTime - startTime > planTimeout;
+    }
+
+    private boolean complete() {
+      return finished.compareAndSet(false, true);
+    }
+
+    private void cancel() {
+      if (finished.compareAndSet(false, true)) {
+        LOG.warn("{} planning exceeds the timeout {} ms, cancel it", tableIdentifier, planTimeout);
+        planTimeoutTables.put(tableIdentifier, System.currentTimeMillis());
+      }
+    }
+  }
+
   public static class OptimizingThread {
 
     private String token;
@@ -22,8 +22,10 @@ import com.google.common.collect.Sets;
 import com.netease.arctic.ams.api.OptimizingTask;
 import com.netease.arctic.ams.api.OptimizingTaskId;
 import com.netease.arctic.ams.api.OptimizingTaskResult;
+import com.netease.arctic.optimizing.OptimizingCodec;
 import com.netease.arctic.optimizing.RewriteFilesInput;
 import com.netease.arctic.optimizing.RewriteFilesOutput;
+import com.netease.arctic.optimizing.TableHandle;
 import com.netease.arctic.server.ArcticServiceConstants;
 import com.netease.arctic.server.dashboard.utils.OptimizingUtil;
 import com.netease.arctic.server.exception.DuplicateRuntimeException;
@@ -33,7 +35,8 @@ import com.netease.arctic.server.optimizing.plan.TaskDescriptor;
 import com.netease.arctic.server.persistence.StatedPersistentBase;
 import com.netease.arctic.server.persistence.TaskFilesPersistence;
 import com.netease.arctic.server.persistence.mapper.OptimizingMapper;
-import com.netease.arctic.utils.SerializationUtil;
+import com.netease.arctic.server.utils.CompressUtil;
+import com.netease.arctic.table.ArcticTable;
 import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
 
 import java.util.HashMap;
@@ -41,6 +44,10 @@ import java.util.Map;
 import java.util.Set;
 
 public class TaskRuntime extends StatedPersistentBase {
+  // set in the properties once the output is committed ahead of the whole optimizing process
+  private static final String COMMITTED_PROPERTY = "committed";
+  private static final String COMMIT_ID_PROPERTY = "commit-id";
+
   private long tableId;
   private String partition;
   private OptimizingTaskId taskId;
@@ -63,8 +70,11 @@ public class TaskRuntime extends StatedPersistentBase {
   private RewriteFilesInput input;
   @StateField
   private RewriteFilesOutput output;
+  // the output loaded from the database, decoded once the input tells the table its files belong to
+  private byte[] outputContent;
   @StateField
   private MetricsSummary summary;
+  @StateField
   private Map<String, String> properties;
 
   private TaskRuntime() {
@@ -88,7 +98,7 @@ public class TaskRuntime extends StatedPersistentBase {
       if (result.getErrorMessage() != null) {
         fail(result.getErrorMessage());
       } else {
-        finish(TaskFilesPersistence.loadTaskOutput(result.getTaskOutput()));
+        finish(TaskFilesPersistence.loadTaskOutput(result.getTaskOutput(), input.getTable()));
       }
       owner.acceptResult(this);
       optimizingThread = null;
@@ -126,8 +136,7 @@ public class TaskRuntime extends StatedPersistentBase {
         retry++;
       }
       statusMachine.accept(Status.PLANNED);
-      doAs(OptimizingMapper.class, mapper ->
-          mapper.updateTaskStatus(this, Status.PLANNED));
+      persistTaskRuntimeLater();
     });
   }
 
@@ -136,7 +145,7 @@ public class TaskRuntime extends StatedPersistentBase {
       statusMachine.accept(Status.SCHEDULED);
       optimizingThread = thread;
       startTime = System.currentTimeMillis();
-      persistTaskRuntime(this);
+      persistTaskRuntimeLater();
     });
   }
 
@@ -146,6 +155,27 @@ public class TaskRuntime extends StatedPersistentBase {
       statusMachine.accept(Status.ACKED);
       startTime = System.currentTimeMillis();
       endTime = ArcticServiceConstants.INVALID_TIME;
+      persistTaskRuntimeLater();
+    });
+  }
+
+  /**
+   * Persist the id of the commit carrying this task before committing, so that the commit could be found in the
+   * snapshot summaries of the table if it is not known whether the commit has succeeded.
+   */
+  void markCommitting(String commitId) {
+    updateProperty(COMMIT_ID_PROPERTY, commitId);
+  }
+
+  void markCommitted() {
+    updateProperty(COMMITTED_PROPERTY, Boolean.TRUE.toString());
+  }
+
+  private void updateProperty(String key, String value) {
+    invokeConsisitency(() -> {
+      Map<String, String> updatedProperties = properties == null ? new HashMap<>() : new HashMap<>(properties);
+      updatedProperties.put(key, value);
+      properties = updatedProperties;
       persistTaskRuntime(this);
     });
   }
@@ -165,6 +195,17 @@ public class TaskRuntime extends StatedPersistentBase {
     return this;
   }
 
+  public boolean isCommitted() {
+    return properties != null && Boolean.parseBoolean(properties.get(COMMITTED_PROPERTY));
+  }
+
+  /**
+   * The id of the commit carrying this task ahead of the process, or null if there is none.
+   */
+  public String getCommitId() {
+    return properties == null ? null : properties.get(COMMIT_ID_PROPERTY);
+  }
+
   public boolean finished() {
     return this.status == Status.SUCCESS || this.status == Status.FAILED || this.status == Status.CANCELED;
   }
@@ -174,6 +215,10 @@ public class TaskRuntime extends StatedPersistentBase {
       throw new IllegalStateException("Optimizing input is null, id:" + taskId);
     }
     this.input = input;
+    if (outputContent != null) {
+      output = TaskFilesPersistence.loadTaskOutput(CompressUtil.unGzip(outputContent), input.getTable());
+      outputContent = null;
+    }
   }
 
   public RewriteFilesInput getInput() {
@@ -202,7 +247,7 @@ public class TaskRuntime extends StatedPersistentBase {
 
   public OptimizingTask getOptimizingTask() {
     OptimizingTask optimizingTask = new OptimizingTask(taskId);
-    optimizingTask.setTaskInput(SerializationUtil.simpleSerialize(input));
+    optimizingTask.setTaskInput(OptimizingCodec.serialize(input, owner == null ? null : owner::getTableHandle));
     optimizingTask.setProperties(properties);
     return optimizingTask;
   }
@@ -298,7 +343,12 @@ public class TaskRuntime extends StatedPersistentBase {
   }
 
   private void persistTaskRuntime(TaskRuntime taskRuntime) {
-    doAs(OptimizingMapper.class, mapper -> mapper.updateTaskRuntime(taskRuntime));
+    doAsLatest(OptimizingMapper.class, mapper -> mapper.updateTaskRuntime(taskRuntime));
+  }
+
+  // transitions recovered by the task timeout after a crash, like scheduling and acking, are written behind
+  private void persistTaskRuntimeLater() {
+    doAsLater(OptimizingMapper.class, mapper -> mapper.updateTaskRuntime(this));
   }
 
   public TaskQuota getCurrentQuota() {
@@ -451,5 +501,10 @@ public class TaskRuntime extends StatedPersistentBase {
     void acceptResult(TaskRuntime taskRuntime);
 
     boolean isClosed();
+
+    /**
+     * The handle sent to optimizers in place of the table of this task, or null to send the table itself.
+     */
+    TableHandle getTableHandle(ArcticTable table);
   }
 }
@@ -74,9 +74,15 @@ import static com.netease.arctic.server.ArcticServiceConstants.INVALID_SNAPSHOT_
 public class UnKeyedTableCommit {
   private static final Logger LOG = LoggerFactory.getLogger(UnKeyedTableCommit.class);
 
+  /**
+   * The snapshot summary property holding the id of the commit, which is set only for commits ahead of the process.
+   */
+  public static final String COMMIT_ID_PROPERTY = "optimizing.commit-id";
+
   private final Long targetSnapshotId;
   private final ArcticTable table;
   private final Collection<TaskRuntime> tasks;
+  protected String commitId;
 
   public UnKeyedTableCommit(Long targetSnapshotId, ArcticTable table, Collection<TaskRuntime> tasks) {
     this.targetSnapshotId = targetSnapshotId;
@@ -84,6 +90,14 @@ public class UnKeyedTableCommit {
     this.tasks = tasks;
   }
 
+  /**
+   * Tag the snapshots replacing files with the commit id, so that the commit could be found in the table later.
+   */
+  public UnKeyedTableCommit withCommitId(String commitId) {
+    this.commitId = commitId;
+    return this;
+  }
+
   protected List<DataFile> moveFile2HiveIfNeed() {
     if (!needMoveFile2Hive()) {
       return null;
@@ -217,6 +231,9 @@ public class UnKeyedTableCommit {
           dataFileRewrite.rewriteFiles(removedDataFiles, addedDataFiles);
         }
         dataFileRewrite.set(SnapshotSummary.SNAPSHOT_PRODUCER, CommitMetaProducer.OPTIMIZE.name());
+        if (commitId != null) {
+          dataFileRewrite.set(COMMIT_ID_PROPERTY, commitId);
+        }
         if (TableTypeUtil.isHive(table)) {
           if (!needMoveFile2Hive()) {
             dataFileRewrite.set(DELETE_UNTRACKED_HIVE_FILE, "true");
@@ -229,6 +246,9 @@ public class UnKeyedTableCommit {
         RowDelta addDeleteFileRowDelta = transaction.newRowDelta();
         addDeleteFiles.forEach(addDeleteFileRowDelta::addDeletes);
         addDeleteFileRowDelta.set(SnapshotSummary.SNAPSHOT_PRODUCER, CommitMetaProducer.OPTIMIZE.name());
+        if (commitId != null) {
+          addDeleteFileRowDelta.set(COMMIT_ID_PROPERTY, commitId);
+        }
         addDeleteFileRowDelta.commit();
       }
       transaction.commitTransaction();
@@ -252,6 +272,9 @@ public class UnKeyedTableCommit {
     deleteFileRewrite.rewriteFiles(Collections.emptySet(),
         removedDeleteFiles, Collections.emptySet(), Collections.emptySet());
     deleteFileRewrite.set(SnapshotSummary.SNAPSHOT_PRODUCER, CommitMetaProducer.OPTIMIZE.name());
+    if (commitId != null) {
+      deleteFileRewrite.set(COMMIT_ID_PROPERTY, commitId);
+    }
 
     try {
       deleteFileRewrite.commit();
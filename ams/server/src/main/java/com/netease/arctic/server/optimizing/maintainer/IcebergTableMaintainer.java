@@ -110,11 +110,11 @@ public class IcebergTableMaintainer implements TableMaintainer {
     if (!tableConfiguration.isExpireSnapshotEnabled()) {
       return;
     }
-    expireSnapshots(olderThanSnapshotNeedToExpire(tableRuntime), expireSnapshotNeedToExcludeFiles());
+    expireSnapshotsExcludingValidFiles(olderThanSnapshotNeedToExpire(tableRuntime));
   }
 
   public void expireSnapshots(long mustOlderThan) {
-    expireSnapshots(olderThanSnapshotNeedToExpire(mustOlderThan), expireSnapshotNeedToExcludeFiles());
+    expireSnapshotsExcludingValidFiles(olderThanSnapshotNeedToExpire(mustOlderThan));
   }
 
   @VisibleForTesting
@@ -148,13 +148,26 @@ public class IcebergTableMaintainer implements TableMaintainer {
     LOG.info("to delete {} files, success delete {} files", toDeleteFiles.get(), deleteFiles.get());
   }
 
+  private void expireSnapshotsExcludingValidFiles(long olderThan) {
+    Set<String> exclude = expireSnapshotNeedToExcludeFiles();
+    try {
+      expireSnapshots(olderThan, exclude);
+    } finally {
+      releaseExcludeFiles(exclude);
+    }
+  }
+
   protected void cleanContentFiles(long lastTime) {
     // For clean data files, should getRuntime valid files in the base store and the change store, so acquire in advance
     // to prevent repeated acquisition
     Set<String> validFiles = orphanFileCleanNeedToExcludeFiles();
-    LOG.info("{} start clean content files of change store", table.name());
-    int deleteFilesCnt = clearInternalTableContentsFiles(lastTime, validFiles);
-    LOG.info("{} total delete {} files from change store", table.name(), deleteFilesCnt);
+    try {
+      LOG.info("{} start clean content files of change store", table.name());
+      int deleteFilesCnt = clearInternalTableContentsFiles(lastTime, validFiles);
+      LOG.info("{} total delete {} files from change store", table.name(), deleteFilesCnt);
+    } finally {
+      releaseExcludeFiles(validFiles);
+    }
   }
 
   protected void cleanMetadata(long lastTime) {
@@ -191,7 +204,28 @@ public class IcebergTableMaintainer implements TableMaintainer {
   }
 
   protected Set<String> orphanFileCleanNeedToExcludeFiles() {
-    return IcebergTableUtil.getAllContentFilePath(table);
+    return IcebergTableUtil.getAllContentFilePath(table, createExcludeFileSet());
+  }
+
+  /**
+   * Create a set to hold the files to exclude, the paths beyond the memory limit are spilled to local disk so
+   * that cleaning tables with tens of millions of files will not exhaust the memory of AMS.
+   */
+  protected SpillableFileSet createExcludeFileSet() {
+    long memorySize = CompatiblePropertyUtil.propertyAsLong(
+        table.properties(),
+        TableProperties.ORPHAN_CLEAN_VALID_FILES_MEMORY_SIZE,
+        TableProperties.ORPHAN_CLEAN_VALID_FILES_MEMORY_SIZE_DEFAULT);
+    return new SpillableFileSet(memorySize);
+  }
+
+  /**
+   * Release the files to exclude after they are used.
+   */
+  protected void releaseExcludeFiles(Set<String> excludeFiles) {
+    if (excludeFiles instanceof SpillableFileSet) {
+      ((SpillableFileSet) excludeFiles).close();
+    }
   }
 
   protected ArcticFileIO arcticFileIO() {
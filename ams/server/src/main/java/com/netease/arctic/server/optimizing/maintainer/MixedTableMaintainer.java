@@ -46,7 +46,6 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -65,38 +64,29 @@ public class MixedTableMaintainer implements TableMaintainer {
 
   private final BaseTableMaintainer baseMaintainer;
 
-  private final Set<String> changeFiles;
-
-  private final Set<String> baseFiles;
-
-  private final Set<String> hiveFiles;
+  // valid files of the whole table shared by the change and base maintainers while cleaning orphan files
+  private SpillableFileSet orphanExcludeFiles;
 
   public MixedTableMaintainer(ArcticTable arcticTable) {
     this.arcticTable = arcticTable;
     if (arcticTable.isKeyedTable()) {
       changeMaintainer = new ChangeTableMaintainer(arcticTable.asKeyedTable().changeTable());
       baseMaintainer = new BaseTableMaintainer(arcticTable.asKeyedTable().baseTable());
-      changeFiles = IcebergTableUtil.getAllContentFilePath(arcticTable.asKeyedTable().changeTable());
-      baseFiles = IcebergTableUtil.getAllContentFilePath(arcticTable.asKeyedTable().baseTable());
     } else {
       baseMaintainer = new BaseTableMaintainer(arcticTable.asUnkeyedTable());
-      changeFiles = new HashSet<>();
-      baseFiles = IcebergTableUtil.getAllContentFilePath(arcticTable.asUnkeyedTable());
-    }
-
-    if (TableTypeUtil.isHive(arcticTable)) {
-      hiveFiles = HiveLocationUtil.getHiveLocation(arcticTable);
-    } else {
-      hiveFiles = new HashSet<>();
     }
   }
 
   @Override
   public void cleanOrphanFiles(TableRuntime tableRuntime) {
-    if (changeMaintainer != null) {
-      changeMaintainer.cleanOrphanFiles(tableRuntime);
+    try {
+      if (changeMaintainer != null) {
+        changeMaintainer.cleanOrphanFiles(tableRuntime);
+      }
+      baseMaintainer.cleanOrphanFiles(tableRuntime);
+    } finally {
+      releaseOrphanExcludeFiles();
     }
-    baseMaintainer.cleanOrphanFiles(tableRuntime);
   }
 
   @Override
@@ -115,10 +105,14 @@ public class MixedTableMaintainer implements TableMaintainer {
   }
 
   protected void cleanContentFiles(long lastTime) {
-    if (changeMaintainer != null) {
-      changeMaintainer.cleanContentFiles(lastTime);
+    try {
+      if (changeMaintainer != null) {
+        changeMaintainer.cleanContentFiles(lastTime);
+      }
+      baseMaintainer.cleanContentFiles(lastTime);
+    } finally {
+      releaseOrphanExcludeFiles();
     }
-    baseMaintainer.cleanContentFiles(lastTime);
   }
 
   protected void cleanMetadata(long lastTime) {
@@ -143,13 +137,43 @@ public class MixedTableMaintainer implements TableMaintainer {
     return baseMaintainer;
   }
 
-  @SafeVarargs
-  private final Set<String> mergeSets(Set<String>... sets) {
-    Set<String> result = new HashSet<>();
-    for (Set<String> set : sets) {
-      result.addAll(set);
+  private Set<String> orphanExcludeFiles() {
+    if (orphanExcludeFiles == null) {
+      orphanExcludeFiles = collectValidFiles(true, true);
+    }
+    return orphanExcludeFiles;
+  }
+
+  private void releaseOrphanExcludeFiles() {
+    if (orphanExcludeFiles != null) {
+      orphanExcludeFiles.close();
+      orphanExcludeFiles = null;
+    }
+  }
+
+  /**
+   * Collect the content files of the change store and the base store and the hive locations into a set which
+   * spills to local disk, instead of keeping all of them in memory.
+   */
+  private SpillableFileSet collectValidFiles(boolean includeChange, boolean includeBase) {
+    SpillableFileSet validFiles = baseMaintainer.createExcludeFileSet();
+    try {
+      if (includeChange && arcticTable.isKeyedTable()) {
+        IcebergTableUtil.getAllContentFilePath(arcticTable.asKeyedTable().changeTable(), validFiles);
+      }
+      if (includeBase) {
+        IcebergTableUtil.getAllContentFilePath(
+            arcticTable.isKeyedTable() ? arcticTable.asKeyedTable().baseTable() : arcticTable.asUnkeyedTable(),
+            validFiles);
+      }
+      if (TableTypeUtil.isHive(arcticTable)) {
+        validFiles.addAll(HiveLocationUtil.getHiveLocation(arcticTable));
+      }
+    } catch (Throwable t) {
+      validFiles.close();
+      throw t;
     }
-    return result;
+    return validFiles;
   }
 
   public class ChangeTableMaintainer extends IcebergTableMaintainer {
@@ -165,7 +189,15 @@ public class MixedTableMaintainer implements TableMaintainer {
 
     @Override
     public Set<String> orphanFileCleanNeedToExcludeFiles() {
-      return mergeSets(changeFiles, baseFiles, hiveFiles);
+      return orphanExcludeFiles();
+    }
+
+    @Override
+    protected void releaseExcludeFiles(Set<String> excludeFiles) {
+      // the shared valid files are released after both the change and base store are cleaned
+      if (excludeFiles != orphanExcludeFiles) {
+        super.releaseExcludeFiles(excludeFiles);
+      }
     }
 
     @Override
@@ -188,7 +220,7 @@ public class MixedTableMaintainer implements TableMaintainer {
 
     @Override
     protected Set<String> expireSnapshotNeedToExcludeFiles() {
-      return mergeSets(baseFiles, hiveFiles);
+      return collectValidFiles(false, true);
     }
 
     public void expireFiles(long ttlPoint) {
@@ -300,12 +332,20 @@ public class MixedTableMaintainer implements TableMaintainer {
 
     @Override
     public Set<String> orphanFileCleanNeedToExcludeFiles() {
-      return mergeSets(changeFiles, baseFiles, hiveFiles);
+      return orphanExcludeFiles();
+    }
+
+    @Override
+    protected void releaseExcludeFiles(Set<String> excludeFiles) {
+      // the shared valid files are released after both the change and base store are cleaned
+      if (excludeFiles != orphanExcludeFiles) {
+        super.releaseExcludeFiles(excludeFiles);
+      }
     }
 
     @Override
     protected Set<String> expireSnapshotNeedToExcludeFiles() {
-      return mergeSets(changeFiles, hiveFiles);
+      return collectValidFiles(true, false);
     }
   }
 }
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import com.netease.arctic.utils.SerializationUtil;
+import com.netease.arctic.utils.map.DefaultSizeEstimator;
+import com.netease.arctic.utils.map.SimpleSpillableMap;
+import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A set of file paths used to exclude valid files when cleaning orphan files. At most maxInMemorySizeInBytes of
+ * paths are kept in memory and the others are spilled to the local RocksDB, so the memory used is bounded however
+ * many files the table has.
+ * <p>
+ * Paths can not be removed. It must be closed after use to drop the spilled paths and the iterators not exhausted,
+ * and must be used in the thread creating it since the RocksDB backend is thread local.
+ */
+public class SpillableFileSet extends AbstractSet<String> implements Closeable {
+
+  private static final byte[] PRESENT = new byte[] {1};
+
+  private final SpillableFileMap fileMap;
+  private final List<CloseableIterator<String>> openIterators = Lists.newArrayList();
+  private int size = 0;
+
+  public SpillableFileSet(long maxInMemorySizeInBytes) {
+    this.fileMap = new SpillableFileMap(maxInMemorySizeInBytes);
+  }
+
+  @Override
+  public boolean add(String path) {
+    if (fileMap.containsKey(path)) {
+      return false;
+    }
+    fileMap.put(path, Boolean.TRUE);
+    size++;
+    return true;
+  }
+
+  @Override
+  public boolean contains(Object path) {
+    return path instanceof String && fileMap.containsKey((String) path);
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    CloseableIterator<String> paths = fileMap.keyIterator();
+    openIterators.add(paths);
+    return new Iterator<String>() {
+      @Override
+      public boolean hasNext() {
+        if (paths.hasNext()) {
+          return true;
+        }
+        if (openIterators.remove(paths)) {
+          closeIterator(paths);
+        }
+        return false;
+      }
+
+      @Override
+      public String next() {
+        return paths.next();
+      }
+    };
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return "SpillableFileSet{size=" + size + ", spilledBytes=" + fileMap.getSizeOfFileOnDiskInBytes() + "}";
+  }
+
+  @Override
+  public void close() {
+    openIterators.forEach(SpillableFileSet::closeIterator);
+    openIterators.clear();
+    fileMap.close();
+  }
+
+  private static void closeIterator(CloseableIterator<String> iterator) {
+    try {
+      iterator.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static class SpillableFileMap extends SimpleSpillableMap<String, Boolean> {
+
+    SpillableFileMap(long maxInMemorySizeInBytes) {
+      super(maxInMemorySizeInBytes, null, new PathSerializer(), new PresentSerializer(),
+          new DefaultSizeEstimator<>(), new DefaultSizeEstimator<>());
+    }
+  }
+
+  private static class PathSerializer implements SerializationUtil.SimpleSerializer<String> {
+
+    @Override
+    public byte[] serialize(String path) {
+      return path.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String deserialize(byte[] bytes) {
+      return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+
+  private static class PresentSerializer implements SerializationUtil.SimpleSerializer<Boolean> {
+
+    @Override
+    public byte[] serialize(Boolean present) {
+      return PRESENT;
+    }
+
+    @Override
+    public Boolean deserialize(byte[] bytes) {
+      return bytes == null ? null : Boolean.TRUE;
+    }
+  }
+}
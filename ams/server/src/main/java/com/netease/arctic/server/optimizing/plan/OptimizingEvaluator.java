@@ -19,8 +19,10 @@
 package com.netease.arctic.server.optimizing.plan;
 
 import com.netease.arctic.hive.table.SupportHive;
+import com.netease.arctic.server.ArcticServiceConstants;
 import com.netease.arctic.server.optimizing.scan.IcebergTableFileScanHelper;
 import com.netease.arctic.server.optimizing.scan.KeyedTableFileScanHelper;
+import com.netease.arctic.server.optimizing.scan.TableFileScanCache;
 import com.netease.arctic.server.optimizing.scan.TableFileScanHelper;
 import com.netease.arctic.server.optimizing.scan.UnkeyedTableFileScanHelper;
 import com.netease.arctic.server.table.KeyedTableSnapshot;
@@ -28,21 +30,31 @@ import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.server.table.TableSnapshot;
 import com.netease.arctic.server.utils.IcebergTableUtil;
 import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.KeyedTable;
+import com.netease.arctic.table.UnkeyedTable;
 import com.netease.arctic.utils.TablePropertyUtil;
 import com.netease.arctic.utils.TableTypeUtil;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFile;
 import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.util.StructLikeMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 public class OptimizingEvaluator {
@@ -72,30 +84,212 @@ public class OptimizingEvaluator {
 
   protected void initEvaluator() {
     long startTime = System.currentTimeMillis();
-    TableFileScanHelper tableFileScanHelper;
+    initPartitionPlans(scanPartitionFiles());
+    isInitialized = true;
+    LOG.info("{} finished evaluating, found {} partitions that need optimizing in {} ms",
+        arcticTable.id(), partitionPlanMap.size(), System.currentTimeMillis() - startTime);
+  }
+
+  protected TableFileScanHelper.PartitionFilter getPartitionFilter() {
+    return null;
+  }
+
+  private TableFileScanHelper createFileScanHelper() {
     if (TableTypeUtil.isIcebergTableFormat(arcticTable)) {
-      tableFileScanHelper = new IcebergTableFileScanHelper(arcticTable.asUnkeyedTable(), currentSnapshot.snapshotId());
+      return new IcebergTableFileScanHelper(arcticTable.asUnkeyedTable(), currentSnapshot.snapshotId());
     } else {
       if (arcticTable.isUnkeyedTable()) {
-        tableFileScanHelper =
-            new UnkeyedTableFileScanHelper(arcticTable.asUnkeyedTable(), currentSnapshot.snapshotId());
+        return new UnkeyedTableFileScanHelper(arcticTable.asUnkeyedTable(), currentSnapshot.snapshotId());
       } else {
-        tableFileScanHelper =
-            new KeyedTableFileScanHelper(arcticTable.asKeyedTable(), ((KeyedTableSnapshot) currentSnapshot));
+        return new KeyedTableFileScanHelper(arcticTable.asKeyedTable(), ((KeyedTableSnapshot) currentSnapshot));
       }
     }
-    tableFileScanHelper.withPartitionFilter(getPartitionFilter());
-    initPartitionPlans(tableFileScanHelper);
-    isInitialized = true;
-    LOG.info("{} finished evaluating, found {} partitions that need optimizing in {} ms",
-        arcticTable.id(), partitionPlanMap.size(), System.currentTimeMillis() - startTime);
   }
 
-  protected TableFileScanHelper.PartitionFilter getPartitionFilter() {
-    return null;
+  /**
+   * Get the files of the current snapshot grouped by partition. The files of the last evaluated snapshot are cached
+   * in {@link TableRuntime}, so only the changes since then need to be applied unless the diff is unusable.
+   */
+  private Map<String, List<TableFileScanHelper.FileScanResult>> scanPartitionFiles() {
+    int specId = arcticTable.spec().specId();
+    // the change files of keyed tables are selected by sequence across all partitions if they are too many
+    boolean allChangeFilesSelected = !arcticTable.isKeyedTable() ||
+        KeyedTableFileScanHelper.selectsAllChangeFiles(arcticTable.asKeyedTable(),
+            ((KeyedTableSnapshot) currentSnapshot).changeSnapshotId());
+    TableFileScanCache cache = tableRuntime.getFileScanCache();
+    if (cache != null && cache.isSnapshotOf(currentSnapshot, specId) &&
+        cache.isAllChangeFilesSelected() == allChangeFilesSelected) {
+      LOG.debug("{} reuses the cached files of snapshot {}", arcticTable.id(), currentSnapshot.snapshotId());
+      return cache.getPartitionFiles();
+    }
+    Map<String, List<TableFileScanHelper.FileScanResult>> partitionFiles = null;
+    if (cache != null && cache.getSpecId() == specId) {
+      if (arcticTable.isUnkeyedTable()) {
+        partitionFiles = applySnapshotDiff(cache);
+      } else if (allChangeFilesSelected && cache.isAllChangeFilesSelected() &&
+          cache.getSnapshot() instanceof KeyedTableSnapshot) {
+        partitionFiles = applyKeyedSnapshotDiff(cache);
+      }
+    }
+    if (partitionFiles == null) {
+      partitionFiles = Maps.newHashMap();
+      scanFiles(createFileScanHelper(), partitionFiles);
+    }
+    tableRuntime.setFileScanCache(
+        new TableFileScanCache(currentSnapshot, specId, allChangeFilesSelected, partitionFiles));
+    return partitionFiles;
   }
 
-  private void initPartitionPlans(TableFileScanHelper tableFileScanHelper) {
+  /**
+   * Apply the files added and removed between the cached snapshot and the current snapshot to the cached files.
+   * Data files appended without any delete files are added directly, while the other changed partitions are
+   * scanned again.
+   *
+   * @return the files of the current snapshot, or null if the diff is unusable and a full scan is required
+   */
+  private Map<String, List<TableFileScanHelper.FileScanResult>> applySnapshotDiff(TableFileScanCache cache) {
+    long fromSnapshotId = cache.getSnapshot().snapshotId();
+    long toSnapshotId = currentSnapshot.snapshotId();
+    Set<String> changedPartitions = Sets.newHashSet();
+    Map<String, List<DataFile>> appendedFiles = Maps.newHashMap();
+    if (!collectChangedPartitions(arcticTable.asUnkeyedTable(), fromSnapshotId, toSnapshotId, changedPartitions,
+        appendedFiles)) {
+      return null;
+    }
+
+    Map<String, List<TableFileScanHelper.FileScanResult>> partitionFiles =
+        Maps.newHashMap(cache.getPartitionFiles());
+    partitionFiles.keySet().removeAll(changedPartitions);
+    IcebergTableFileScanHelper tableFileScanHelper = (IcebergTableFileScanHelper) createFileScanHelper();
+    appendedFiles.forEach((partition, files) -> {
+      if (changedPartitions.contains(partition)) {
+        return;
+      }
+      List<TableFileScanHelper.FileScanResult> results =
+          Lists.newArrayList(partitionFiles.getOrDefault(partition, Collections.emptyList()));
+      files.forEach(file -> results.add(tableFileScanHelper.buildAppendedFileScanResult(file)));
+      partitionFiles.put(partition, results);
+    });
+    if (!changedPartitions.isEmpty()) {
+      tableFileScanHelper.withPartitionFilter(changedPartitions::contains);
+      scanFiles(tableFileScanHelper, partitionFiles);
+    }
+    LOG.info("{} applied the diff from snapshot {} to {}, {} partitions appended, {} partitions scanned again",
+        arcticTable.id(), fromSnapshotId, toSnapshotId, appendedFiles.size(), changedPartitions.size());
+    return partitionFiles;
+  }
+
+  /**
+   * Apply the diff of both the change store and the base store of a keyed table to the cached files. The change
+   * delete files only relate to the files of the same partition, so every partition with any file changed in either
+   * store, or with its optimized sequence changed, is scanned again.
+   *
+   * @return the files of the current snapshot, or null if the diff is unusable and a full scan is required
+   */
+  private Map<String, List<TableFileScanHelper.FileScanResult>> applyKeyedSnapshotDiff(TableFileScanCache cache) {
+    KeyedTable keyedTable = arcticTable.asKeyedTable();
+    KeyedTableSnapshot fromSnapshot = (KeyedTableSnapshot) cache.getSnapshot();
+    KeyedTableSnapshot toSnapshot = (KeyedTableSnapshot) currentSnapshot;
+    Set<String> changedPartitions = Sets.newHashSet();
+    if (!collectChangedPartitions(keyedTable.changeTable(), fromSnapshot.changeSnapshotId(),
+        toSnapshot.changeSnapshotId(), changedPartitions, null) ||
+        !collectChangedPartitions(keyedTable.baseTable(), fromSnapshot.baseSnapshotId(),
+            toSnapshot.baseSnapshotId(), changedPartitions, null)) {
+      return null;
+    }
+    PartitionSpec partitionSpec = arcticTable.spec();
+    collectChangedPartitions(partitionSpec, fromSnapshot.partitionOptimizedSequence(),
+        toSnapshot.partitionOptimizedSequence(), changedPartitions);
+    collectChangedPartitions(partitionSpec, fromSnapshot.legacyPartitionMaxTransactionId(),
+        toSnapshot.legacyPartitionMaxTransactionId(), changedPartitions);
+
+    Map<String, List<TableFileScanHelper.FileScanResult>> partitionFiles =
+        Maps.newHashMap(cache.getPartitionFiles());
+    partitionFiles.keySet().removeAll(changedPartitions);
+    if (!changedPartitions.isEmpty()) {
+      scanFiles(createFileScanHelper().withPartitionFilter(changedPartitions::contains), partitionFiles);
+    }
+    LOG.info("{} applied the diff from base snapshot {} and change snapshot {} to {} and {}, " +
+            "{} partitions scanned again", arcticTable.id(), fromSnapshot.baseSnapshotId(),
+        fromSnapshot.changeSnapshotId(), toSnapshot.baseSnapshotId(), toSnapshot.changeSnapshotId(),
+        changedPartitions.size());
+    return partitionFiles;
+  }
+
+  /**
+   * Collect the partitions of the files added and removed between two snapshots of a table store.
+   *
+   * @param appendedFiles to collect the data files appended without any other file changed in the same snapshot,
+   *                      or null to take them as changed partitions too
+   * @return false if the diff is unusable and a full scan is required
+   */
+  private boolean collectChangedPartitions(
+      UnkeyedTable table, long fromSnapshotId, long toSnapshotId, Set<String> changedPartitions,
+      Map<String, List<DataFile>> appendedFiles) {
+    PartitionSpec partitionSpec = table.spec();
+    Snapshot snapshot = toSnapshotId == ArcticServiceConstants.INVALID_SNAPSHOT_ID ?
+        null : table.snapshot(toSnapshotId);
+    while (snapshot != null && snapshot.snapshotId() != fromSnapshotId) {
+      List<DataFile> addedDataFiles = Lists.newArrayList(snapshot.addedDataFiles(table.io()));
+      List<ContentFile<?>> changedFiles = Lists.newArrayList();
+      snapshot.removedDataFiles(table.io()).forEach(changedFiles::add);
+      snapshot.addedDeleteFiles(table.io()).forEach(changedFiles::add);
+      snapshot.removedDeleteFiles(table.io()).forEach(changedFiles::add);
+      if (!changedFiles.isEmpty() || appendedFiles == null) {
+        // position deletes may refer to the data files added in the same snapshot
+        changedFiles.addAll(addedDataFiles);
+        addedDataFiles.clear();
+      }
+      for (ContentFile<?> file : changedFiles) {
+        if (file.specId() != partitionSpec.specId()) {
+          // files of other specs, such as global equality deletes, may apply to any partition
+          LOG.info("{} found file of spec {} in snapshot {}, fall back to full scan", table.id(),
+              file.specId(), snapshot.snapshotId());
+          return false;
+        }
+        changedPartitions.add(partitionSpec.partitionToPath(file.partition()));
+      }
+      for (DataFile file : addedDataFiles) {
+        if (file.specId() != partitionSpec.specId()) {
+          return false;
+        }
+        appendedFiles.computeIfAbsent(partitionSpec.partitionToPath(file.partition()), p -> Lists.newArrayList())
+            .add(file);
+      }
+      snapshot = snapshot.parentId() == null ? null : table.snapshot(snapshot.parentId());
+    }
+    if (snapshot == null && fromSnapshotId != ArcticServiceConstants.INVALID_SNAPSHOT_ID) {
+      // the cached snapshot is not an ancestor any more, it has been expired or rolled back
+      LOG.info("{} snapshot {} is not an ancestor of {}, fall back to full scan", table.id(), fromSnapshotId,
+          toSnapshotId);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Collect the partitions whose values differ between two partition maps.
+   */
+  private static void collectChangedPartitions(
+      PartitionSpec partitionSpec, StructLikeMap<Long> fromValues, StructLikeMap<Long> toValues,
+      Set<String> changedPartitions) {
+    Map<StructLike, Long> from = fromValues == null ? Collections.emptyMap() : fromValues;
+    Map<StructLike, Long> to = toValues == null ? Collections.emptyMap() : toValues;
+    from.forEach((partition, value) -> {
+      if (!Objects.equals(value, to.get(partition))) {
+        changedPartitions.add(partitionSpec.partitionToPath(partition));
+      }
+    });
+    to.forEach((partition, value) -> {
+      if (!from.containsKey(partition)) {
+        changedPartitions.add(partitionSpec.partitionToPath(partition));
+      }
+    });
+  }
+
+  private void scanFiles(
+      TableFileScanHelper tableFileScanHelper,
+      Map<String, List<TableFileScanHelper.FileScanResult>> partitionFiles) {
     PartitionSpec partitionSpec = arcticTable.spec();
     long startTime = System.currentTimeMillis();
     long count = 0;
@@ -103,8 +297,7 @@ public class OptimizingEvaluator {
       for (TableFileScanHelper.FileScanResult fileScanResult : results) {
         StructLike partition = fileScanResult.file().partition();
         String partitionPath = partitionSpec.partitionToPath(partition);
-        PartitionEvaluator evaluator = partitionPlanMap.computeIfAbsent(partitionPath, this::buildEvaluator);
-        evaluator.addFile(fileScanResult.file(), fileScanResult.deleteFiles());
+        partitionFiles.computeIfAbsent(partitionPath, p -> Lists.newArrayList()).add(fileScanResult);
         count++;
       }
     } catch (IOException e) {
@@ -112,6 +305,17 @@ public class OptimizingEvaluator {
     }
     LOG.info("{} finished file scanning, scanning {} files in {} ms", arcticTable.id(), count,
         System.currentTimeMillis() - startTime);
+  }
+
+  private void initPartitionPlans(Map<String, List<TableFileScanHelper.FileScanResult>> partitionFiles) {
+    TableFileScanHelper.PartitionFilter partitionFilter = getPartitionFilter();
+    partitionFiles.forEach((partitionPath, fileScanResults) -> {
+      if (partitionFilter != null && !partitionFilter.test(partitionPath)) {
+        return;
+      }
+      PartitionEvaluator evaluator = partitionPlanMap.computeIfAbsent(partitionPath, this::buildEvaluator);
+      fileScanResults.forEach(result -> evaluator.addFile(result.file(), result.deleteFiles()));
+    });
     partitionPlanMap.values().removeIf(plan -> !plan.isNecessary());
   }
 
@@ -19,6 +19,7 @@
 package com.netease.arctic.server.optimizing.scan;
 
 import com.netease.arctic.server.ArcticServiceConstants;
+import org.apache.iceberg.DataFile;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.StructLike;
@@ -59,6 +60,17 @@ public class IcebergTableFileScanHelper implements TableFileScanHelper {
     return new FileScanResult(fileScanTask.file(), Lists.newArrayList(fileScanTask.deletes()));
   }
 
+  /**
+   * Build the scan result of a data file appended by a snapshot without any delete files. Existing delete files
+   * never apply to it since they have lower sequence numbers, so it has no related delete files.
+   *
+   * @param dataFile - the appended data file
+   * @return the scan result of the data file
+   */
+  public FileScanResult buildAppendedFileScanResult(DataFile dataFile) {
+    return new FileScanResult(dataFile, Lists.newArrayList());
+  }
+
   @Override
   public TableFileScanHelper withPartitionFilter(PartitionFilter partitionFilter) {
     this.partitionFilter = partitionFilter;
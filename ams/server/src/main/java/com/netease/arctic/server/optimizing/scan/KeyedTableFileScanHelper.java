@@ -230,6 +230,23 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
     }
   }
 
+  /**
+   * Whether all the change files of the change snapshot are selected without being limited by
+   * self-optimizing.max-file-count, so that the change files of each partition are selected regardless of the
+   * other partitions.
+   */
+  public static boolean selectsAllChangeFiles(KeyedTable arcticTable, long changeSnapshotId) {
+    if (changeSnapshotId == ArcticServiceConstants.INVALID_SNAPSHOT_ID) {
+      return true;
+    }
+    Snapshot changeSnapshot = arcticTable.changeTable().snapshot(changeSnapshotId);
+    int totalFilesInSummary = PropertyUtil
+        .propertyAsInt(changeSnapshot.summary(), SnapshotSummary.TOTAL_DATA_FILES_PROP, 0);
+    int maxFileCntLimit = CompatiblePropertyUtil.propertyAsInt(arcticTable.properties(),
+        TableProperties.SELF_OPTIMIZING_MAX_FILE_CNT, TableProperties.SELF_OPTIMIZING_MAX_FILE_CNT_DEFAULT);
+    return totalFilesInSummary <= maxFileCntLimit;
+  }
+
   private long getMaxSequenceLimit(
       KeyedTable arcticTable,
       long changeSnapshotId,
@@ -237,14 +254,12 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
       StructLikeMap<Long> legacyPartitionMaxTransactionId) {
     ChangeTable changeTable = arcticTable.changeTable();
     Snapshot changeSnapshot = changeTable.snapshot(changeSnapshotId);
-    int totalFilesInSummary = PropertyUtil
-        .propertyAsInt(changeSnapshot.summary(), SnapshotSummary.TOTAL_DATA_FILES_PROP, 0);
-    int maxFileCntLimit = CompatiblePropertyUtil.propertyAsInt(arcticTable.properties(),
-        TableProperties.SELF_OPTIMIZING_MAX_FILE_CNT, TableProperties.SELF_OPTIMIZING_MAX_FILE_CNT_DEFAULT);
     // not scan files to improve performance
-    if (totalFilesInSummary <= maxFileCntLimit) {
+    if (selectsAllChangeFiles(arcticTable, changeSnapshotId)) {
       return Long.MAX_VALUE;
     }
+    int maxFileCntLimit = CompatiblePropertyUtil.propertyAsInt(arcticTable.properties(),
+        TableProperties.SELF_OPTIMIZING_MAX_FILE_CNT, TableProperties.SELF_OPTIMIZING_MAX_FILE_CNT_DEFAULT);
     // scan and get all change files grouped by sequence(snapshot)
     ChangeTableIncrementalScan changeTableIncrementalScan =
         changeTable.newScan()
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.server.optimizing.scan;
+
+import com.netease.arctic.server.table.KeyedTableSnapshot;
+import com.netease.arctic.server.table.TableSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The file scan results of a table grouped by partition path, which are kept in memory so that the next evaluating
+ * only needs to scan the partitions changed since the cached snapshot. It is immutable once built.
+ * <p>
+ * The files cached by all tables are bounded by {@link #setMaxCachedFiles(long)}, a cache must be reserved before
+ * being kept and released once dropped.
+ */
+public class TableFileScanCache {
+  private static final Logger LOG = LoggerFactory.getLogger(TableFileScanCache.class);
+
+  private static final AtomicLong cachedFiles = new AtomicLong();
+  private static volatile long maxCachedFiles = Long.MAX_VALUE;
+
+  private final TableSnapshot snapshot;
+  private final int specId;
+  private final boolean allChangeFilesSelected;
+  private final Map<String, List<TableFileScanHelper.FileScanResult>> partitionFiles;
+  private final long fileCount;
+  private final AtomicBoolean reserved = new AtomicBoolean(false);
+
+  public TableFileScanCache(
+      TableSnapshot snapshot, int specId,
+      Map<String, List<TableFileScanHelper.FileScanResult>> partitionFiles) {
+    this(snapshot, specId, true, partitionFiles);
+  }
+
+  /**
+   * @param allChangeFilesSelected whether all the change files of a keyed table were selected, the cache could only
+   *                               be updated by partitions if so
+   */
+  public TableFileScanCache(
+      TableSnapshot snapshot, int specId, boolean allChangeFilesSelected,
+      Map<String, List<TableFileScanHelper.FileScanResult>> partitionFiles) {
+    this.snapshot = snapshot;
+    this.specId = specId;
+    this.allChangeFilesSelected = allChangeFilesSelected;
+    this.partitionFiles = Collections.unmodifiableMap(partitionFiles);
+    this.fileCount = partitionFiles.values().stream()
+        .flatMap(List::stream)
+        .mapToLong(result -> 1 + result.deleteFiles().size())
+        .sum();
+  }
+
+  /**
+   * Set the max number of files cached by all tables, including the delete files of each data file.
+   */
+  public static void setMaxCachedFiles(long maxFiles) {
+    maxCachedFiles = maxFiles;
+  }
+
+  public static long getCachedFiles() {
+    return cachedFiles.get();
+  }
+
+  public TableSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  public int getSpecId() {
+    return specId;
+  }
+
+  public boolean isAllChangeFilesSelected() {
+    return allChangeFilesSelected;
+  }
+
+  public Map<String, List<TableFileScanHelper.FileScanResult>> getPartitionFiles() {
+    return partitionFiles;
+  }
+
+  public long getFileCount() {
+    return fileCount;
+  }
+
+  /**
+   * Reserve the files of this cache from the budget of all tables.
+   *
+   * @return false if the budget is exhausted and this cache should not be kept
+   */
+  public boolean reserve() {
+    if (reserved.get()) {
+      return true;
+    }
+    if (cachedFiles.addAndGet(fileCount) > maxCachedFiles) {
+      cachedFiles.addAndGet(-fileCount);
+      LOG.debug("Skip caching {} files of snapshot {}, {} files have been cached", fileCount, snapshot.snapshotId(),
+          cachedFiles.get());
+      return false;
+    }
+    reserved.set(true);
+    return true;
+  }
+
+  /**
+   * Return the files of this cache to the budget, it is safe to be called more than once.
+   */
+  public void release() {
+    if (reserved.compareAndSet(true, false)) {
+      cachedFiles.addAndGet(-fileCount);
+    }
+  }
+
+  /**
+   * Whether the cached files are exactly the files of the given snapshot.
+   */
+  public boolean isSnapshotOf(TableSnapshot tableSnapshot, int currentSpecId) {
+    if (currentSpecId != specId || tableSnapshot.snapshotId() != snapshot.snapshotId()) {
+      return false;
+    }
+    if (tableSnapshot instanceof KeyedTableSnapshot) {
+      if (!(snapshot instanceof KeyedTableSnapshot)) {
+        return false;
+      }
+      KeyedTableSnapshot keyedSnapshot = (KeyedTableSnapshot) tableSnapshot;
+      KeyedTableSnapshot cachedSnapshot = (KeyedTableSnapshot) snapshot;
+      return keyedSnapshot.changeSnapshotId() == cachedSnapshot.changeSnapshotId() &&
+          Objects.equals(keyedSnapshot.partitionOptimizedSequence(), cachedSnapshot.partitionOptimizedSequence()) &&
+          Objects.equals(keyedSnapshot.legacyPartitionMaxTransactionId(),
+              cachedSnapshot.legacyPartitionMaxTransactionId());
+    }
+    return true;
+  }
+}
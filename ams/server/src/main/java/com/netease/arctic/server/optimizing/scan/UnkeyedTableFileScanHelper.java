@@ -25,6 +25,11 @@ public class UnkeyedTableFileScanHelper extends IcebergTableFileScanHelper {
     return new FileScanResult(dataFile, deleteFiles);
   }
 
+  @Override
+  public FileScanResult buildAppendedFileScanResult(DataFile dataFile) {
+    return super.buildAppendedFileScanResult(wrapBaseFile(dataFile));
+  }
+
   private DataFile wrapBaseFile(DataFile dataFile) {
     return DefaultKeyedFile.parseBase(dataFile);
   }
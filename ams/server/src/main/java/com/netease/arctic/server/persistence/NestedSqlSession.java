@@ -28,6 +28,10 @@ public final class NestedSqlSession implements Closeable {
     }
   }
 
+  static boolean isOpened() {
+    return sessions.get() != null;
+  }
+
   SqlSession getSqlSession() {
     return sqlSession;
   }
@@ -54,6 +54,31 @@ public abstract class PersistentBase {
     }
   }
 
+  /**
+   * Write the latest state of this entity through {@link WriteBehindPersistence}, which coalesces and flushes updates
+   * in batches later. It writes synchronously like doAs if write-behind is not started or a session is opened.
+   */
+  protected final <T> void doAsLater(Class<T> mapperClz, Consumer<T> consumer) {
+    if (!WriteBehindPersistence.getInstance().isStarted() || NestedSqlSession.isOpened()) {
+      doAs(mapperClz, consumer);
+    } else {
+      WriteBehindPersistence.getInstance().enqueue(this, mapperClz, consumer);
+    }
+  }
+
+  /**
+   * Write the latest state of this entity synchronously like doAs, and drop its pending update in
+   * {@link WriteBehindPersistence} which is superseded by this write. The pending update is kept inside an opened
+   * session, which may still be rolled back.
+   */
+  protected final <T> void doAsLatest(Class<T> mapperClz, Consumer<T> consumer) {
+    boolean nested = NestedSqlSession.isOpened();
+    doAs(mapperClz, consumer);
+    if (!nested) {
+      WriteBehindPersistence.getInstance().discard(this);
+    }
+  }
+
   protected final void doAsTransaction(Runnable... operations) {
     try (NestedSqlSession session = beginSession()) {
       try {
@@ -70,6 +70,13 @@ public abstract class StatedPersistentBase extends PersistentBase {
     }
   }
 
+  /**
+   * The lock guarding the states of this entity, {@link WriteBehindPersistence} holds it while writing the entity.
+   */
+  Lock stateLock() {
+    return stateLock;
+  }
+
   private void initStateFields() {
     states = stateMetaCache.computeIfAbsent(getClass(), clz -> {
       List<State> states = new ArrayList<>();
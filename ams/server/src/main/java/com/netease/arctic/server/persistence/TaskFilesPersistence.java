@@ -1,11 +1,12 @@
 package com.netease.arctic.server.persistence;
 
+import com.netease.arctic.optimizing.OptimizingCodec;
 import com.netease.arctic.optimizing.RewriteFilesInput;
 import com.netease.arctic.optimizing.RewriteFilesOutput;
 import com.netease.arctic.server.optimizing.TaskRuntime;
 import com.netease.arctic.server.persistence.mapper.OptimizingMapper;
 import com.netease.arctic.server.utils.CompressUtil;
-import com.netease.arctic.utils.SerializationUtil;
+import com.netease.arctic.table.ArcticTable;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -28,12 +29,15 @@ public class TaskFilesPersistence {
     if (bytes == null) {
       return Collections.emptyMap();
     } else {
-      return SerializationUtil.simpleDeserialize(CompressUtil.unGzip(bytes.get(0)));
+      return OptimizingCodec.deserialize(CompressUtil.unGzip(bytes.get(0)));
     }
   }
 
-  public static RewriteFilesOutput loadTaskOutput(byte[] content) {
-    return SerializationUtil.simpleDeserialize(content);
+  /**
+   * Load the output of a task, whose files belong to the given table.
+   */
+  public static RewriteFilesOutput loadTaskOutput(byte[] content, ArcticTable table) {
+    return OptimizingCodec.deserialize(content, table);
   }
 
   private static class DatabasePersistence extends PersistentBase {
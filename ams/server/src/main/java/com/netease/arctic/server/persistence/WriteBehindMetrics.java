@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.persistence;
+
+import com.netease.arctic.ams.api.metrics.AmoroMetrics;
+import com.netease.arctic.ams.api.metrics.TaggedMetrics;
+import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
+
+/**
+ * Metrics of {@link WriteBehindPersistence}, the batch sizes and latencies are those of successful flushes.
+ */
+public class WriteBehindMetrics implements AmoroMetrics {
+
+  private long flushCount;
+  private long failedFlushCount;
+  private long flushedUpdates;
+  private long coalescedUpdates;
+  private long lastBatchSize;
+  private long maxBatchSize;
+  private long lastFlushLatency;
+  private long maxFlushLatency;
+
+  synchronized void recordFlush(int batchSize, long latency) {
+    flushCount++;
+    flushedUpdates += batchSize;
+    lastBatchSize = batchSize;
+    maxBatchSize = Math.max(maxBatchSize, batchSize);
+    lastFlushLatency = latency;
+    maxFlushLatency = Math.max(maxFlushLatency, latency);
+  }
+
+  synchronized void recordFailedFlush() {
+    failedFlushCount++;
+  }
+
+  synchronized void recordCoalesced() {
+    coalescedUpdates++;
+  }
+
+  synchronized WriteBehindMetrics snapshot() {
+    WriteBehindMetrics snapshot = new WriteBehindMetrics();
+    snapshot.flushCount = flushCount;
+    snapshot.failedFlushCount = failedFlushCount;
+    snapshot.flushedUpdates = flushedUpdates;
+    snapshot.coalescedUpdates = coalescedUpdates;
+    snapshot.lastBatchSize = lastBatchSize;
+    snapshot.maxBatchSize = maxBatchSize;
+    snapshot.lastFlushLatency = lastFlushLatency;
+    snapshot.maxFlushLatency = maxFlushLatency;
+    return snapshot;
+  }
+
+  @TaggedMetrics.Metric(name = "flush-count")
+  public long getFlushCount() {
+    return flushCount;
+  }
+
+  @TaggedMetrics.Metric(name = "failed-flush-count")
+  public long getFailedFlushCount() {
+    return failedFlushCount;
+  }
+
+  @TaggedMetrics.Metric(name = "flushed-updates")
+  public long getFlushedUpdates() {
+    return flushedUpdates;
+  }
+
+  @TaggedMetrics.Metric(name = "coalesced-updates")
+  public long getCoalescedUpdates() {
+    return coalescedUpdates;
+  }
+
+  @TaggedMetrics.Metric(name = "last-batch-size")
+  public long getLastBatchSize() {
+    return lastBatchSize;
+  }
+
+  @TaggedMetrics.Metric(name = "max-batch-size")
+  public long getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  @TaggedMetrics.Metric(name = "last-flush-latency")
+  public long getLastFlushLatency() {
+    return lastFlushLatency;
+  }
+
+  @TaggedMetrics.Metric(name = "max-flush-latency")
+  public long getMaxFlushLatency() {
+    return maxFlushLatency;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("flushCount", flushCount)
+        .add("failedFlushCount", failedFlushCount)
+        .add("flushedUpdates", flushedUpdates)
+        .add("coalescedUpdates", coalescedUpdates)
+        .add("lastBatchSize", lastBatchSize)
+        .add("maxBatchSize", maxBatchSize)
+        .add("lastFlushLatency", lastFlushLatency)
+        .add("maxFlushLatency", maxFlushLatency)
+        .toString();
+  }
+}
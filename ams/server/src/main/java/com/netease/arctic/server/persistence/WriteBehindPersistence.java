@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.persistence;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.TransactionIsolationLevel;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind queue for runtime states updated at a high rate, like those of task runtimes and table runtimes.
+ * Every update writes the latest state of its entity, so pending updates of the same entity are coalesced into one,
+ * and a background thread flushes them in a JDBC batch every flush interval, or as soon as batch-size of them are
+ * pending.
+ * <p>
+ * Updates that must be durable before replying to the caller keep using {@link PersistentBase#doAs}, which acts as the
+ * durability barrier. Updates made inside an opened session are never deferred, so that transactions are kept.
+ * <p>
+ * A flush binds and commits the state of a {@link StatedPersistentBase} while holding its state lock, so a synchronous
+ * write of the same entity is either committed after the flush, or makes the flush bind its newer state. Entities
+ * whose state lock is held by others are left to the next flush rather than waited for.
+ */
+public class WriteBehindPersistence {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WriteBehindPersistence.class);
+
+  private static final long METRICS_REPORT_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+  private static final int MAX_STOP_FLUSH_ROUNDS = 10;
+
+  private static final WriteBehindPersistence INSTANCE = new WriteBehindPersistence();
+
+  public static WriteBehindPersistence getInstance() {
+    return INSTANCE;
+  }
+
+  private final Object lock = new Object();
+  private final WriteBehindMetrics metrics = new WriteBehindMetrics();
+  private Map<Object, PendingUpdate<?>> pendingUpdates = new LinkedHashMap<>();
+  private boolean flushTriggered = false;
+  private int batchSize;
+  private volatile ScheduledExecutorService flushExecutor;
+
+  WriteBehindPersistence() {
+  }
+
+  /**
+   * Start flushing in background, updates are written synchronously until it is started.
+   *
+   * @param flushInterval   interval in milliseconds to flush pending updates, not started if it is not positive
+   * @param batchSize       number of pending updates that triggers a flush before the interval elapses
+   * @param metricsReporter receives the metrics of this queue every minute
+   */
+  public synchronized void start(long flushInterval, int batchSize, Consumer<WriteBehindMetrics> metricsReporter) {
+    Preconditions.checkState(flushExecutor == null, "write-behind persistence has been started");
+    Preconditions.checkArgument(batchSize > 0, "batchSize must be positive");
+    if (flushInterval <= 0) {
+      return;
+    }
+    this.batchSize = batchSize;
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("write-behind-persistence-%d").build());
+    executor.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    if (metricsReporter != null) {
+      executor.scheduleWithFixedDelay(() -> metricsReporter.accept(metrics.snapshot()),
+          METRICS_REPORT_INTERVAL, METRICS_REPORT_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+    flushExecutor = executor;
+    LOG.info("Write-behind persistence started with flush interval {} ms and batch size {}", flushInterval,
+        batchSize);
+  }
+
+  /**
+   * Stop flushing in background and flush the pending updates, later updates are written synchronously.
+   */
+  public synchronized void stop() {
+    ScheduledExecutorService executor = flushExecutor;
+    if (executor == null) {
+      return;
+    }
+    flushExecutor = null;
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOG.warn("Write-behind persistence does not stop in time");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // entities locked by others are skipped by a flush, retry them a few rounds
+    for (int round = 0; round < MAX_STOP_FLUSH_ROUNDS && hasPendingUpdates(); round++) {
+      flush();
+    }
+    if (hasPendingUpdates()) {
+      LOG.warn("Write-behind persistence stops with pending updates not flushed");
+    }
+  }
+
+  public boolean isStarted() {
+    return flushExecutor != null;
+  }
+
+  public WriteBehindMetrics getMetrics() {
+    return metrics.snapshot();
+  }
+
+  <T> void enqueue(Object entity, Class<T> mapperClz, Consumer<T> operation) {
+    boolean triggerFlush = false;
+    synchronized (lock) {
+      if (pendingUpdates.put(entity, new PendingUpdate<>(mapperClz, operation)) != null) {
+        metrics.recordCoalesced();
+      }
+      if (pendingUpdates.size() >= batchSize && !flushTriggered) {
+        flushTriggered = true;
+        triggerFlush = true;
+      }
+    }
+    ScheduledExecutorService executor = flushExecutor;
+    if (triggerFlush && executor != null) {
+      try {
+        executor.execute(this::flush);
+      } catch (RejectedExecutionException e) {
+        // the pending updates are flushed by stop()
+      }
+    }
+  }
+
+  /**
+   * Drop the pending update of an entity, which is superseded by a synchronous write of its latest state.
+   */
+  void discard(Object entity) {
+    synchronized (lock) {
+      pendingUpdates.remove(entity);
+    }
+  }
+
+  boolean hasPendingUpdates() {
+    synchronized (lock) {
+      return !pendingUpdates.isEmpty();
+    }
+  }
+
+  void flush() {
+    Map<Object, PendingUpdate<?>> updates;
+    synchronized (lock) {
+      flushTriggered = false;
+      if (pendingUpdates.isEmpty()) {
+        return;
+      }
+      updates = pendingUpdates;
+      pendingUpdates = new LinkedHashMap<>();
+    }
+    Map<Object, PendingUpdate<?>> skippedUpdates = new LinkedHashMap<>();
+    List<Lock> heldLocks = new ArrayList<>();
+    try {
+      Iterator<Map.Entry<Object, PendingUpdate<?>>> iterator = updates.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<Object, PendingUpdate<?>> entry = iterator.next();
+        if (entry.getKey() instanceof StatedPersistentBase) {
+          Lock stateLock = ((StatedPersistentBase) entry.getKey()).stateLock();
+          if (stateLock.tryLock()) {
+            heldLocks.add(stateLock);
+          } else {
+            skippedUpdates.put(entry.getKey(), entry.getValue());
+            iterator.remove();
+          }
+        }
+      }
+      if (!updates.isEmpty()) {
+        flush(updates);
+      }
+    } finally {
+      heldLocks.forEach(Lock::unlock);
+    }
+    if (!skippedUpdates.isEmpty()) {
+      synchronized (lock) {
+        // updates enqueued meanwhile are newer, keep them
+        skippedUpdates.forEach(pendingUpdates::putIfAbsent);
+      }
+    }
+  }
+
+  private void flush(Map<Object, PendingUpdate<?>> updates) {
+    long startTime = System.currentTimeMillis();
+    try (SqlSession session = SqlSessionFactoryProvider.getInstance().get()
+        .openSession(ExecutorType.BATCH, TransactionIsolationLevel.READ_COMMITTED)) {
+      try {
+        updates.values().forEach(update -> update.apply(session));
+        session.flushStatements();
+        session.commit(true);
+        metrics.recordFlush(updates.size(), System.currentTimeMillis() - startTime);
+      } catch (Throwable t) {
+        session.rollback(true);
+        metrics.recordFailedFlush();
+        LOG.error("Flush {} pending updates failed, retry them in the next round", updates.size(), t);
+        synchronized (lock) {
+          // updates enqueued during the flush are newer, keep them
+          updates.forEach(pendingUpdates::putIfAbsent);
+        }
+      }
+    }
+  }
+
+  private static class PendingUpdate<T> {
+    private final Class<T> mapperClz;
+    private final Consumer<T> operation;
+
+    PendingUpdate(Class<T> mapperClz, Consumer<T> operation) {
+      this.mapperClz = mapperClz;
+      this.operation = operation;
+    }
+
+    void apply(SqlSession session) {
+      operation.accept(session.getMapper(mapperClz));
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.netease.arctic.server.persistence.converter;
+
+import com.netease.arctic.optimizing.OptimizingCodec;
+import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.server.persistence.SqlSessionFactoryProvider;
+import com.netease.arctic.server.utils.CompressUtil;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+
+import java.io.ByteArrayInputStream;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Converts the inputs and outputs of optimizing tasks by {@link OptimizingCodec}. Task outputs carry no table to
+ * resolve the partition specs of their files, so they are read as raw bytes and decoded by
+ * {@link com.netease.arctic.server.persistence.TaskFilesPersistence} once the table is known.
+ */
+public class OptimizingPayloadConvert<T> implements TypeHandler<T> {
+
+  @Override
+  public void setParameter(PreparedStatement ps, int i, T parameter, JdbcType jdbcType) throws SQLException {
+    if (parameter == null) {
+      if (SqlSessionFactoryProvider.getDbType().equals(ArcticManagementConf.DB_TYPE_POSTGRES)) {
+        ps.setNull(i, Types.BINARY);
+      } else {
+        ps.setNull(i, Types.BLOB);
+      }
+      return;
+    }
+
+    ps.setBinaryStream(
+        i,
+        new ByteArrayInputStream(CompressUtil.gzip(OptimizingCodec.toBytes(parameter))));
+  }
+
+  @Override
+  public T getResult(ResultSet rs, String columnName) throws SQLException {
+    byte[] bytes = rs.getBytes(columnName);
+    if (bytes == null) {
+      return null;
+    }
+    return OptimizingCodec.deserialize(CompressUtil.unGzip(bytes));
+  }
+
+  @Override
+  public T getResult(ResultSet rs, int columnIndex) throws SQLException {
+    byte[] bytes = rs.getBytes(columnIndex);
+    if (bytes == null) {
+      return null;
+    }
+    return OptimizingCodec.deserialize(CompressUtil.unGzip(bytes));
+  }
+
+  @Override
+  public T getResult(CallableStatement cs, int columnIndex) throws SQLException {
+    byte[] bytes = cs.getBytes(columnIndex);
+    if (bytes == null) {
+      return null;
+    }
+    return OptimizingCodec.deserialize(CompressUtil.unGzip(bytes));
+  }
+}
\ No newline at end of file
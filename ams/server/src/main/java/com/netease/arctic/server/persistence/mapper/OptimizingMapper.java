@@ -11,7 +11,6 @@ import com.netease.arctic.server.persistence.converter.JsonObjectConverter;
 import com.netease.arctic.server.persistence.converter.Long2TsConverter;
 import com.netease.arctic.server.persistence.converter.Map2StringConverter;
 import com.netease.arctic.server.persistence.converter.MapLong2StringConverter;
-import com.netease.arctic.server.persistence.converter.Object2ByteArrayConvert;
 import com.netease.arctic.server.table.ServerTableIdentifier;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Insert;
@@ -111,7 +110,7 @@ public interface OptimizingMapper {
           "#{taskRuntime.status}, #{taskRuntime.failReason, jdbcType=VARCHAR}," +
           " #{taskRuntime.optimizingThread.token, jdbcType=VARCHAR}, #{taskRuntime.optimizingThread.threadId, " +
           "jdbcType=INTEGER}, #{taskRuntime.output, jdbcType=BLOB, " +
-          " typeHandler=com.netease.arctic.server.persistence.converter.Object2ByteArrayConvert}," +
+          " typeHandler=com.netease.arctic.server.persistence.converter.OptimizingPayloadConvert}," +
           " #{taskRuntime.summary, typeHandler=com.netease.arctic.server.persistence.converter.JsonObjectConverter}," +
           "#{taskRuntime.properties, typeHandler=com.netease.arctic.server.persistence.converter.Map2StringConverter})",
       "</foreach>",
@@ -134,7 +133,7 @@ public interface OptimizingMapper {
       @Result(property = "failReason", column = "fail_reason"),
       @Result(property = "optimizingThread.token", column = "optimizer_token"),
       @Result(property = "optimizingThread.threadId", column = "thread_id"),
-      @Result(property = "output", column = "rewrite_output", typeHandler = Object2ByteArrayConvert.class),
+      @Result(property = "outputContent", column = "rewrite_output", jdbcType = JdbcType.BLOB),
       @Result(property = "summary", column = "metrics_summary", typeHandler = JsonObjectConverter.class),
       @Result(property = "properties", column = "properties", typeHandler = Map2StringConverter.class)
   })
@@ -177,7 +176,7 @@ public interface OptimizingMapper {
       " optimizer_token = #{taskRuntime.optimizingThread.token, jdbcType=VARCHAR}," +
       " thread_id = #{taskRuntime.optimizingThread.threadId, jdbcType=INTEGER}," +
       " rewrite_output = #{taskRuntime.output, jdbcType=BLOB," +
-      " typeHandler=com.netease.arctic.server.persistence.converter.Object2ByteArrayConvert}," +
+      " typeHandler=com.netease.arctic.server.persistence.converter.OptimizingPayloadConvert}," +
       " metrics_summary = #{taskRuntime.summary," +
       " typeHandler=com.netease.arctic.server.persistence.converter.JsonObjectConverter}," +
       " properties = #{taskRuntime.properties," +
@@ -197,7 +196,7 @@ public interface OptimizingMapper {
    * Optimizing rewrite input and output operations below
    */
   @Update("UPDATE table_optimizing_process SET rewrite_input = #{input, jdbcType=BLOB," +
-      " typeHandler=com.netease.arctic.server.persistence.converter.Object2ByteArrayConvert}" +
+      " typeHandler=com.netease.arctic.server.persistence.converter.OptimizingPayloadConvert}" +
       " WHERE process_id = #{processId}")
   void updateProcessInputFiles(
       @Param("processId") long processId,
@@ -282,6 +282,9 @@ public interface TableMetaMapper {
   @Delete("DELETE FROM table_runtime WHERE table_id = #{tableId}")
   void deleteOptimizingRuntime(@Param("tableId") long tableId);
 
+  @Select("SELECT optimizer_group FROM table_runtime WHERE table_id = #{tableId}")
+  String selectOptimizerGroup(@Param("tableId") long tableId);
+
   @Insert("INSERT INTO table_runtime (table_id, catalog_name, db_name, table_name, format, current_snapshot_id," +
       " current_change_snapshotId, last_optimized_snapshotId, last_optimized_change_snapshotId," +
       " last_major_optimizing_time, last_minor_optimizing_time," +
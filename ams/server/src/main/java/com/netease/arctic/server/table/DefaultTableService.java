@@ -11,6 +11,7 @@ import com.netease.arctic.ams.api.Blocker;
 import com.netease.arctic.ams.api.CatalogMeta;
 import com.netease.arctic.ams.api.TableIdentifier;
 import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.server.ResourceGroupShards;
 import com.netease.arctic.server.catalog.CatalogBuilder;
 import com.netease.arctic.server.catalog.ExternalCatalog;
 import com.netease.arctic.server.catalog.InternalCatalog;
@@ -55,6 +56,7 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
   @StateField
   private final Map<ServerTableIdentifier, TableRuntime> tableRuntimeMap = new ConcurrentHashMap<>();
   private RuntimeHandlerChain headHandler;
+  private ResourceGroupShards shards;
 
   private final ScheduledExecutorService tableExplorerScheduler = Executors.newSingleThreadScheduledExecutor(
       new ThreadFactoryBuilder()
@@ -160,13 +162,17 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     validateTableExists(tableIdentifier);
     ServerTableIdentifier serverTableIdentifier = getInternalCatalog(tableIdentifier.getCatalog())
         .dropTable(tableIdentifier.getDatabase(), tableIdentifier.getTableName());
-    Optional.ofNullable(tableRuntimeMap.remove(serverTableIdentifier))
-        .ifPresent(tableRuntime -> {
-          if (headHandler != null) {
-            headHandler.fireTableRemoved(tableRuntime);
-          }
-          tableRuntime.dispose();
-        });
+    TableCache.getInstance().invalidate(serverTableIdentifier);
+    TableRuntime removedRuntime = tableRuntimeMap.remove(serverTableIdentifier);
+    if (removedRuntime != null) {
+      if (headHandler != null) {
+        headHandler.fireTableRemoved(removedRuntime);
+      }
+      removedRuntime.dispose();
+    } else if (shards != null) {
+      // the runtime is held by the owner of its resource group, which drops it on the next sync
+      doAs(TableMetaMapper.class, mapper -> mapper.deleteOptimizingRuntime(serverTableIdentifier.getId()));
+    }
   }
 
   @Override
@@ -178,10 +184,7 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     ServerTableIdentifier tableIdentifier = catalog.createTable(tableMetadata);
     AmoroTable<?> table = catalog.loadTable(tableIdentifier.getDatabase(), tableIdentifier.getTableName());
     TableRuntime tableRuntime = new TableRuntime(tableIdentifier, table.format(), this, table.properties());
-    tableRuntimeMap.put(tableIdentifier, tableRuntime);
-    if (headHandler != null) {
-      headHandler.fireTableAdded(table, tableRuntime);
-    }
+    bindTableRuntime(table, tableRuntime);
   }
 
   @Override
@@ -222,6 +225,12 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
 
   @Override
   public AmoroTable<?> loadTable(ServerTableIdentifier tableIdentifier) {
+    checkStarted();
+    return TableCache.getInstance().load(tableIdentifier, getServerCatalog(tableIdentifier.getCatalog()));
+  }
+
+  @Override
+  public AmoroTable<?> loadTableForUpdate(ServerTableIdentifier tableIdentifier) {
     checkStarted();
     return getServerCatalog(tableIdentifier.getCatalog())
         .loadTable(tableIdentifier.getDatabase(), tableIdentifier.getTableName());
@@ -317,7 +326,9 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     catalogMetas.forEach(this::initServerCatalog);
 
     List<TableRuntimeMeta> tableRuntimeMetaList =
-        getAs(TableMetaMapper.class, TableMetaMapper::selectTableRuntimeMetas);
+        getAs(TableMetaMapper.class, TableMetaMapper::selectTableRuntimeMetas).stream()
+            .filter(tableRuntimeMeta -> ownsResourceGroup(tableRuntimeMeta.getOptimizerGroup()))
+            .collect(Collectors.toList());
     tableRuntimeMetaList.forEach(tableRuntimeMeta -> {
       TableRuntime tableRuntime = tableRuntimeMeta.constructTableRuntime(this);
       tableRuntimeMap.put(tableRuntime.getTableIdentifier(), tableRuntime);
@@ -348,6 +359,96 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     initialized.complete(true);
   }
 
+  /**
+   * Set the shards of resource groups this server works on, tables of other groups are left to their owners.
+   * Must be called before {@link #initialize()}, a null value means this server owns every resource group.
+   */
+  public void setResourceGroupShards(ResourceGroupShards shards) {
+    checkNotStarted();
+    this.shards = shards;
+  }
+
+  public boolean ownsResourceGroup(String resourceGroup) {
+    return shards == null || shards.owns(resourceGroup);
+  }
+
+  /**
+   * Get the optimizer group of a managed table from the table runtime persisted, null if the table is not managed.
+   */
+  public String getOptimizerGroup(TableIdentifier tableIdentifier) {
+    ServerTableIdentifier serverTableIdentifier = getServerTableIdentifier(tableIdentifier);
+    if (serverTableIdentifier == null) {
+      return null;
+    }
+    return getAs(TableMetaMapper.class, mapper -> mapper.selectOptimizerGroup(serverTableIdentifier.getId()));
+  }
+
+  public void acquireResourceGroup(String resourceGroup) {
+    checkStarted();
+    List<TableRuntimeMeta> tableRuntimeMetaList =
+        getAs(TableMetaMapper.class, TableMetaMapper::selectTableRuntimeMetas).stream()
+            .filter(tableRuntimeMeta -> resourceGroup.equals(tableRuntimeMeta.getOptimizerGroup()))
+            .collect(Collectors.toList());
+    tableRuntimeMetaList.forEach(tableRuntimeMeta -> {
+      TableRuntime tableRuntime = tableRuntimeMeta.constructTableRuntime(this);
+      tableRuntimeMap.put(tableRuntime.getTableIdentifier(), tableRuntime);
+    });
+    if (headHandler != null) {
+      headHandler.fireResourceGroupAcquired(resourceGroup, tableRuntimeMetaList);
+    }
+    LOG.info("Acquired resource group {} with {} tables", resourceGroup, tableRuntimeMetaList.size());
+  }
+
+  public void releaseResourceGroup(String resourceGroup) {
+    checkStarted();
+    if (headHandler != null) {
+      headHandler.fireResourceGroupReleased(resourceGroup);
+    }
+    // runtimes are kept in the database for the next owner, so they are not disposed here
+    tableRuntimeMap.values().removeIf(tableRuntime -> resourceGroup.equals(tableRuntime.getOptimizerGroup()));
+    LOG.info("Released resource group {}", resourceGroup);
+  }
+
+  /**
+   * Reconcile table runtimes in memory with the database after a rebalance, tables may be created, dropped or moved
+   * to another resource group on other servers.
+   */
+  public void syncOwnedTableRuntimes(Set<String> ownedGroups) {
+    checkStarted();
+    Map<ServerTableIdentifier, TableRuntimeMeta> persistedRuntimes =
+        getAs(TableMetaMapper.class, TableMetaMapper::selectTableRuntimeMetas).stream()
+            .filter(tableRuntimeMeta -> ownedGroups.contains(tableRuntimeMeta.getOptimizerGroup()))
+            .collect(Collectors.toMap(
+                tableRuntimeMeta -> ServerTableIdentifier.of(tableRuntimeMeta.getTableId(),
+                    tableRuntimeMeta.getCatalogName(), tableRuntimeMeta.getDbName(), tableRuntimeMeta.getTableName()),
+                tableRuntimeMeta -> tableRuntimeMeta));
+    Sets.newHashSet(tableRuntimeMap.keySet()).stream()
+        .filter(tableIdentifier -> !persistedRuntimes.containsKey(tableIdentifier))
+        .forEach(tableIdentifier -> Optional.ofNullable(tableRuntimeMap.remove(tableIdentifier))
+            .ifPresent(tableRuntime -> {
+              if (headHandler != null) {
+                headHandler.fireTableRemoved(tableRuntime);
+              }
+              LOG.info("Unbind table {} which is dropped or moved out of owned resource groups", tableIdentifier);
+            }));
+    persistedRuntimes.forEach((tableIdentifier, tableRuntimeMeta) -> {
+      if (tableRuntimeMap.containsKey(tableIdentifier)) {
+        return;
+      }
+      try {
+        AmoroTable<?> table = loadTable(tableIdentifier);
+        TableRuntime tableRuntime = tableRuntimeMeta.constructTableRuntime(this);
+        tableRuntimeMap.put(tableIdentifier, tableRuntime);
+        if (headHandler != null) {
+          headHandler.fireTableAdded(table, tableRuntime);
+        }
+        LOG.info("Bind table {} of owned resource group {}", tableIdentifier, tableRuntimeMeta.getOptimizerGroup());
+      } catch (Throwable t) {
+        LOG.error("Failed to bind table {} of owned resource group", tableIdentifier, t);
+      }
+    });
+  }
+
   public TableRuntime getAndCheckExist(ServerTableIdentifier tableIdentifier) {
     Preconditions.checkArgument(tableIdentifier != null, "tableIdentifier cannot be null");
     TableRuntime tableRuntime = getRuntime(tableIdentifier);
@@ -530,7 +631,15 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
         tableIdentifier.getDatabase(),
         tableIdentifier.getTableName());
     TableRuntime tableRuntime = new TableRuntime(tableIdentifier, table.format(), this, table.properties());
-    tableRuntimeMap.put(tableIdentifier, tableRuntime);
+    bindTableRuntime(table, tableRuntime);
+  }
+
+  private void bindTableRuntime(AmoroTable<?> table, TableRuntime tableRuntime) {
+    if (!ownsResourceGroup(tableRuntime.getOptimizerGroup())) {
+      // persisted already, the owner of the resource group picks it up on the next sync
+      return;
+    }
+    tableRuntimeMap.put(tableRuntime.getTableIdentifier(), tableRuntime);
     if (headHandler != null) {
       headHandler.fireTableAdded(table, tableRuntime);
     }
@@ -546,13 +655,16 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
 
   private void disposeTable(ExternalCatalog externalCatalog, ServerTableIdentifier tableIdentifier) {
     externalCatalog.disposeTable(tableIdentifier.getDatabase(), tableIdentifier.getTableName());
-    Optional.ofNullable(tableRuntimeMap.remove(tableIdentifier))
-        .ifPresent(tableRuntime -> {
-          if (headHandler != null) {
-            headHandler.fireTableRemoved(tableRuntime);
-          }
-          tableRuntime.dispose();
-        });
+    TableCache.getInstance().invalidate(tableIdentifier);
+    TableRuntime removedRuntime = tableRuntimeMap.remove(tableIdentifier);
+    if (removedRuntime != null) {
+      if (headHandler != null) {
+        headHandler.fireTableRemoved(removedRuntime);
+      }
+      removedRuntime.dispose();
+    } else if (shards != null) {
+      doAs(TableMetaMapper.class, mapper -> mapper.deleteOptimizingRuntime(tableIdentifier.getId()));
+    }
   }
 
   private static class TableIdentity {
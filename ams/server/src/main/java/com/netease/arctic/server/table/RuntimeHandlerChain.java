@@ -93,6 +93,38 @@ public abstract class RuntimeHandlerChain {
     }
   }
 
+  /**
+   * A resource group became owned by this AMS in sharding mode, with the runtimes of its tables.
+   */
+  public final void fireResourceGroupAcquired(String resourceGroup, List<TableRuntimeMeta> tableRuntimeMetaList) {
+    if (!initialized) {
+      return;
+    }
+
+    List<TableRuntimeMeta> supportedTableRuntimeMetaList = tableRuntimeMetaList.stream()
+        .filter(tableRuntimeMeta -> formatSupported(tableRuntimeMeta.getTableRuntime().getFormat()))
+        .collect(Collectors.toList());
+    doSilently(() -> handleResourceGroupAcquired(resourceGroup, supportedTableRuntimeMetaList));
+    if (next != null) {
+      next.fireResourceGroupAcquired(resourceGroup, tableRuntimeMetaList);
+    }
+  }
+
+  /**
+   * A resource group is no longer owned by this AMS in sharding mode, its table runtimes have been removed
+   * from the table service but their persisted state is kept for the new owner.
+   */
+  public final void fireResourceGroupReleased(String resourceGroup) {
+    if (!initialized) {
+      return;
+    }
+
+    if (next != null) {
+      next.fireResourceGroupReleased(resourceGroup);
+    }
+    doSilently(() -> handleResourceGroupReleased(resourceGroup));
+  }
+
   public final void dispose() {
     if (next != null) {
       next.dispose();
@@ -123,5 +155,11 @@ public abstract class RuntimeHandlerChain {
 
   protected abstract void initHandler(List<TableRuntimeMeta> tableRuntimeMetaList);
 
+  protected void handleResourceGroupAcquired(String resourceGroup, List<TableRuntimeMeta> tableRuntimeMetaList) {
+  }
+
+  protected void handleResourceGroupReleased(String resourceGroup) {
+  }
+
   protected abstract void doDispose();
 }
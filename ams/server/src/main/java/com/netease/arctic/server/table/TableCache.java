@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.netease.arctic.AmoroTable;
+import com.netease.arctic.server.catalog.ServerCatalog;
+import com.netease.arctic.table.ArcticTable;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bounded cache of loaded tables shared by table executors, optimizing queues and the dashboard, which load the same
+ * tables within seconds of one another. A cached table is handed out again only after
+ * {@link ServerCatalog#validateLoadedTable} confirms it still matches the current metadata location of the table, and
+ * entries are invalidated on commits of internal tables and on dropping tables. Cached instances are shared, so
+ * callers refreshing a table or committing to it load their own instance by {@link TableManager#loadTableForUpdate}.
+ * <p>
+ * Tables are loaded from their catalogs every time until the cache is started.
+ */
+public class TableCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TableCache.class);
+
+  private static final long METRICS_REPORT_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+  private static final TableCache INSTANCE = new TableCache();
+
+  public static TableCache getInstance() {
+    return INSTANCE;
+  }
+
+  private final TableCacheMetrics metrics = new TableCacheMetrics();
+  private volatile Cache<ServerTableIdentifier, AmoroTable<?>> tables;
+  private ScheduledExecutorService metricsReporterExecutor;
+
+  TableCache() {
+  }
+
+  /**
+   * Start caching loaded tables.
+   *
+   * @param maxSize           max number of cached tables, not started if it is not positive
+   * @param expireAfterAccess interval in milliseconds after which a table nobody loads is dropped
+   * @param metricsReporter   receives the metrics of this cache every minute
+   */
+  public synchronized void start(int maxSize, long expireAfterAccess, Consumer<TableCacheMetrics> metricsReporter) {
+    Preconditions.checkState(tables == null, "table cache has been started");
+    if (maxSize <= 0) {
+      return;
+    }
+    if (metricsReporter != null) {
+      metricsReporterExecutor = Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("table-cache-metrics-reporter-%d").build());
+      metricsReporterExecutor.scheduleWithFixedDelay(() -> metricsReporter.accept(metrics.snapshot()),
+          METRICS_REPORT_INTERVAL, METRICS_REPORT_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+    tables = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterAccess(expireAfterAccess, TimeUnit.MILLISECONDS)
+        .<ServerTableIdentifier, AmoroTable<?>>removalListener((identifier, table, cause) -> {
+          if (cause.wasEvicted()) {
+            metrics.recordEviction();
+          }
+        })
+        .build();
+    LOG.info("Table cache started with max size {} and expire-after-access {} ms", maxSize, expireAfterAccess);
+  }
+
+  /**
+   * Stop caching and drop all cached tables, tables are loaded from their catalogs every time later.
+   */
+  public synchronized void stop() {
+    Cache<ServerTableIdentifier, AmoroTable<?>> cache = tables;
+    if (cache == null) {
+      return;
+    }
+    tables = null;
+    cache.invalidateAll();
+    if (metricsReporterExecutor != null) {
+      metricsReporterExecutor.shutdownNow();
+      metricsReporterExecutor = null;
+    }
+  }
+
+  public boolean isStarted() {
+    return tables != null;
+  }
+
+  public TableCacheMetrics getMetrics() {
+    return metrics.snapshot();
+  }
+
+  public AmoroTable<?> load(ServerTableIdentifier tableIdentifier, ServerCatalog catalog) {
+    Cache<ServerTableIdentifier, AmoroTable<?>> cache = tables;
+    if (cache == null) {
+      return catalog.loadTable(tableIdentifier.getDatabase(), tableIdentifier.getTableName());
+    }
+    AmoroTable<?> cached = cache.getIfPresent(tableIdentifier);
+    if (cached != null) {
+      if (validate(catalog, cached)) {
+        metrics.recordHit();
+        return cached;
+      }
+      metrics.recordStale();
+      cache.asMap().remove(tableIdentifier, cached);
+    } else {
+      metrics.recordMiss();
+    }
+
+    long startTime = System.currentTimeMillis();
+    AmoroTable<?> table = catalog.loadTable(tableIdentifier.getDatabase(), tableIdentifier.getTableName());
+    metrics.recordLoad(System.currentTimeMillis() - startTime);
+    // only tables of Iceberg based formats can be validated without loading them again
+    if (table != null && table.originalTable() instanceof ArcticTable) {
+      cache.put(tableIdentifier, table);
+    }
+    return table;
+  }
+
+  public void invalidate(ServerTableIdentifier tableIdentifier) {
+    Cache<ServerTableIdentifier, AmoroTable<?>> cache = tables;
+    if (cache != null && cache.asMap().remove(tableIdentifier) != null) {
+      metrics.recordInvalidation();
+    }
+  }
+
+  private boolean validate(ServerCatalog catalog, AmoroTable<?> table) {
+    try {
+      return catalog.validateLoadedTable(table);
+    } catch (RuntimeException e) {
+      LOG.warn("Failed to validate cached table {}, load it again", table.id(), e);
+      return false;
+    }
+  }
+}
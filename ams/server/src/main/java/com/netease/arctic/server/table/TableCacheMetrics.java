@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+import com.netease.arctic.ams.api.metrics.AmoroMetrics;
+import com.netease.arctic.ams.api.metrics.TaggedMetrics;
+import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
+
+/**
+ * Metrics of {@link TableCache}, a lookup is either a hit, a miss, or a stale entry failing the validation.
+ */
+public class TableCacheMetrics implements AmoroMetrics {
+
+  private long hitCount;
+  private long missCount;
+  private long staleCount;
+  private long invalidationCount;
+  private long evictionCount;
+  private long loadCount;
+  private long totalLoadLatency;
+  private long lastLoadLatency;
+  private long maxLoadLatency;
+
+  synchronized void recordHit() {
+    hitCount++;
+  }
+
+  synchronized void recordMiss() {
+    missCount++;
+  }
+
+  synchronized void recordStale() {
+    staleCount++;
+  }
+
+  synchronized void recordInvalidation() {
+    invalidationCount++;
+  }
+
+  synchronized void recordEviction() {
+    evictionCount++;
+  }
+
+  synchronized void recordLoad(long latency) {
+    loadCount++;
+    totalLoadLatency += latency;
+    lastLoadLatency = latency;
+    maxLoadLatency = Math.max(maxLoadLatency, latency);
+  }
+
+  synchronized TableCacheMetrics snapshot() {
+    TableCacheMetrics snapshot = new TableCacheMetrics();
+    snapshot.hitCount = hitCount;
+    snapshot.missCount = missCount;
+    snapshot.staleCount = staleCount;
+    snapshot.invalidationCount = invalidationCount;
+    snapshot.evictionCount = evictionCount;
+    snapshot.loadCount = loadCount;
+    snapshot.totalLoadLatency = totalLoadLatency;
+    snapshot.lastLoadLatency = lastLoadLatency;
+    snapshot.maxLoadLatency = maxLoadLatency;
+    return snapshot;
+  }
+
+  @TaggedMetrics.Metric(name = "hit-count")
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  @TaggedMetrics.Metric(name = "miss-count")
+  public long getMissCount() {
+    return missCount;
+  }
+
+  @TaggedMetrics.Metric(name = "stale-count")
+  public long getStaleCount() {
+    return staleCount;
+  }
+
+  @TaggedMetrics.Metric(name = "invalidation-count")
+  public long getInvalidationCount() {
+    return invalidationCount;
+  }
+
+  @TaggedMetrics.Metric(name = "eviction-count")
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  @TaggedMetrics.Metric(name = "hit-rate")
+  public double getHitRate() {
+    long lookups = hitCount + missCount + staleCount;
+    return lookups == 0 ? 0 : (double) hitCount / lookups;
+  }
+
+  @TaggedMetrics.Metric(name = "load-count")
+  public long getLoadCount() {
+    return loadCount;
+  }
+
+  @TaggedMetrics.Metric(name = "average-load-latency")
+  public long getAverageLoadLatency() {
+    return loadCount == 0 ? 0 : totalLoadLatency / loadCount;
+  }
+
+  @TaggedMetrics.Metric(name = "last-load-latency")
+  public long getLastLoadLatency() {
+    return lastLoadLatency;
+  }
+
+  @TaggedMetrics.Metric(name = "max-load-latency")
+  public long getMaxLoadLatency() {
+    return maxLoadLatency;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("hitCount", hitCount)
+        .add("missCount", missCount)
+        .add("staleCount", staleCount)
+        .add("invalidationCount", invalidationCount)
+        .add("evictionCount", evictionCount)
+        .add("hitRate", getHitRate())
+        .add("loadCount", loadCount)
+        .add("averageLoadLatency", getAverageLoadLatency())
+        .add("lastLoadLatency", lastLoadLatency)
+        .add("maxLoadLatency", maxLoadLatency)
+        .toString();
+  }
+}
@@ -4,8 +4,16 @@ import com.netease.arctic.AmoroTable;
 
 public interface TableManager extends TableRuntimeHandler {
 
+  /**
+   * Load the table instance shared with other callers, which must be neither refreshed nor committed to.
+   */
   AmoroTable<?> loadTable(ServerTableIdentifier tableIdentifier);
 
+  /**
+   * Load a new instance of the table owned by the caller, for refreshing it or committing to it.
+   */
+  AmoroTable<?> loadTableForUpdate(ServerTableIdentifier tableIdentifier);
+
   TableRuntime getRuntime(ServerTableIdentifier tableIdentifier);
 
   default boolean contains(ServerTableIdentifier tableIdentifier) {
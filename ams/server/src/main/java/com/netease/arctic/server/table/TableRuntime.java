@@ -30,6 +30,7 @@ import com.netease.arctic.server.optimizing.OptimizingStatus;
 import com.netease.arctic.server.optimizing.OptimizingType;
 import com.netease.arctic.server.optimizing.TaskRuntime;
 import com.netease.arctic.server.optimizing.plan.OptimizingEvaluator;
+import com.netease.arctic.server.optimizing.scan.TableFileScanCache;
 import com.netease.arctic.server.persistence.StatedPersistentBase;
 import com.netease.arctic.server.persistence.mapper.OptimizingMapper;
 import com.netease.arctic.server.persistence.mapper.TableBlockerMapper;
@@ -96,6 +97,8 @@ public class TableRuntime extends StatedPersistentBase {
   private volatile long processId;
   @StateField
   private volatile OptimizingEvaluator.PendingInput pendingInput;
+  // files of the last evaluated snapshot, only kept in memory
+  private volatile TableFileScanCache fileScanCache;
 
   private final ReentrantLock blockerLock = new ReentrantLock();
 
@@ -141,6 +144,7 @@ public class TableRuntime extends StatedPersistentBase {
 
   public void dispose() {
     invokeInStateLock(() -> {
+      setFileScanCache(null);
       doAsTransaction(
           () -> Optional.ofNullable(optimizingProcess).ifPresent(OptimizingProcess::close),
           () -> doAs(TableMetaMapper.class, mapper ->
@@ -151,6 +155,9 @@ public class TableRuntime extends StatedPersistentBase {
 
   public void beginProcess(OptimizingProcess optimizingProcess) {
     invokeConsisitency(() -> {
+      if (optimizingStatus.isProcessing()) {
+        throw new IllegalStateException(tableIdentifier + " is already optimizing in process " + processId);
+      }
       OptimizingStatus originalStatus = optimizingStatus;
       this.optimizingProcess = optimizingProcess;
       this.processId = optimizingProcess.getProcessId();
@@ -176,7 +183,7 @@ public class TableRuntime extends StatedPersistentBase {
       if (optimizingStatus == OptimizingStatus.IDLE) {
         this.currentChangeSnapshotId = System.currentTimeMillis();
         updateOptimizingStatus(OptimizingStatus.PENDING);
-        persistUpdatingRuntime();
+        persistUpdatingRuntimeLater();
         LOG.info("{} status changed from idle to pending with pendingInput {}", tableIdentifier, pendingInput);
         tableHandler.handleTableChanged(this, OptimizingStatus.IDLE);
       }
@@ -188,7 +195,7 @@ public class TableRuntime extends StatedPersistentBase {
       TableConfiguration configuration = tableConfiguration;
       boolean configChanged = updateConfigInternal(table.properties());
       if (refreshSnapshots(table) || configChanged) {
-        persistUpdatingRuntime();
+        persistUpdatingRuntimeLater();
       }
       if (configChanged) {
         tableHandler.handleTableChanged(this, configuration);
@@ -202,7 +209,7 @@ public class TableRuntime extends StatedPersistentBase {
       pendingInput = null;
       if (optimizingStatus == OptimizingStatus.PENDING) {
         updateOptimizingStatus(OptimizingStatus.IDLE);
-        persistUpdatingRuntime();
+        persistUpdatingRuntimeLater();
         tableHandler.handleTableChanged(this, OptimizingStatus.PENDING);
       }
     });
@@ -275,6 +282,24 @@ public class TableRuntime extends StatedPersistentBase {
     return pendingInput;
   }
 
+  public TableFileScanCache getFileScanCache() {
+    return fileScanCache;
+  }
+
+  /**
+   * Replace the cached files of this table, the new cache is dropped if the files cached by all tables exceed the
+   * limit, and null to release the cached files.
+   */
+  public void setFileScanCache(TableFileScanCache fileScanCache) {
+    invokeInStateLock(() -> {
+      if (this.fileScanCache == fileScanCache) {
+        return;
+      }
+      Optional.ofNullable(this.fileScanCache).ifPresent(TableFileScanCache::release);
+      this.fileScanCache = fileScanCache != null && fileScanCache.reserve() ? fileScanCache : null;
+    });
+  }
+
   private boolean updateConfigInternal(Map<String, String> properties) {
     TableConfiguration newTableConfig = TableConfiguration.parseConfig(properties);
     if (tableConfiguration.equals(newTableConfig)) {
@@ -302,7 +327,12 @@ public class TableRuntime extends StatedPersistentBase {
   }
 
   private void persistUpdatingRuntime() {
-    doAs(TableMetaMapper.class, mapper -> mapper.updateTableRuntime(this));
+    doAsLatest(TableMetaMapper.class, mapper -> mapper.updateTableRuntime(this));
+  }
+
+  // snapshots and pending inputs are evaluated again after a crash, so they are written behind
+  private void persistUpdatingRuntimeLater() {
+    doAsLater(TableMetaMapper.class, mapper -> mapper.updateTableRuntime(this));
   }
 
   public OptimizingProcess getOptimizingProcess() {
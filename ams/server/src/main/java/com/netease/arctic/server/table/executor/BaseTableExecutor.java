@@ -36,6 +36,16 @@ public abstract class BaseTableExecutor extends RuntimeHandlerChain {
 
   @Override
   protected void initHandler(List<TableRuntimeMeta> tableRuntimeMetaList) {
+    scheduleTables(tableRuntimeMetaList);
+    logger.info("Table executor {} initialized", getClass().getSimpleName());
+  }
+
+  @Override
+  protected void handleResourceGroupAcquired(String resourceGroup, List<TableRuntimeMeta> tableRuntimeMetaList) {
+    scheduleTables(tableRuntimeMetaList);
+  }
+
+  private void scheduleTables(List<TableRuntimeMeta> tableRuntimeMetaList) {
     tableRuntimeMetaList.stream()
         .map(tableRuntimeMeta -> tableRuntimeMeta.getTableRuntime())
         .filter(tableRuntime -> enabled(tableRuntime))
@@ -44,7 +54,6 @@ public abstract class BaseTableExecutor extends RuntimeHandlerChain {
                 () -> executeTask(tableRuntime),
                 getStartDelay(),
                 TimeUnit.MILLISECONDS));
-    logger.info("Table executor {} initialized", getClass().getSimpleName());
   }
 
   private void executeTask(TableRuntime tableRuntime) {
@@ -114,4 +123,8 @@ public abstract class BaseTableExecutor extends RuntimeHandlerChain {
   protected AmoroTable<?> loadTable(TableRuntime tableRuntime) {
     return tableManager.loadTable(tableRuntime.getTableIdentifier());
   }
+
+  protected AmoroTable<?> loadTableForUpdate(TableRuntime tableRuntime) {
+    return tableManager.loadTableForUpdate(tableRuntime.getTableIdentifier());
+  }
 }
@@ -124,7 +124,7 @@ public class DataExpiringExecutor extends BaseTableExecutor {
   @Override
   protected void execute(TableRuntime tableRuntime) {
     try {
-      ArcticTable arcticTable = (ArcticTable) loadTable(tableRuntime).originalTable();
+      ArcticTable arcticTable = (ArcticTable) loadTableForUpdate(tableRuntime).originalTable();
       DataExpirationConfig expirationConfig = tableRuntime.getTableConfiguration().getExpiringDataConfig();
       if (!expirationConfig.isEnabled() || expirationConfig.getRetentionTime() <= 0 ||
           !validateExpirationField(arcticTable, expirationConfig.getExpirationField())) {
@@ -58,7 +58,7 @@ public class OrphanFilesCleaningExecutor extends BaseTableExecutor {
     try {
       LOG.info("{} start cleaning orphan files", tableRuntime.getTableIdentifier());
       // clear data files
-      AmoroTable<?> amoroTable = loadTable(tableRuntime);
+      AmoroTable<?> amoroTable = loadTableForUpdate(tableRuntime);
       TableMaintainer tableMaintainer = ofTable(amoroTable);
       tableMaintainer.cleanOrphanFiles(tableRuntime);
     } catch (Throwable t) {
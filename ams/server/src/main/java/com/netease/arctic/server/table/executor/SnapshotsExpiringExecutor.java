@@ -57,7 +57,7 @@ public class SnapshotsExpiringExecutor extends BaseTableExecutor {
   @Override
   public void execute(TableRuntime tableRuntime) {
     try {
-      AmoroTable<?> amoroTable = loadTable(tableRuntime);
+      AmoroTable<?> amoroTable = loadTableForUpdate(tableRuntime);
       TableMaintainer tableMaintainer = TableMaintainer.ofTable(amoroTable);
       tableMaintainer.expireSnapshots(tableRuntime);
     } catch (Throwable t) {
@@ -55,6 +55,8 @@ public class TableRuntimeRefreshExecutor extends BaseTableExecutor {
             pendingInput);
         tableRuntime.setPendingInput(pendingInput);
       }
+    } else if (!tableRuntime.isOptimizingEnabled()) {
+      tableRuntime.setFileScanCache(null);
     }
   }
 
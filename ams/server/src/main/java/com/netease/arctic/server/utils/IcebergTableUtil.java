@@ -108,8 +108,17 @@ public class IcebergTableUtil {
   }
 
   public static Set<String> getAllContentFilePath(Table internalTable) {
-    Set<String> validFilesPath = new HashSet<>();
+    return getAllContentFilePath(internalTable, new HashSet<>());
+  }
 
+  /**
+   * Collect the paths of all data and delete files referenced by any snapshot into the given set.
+   *
+   * @param internalTable  the table
+   * @param validFilesPath the set to collect into, it may spill to disk for very large tables
+   * @return the given set
+   */
+  public static Set<String> getAllContentFilePath(Table internalTable, Set<String> validFilesPath) {
     TableEntriesScan entriesScan = TableEntriesScan.builder(internalTable)
         .includeFileContent(FileContent.DATA, FileContent.POSITION_DELETES, FileContent.EQUALITY_DELETES)
         .allEntries().build();
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server;
+
+import com.netease.arctic.ams.api.client.AmsServerInfo;
+import com.netease.arctic.ams.api.properties.AmsHAProperties;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.apache.curator.test.TestingServer;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.data.Stat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TestResourceGroupShards {
+
+  private static final List<String> GROUPS = ImmutableList.of("g1", "g2", "g3", "g4", "g5", "g6", "g7", "g8");
+
+  @Test
+  public void testAssignIsStableWhenMembersLeave() {
+    List<String> members = Arrays.asList("ams-1", "ams-2", "ams-3");
+    for (String group : GROUPS) {
+      String owner = ResourceGroupShards.assign(group, members);
+      Assertions.assertTrue(members.contains(owner));
+      Assertions.assertEquals(owner, ResourceGroupShards.assign(group, Arrays.asList("ams-3", "ams-1", "ams-2")));
+      if (!"ams-3".equals(owner)) {
+        // groups of the remaining members never move
+        Assertions.assertEquals(owner, ResourceGroupShards.assign(group, Arrays.asList("ams-1", "ams-2")));
+      }
+    }
+    Assertions.assertNull(ResourceGroupShards.assign("g1", ImmutableList.of()));
+  }
+
+  @Test
+  public void testRebalanceOnJoinAndLeave() throws Exception {
+    try (TestingServer server = new TestingServer();
+         CuratorFramework zkClient1 = newClient(server);
+         CuratorFramework zkClient2 = newClient(server)) {
+      Set<String> owned1 = ConcurrentHashMap.newKeySet();
+      Set<String> owned2 = ConcurrentHashMap.newKeySet();
+      ResourceGroupShards shards1 = startShards(zkClient1, 1261, owned1);
+      ResourceGroupShards shards2 = startShards(zkClient2, 1262, owned2);
+      try {
+        shards1.rebalance();
+        shards2.rebalance();
+        shards1.rebalance();
+        for (String group : GROUPS) {
+          Assertions.assertTrue(shards1.owns(group) ^ shards2.owns(group), "group " + group + " has one owner");
+          ResourceGroupShards owner = shards1.owns(group) ? shards1 : shards2;
+          Assertions.assertEquals(
+              owner.getMemberId(),
+              ResourceGroupShards.assign(group, Arrays.asList(shards1.getMemberId(), shards2.getMemberId())));
+          Assertions.assertTrue(shards1.getOwnerTableService(group).isPresent());
+        }
+        Assertions.assertEquals(GROUPS.size(), owned1.size() + owned2.size());
+
+        shards2.close();
+        shards1.rebalance();
+        Assertions.assertEquals(GROUPS.size(), owned1.size());
+        GROUPS.forEach(group -> Assertions.assertTrue(shards1.owns(group)));
+      } finally {
+        shards1.close();
+        shards2.close();
+      }
+    }
+  }
+
+  @Test
+  public void testStopServingWhileSuspended() throws Exception {
+    try (TestingServer server = new TestingServer();
+         CuratorFramework zkClient1 = newClient(server);
+         CuratorFramework zkClient2 = newClient(server)) {
+      Set<String> owned = ConcurrentHashMap.newKeySet();
+      ResourceGroupShards shards = startShards(zkClient1, 1261, owned);
+      try {
+        shards.rebalance();
+        Assertions.assertEquals(GROUPS.size(), owned.size());
+
+        shards.suspend();
+        Assertions.assertTrue(owned.isEmpty());
+        GROUPS.forEach(group -> Assertions.assertFalse(shards.owns(group)));
+        shards.rebalance();
+        Assertions.assertTrue(owned.isEmpty());
+
+        // the lease of g1 expires and is taken by another node while disconnected
+        String ownerPath = AmsHAProperties.getShardOwnerPath("test", "g1");
+        zkClient1.delete().forPath(ownerPath);
+        zkClient2.create().withMode(CreateMode.EPHEMERAL).forPath(ownerPath);
+
+        shards.resume();
+        Assertions.assertFalse(shards.owns("g1"));
+        Assertions.assertFalse(owned.contains("g1"));
+        Assertions.assertEquals(GROUPS.size() - 1, owned.size());
+      } finally {
+        shards.close();
+      }
+    }
+  }
+
+  @Test
+  public void testCloseKeepsLeasesOfOtherSessions() throws Exception {
+    try (TestingServer server = new TestingServer();
+         CuratorFramework zkClient1 = newClient(server);
+         CuratorFramework zkClient2 = newClient(server)) {
+      Set<String> owned = ConcurrentHashMap.newKeySet();
+      ResourceGroupShards shards = startShards(zkClient1, 1261, owned);
+      try {
+        shards.rebalance();
+        Assertions.assertEquals(GROUPS.size(), owned.size());
+
+        // the leases of g1 and g2 expire and are taken by another node, g2 while disconnected
+        String ownerPath1 = AmsHAProperties.getShardOwnerPath("test", "g1");
+        zkClient1.delete().forPath(ownerPath1);
+        zkClient2.create().withMode(CreateMode.EPHEMERAL).forPath(ownerPath1);
+        shards.suspend();
+        String ownerPath2 = AmsHAProperties.getShardOwnerPath("test", "g2");
+        zkClient1.delete().forPath(ownerPath2);
+        zkClient2.create().withMode(CreateMode.EPHEMERAL).forPath(ownerPath2);
+      } finally {
+        shards.close();
+      }
+
+      long sessionId2 = zkClient2.getZookeeperClient().getZooKeeper().getSessionId();
+      for (String group : GROUPS) {
+        Stat stat = zkClient2.checkExists().forPath(AmsHAProperties.getShardOwnerPath("test", group));
+        if ("g1".equals(group) || "g2".equals(group)) {
+          Assertions.assertNotNull(stat, "lease of " + group + " is kept");
+          Assertions.assertEquals(sessionId2, stat.getEphemeralOwner());
+        } else {
+          Assertions.assertNull(stat, "lease of " + group + " is released");
+        }
+      }
+    }
+  }
+
+  private CuratorFramework newClient(TestingServer server) {
+    CuratorFramework zkClient =
+        CuratorFrameworkFactory.newClient(server.getConnectString(), new ExponentialBackoffRetry(1000, 3));
+    zkClient.start();
+    return zkClient;
+  }
+
+  private ResourceGroupShards startShards(CuratorFramework zkClient, int port, Set<String> owned) throws Exception {
+    AmsServerInfo tableServiceInfo = new AmsServerInfo();
+    tableServiceInfo.setHost("127.0.0.1");
+    tableServiceInfo.setThriftBindPort(port);
+    AmsServerInfo optimizingServiceInfo = new AmsServerInfo();
+    optimizingServiceInfo.setHost("127.0.0.1");
+    optimizingServiceInfo.setThriftBindPort(port + 1000);
+    ResourceGroupShards shards = new ResourceGroupShards(
+        zkClient, "test", tableServiceInfo, optimizingServiceInfo, () -> GROUPS, Long.MAX_VALUE / 2);
+    shards.start(new ResourceGroupShards.ShardListener() {
+      @Override
+      public void onAcquired(String resourceGroup) {
+        owned.add(resourceGroup);
+      }
+
+      @Override
+      public void onReleased(String resourceGroup) {
+        owned.remove(resourceGroup);
+      }
+    });
+    return shards;
+  }
+}
@@ -2,6 +2,7 @@ package com.netease.arctic.server.optimizing;
 
 import com.netease.arctic.BasicTableTestHelper;
 import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.ams.api.CommitMetaProducer;
 import com.netease.arctic.ams.api.OptimizerRegisterInfo;
 import com.netease.arctic.ams.api.OptimizingTask;
 import com.netease.arctic.ams.api.OptimizingTaskId;
@@ -11,6 +12,7 @@ import com.netease.arctic.ams.api.resource.ResourceGroup;
 import com.netease.arctic.catalog.BasicCatalogTestHelper;
 import com.netease.arctic.catalog.CatalogTestHelper;
 import com.netease.arctic.io.MixedDataTestHelpers;
+import com.netease.arctic.op.SnapshotSummary;
 import com.netease.arctic.optimizing.RewriteFilesOutput;
 import com.netease.arctic.optimizing.TableOptimizing;
 import com.netease.arctic.server.persistence.PersistentBase;
@@ -21,18 +23,20 @@ import com.netease.arctic.server.table.TableConfiguration;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.server.table.TableRuntimeMeta;
 import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.TableProperties;
 import com.netease.arctic.table.UnkeyedTable;
 import com.netease.arctic.utils.SerializationUtil;
-import org.apache.iceberg.AppendFiles;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.data.Record;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -50,7 +54,18 @@ public class TestOptimizingQueue extends AMSTableTestBase {
   public static Object[] parameters() {
     return new Object[][]{
         {new BasicCatalogTestHelper(TableFormat.ICEBERG),
-            new BasicTableTestHelper(false, true)}};
+            new BasicTableTestHelper(false, true)},
+        {new BasicCatalogTestHelper(TableFormat.MIXED_ICEBERG),
+            new BasicTableTestHelper(true, true)}};
+  }
+
+  @Before
+  public void initBaseHashBucket() {
+    ArcticTable arcticTable = (ArcticTable) tableService().loadTable(serverTableIdentifier()).originalTable();
+    if (arcticTable.isKeyedTable()) {
+      // keep the files of a partition in one tree node, so they are planned into one task as for unkeyed tables
+      arcticTable.updateProperties().set(TableProperties.BASE_FILE_INDEX_HASH_BUCKET, "1").commit();
+    }
   }
 
   @Test
@@ -138,6 +153,96 @@ public class TestOptimizingQueue extends AMSTableTestBase {
     Assert.assertNull(queue.pollTask(thread.getToken(), thread.getThreadId()));
   }
 
+  @Test
+  public void testPollTasksWaitForPlanning() {
+    TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
+
+    OptimizingQueue queue = new OptimizingQueue(tableService(), defaultResourceGroup(),
+        Collections.singletonList(tableRuntimeMeta), Collections.emptyList(), 60000, 3000);
+
+    String authToken = queue.authenticate(buildRegisterInfo());
+    // the poll waits for the background planning instead of returning an empty result
+    List<OptimizingTask> tasks = queue.pollTasks(authToken, Arrays.asList(1, 2), 30000);
+    Assert.assertEquals(1, tasks.size());
+    TaskRuntime taskRuntime = queue.getExecutingTaskMap().get(tasks.get(0).getTaskId());
+    assertTaskRuntime(taskRuntime, TaskRuntime.Status.SCHEDULED, new OptimizingQueue.OptimizingThread(authToken, 1));
+
+    // no more task, return an empty result after waiting
+    Assert.assertTrue(queue.pollTasks(authToken, Collections.singletonList(2), 100).isEmpty());
+    queue.dispose();
+  }
+
+  @Test
+  public void testCommitPartitionsAheadOfProcess() {
+    ArcticTable arcticTable = (ArcticTable) tableService().loadTable(serverTableIdentifier()).originalTable();
+    arcticTable.updateProperties().set(TableProperties.SELF_OPTIMIZING_COMMIT_PARTITION_BATCH_SIZE, "1").commit();
+    appendData(arcticTable, 1, "2022-01-01T12:00:00");
+    appendData(arcticTable, 2, "2022-01-01T12:00:00");
+    appendData(arcticTable, 3, "2022-01-02T12:00:00");
+    appendData(arcticTable, 4, "2022-01-02T12:00:00");
+    TableRuntimeMeta tableRuntimeMeta = buildTableRuntimeMeta(OptimizingStatus.PENDING, defaultResourceGroup());
+    tableRuntimeMeta.getTableRuntime().refresh(tableService().loadTable(serverTableIdentifier()));
+
+    OptimizingQueue queue = new OptimizingQueue(tableService(), defaultResourceGroup(),
+        Collections.singletonList(tableRuntimeMeta), Collections.emptyList(), 60000, 3000);
+    String authToken = queue.authenticate(buildRegisterInfo());
+    List<OptimizingTask> tasks = queue.pollTasks(authToken, Arrays.asList(1, 2), 30000);
+    Assert.assertEquals(2, tasks.size());
+    TaskRuntime firstTask = queue.getExecutingTaskMap().get(tasks.get(0).getTaskId());
+
+    // the first partition is committed as soon as its task succeeds
+    queue.completeTask(authToken, buildOptimizingTaskResult(tasks.get(0).getTaskId(), 1));
+    OptimizingProcess optimizingProcess = tableRuntimeMeta.getTableRuntime().getOptimizingProcess();
+    UnkeyedTable baseStore = baseStore(arcticTable);
+    long deadline = System.currentTimeMillis() + 30000;
+    while (baseStore.currentSnapshot().summary().get(SnapshotSummary.SNAPSHOT_PRODUCER) == null &&
+        System.currentTimeMillis() < deadline) {
+      waitAShortTime();
+      baseStore.refresh();
+    }
+    Assert.assertEquals(CommitMetaProducer.OPTIMIZE.name(),
+        baseStore.currentSnapshot().summary().get(SnapshotSummary.SNAPSHOT_PRODUCER));
+    Assert.assertEquals(OptimizingProcess.Status.RUNNING, optimizingProcess.getStatus());
+    // the commit id is persisted with the task and tagged on the snapshot
+    Assert.assertTrue(firstTask.isCommitted());
+    Assert.assertNotNull(firstTask.getCommitId());
+    Assert.assertEquals(firstTask.getCommitId(),
+        baseStore.currentSnapshot().summary().get(UnKeyedTableCommit.COMMIT_ID_PROPERTY));
+
+    // the process commit only commits the remaining partition
+    queue.completeTask(authToken, buildOptimizingTaskResult(tasks.get(1).getTaskId(), 2));
+    Assert.assertEquals(OptimizingStatus.COMMITTING, tableRuntimeMeta.getTableRuntime().getOptimizingStatus());
+    optimizingProcess.commit();
+    Assert.assertEquals(OptimizingProcess.Status.SUCCESS, optimizingProcess.getStatus());
+    baseStore.refresh();
+    Assert.assertNull(baseStore.currentSnapshot().summary().get(UnKeyedTableCommit.COMMIT_ID_PROPERTY));
+    queue.dispose();
+  }
+
+  @Test
+  public void testPlanAheadOfPolling() {
+    TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
+
+    OptimizingQueue queue = new OptimizingQueue(tableService(), defaultResourceGroup(),
+        Collections.singletonList(tableRuntimeMeta), Collections.emptyList(), 60000, 3000);
+    Assert.assertEquals(0, queue.getPlannedTaskCount());
+
+    // tables are planned once an optimizer is registered, no polling is needed
+    queue.authenticate(buildRegisterInfo());
+    long deadline = System.currentTimeMillis() + 30000;
+    while (queue.getPlannedTaskCount() == 0 && System.currentTimeMillis() < deadline) {
+      waitAShortTime();
+    }
+    Assert.assertEquals(1, queue.getPlannedTaskCount());
+    TableRuntime tableRuntime = tableRuntimeMeta.getTableRuntime();
+    Assert.assertTrue(tableRuntime.getOptimizingStatus().isProcessing());
+    // a table in process never begins another one, even if a late planning thread planned it again
+    OptimizingProcess process = tableRuntime.getOptimizingProcess();
+    Assert.assertThrows(IllegalStateException.class, () -> tableRuntime.beginProcess(process));
+    Assert.assertEquals(1, queue.getPlannedTaskCount());
+    queue.dispose();
+  }
+
   @Test
   public void testCheckSuspendTask() {
     TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
@@ -296,8 +401,8 @@ public class TestOptimizingQueue extends AMSTableTestBase {
 
   private TableRuntimeMeta initTableWithFiles() {
     ArcticTable arcticTable = (ArcticTable) tableService().loadTable(serverTableIdentifier()).originalTable();
-    appendData(arcticTable.asUnkeyedTable(), 1);
-    appendData(arcticTable.asUnkeyedTable(), 2);
+    appendData(arcticTable, 1);
+    appendData(arcticTable, 2);
     TableRuntimeMeta tableRuntimeMeta = buildTableRuntimeMeta(OptimizingStatus.PENDING, defaultResourceGroup());
     TableRuntime runtime = tableRuntimeMeta.getTableRuntime();
 
@@ -337,6 +442,12 @@ public class TestOptimizingQueue extends AMSTableTestBase {
   private OptimizingTask pollTaskAndCheck(String authToken, OptimizingQueue.OptimizingThread thread,
                                           OptimizingQueue queue) {
     OptimizingTask task = queue.pollTask(authToken, thread.getThreadId());
+    // tasks are planned in background, wait for the planning to complete
+    long deadline = System.currentTimeMillis() + 30000;
+    while (task == null && System.currentTimeMillis() < deadline) {
+      waitAShortTime();
+      task = queue.pollTask(authToken, thread.getThreadId());
+    }
     Assert.assertNotNull(task);
     Assert.assertEquals(1, queue.getExecutingTaskMap().size());
     TaskRuntime taskRuntime = queue.getExecutingTaskMap().get(task.getTaskId());
@@ -368,6 +479,14 @@ public class TestOptimizingQueue extends AMSTableTestBase {
     Assert.assertEquals(0, queue.getOptimizers().size());
   }
 
+  private void waitAShortTime() {
+    try {
+      Thread.sleep(100);
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   private OptimizerRegisterInfo buildRegisterInfo() {
     OptimizerRegisterInfo registerInfo = new OptimizerRegisterInfo();
     registerInfo.setThreadCount(1);
@@ -402,14 +521,19 @@ public class TestOptimizingQueue extends AMSTableTestBase {
     return tableRuntimeMeta;
   }
 
-  private List<DataFile> appendData(UnkeyedTable table, int id) {
+  private List<DataFile> appendData(ArcticTable table, int id) {
+    return appendData(table, id, "2022-01-01T12:00:00");
+  }
+
+  private List<DataFile> appendData(ArcticTable table, int id, String opTime) {
     ArrayList<Record> newRecords = Lists.newArrayList(
-        MixedDataTestHelpers.createRecord(table.schema(), id, "111", 0L, "2022-01-01T12:00:00"));
+        MixedDataTestHelpers.createRecord(table.schema(), id, "111", 0L, opTime));
     List<DataFile> dataFiles = MixedDataTestHelpers.writeBaseStore(table, 0L, newRecords, false);
-    AppendFiles appendFiles = table.newAppend();
-    dataFiles.forEach(appendFiles::appendFile);
-    appendFiles.commit();
-    return dataFiles;
+    return OptimizingTestHelpers.appendBase(table, dataFiles);
+  }
+
+  private UnkeyedTable baseStore(ArcticTable table) {
+    return table.isKeyedTable() ? table.asKeyedTable().baseTable() : table.asUnkeyedTable();
   }
 
   private OptimizingTaskResult buildOptimizingTaskResult(OptimizingTaskId taskId, int threadId) {
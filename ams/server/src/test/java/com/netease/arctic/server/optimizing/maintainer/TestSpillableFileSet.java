@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class TestSpillableFileSet {
+
+  @Test
+  public void testInMemory() {
+    testFileSet(new SpillableFileSet(1024 * 1024));
+  }
+
+  @Test
+  public void testSpillToDisk() {
+    testFileSet(new SpillableFileSet(1));
+  }
+
+  private void testFileSet(SpillableFileSet fileSet) {
+    int count = 1000;
+    for (int i = 0; i < count; i++) {
+      Assert.assertTrue(fileSet.add("/data/file-" + i + ".parquet"));
+    }
+    Assert.assertFalse(fileSet.add("/data/file-0.parquet"));
+    Assert.assertEquals(count, fileSet.size());
+    for (int i = 0; i < count; i++) {
+      Assert.assertTrue(fileSet.contains("/data/file-" + i + ".parquet"));
+    }
+    Assert.assertFalse(fileSet.contains("/data/file-" + count + ".parquet"));
+    Assert.assertFalse(fileSet.contains(null));
+
+    Set<String> iterated = new HashSet<>();
+    fileSet.forEach(iterated::add);
+    Assert.assertEquals(count, iterated.size());
+    Assert.assertTrue(iterated.containsAll(fileSet));
+    Assert.assertTrue(fileSet.iterator().hasNext());
+    fileSet.close();
+  }
+}
@@ -23,8 +23,10 @@ import com.netease.arctic.TableTestHelper;
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.catalog.BasicCatalogTestHelper;
 import com.netease.arctic.catalog.CatalogTestHelper;
+import com.netease.arctic.data.ChangeAction;
 import com.netease.arctic.server.optimizing.OptimizingTestHelpers;
 import com.netease.arctic.server.optimizing.scan.KeyedTableFileScanHelper;
+import com.netease.arctic.server.optimizing.scan.TableFileScanCache;
 import com.netease.arctic.server.optimizing.scan.TableFileScanHelper;
 import com.netease.arctic.server.optimizing.scan.UnkeyedTableFileScanHelper;
 import org.apache.iceberg.DataFile;
@@ -33,12 +35,15 @@ import org.apache.iceberg.data.Record;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.mockito.Mockito;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 @RunWith(Parameterized.class)
 public class TestOptimizingEvaluator extends MixedTablePlanTestBase {
@@ -97,6 +102,126 @@ public class TestOptimizingEvaluator extends MixedTablePlanTestBase {
     assertInput(pendingInput, FileInfo.buildFileInfo(getArcticTable().spec(), dataFiles));
   }
 
+  @Test
+  public void testIncrementalEvaluating() {
+    closeFullOptimizingInterval();
+    updateBaseHashBucket(1);
+    AtomicReference<TableFileScanCache> fileScanCache = mockFileScanCache();
+
+    List<DataFile> dataFiles = Lists.newArrayList();
+    List<Record> newRecords = OptimizingTestHelpers.generateRecord(tableTestHelper(), 1, 4, "2022-01-01T12:00:00");
+    long transactionId = beginTransaction();
+    dataFiles.addAll(OptimizingTestHelpers.appendBase(getArcticTable(),
+        tableTestHelper().writeBaseStore(getArcticTable(), transactionId, newRecords, false)));
+
+    OptimizingEvaluator optimizingEvaluator = buildOptimizingEvaluator();
+    Assert.assertFalse(optimizingEvaluator.isNecessary());
+    Assert.assertNotNull(fileScanCache.get());
+    TableFileScanCache firstCache = fileScanCache.get();
+
+    // evaluating the same snapshot again reuses the cache
+    optimizingEvaluator = buildOptimizingEvaluator();
+    Assert.assertFalse(optimizingEvaluator.isNecessary());
+    Assert.assertSame(firstCache, fileScanCache.get());
+
+    // add more files
+    newRecords = OptimizingTestHelpers.generateRecord(tableTestHelper(), 5, 8, "2022-01-01T12:00:00");
+    transactionId = beginTransaction();
+    dataFiles.addAll(OptimizingTestHelpers.appendBase(getArcticTable(),
+        tableTestHelper().writeBaseStore(getArcticTable(), transactionId, newRecords, false)));
+
+    optimizingEvaluator = buildOptimizingEvaluator();
+    Assert.assertTrue(optimizingEvaluator.isNecessary());
+    Assert.assertNotSame(firstCache, fileScanCache.get());
+    assertInput(optimizingEvaluator.getPendingInput(), FileInfo.buildFileInfo(getArcticTable().spec(), dataFiles));
+  }
+
+  @Test
+  public void testIncrementalEvaluatingChangeStore() {
+    Assume.assumeTrue(getArcticTable().isKeyedTable());
+    closeFullOptimizingInterval();
+    updateChangeHashBucket(1);
+    AtomicReference<TableFileScanCache> fileScanCache = mockFileScanCache();
+
+    List<Record> newRecords = OptimizingTestHelpers.generateRecord(tableTestHelper(), 1, 4, "2022-01-01T12:00:00");
+    long transactionId = beginTransaction();
+    OptimizingTestHelpers.appendChange(getArcticTable().asKeyedTable(),
+        tableTestHelper().writeChangeStore(getArcticTable().asKeyedTable(), transactionId, ChangeAction.INSERT,
+            newRecords, false));
+    buildOptimizingEvaluator().isNecessary();
+    TableFileScanCache firstCache = fileScanCache.get();
+    Assert.assertNotNull(firstCache);
+    Assert.assertTrue(firstCache.isAllChangeFilesSelected());
+
+    // insert into another partition and delete from the first one
+    newRecords = OptimizingTestHelpers.generateRecord(tableTestHelper(), 5, 8, "2022-01-02T12:00:00");
+    transactionId = beginTransaction();
+    OptimizingTestHelpers.appendChange(getArcticTable().asKeyedTable(),
+        tableTestHelper().writeChangeStore(getArcticTable().asKeyedTable(), transactionId, ChangeAction.INSERT,
+            newRecords, false));
+    newRecords = OptimizingTestHelpers.generateRecord(tableTestHelper(), 1, 2, "2022-01-01T12:00:00");
+    transactionId = beginTransaction();
+    OptimizingTestHelpers.appendChange(getArcticTable().asKeyedTable(),
+        tableTestHelper().writeChangeStore(getArcticTable().asKeyedTable(), transactionId, ChangeAction.DELETE,
+            newRecords, false));
+
+    OptimizingEvaluator optimizingEvaluator = buildOptimizingEvaluator();
+    OptimizingEvaluator.PendingInput incrementalInput = optimizingEvaluator.getPendingInput();
+    TableFileScanCache incrementalCache = fileScanCache.get();
+    Assert.assertNotSame(firstCache, incrementalCache);
+
+    // the diff applied to the cache must get the same files as a full scan
+    fileScanCache.set(null);
+    OptimizingEvaluator.PendingInput fullScanInput = buildOptimizingEvaluator().getPendingInput();
+    Assert.assertEquals(fullScanInput.getPartitions(), incrementalInput.getPartitions());
+    Assert.assertEquals(fullScanInput.getDataFileCount(), incrementalInput.getDataFileCount());
+    Assert.assertEquals(fullScanInput.getDataFileSize(), incrementalInput.getDataFileSize());
+    Assert.assertEquals(fullScanInput.getEqualityDeleteFileCount(), incrementalInput.getEqualityDeleteFileCount());
+    Assert.assertEquals(fileScanCache.get().getPartitionFiles().keySet(),
+        incrementalCache.getPartitionFiles().keySet());
+    Assert.assertEquals(fileScanCache.get().getFileCount(), incrementalCache.getFileCount());
+  }
+
+  @Test
+  public void testFileScanCacheLimit() {
+    closeFullOptimizingInterval();
+    AtomicReference<TableFileScanCache> fileScanCache = mockFileScanCache();
+    List<Record> newRecords = OptimizingTestHelpers.generateRecord(tableTestHelper(), 1, 4, "2022-01-01T12:00:00");
+    long transactionId = beginTransaction();
+    OptimizingTestHelpers.appendBase(getArcticTable(),
+        tableTestHelper().writeBaseStore(getArcticTable(), transactionId, newRecords, false));
+    buildOptimizingEvaluator().isNecessary();
+    TableFileScanCache cache = fileScanCache.get();
+    Assert.assertTrue(cache.getFileCount() > 0);
+
+    long cachedFiles = TableFileScanCache.getCachedFiles();
+    try {
+      TableFileScanCache.setMaxCachedFiles(cachedFiles + cache.getFileCount() - 1);
+      Assert.assertFalse(cache.reserve());
+      Assert.assertEquals(cachedFiles, TableFileScanCache.getCachedFiles());
+
+      TableFileScanCache.setMaxCachedFiles(Long.MAX_VALUE);
+      Assert.assertTrue(cache.reserve());
+      Assert.assertTrue(cache.reserve());
+      Assert.assertEquals(cachedFiles + cache.getFileCount(), TableFileScanCache.getCachedFiles());
+      cache.release();
+      cache.release();
+      Assert.assertEquals(cachedFiles, TableFileScanCache.getCachedFiles());
+    } finally {
+      TableFileScanCache.setMaxCachedFiles(Long.MAX_VALUE);
+    }
+  }
+
+  private AtomicReference<TableFileScanCache> mockFileScanCache() {
+    AtomicReference<TableFileScanCache> fileScanCache = new AtomicReference<>();
+    Mockito.when(getTableRuntime().getFileScanCache()).thenAnswer(f -> fileScanCache.get());
+    Mockito.doAnswer(f -> {
+      fileScanCache.set(f.getArgument(0));
+      return null;
+    }).when(getTableRuntime()).setFileScanCache(Mockito.any());
+    return fileScanCache;
+  }
+
   protected OptimizingEvaluator buildOptimizingEvaluator() {
     return new OptimizingEvaluator(getTableRuntime(), getArcticTable());
   }
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.persistence;
+
+import com.netease.arctic.server.persistence.mapper.OptimizerMapper;
+import com.netease.arctic.server.table.DerbyPersistence;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestWriteBehindPersistence {
+
+  @ClassRule
+  public static DerbyPersistence DERBY = new DerbyPersistence();
+
+  @Test
+  public void testCoalesceUpdates() {
+    WriteBehindPersistence persistence = new WriteBehindPersistence();
+    persistence.start(60000, 100, null);
+    Object entity1 = new Object();
+    Object entity2 = new Object();
+    AtomicInteger entity1Writes = new AtomicInteger();
+    AtomicInteger entity2Writes = new AtomicInteger();
+    persistence.enqueue(entity1, OptimizerMapper.class, mapper -> entity1Writes.incrementAndGet());
+    persistence.enqueue(entity1, OptimizerMapper.class, mapper -> entity1Writes.incrementAndGet());
+    persistence.enqueue(entity2, OptimizerMapper.class, mapper -> entity2Writes.incrementAndGet());
+    Assert.assertEquals(0, entity1Writes.get());
+
+    persistence.flush();
+    Assert.assertEquals(1, entity1Writes.get());
+    Assert.assertEquals(1, entity2Writes.get());
+    WriteBehindMetrics metrics = persistence.getMetrics();
+    Assert.assertEquals(1, metrics.getFlushCount());
+    Assert.assertEquals(2, metrics.getFlushedUpdates());
+    Assert.assertEquals(1, metrics.getCoalescedUpdates());
+    Assert.assertEquals(2, metrics.getLastBatchSize());
+    persistence.stop();
+  }
+
+  @Test
+  public void testRetryFailedUpdates() {
+    WriteBehindPersistence persistence = new WriteBehindPersistence();
+    persistence.start(60000, 100, null);
+    AtomicInteger writes = new AtomicInteger();
+    persistence.enqueue(new Object(), OptimizerMapper.class, mapper -> {
+      if (writes.incrementAndGet() == 1) {
+        throw new IllegalStateException("mock failure");
+      }
+    });
+
+    persistence.flush();
+    Assert.assertEquals(1, persistence.getMetrics().getFailedFlushCount());
+    // failed updates are retried by the next flush
+    persistence.stop();
+    Assert.assertEquals(2, writes.get());
+    Assert.assertEquals(1, persistence.getMetrics().getFlushCount());
+  }
+
+  @Test
+  public void testFlushWhenBatchIsFull() throws InterruptedException {
+    WriteBehindPersistence persistence = new WriteBehindPersistence();
+    persistence.start(60000, 2, null);
+    AtomicInteger writes = new AtomicInteger();
+    persistence.enqueue(new Object(), OptimizerMapper.class, mapper -> writes.incrementAndGet());
+    persistence.enqueue(new Object(), OptimizerMapper.class, mapper -> writes.incrementAndGet());
+    long deadline = System.currentTimeMillis() + 10000;
+    while (writes.get() < 2 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(2, writes.get());
+    persistence.stop();
+  }
+
+  @Test
+  public void testSkipLockedEntities() throws InterruptedException {
+    WriteBehindPersistence persistence = new WriteBehindPersistence();
+    persistence.start(60000, 100, null);
+    StatedPersistentBase entity = new StatedPersistentBase() {
+    };
+    AtomicInteger writes = new AtomicInteger();
+    persistence.enqueue(entity, OptimizerMapper.class, mapper -> writes.incrementAndGet());
+
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch flushed = new CountDownLatch(1);
+    Thread writer = new Thread(() -> {
+      entity.stateLock().lock();
+      try {
+        locked.countDown();
+        flushed.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        entity.stateLock().unlock();
+      }
+    });
+    writer.start();
+    locked.await();
+    // the entity is being updated by others, the flush leaves it to the next round
+    persistence.flush();
+    Assert.assertEquals(0, writes.get());
+    Assert.assertTrue(persistence.hasPendingUpdates());
+    flushed.countDown();
+    writer.join();
+
+    persistence.flush();
+    Assert.assertEquals(1, writes.get());
+    persistence.stop();
+  }
+
+  @Test
+  public void testDiscardSupersededUpdates() {
+    WriteBehindPersistence persistence = new WriteBehindPersistence();
+    persistence.start(60000, 100, null);
+    Object entity = new Object();
+    AtomicInteger writes = new AtomicInteger();
+    persistence.enqueue(entity, OptimizerMapper.class, mapper -> writes.incrementAndGet());
+    persistence.discard(entity);
+
+    persistence.stop();
+    Assert.assertEquals(0, writes.get());
+  }
+}
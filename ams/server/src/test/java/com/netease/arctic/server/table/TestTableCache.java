@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+import com.netease.arctic.AmoroTable;
+import com.netease.arctic.catalog.IcebergCatalogWrapper;
+import com.netease.arctic.io.ArcticFileIO;
+import com.netease.arctic.io.ArcticFileIOs;
+import com.netease.arctic.server.catalog.ServerCatalog;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.TableIdentifier;
+import com.netease.arctic.table.TableMetaStore;
+import com.netease.arctic.utils.CatalogUtil;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.hadoop.HadoopTables;
+import org.apache.iceberg.types.Types;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Collections;
+
+public class TestTableCache {
+
+  private static final ServerTableIdentifier IDENTIFIER = ServerTableIdentifier.of(1L, "catalog", "db", "table");
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final TableCache tableCache = new TableCache();
+  private ServerCatalog catalog;
+
+  @Before
+  public void setUp() {
+    catalog = Mockito.mock(ServerCatalog.class);
+    Mockito.when(catalog.loadTable("db", "table")).thenAnswer(invocation -> mockTable(ArcticTable.class));
+    Mockito.when(catalog.validateLoadedTable(Mockito.any())).thenReturn(true);
+  }
+
+  @After
+  public void tearDown() {
+    tableCache.stop();
+  }
+
+  @Test
+  public void testLoadEveryTimeBeforeStarted() {
+    Assert.assertNotSame(tableCache.load(IDENTIFIER, catalog), tableCache.load(IDENTIFIER, catalog));
+    Mockito.verify(catalog, Mockito.times(2)).loadTable("db", "table");
+  }
+
+  @Test
+  public void testReuseValidatedTable() {
+    tableCache.start(10, 60000, null);
+    AmoroTable<?> table = tableCache.load(IDENTIFIER, catalog);
+    Assert.assertSame(table, tableCache.load(IDENTIFIER, catalog));
+    Mockito.verify(catalog, Mockito.times(1)).loadTable("db", "table");
+    Mockito.verify(catalog, Mockito.times(1)).validateLoadedTable(table);
+
+    TableCacheMetrics metrics = tableCache.getMetrics();
+    Assert.assertEquals(1, metrics.getHitCount());
+    Assert.assertEquals(1, metrics.getMissCount());
+    Assert.assertEquals(1, metrics.getLoadCount());
+    Assert.assertEquals(0.5, metrics.getHitRate(), 0.0001);
+  }
+
+  @Test
+  public void testReloadStaleTable() {
+    tableCache.start(10, 60000, null);
+    AmoroTable<?> table = tableCache.load(IDENTIFIER, catalog);
+    Mockito.when(catalog.validateLoadedTable(table)).thenReturn(false);
+    AmoroTable<?> reloaded = tableCache.load(IDENTIFIER, catalog);
+    Assert.assertNotSame(table, reloaded);
+    Assert.assertSame(reloaded, tableCache.load(IDENTIFIER, catalog));
+    Assert.assertEquals(1, tableCache.getMetrics().getStaleCount());
+  }
+
+  @Test
+  public void testInvalidate() {
+    tableCache.start(10, 60000, null);
+    AmoroTable<?> table = tableCache.load(IDENTIFIER, catalog);
+    tableCache.invalidate(IDENTIFIER);
+    Assert.assertNotSame(table, tableCache.load(IDENTIFIER, catalog));
+    Assert.assertEquals(1, tableCache.getMetrics().getInvalidationCount());
+  }
+
+  @Test
+  public void testNotCacheTablesCannotBeValidated() {
+    tableCache.start(10, 60000, null);
+    Mockito.when(catalog.loadTable("db", "table")).thenAnswer(invocation -> mockTable(Object.class));
+    tableCache.load(IDENTIFIER, catalog);
+    tableCache.load(IDENTIFIER, catalog);
+    Mockito.verify(catalog, Mockito.times(2)).loadTable("db", "table");
+    Mockito.verify(catalog, Mockito.never()).validateLoadedTable(Mockito.any());
+  }
+
+  @Test
+  public void testValidateHadoopTable() throws IOException {
+    String location = temp.newFolder().toURI().toString();
+    Configuration configuration = new Configuration();
+    Table icebergTable = new HadoopTables(configuration).create(
+        new Schema(Types.NestedField.required(1, "id", Types.IntegerType.get())), location);
+    ArcticFileIO fileIO = ArcticFileIOs.buildHadoopFileIO(TableMetaStore.EMPTY);
+    ArcticTable arcticTable = new IcebergCatalogWrapper.BasicIcebergTable(
+        TableIdentifier.of("catalog", "db", "table"),
+        CatalogUtil.useArcticTableOperations(icebergTable, location, fileIO, configuration),
+        fileIO, Collections.emptyMap());
+    AmoroTable<?> table = mockTable(ArcticTable.class);
+    Mockito.doReturn(arcticTable).when(table).originalTable();
+    ServerCatalog serverCatalog = Mockito.mock(ServerCatalog.class, Mockito.CALLS_REAL_METHODS);
+    Assert.assertTrue(serverCatalog.validateLoadedTable(table));
+
+    // commits through another instance move the metadata, while the loaded table is not refreshed
+    new HadoopTables(configuration).load(location).updateProperties().set("key", "value").commit();
+    Assert.assertFalse(serverCatalog.validateLoadedTable(table));
+    Assert.assertNull(arcticTable.properties().get("key"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private AmoroTable<?> mockTable(Class<?> originalTableClass) {
+    AmoroTable<Object> table = Mockito.mock(AmoroTable.class);
+    Mockito.when(table.originalTable()).thenReturn(Mockito.mock(originalTableClass));
+    return table;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table.executor;
+
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.catalog.BasicCatalogTestHelper;
+import com.netease.arctic.catalog.CatalogTestHelper;
+import com.netease.arctic.server.optimizing.scan.TableFileScanCache;
+import com.netease.arctic.server.table.AMSTableTestBase;
+import com.netease.arctic.server.table.TableRuntime;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.UnkeyedTable;
+import org.apache.iceberg.AppendFiles;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.List;
+
+@RunWith(Parameterized.class)
+public class TestTableRuntimeRefreshExecutor extends AMSTableTestBase {
+
+  @Parameterized.Parameters(name = "{0}, {1}")
+  public static Object[] parameters() {
+    return new Object[][] {{new BasicCatalogTestHelper(TableFormat.MIXED_ICEBERG),
+                            new BasicTableTestHelper(false, true)}};
+  }
+
+  public TestTableRuntimeRefreshExecutor(CatalogTestHelper catalogTestHelper, TableTestHelper tableTestHelper) {
+    super(catalogTestHelper, tableTestHelper, true);
+  }
+
+  @Test
+  public void testIncrementalEvaluating() {
+    TableRuntimeRefreshExecutor executor = new TableRuntimeRefreshExecutor(tableService(), 1, Long.MAX_VALUE);
+    TableRuntime tableRuntime = tableService().getRuntime(serverTableIdentifier());
+    ArcticTable table = (ArcticTable) tableService().loadTable(serverTableIdentifier()).originalTable();
+
+    DataFile firstFile = writeAndCommit(table, 1, "2022-01-01T12:00:00");
+    executor.execute(tableRuntime);
+    // the table does not need optimizing, but its files are still cached for the next evaluation
+    Assert.assertNull(tableRuntime.getPendingInput());
+    TableFileScanCache firstCache = tableRuntime.getFileScanCache();
+    Assert.assertNotNull(firstCache);
+    Assert.assertEquals(tableRuntime.getCurrentSnapshotId(), firstCache.getSnapshot().snapshotId());
+    String firstPartition = table.spec().partitionToPath(firstFile.partition());
+
+    DataFile secondFile = writeAndCommit(table, 2, "2022-01-02T12:00:00");
+    executor.execute(tableRuntime);
+    TableFileScanCache secondCache = tableRuntime.getFileScanCache();
+    Assert.assertNotSame(firstCache, secondCache);
+    Assert.assertEquals(tableRuntime.getCurrentSnapshotId(), secondCache.getSnapshot().snapshotId());
+    Assert.assertEquals(2, secondCache.getFileCount());
+    Assert.assertTrue(secondCache.getPartitionFiles()
+        .containsKey(table.spec().partitionToPath(secondFile.partition())));
+    // the untouched partition is taken from the cache rather than scanned again
+    Assert.assertSame(firstCache.getPartitionFiles().get(firstPartition),
+        secondCache.getPartitionFiles().get(firstPartition));
+  }
+
+  private DataFile writeAndCommit(ArcticTable table, int id, String opTime) {
+    UnkeyedTable baseTable = table.asUnkeyedTable();
+    List<Record> records = Lists.newArrayList(
+        tableTestHelper().generateTestRecord(id, "name" + id, 0L, opTime));
+    List<DataFile> dataFiles = tableTestHelper().writeBaseStore(baseTable, 0, records, false);
+    AppendFiles appendFiles = baseTable.newAppend();
+    dataFiles.forEach(appendFiles::appendFile);
+    appendFiles.commit();
+    return dataFiles.get(0);
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.benchmark;
+
+import com.netease.arctic.ams.api.CatalogMeta;
+import com.netease.arctic.data.ChangeAction;
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.FileNameRules;
+import com.netease.arctic.io.writer.GenericBaseTaskWriter;
+import com.netease.arctic.io.writer.GenericChangeTaskWriter;
+import com.netease.arctic.io.writer.GenericTaskWriters;
+import com.netease.arctic.io.writer.SortedPosDeleteWriter;
+import com.netease.arctic.mixed.MixedTables;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.KeyedTable;
+import com.netease.arctic.table.PrimaryKeySpec;
+import com.netease.arctic.table.TableIdentifier;
+import com.netease.arctic.table.TableMetaStore;
+import com.netease.arctic.table.TableProperties;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.AppendFiles;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.RowDelta;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.hadoop.HadoopCatalog;
+import org.apache.iceberg.io.TaskWriter;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.types.Types;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Mixed-format tables on the local file system for benchmarks, backed by a hadoop catalog in a temporary
+ * warehouse which is removed on {@link #close()}.
+ */
+public class BenchmarkTables implements Closeable {
+
+  public static final String CATALOG = "benchmark";
+  public static final String DATABASE = "db";
+
+  public static final Schema SCHEMA = new Schema(
+      Types.NestedField.required(1, "id", Types.IntegerType.get()),
+      Types.NestedField.required(2, "name", Types.StringType.get()),
+      Types.NestedField.required(3, "ts", Types.LongType.get())
+  );
+
+  public static final PrimaryKeySpec PRIMARY_KEY_SPEC = PrimaryKeySpec.builderFor(SCHEMA).addColumn("id").build();
+
+  private final File warehouse;
+  private final MixedTables tables;
+
+  public BenchmarkTables() {
+    try {
+      this.warehouse = Files.createTempDirectory("amoro-benchmark").toFile();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    HadoopCatalog icebergCatalog = new HadoopCatalog(new Configuration(), warehouse.getAbsolutePath());
+    CatalogMeta catalogMeta = new CatalogMeta();
+    catalogMeta.setCatalogName(CATALOG);
+    catalogMeta.setCatalogProperties(Maps.newHashMap());
+    this.tables = new MixedTables(TableMetaStore.EMPTY, catalogMeta, icebergCatalog);
+  }
+
+  public File warehouse() {
+    return warehouse;
+  }
+
+  /**
+   * Create an unpartitioned keyed table whose base and change store both use a single hash bucket, so every
+   * scan task covers the whole table.
+   */
+  public KeyedTable createKeyedTable(String name) {
+    Map<String, String> properties = Maps.newHashMap();
+    properties.put(TableProperties.BASE_FILE_INDEX_HASH_BUCKET, "1");
+    properties.put(TableProperties.CHANGE_FILE_INDEX_HASH_BUCKET, "1");
+    return tables.createTable(TableIdentifier.of(CATALOG, DATABASE, name), SCHEMA, PartitionSpec.unpartitioned(),
+        PRIMARY_KEY_SPEC, properties).asKeyedTable();
+  }
+
+  public ArcticTable createUnkeyedTable(String name) {
+    return tables.createTable(TableIdentifier.of(CATALOG, DATABASE, name), SCHEMA, PartitionSpec.unpartitioned(),
+        PrimaryKeySpec.noPrimaryKey(), Maps.newHashMap());
+  }
+
+  public static Record record(int id) {
+    GenericRecord record = GenericRecord.create(SCHEMA);
+    record.set(0, id);
+    record.set(1, "name-" + id);
+    record.set(2, (long) id * 1000);
+    return record;
+  }
+
+  public static List<Record> records(int count) {
+    List<Record> records = Lists.newArrayListWithCapacity(count);
+    for (int i = 0; i < count; i++) {
+      records.add(record(i));
+    }
+    return records;
+  }
+
+  /**
+   * Pick {@code ratio * total} values spread evenly over {@code [0, total)}.
+   */
+  public static int[] evenlySpread(int total, double ratio) {
+    int count = (int) (total * ratio);
+    int[] values = new int[count];
+    for (int i = 0; i < count; i++) {
+      values[i] = (int) ((long) i * total / count);
+    }
+    return values;
+  }
+
+  public static List<DataFile> writeAndCommitBase(KeyedTable table, long txId, List<Record> records) {
+    List<DataFile> dataFiles;
+    try (GenericBaseTaskWriter writer = GenericTaskWriters.builderFor(table)
+        .withTransactionId(txId)
+        .buildBaseWriter()) {
+      dataFiles = write(writer, records);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    AppendFiles append = table.baseTable().newAppend();
+    dataFiles.forEach(append::appendFile);
+    append.commit();
+    return dataFiles;
+  }
+
+  public static List<DataFile> writeAndCommitChange(
+      KeyedTable table, long txId, ChangeAction action, List<Record> records) {
+    List<DataFile> dataFiles;
+    try (GenericChangeTaskWriter writer = GenericTaskWriters.builderFor(table)
+        .withTransactionId(txId)
+        .withChangeAction(action)
+        .buildChangeWriter()) {
+      dataFiles = write(writer, records);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    AppendFiles append = table.changeTable().newAppend();
+    dataFiles.forEach(append::appendFile);
+    append.commit();
+    return dataFiles;
+  }
+
+  public static List<DeleteFile> writeAndCommitBasePosDelete(
+      KeyedTable table, long txId, DataFile dataFile, int[] positions) {
+    DataTreeNode node = FileNameRules.parseFileNodeFromFileName(dataFile.path().toString());
+    List<DeleteFile> deleteFiles;
+    try (SortedPosDeleteWriter<Record> writer = GenericTaskWriters.builderFor(table)
+        .withTransactionId(txId)
+        .buildBasePosDeleteWriter(node.mask(), node.index(), dataFile.partition())) {
+      for (int pos : positions) {
+        writer.delete(dataFile.path(), pos);
+      }
+      deleteFiles = writer.complete();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    RowDelta rowDelta = table.baseTable().newRowDelta();
+    deleteFiles.forEach(rowDelta::addDeletes);
+    rowDelta.commit();
+    return deleteFiles;
+  }
+
+  public static List<DataFile> write(TaskWriter<Record> writer, List<Record> records) throws IOException {
+    for (Record record : records) {
+      writer.write(record);
+    }
+    return Arrays.asList(writer.complete().dataFiles());
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (Stream<Path> paths = Files.walk(warehouse.toPath())) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.benchmark;
+
+import com.netease.arctic.data.ChangeAction;
+import com.netease.arctic.io.reader.ArcticDeleteFilter;
+import com.netease.arctic.io.reader.CombinedDeleteFilter;
+import com.netease.arctic.io.reader.GenericCombinedIcebergDataReader;
+import com.netease.arctic.io.reader.GenericKeyedDataReader;
+import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.scan.CombinedScanTask;
+import com.netease.arctic.scan.KeyedTableScanTask;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.KeyedTable;
+import com.netease.arctic.table.UnkeyedTable;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.data.GenericAppenderFactory;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.data.IdentityPartitionConverters;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.deletes.EqualityDeleteWriter;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.io.DataWriter;
+import org.apache.iceberg.io.OutputFileFactory;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of filtering the same data rows against the same set of deleted keys with {@link ArcticDeleteFilter}
+ * (mixed-format keyed table read by {@link GenericKeyedDataReader}) and with {@link CombinedDeleteFilter}
+ * (iceberg equality deletes read by {@link GenericCombinedIcebergDataReader}). Both include loading the deleted
+ * keys, as every reader builds its own filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DeleteFilterBenchmark {
+
+  @Param({"100000"})
+  private int rowCount;
+
+  @Param({"0.01", "0.1", "0.5"})
+  private double deleteRatio;
+
+  private BenchmarkTables tables;
+
+  private KeyedTable keyedTable;
+  private List<KeyedTableScanTask> keyedTasks;
+  private GenericKeyedDataReader keyedReader;
+
+  private UnkeyedTable icebergTable;
+  private RewriteFilesInput combinedInput;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    tables = new BenchmarkTables();
+    List<Record> records = BenchmarkTables.records(rowCount);
+    List<Record> deletes = Lists.newArrayList();
+    for (int id : BenchmarkTables.evenlySpread(rowCount, deleteRatio)) {
+      deletes.add(BenchmarkTables.record(id));
+    }
+
+    keyedTable = tables.createKeyedTable("keyed_delete_filter");
+    BenchmarkTables.writeAndCommitBase(keyedTable, 1L, records);
+    BenchmarkTables.writeAndCommitChange(keyedTable, 2L, ChangeAction.DELETE, deletes);
+    try (CloseableIterable<CombinedScanTask> combinedTasks = keyedTable.newScan().planTasks()) {
+      keyedTasks = Lists.newArrayList(combinedTasks).stream()
+          .flatMap(combinedTask -> combinedTask.tasks().stream())
+          .collect(Collectors.toList());
+    }
+    keyedReader = new GenericKeyedDataReader(keyedTable.io(), keyedTable.schema(), keyedTable.schema(),
+        keyedTable.primaryKeySpec(), null, true, IdentityPartitionConverters::convertConstant);
+
+    ArcticTable unkeyedTable = tables.createUnkeyedTable("combined_delete_filter");
+    icebergTable = unkeyedTable.asUnkeyedTable();
+    writeIcebergFiles(records, deletes);
+    combinedInput = planRewriteInput();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    tables.close();
+  }
+
+  @Benchmark
+  public void arcticDeleteFilter(Blackhole blackhole) throws IOException {
+    for (KeyedTableScanTask task : keyedTasks) {
+      try (CloseableIterator<Record> records = keyedReader.readData(task)) {
+        while (records.hasNext()) {
+          blackhole.consume(records.next());
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void combinedDeleteFilter(Blackhole blackhole) throws IOException {
+    GenericCombinedIcebergDataReader reader = new GenericCombinedIcebergDataReader(icebergTable.io(),
+        icebergTable.schema(), icebergTable.spec(), null, false,
+        IdentityPartitionConverters::convertConstant, false, null, combinedInput);
+    try (CloseableIterable<Record> records = reader.readData()) {
+      for (Record record : records) {
+        blackhole.consume(record);
+      }
+    } finally {
+      reader.close();
+    }
+  }
+
+  private void writeIcebergFiles(List<Record> records, List<Record> deletes) throws IOException {
+    Schema deleteSchema = icebergTable.schema().select("id");
+    int[] equalityFieldIds = new int[] {icebergTable.schema().findField("id").fieldId()};
+    GenericAppenderFactory appenderFactory = new GenericAppenderFactory(
+        icebergTable.schema(), icebergTable.spec(), equalityFieldIds, deleteSchema, null);
+    OutputFileFactory fileFactory = OutputFileFactory.builderFor(icebergTable, 0, 0)
+        .format(FileFormat.PARQUET)
+        .build();
+
+    DataWriter<Record> dataWriter = appenderFactory.newDataWriter(
+        fileFactory.newOutputFile(), FileFormat.PARQUET, null);
+    try {
+      records.forEach(dataWriter::write);
+    } finally {
+      dataWriter.close();
+    }
+    icebergTable.newAppend().appendFile(dataWriter.toDataFile()).commit();
+
+    EqualityDeleteWriter<Record> deleteWriter = appenderFactory.newEqDeleteWriter(
+        fileFactory.newOutputFile(), FileFormat.PARQUET, null);
+    try {
+      for (Record delete : deletes) {
+        Record key = GenericRecord.create(deleteSchema);
+        key.set(0, delete.get(0));
+        deleteWriter.write(key);
+      }
+    } finally {
+      deleteWriter.close();
+    }
+    icebergTable.newRowDelta().addDeletes(deleteWriter.toDeleteFile()).commit();
+  }
+
+  private RewriteFilesInput planRewriteInput() throws IOException {
+    List<DataFile> dataFiles = Lists.newArrayList();
+    Set<String> deletePaths = Sets.newHashSet();
+    List<DeleteFile> deleteFiles = Lists.newArrayList();
+    try (CloseableIterable<FileScanTask> fileScanTasks = icebergTable.newScan().planFiles()) {
+      for (FileScanTask task : fileScanTasks) {
+        dataFiles.add(task.file());
+        for (DeleteFile deleteFile : task.deletes()) {
+          if (deletePaths.add(deleteFile.path().toString())) {
+            deleteFiles.add(deleteFile);
+          }
+        }
+      }
+    }
+    DataFile[] rewrittenFiles = dataFiles.toArray(new DataFile[0]);
+    return new RewriteFilesInput(rewrittenFiles, rewrittenFiles, deleteFiles.toArray(new DeleteFile[0]),
+        new DeleteFile[0], icebergTable);
+  }
+}
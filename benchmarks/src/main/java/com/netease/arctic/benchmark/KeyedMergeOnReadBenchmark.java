@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.benchmark;
+
+import com.netease.arctic.data.ChangeAction;
+import com.netease.arctic.io.reader.GenericKeyedDataReader;
+import com.netease.arctic.scan.CombinedScanTask;
+import com.netease.arctic.scan.KeyedTableScanTask;
+import com.netease.arctic.table.KeyedTable;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.data.IdentityPartitionConverters;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Merge-on-read of a keyed table through {@link GenericKeyedDataReader}, with a share of the base rows deleted by
+ * equality deletes in the change store and another share deleted by position deletes in the base store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class KeyedMergeOnReadBenchmark {
+
+  @Param({"100000"})
+  private int rowCount;
+
+  @Param({"0.0", "0.01", "0.1", "0.5"})
+  private double eqDeleteRatio;
+
+  @Param({"0.0", "0.01", "0.1", "0.5"})
+  private double posDeleteRatio;
+
+  private BenchmarkTables tables;
+  private KeyedTable table;
+  private List<KeyedTableScanTask> tasks;
+  private GenericKeyedDataReader reader;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    tables = new BenchmarkTables();
+    table = tables.createKeyedTable("merge_on_read");
+
+    List<DataFile> baseFiles = BenchmarkTables.writeAndCommitBase(table, 1L, BenchmarkTables.records(rowCount));
+    for (DataFile baseFile : baseFiles) {
+      int[] positions = BenchmarkTables.evenlySpread((int) baseFile.recordCount(), posDeleteRatio);
+      if (positions.length > 0) {
+        BenchmarkTables.writeAndCommitBasePosDelete(table, 2L, baseFile, positions);
+      }
+    }
+
+    int[] deletedIds = BenchmarkTables.evenlySpread(rowCount, eqDeleteRatio);
+    if (deletedIds.length > 0) {
+      List<Record> deletes = Lists.newArrayListWithCapacity(deletedIds.length);
+      for (int id : deletedIds) {
+        deletes.add(BenchmarkTables.record(id));
+      }
+      BenchmarkTables.writeAndCommitChange(table, 3L, ChangeAction.DELETE, deletes);
+    }
+
+    try (CloseableIterable<CombinedScanTask> combinedTasks = table.newScan().planTasks()) {
+      tasks = Lists.newArrayList(combinedTasks).stream()
+          .flatMap(combinedTask -> combinedTask.tasks().stream())
+          .collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    reader = new GenericKeyedDataReader(table.io(), table.schema(), table.schema(),
+        table.primaryKeySpec(), null, true, IdentityPartitionConverters::convertConstant);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    tables.close();
+  }
+
+  @Benchmark
+  public void mergeOnRead(Blackhole blackhole) throws IOException {
+    for (KeyedTableScanTask task : tasks) {
+      try (CloseableIterator<Record> records = reader.readData(task)) {
+        while (records.hasNext()) {
+          blackhole.consume(records.next());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.benchmark;
+
+import com.netease.arctic.data.ChangedLsn;
+import com.netease.arctic.optimizing.OptimizingCodec;
+import com.netease.arctic.optimizing.RewriteFilesOutput;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.utils.SerializationUtil;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.Metrics;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.StructLikeWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips of serialized objects: an optimizing output through {@link OptimizingCodec}, which encodes the payloads
+ * between AMS and optimizers, compared with the java serialization of {@link SerializationUtil} used for them before,
+ * and the kryo based serializers used for keys and values spilled by the spillable maps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SerializationBenchmark {
+
+  private static final int OUTPUT_FILE_COUNT = 100;
+
+  private BenchmarkTables tables;
+  private ArcticTable table;
+  private RewriteFilesOutput output;
+  private byte[] encodedOutput;
+  private ByteBuffer serializedOutput;
+  private DataFile dataFile;
+  private StructLikeWrapper record;
+  private SerializationUtil.SimpleSerializer<StructLikeWrapper> recordSerializer;
+  private ChangedLsn lsn;
+  private SerializationUtil.SimpleSerializer<ChangedLsn> valueSerializer;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    dataFile = DataFiles.builder(PartitionSpec.unpartitioned())
+        .withPath("/benchmark/db/table/data/00000-0-1-00001.parquet")
+        .withFormat(FileFormat.PARQUET)
+        .withFileSizeInBytes(128 * 1024 * 1024)
+        .withRecordCount(1000000)
+        .build();
+    Types.StructType type = BenchmarkTables.SCHEMA.asStruct();
+    record = StructLikeWrapper.forType(type).set(BenchmarkTables.record(42));
+    recordSerializer = SerializationUtil.createStructLikeWrapperSerializer(StructLikeWrapper.forType(type));
+    lsn = ChangedLsn.of(42L, 4200L);
+    valueSerializer = SerializationUtil.createJavaSimpleSerializer();
+
+    tables = new BenchmarkTables();
+    table = tables.createUnkeyedTable("serialization");
+    DataFile[] dataFiles = new DataFile[OUTPUT_FILE_COUNT];
+    for (int i = 0; i < OUTPUT_FILE_COUNT; i++) {
+      dataFiles[i] = DataFiles.builder(table.spec())
+          .withPath(String.format("/benchmark/db/table/data/00000-%d-1-00001.parquet", i))
+          .withFormat(FileFormat.PARQUET)
+          .withFileSizeInBytes(128 * 1024 * 1024)
+          .withMetrics(metrics(i))
+          .build();
+    }
+    output = new RewriteFilesOutput(dataFiles, new DeleteFile[0], null);
+    encodedOutput = OptimizingCodec.toBytes(output);
+    serializedOutput = SerializationUtil.simpleSerialize(output);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    tables.close();
+  }
+
+  @Benchmark
+  public byte[] optimizingCodecSerialize() {
+    return OptimizingCodec.toBytes(output);
+  }
+
+  @Benchmark
+  public RewriteFilesOutput optimizingCodecDeserialize() {
+    return OptimizingCodec.deserialize(encodedOutput, table);
+  }
+
+  @Benchmark
+  public ByteBuffer javaSerialize() {
+    return SerializationUtil.simpleSerialize(output);
+  }
+
+  @Benchmark
+  public RewriteFilesOutput javaDeserialize() {
+    return SerializationUtil.simpleDeserialize(serializedOutput.duplicate());
+  }
+
+  @Benchmark
+  public DataFile simpleRoundTrip() {
+    ByteBuffer buffer = SerializationUtil.simpleSerialize(dataFile);
+    return SerializationUtil.simpleDeserialize(buffer);
+  }
+
+  @Benchmark
+  public ChangedLsn changedLsnRoundTrip() {
+    return valueSerializer.deserialize(valueSerializer.serialize(lsn));
+  }
+
+  @Benchmark
+  public StructLikeWrapper structLikeWrapperRoundTrip() {
+    return recordSerializer.deserialize(recordSerializer.serialize(record));
+  }
+
+  private static Metrics metrics(int fileIndex) {
+    Map<Integer, Long> columnSizes = Maps.newHashMap();
+    Map<Integer, Long> valueCounts = Maps.newHashMap();
+    Map<Integer, Long> nullValueCounts = Maps.newHashMap();
+    Map<Integer, ByteBuffer> lowerBounds = Maps.newHashMap();
+    Map<Integer, ByteBuffer> upperBounds = Maps.newHashMap();
+    for (Types.NestedField field : BenchmarkTables.SCHEMA.columns()) {
+      columnSizes.put(field.fieldId(), 4L * 1024 * 1024);
+      valueCounts.put(field.fieldId(), 1000000L);
+      nullValueCounts.put(field.fieldId(), 0L);
+    }
+    lowerBounds.put(1, Conversions.toByteBuffer(Types.IntegerType.get(), fileIndex * 1000000));
+    upperBounds.put(1, Conversions.toByteBuffer(Types.IntegerType.get(), fileIndex * 1000000 + 999999));
+    return new Metrics(1000000L, columnSizes, valueCounts, nullValueCounts, null, lowerBounds, upperBounds);
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.benchmark;
+
+import com.netease.arctic.utils.map.StructLikeBaseMap;
+import com.netease.arctic.utils.map.StructLikeMemoryMap;
+import com.netease.arctic.utils.map.StructLikeSpillableMap;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.types.Types;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Put and get cost of the primary key maps used to hold equality deletes. {@code spillable-memory} never exceeds
+ * its memory budget and shows the overhead of the spillable wrapper alone, {@code spillable-disk} has no memory
+ * budget and keeps every entry in RocksDB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StructLikeMapBenchmark {
+
+  private static final int ENTRY_COUNT = 100000;
+
+  private static final Types.StructType KEY_TYPE =
+      BenchmarkTables.PRIMARY_KEY_SPEC.getPkSchema().asStruct();
+
+  @Param({"memory", "spillable-memory", "spillable-disk"})
+  private String mapType;
+
+  private BenchmarkTables tables;
+  private StructLike[] keys;
+  private StructLikeBaseMap<Long> populatedMap;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    tables = new BenchmarkTables();
+    keys = new StructLike[ENTRY_COUNT];
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      GenericRecord key = GenericRecord.create(KEY_TYPE);
+      key.set(0, i);
+      keys[i] = key;
+    }
+    populatedMap = newMap();
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      populatedMap.put(keys[i], (long) i);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    populatedMap.close();
+    tables.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ENTRY_COUNT)
+  public void put() throws IOException {
+    try (StructLikeBaseMap<Long> map = newMap()) {
+      for (int i = 0; i < ENTRY_COUNT; i++) {
+        map.put(keys[i], (long) i);
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ENTRY_COUNT)
+  public void get(Blackhole blackhole) {
+    for (int i = 0; i < ENTRY_COUNT; i++) {
+      blackhole.consume(populatedMap.get(keys[i]));
+    }
+  }
+
+  private StructLikeBaseMap<Long> newMap() {
+    String backendDir = new File(tables.warehouse(), "rocksdb").getAbsolutePath();
+    switch (mapType) {
+      case "memory":
+        return StructLikeMemoryMap.create(KEY_TYPE);
+      case "spillable-memory":
+        return StructLikeSpillableMap.create(KEY_TYPE, Long.MAX_VALUE, backendDir);
+      case "spillable-disk":
+        return StructLikeSpillableMap.create(KEY_TYPE, 0L, backendDir);
+      default:
+        throw new IllegalArgumentException("Unknown map type " + mapType);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.benchmark;
+
+import com.netease.arctic.data.ChangeAction;
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.FileNameRules;
+import com.netease.arctic.io.writer.GenericChangeTaskWriter;
+import com.netease.arctic.io.writer.GenericTaskWriters;
+import com.netease.arctic.io.writer.SortedPosDeleteWriter;
+import com.netease.arctic.table.KeyedTable;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput of {@link GenericChangeTaskWriter} for inserts and of {@link SortedPosDeleteWriter} for
+ * unordered positions of a single data file, in rows per second. Written files are not committed and are removed
+ * after each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class WriterBenchmark {
+
+  private static final int ROW_COUNT = 100000;
+
+  private BenchmarkTables tables;
+  private KeyedTable table;
+  private List<Record> records;
+  private DataFile baseFile;
+  private DataTreeNode baseNode;
+  private int[] shuffledPositions;
+  private final List<ContentFile<?>> writtenFiles = Lists.newArrayList();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    tables = new BenchmarkTables();
+    table = tables.createKeyedTable("writer");
+    records = BenchmarkTables.records(ROW_COUNT);
+    baseFile = BenchmarkTables.writeAndCommitBase(table, 1L, records).get(0);
+    baseNode = FileNameRules.parseFileNodeFromFileName(baseFile.path().toString());
+
+    List<Integer> positions = Lists.newArrayListWithCapacity(ROW_COUNT);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      positions.add(i);
+    }
+    Collections.shuffle(positions, new Random(42));
+    shuffledPositions = positions.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  @TearDown(Level.Iteration)
+  public void removeWrittenFiles() {
+    writtenFiles.forEach(file -> table.io().deleteFile(file.path().toString()));
+    writtenFiles.clear();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    tables.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROW_COUNT)
+  public void changeWriter() throws IOException {
+    try (GenericChangeTaskWriter writer = GenericTaskWriters.builderFor(table)
+        .withTransactionId(2L)
+        .withChangeAction(ChangeAction.INSERT)
+        .buildChangeWriter()) {
+      writtenFiles.addAll(BenchmarkTables.write(writer, records));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROW_COUNT)
+  public void sortedPosDeleteWriter() throws IOException {
+    try (SortedPosDeleteWriter<Record> writer = GenericTaskWriters.builderFor(table)
+        .withTransactionId(2L)
+        .buildBasePosDeleteWriter(baseNode.mask(), baseNode.index(), baseFile.partition())) {
+      for (int pos : shuffledPositions) {
+        writer.delete(baseFile.path(), pos);
+      }
+      writtenFiles.addAll(writer.complete());
+    }
+  }
+}
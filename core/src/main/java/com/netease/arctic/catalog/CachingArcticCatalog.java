@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netease.arctic.AmsClient;
+import com.netease.arctic.ams.api.CatalogMeta;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.TableBuilder;
+import com.netease.arctic.table.TableIdentifier;
+import com.netease.arctic.table.blocker.TableBlockerManager;
+import com.netease.arctic.utils.ArcticTableUtil;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link ArcticCatalog} caching loaded tables, like the {@link org.apache.iceberg.CachingCatalog} of Iceberg.
+ * Query engines resolve the same tables many times in a short period, every resolving asks AMS for the table meta
+ * and reads table metadata of all table stores again without the cache.
+ * <p>
+ * A cached table may be used by many threads, so it is never refreshed in place. When it is loaded again, the version
+ * hint of each table store, the base and change stores of keyed tables, is compared with the loaded metadata, and a
+ * new instance replaces the cached one once the metadata has moved on. Stores which could not be checked this way are
+ * always loaded again. Tables are dropped from the cache after the expiration interval since they were loaded, and on
+ * dropping, renaming and {@link #invalidateTable}.
+ */
+public class CachingArcticCatalog implements ArcticCatalog {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CachingArcticCatalog.class);
+
+  private final ArcticCatalog catalog;
+  private final Cache<TableIdentifier, ArcticTable> tableCache;
+
+  public static ArcticCatalog wrap(ArcticCatalog catalog, long expirationIntervalMillis, int maxEntries) {
+    Preconditions.checkArgument(!(catalog instanceof CachingArcticCatalog), "catalog %s is cached already",
+        catalog.name());
+    return new CachingArcticCatalog(catalog, expirationIntervalMillis, maxEntries);
+  }
+
+  private CachingArcticCatalog(ArcticCatalog catalog, long expirationIntervalMillis, int maxEntries) {
+    Preconditions.checkArgument(expirationIntervalMillis > 0,
+        "expiration interval must be positive, but is %s", expirationIntervalMillis);
+    Preconditions.checkArgument(maxEntries > 0, "max entries must be positive, but is %s", maxEntries);
+    this.catalog = catalog;
+    this.tableCache = Caffeine.newBuilder()
+        .expireAfterWrite(expirationIntervalMillis, TimeUnit.MILLISECONDS)
+        .maximumSize(maxEntries)
+        .build();
+  }
+
+  /**
+   * @return the catalog wrapped by this cache
+   */
+  public ArcticCatalog wrapped() {
+    return catalog;
+  }
+
+  @Override
+  public String name() {
+    return catalog.name();
+  }
+
+  @Override
+  public void initialize(AmsClient client, CatalogMeta meta, Map<String, String> properties) {
+    catalog.initialize(client, meta, properties);
+    tableCache.invalidateAll();
+  }
+
+  @Override
+  public List<String> listDatabases() {
+    return catalog.listDatabases();
+  }
+
+  @Override
+  public void createDatabase(String databaseName) {
+    catalog.createDatabase(databaseName);
+  }
+
+  @Override
+  public void dropDatabase(String databaseName) {
+    catalog.dropDatabase(databaseName);
+    tableCache.asMap().keySet().removeIf(identifier -> identifier.getDatabase().equals(databaseName));
+  }
+
+  @Override
+  public List<TableIdentifier> listTables(String database) {
+    return catalog.listTables(database);
+  }
+
+  @Override
+  public ArcticTable loadTable(TableIdentifier tableIdentifier) {
+    ArcticTable cached = tableCache.getIfPresent(tableIdentifier);
+    if (cached != null) {
+      if (isCurrent(cached)) {
+        return cached;
+      }
+    }
+    ArcticTable table = catalog.loadTable(tableIdentifier);
+    tableCache.put(tableIdentifier, table);
+    return table;
+  }
+
+  @Override
+  public boolean tableExists(TableIdentifier tableIdentifier) {
+    if (tableCache.getIfPresent(tableIdentifier) != null) {
+      return ArcticCatalog.super.tableExists(tableIdentifier);
+    }
+    return catalog.tableExists(tableIdentifier);
+  }
+
+  @Override
+  public void renameTable(TableIdentifier from, String newTableName) {
+    try {
+      catalog.renameTable(from, newTableName);
+    } finally {
+      invalidateTable(from);
+      invalidateTable(TableIdentifier.of(from.getCatalog(), from.getDatabase(), newTableName));
+    }
+  }
+
+  @Override
+  public boolean dropTable(TableIdentifier tableIdentifier, boolean purge) {
+    try {
+      return catalog.dropTable(tableIdentifier, purge);
+    } finally {
+      invalidateTable(tableIdentifier);
+    }
+  }
+
+  @Override
+  public TableBuilder newTableBuilder(TableIdentifier identifier, Schema schema) {
+    invalidateTable(identifier);
+    return catalog.newTableBuilder(identifier, schema);
+  }
+
+  @Override
+  public void refresh() {
+    catalog.refresh();
+    tableCache.invalidateAll();
+  }
+
+  @Override
+  public TableBlockerManager getTableBlockerManager(TableIdentifier tableIdentifier) {
+    return catalog.getTableBlockerManager(tableIdentifier);
+  }
+
+  @Override
+  public Map<String, String> properties() {
+    return catalog.properties();
+  }
+
+  /**
+   * Drop a table from the cache, so that it is loaded from the wrapped catalog next time. Call this after committing
+   * to a table through a table object not loaded from this catalog.
+   */
+  public void invalidateTable(TableIdentifier tableIdentifier) {
+    tableCache.invalidate(tableIdentifier);
+  }
+
+  private boolean isCurrent(ArcticTable table) {
+    try {
+      return ArcticTableUtil.isCurrentMetadata(table);
+    } catch (RuntimeException e) {
+      LOG.warn("Failed to check the metadata of cached table {}, load it again", table.id(), e);
+      return false;
+    }
+  }
+}
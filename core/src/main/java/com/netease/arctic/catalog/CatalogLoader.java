@@ -27,6 +27,7 @@ import com.netease.arctic.ams.api.NoSuchObjectException;
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.ams.api.client.AmsClientPools;
 import com.netease.arctic.ams.api.client.ArcticThriftUrl;
+import com.netease.arctic.ams.api.properties.CatalogMetaProperties;
 import com.netease.arctic.mixed.BasicMixedIcebergCatalog;
 import com.netease.arctic.utils.CatalogUtil;
 import org.apache.iceberg.CatalogProperties;
@@ -34,6 +35,7 @@ import org.apache.iceberg.common.DynConstructors;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.rest.RESTCatalog;
+import org.apache.iceberg.util.PropertyUtil;
 import org.apache.thrift.TException;
 
 import java.util.List;
@@ -166,7 +168,7 @@ public class CatalogLoader {
       }
       ArcticCatalog catalog = buildCatalog(catalogImpl);
       catalog.initialize(client, catalogMeta, props);
-      return catalog;
+      return wrapWithTableCache(catalog, catalogMeta.getCatalogProperties());
     } catch (NoSuchObjectException e1) {
       throw new IllegalArgumentException("catalog not found, please check catalog name", e1);
     } catch (Exception e) {
@@ -218,6 +220,19 @@ public class CatalogLoader {
     return load(client, catalogName, properties);
   }
 
+  private static ArcticCatalog wrapWithTableCache(ArcticCatalog catalog, Map<String, String> properties) {
+    if (!PropertyUtil.propertyAsBoolean(properties, CatalogMetaProperties.CLIENT_TABLE_CACHE_ENABLED,
+        CatalogMetaProperties.CLIENT_TABLE_CACHE_ENABLED_DEFAULT)) {
+      return catalog;
+    }
+    return CachingArcticCatalog.wrap(
+        catalog,
+        PropertyUtil.propertyAsLong(properties, CatalogMetaProperties.CLIENT_TABLE_CACHE_EXPIRATION_INTERVAL_MS,
+            CatalogMetaProperties.CLIENT_TABLE_CACHE_EXPIRATION_INTERVAL_MS_DEFAULT),
+        PropertyUtil.propertyAsInt(properties, CatalogMetaProperties.CLIENT_TABLE_CACHE_MAX_ENTRIES,
+            CatalogMetaProperties.CLIENT_TABLE_CACHE_MAX_ENTRIES_DEFAULT));
+  }
+
   private static ArcticCatalog buildCatalog(String impl) {
     DynConstructors.Ctor<ArcticCatalog> ctor;
     try {
@@ -53,6 +53,10 @@ public class DefaultKeyedFile implements PrimaryKeyedFile, Serializable {
     return new DefaultKeyedFile(dataFile, fileMeta);
   }
 
+  public static DefaultKeyedFile of(DataFile dataFile, FileMeta fileMeta) {
+    return new DefaultKeyedFile(dataFile, fileMeta);
+  }
+
   @Override
   public Long transactionId() {
     return meta.transactionId();
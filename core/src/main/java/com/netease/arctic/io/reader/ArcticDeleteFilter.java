@@ -29,6 +29,7 @@ import com.netease.arctic.scan.KeyedTableScanTask;
 import com.netease.arctic.table.MetadataColumns;
 import com.netease.arctic.table.PrimaryKeySpec;
 import com.netease.arctic.utils.NodeFilter;
+import com.netease.arctic.utils.map.ChangedLsnIndex;
 import com.netease.arctic.utils.map.StructLikeBaseMap;
 import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.commons.collections.CollectionUtils;
@@ -48,6 +49,8 @@ import org.apache.iceberg.io.InputFile;
 import org.apache.iceberg.orc.ORC;
 import org.apache.iceberg.parquet.Parquet;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableSet;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableSortedSet;
 import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
@@ -55,16 +58,19 @@ import org.apache.iceberg.types.TypeUtil;
 import org.apache.iceberg.types.Types;
 import org.apache.iceberg.util.Filter;
 import org.apache.iceberg.util.StructProjection;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -93,15 +99,19 @@ public abstract class ArcticDeleteFilter<T> {
   private final Accessor<StructLike> deleteOffsetAccessor;
   private final Set<Integer> primaryKeyId;
   private final Schema deleteSchema;
+  private final Set<DataTreeNode> sourceNodes;
   private final Filter<Record> deleteNodeFilter;
   private CloseablePredicate<T> eqPredicate;
-  private Map<String, Set<Long>> positionMap;
+  private Map<String, Roaring64Bitmap> positionMap;
   private final Accessor<StructLike> posAccessor;
   private final Accessor<StructLike> filePathAccessor;
   private final Set<String> pathSets;
 
   private String currentDataPath;
-  private Set<Long> currentPosSet;
+  private Roaring64Bitmap currentPosSet;
+  // the raw file path value of the last row and its positions, rows of the same file share the same value
+  private Object lastFilePath;
+  private Roaring64Bitmap lastPosSet;
 
   private StructLikeCollections structLikeCollections = StructLikeCollections.DEFAULT;
 
@@ -145,9 +155,11 @@ public abstract class ArcticDeleteFilter<T> {
         TypeUtil.select(requiredSchema, Sets.newHashSet(primaryKeyId)),
         new Schema(MetadataColumns.FILE_OFFSET_FILED, MetadataColumns.TRANSACTION_ID_FILED));
     if (CollectionUtils.isNotEmpty(sourceNodes)) {
+      this.sourceNodes = ImmutableSet.copyOf(sourceNodes);
       this.deleteNodeFilter = new NodeFilter<>(sourceNodes, deleteSchema, primaryKeySpec,
           record -> new InternalRecordWrapper(deleteSchema.asStruct()).wrap(record));
     } else {
+      this.sourceNodes = null;
       this.deleteNodeFilter = null;
     }
     this.dataTransactionIdAccessor = requiredSchema.accessorForField(MetadataColumns.TRANSACTION_ID_FILED_ID);
@@ -178,6 +190,20 @@ public abstract class ArcticDeleteFilter<T> {
     return filePathAccessor.get(asStructLike(record)).toString();
   }
 
+  /**
+   * Read the transaction id of a data record, subclasses could read it without boxing.
+   */
+  protected long dataTransactionId(T record) {
+    return (Long) dataTransactionIdAccessor.get(asStructLike(record));
+  }
+
+  /**
+   * Read the file offset of a data record, subclasses could read it without boxing.
+   */
+  protected long dataFileOffset(T record) {
+    return (Long) dataOffsetAccessor.get(asStructLike(record));
+  }
+
   protected ArcticFileIO getArcticFileIo() {
     return null;
   }
@@ -225,10 +251,67 @@ public abstract class ArcticDeleteFilter<T> {
     }
 
     Schema pkSchema = TypeUtil.select(requiredSchema, primaryKeyId);
-    // a projection to select and reorder fields of the file schema to match the delete rows
-    StructProjection deletePKProjectRow = StructProjection.create(deleteSchema, pkSchema);
     StructProjection dataPKProjectRow = StructProjection.create(requiredSchema, pkSchema);
 
+    // a spillable map is not shared, its spilled part belongs to the building thread
+    if (structLikeCollections.isEnableSpillableMap()) {
+      DeleteIndexCache.Reference<StructLikeBaseMap<ChangedLsn>> reference =
+          DeleteIndexCache.build(() -> buildEqDeleteMap(pkSchema));
+      StructLikeBaseMap<ChangedLsn> structLikeMap = reference.get();
+      Predicate<T> isInDeleteSet = record -> {
+        StructLike data = asStructLike(record);
+        StructLike dataPk = dataPKProjectRow.copyFor(data);
+        ChangedLsn dataLSN = dataLSN(data);
+        ChangedLsn deleteLsn = structLikeMap.get(dataPk);
+        if (deleteLsn == null) {
+          return false;
+        }
+
+        return deleteLsn.compareTo(dataLSN) > 0;
+      };
+
+      this.eqPredicate = new CloseablePredicate<>(isInDeleteSet, reference);
+      return isInDeleteSet;
+    }
+
+    // the index is shared with other tasks reading the same delete files if the delete index cache is enabled
+    DeleteIndexCache.Reference<ChangedLsnIndex> reference = DeleteIndexCache.acquireOrBuild(
+        eqDeleteIndexKey(pkSchema), () -> buildEqDeleteIndex(pkSchema));
+    ChangedLsnIndex lsnIndex = reference.get();
+    Predicate<T> isInDeleteSet = record -> lsnIndex.isDeleted(
+        dataPKProjectRow.wrap(asStructLike(record)),
+        dataTransactionId(record),
+        dataFileOffset(record));
+
+    this.eqPredicate = new CloseablePredicate<>(isInDeleteSet, reference);
+    return isInDeleteSet;
+  }
+
+  private CloseableIterable<T> applyEqDeletes(CloseableIterable<T> records, Predicate<T> predicate) {
+    if (eqDeletes.isEmpty()) {
+      return records;
+    }
+
+    Filter<T> remainingRowsFilter = new Filter<T>() {
+      @Override
+      protected boolean shouldKeep(T item) {
+        return predicate.test(item);
+      }
+    };
+
+    return remainingRowsFilter.filter(records);
+  }
+
+  private Object eqDeleteIndexKey(Schema pkSchema) {
+    return Arrays.asList(
+        ArcticDeleteFilter.class.getName(),
+        ImmutableSortedSet.copyOf(Iterables.transform(eqDeletes, file -> file.path().toString())),
+        deleteSchema.asStruct(),
+        pkSchema.asStruct(),
+        sourceNodes);
+  }
+
+  private CloseableIterable<StructLike> openEqDeletes() {
     Iterable<CloseableIterable<Record>> deleteRecords = Iterables.transform(
         eqDeletes,
         this::openDeletes);
@@ -241,12 +324,42 @@ public abstract class ArcticDeleteFilter<T> {
     }
 
     InternalRecordWrapper internalRecordWrapper = new InternalRecordWrapper(deleteSchema.asStruct());
-    CloseableIterable<StructLike> structLikeIterable = CloseableIterable.transform(
-        records, internalRecordWrapper::copyFor);
+    return CloseableIterable.transform(records, internalRecordWrapper::copyFor);
+  }
+
+  private DeleteIndexCache.Built<ChangedLsnIndex> buildEqDeleteIndex(Schema pkSchema) {
+    // a projection to select and reorder fields of the file schema to match the delete rows
+    StructProjection deletePKProjectRow = StructProjection.create(deleteSchema, pkSchema);
+    // keys are stored as primitives in memory, and probing does not allocate for each data row
+    ChangedLsnIndex lsnIndex = ChangedLsnIndex.create(pkSchema.asStruct());
+    StructLike sampleKey = null;
+    try (CloseableIterable<StructLike> deletes = openEqDeletes()) {
+      Iterator<StructLike> it = getArcticFileIo() == null ? deletes.iterator()
+          : getArcticFileIo().doAs(deletes::iterator);
+      while (it.hasNext()) {
+        StructLike structLike = it.next();
+        StructLike deletePK = deletePKProjectRow.copyFor(structLike);
+        if (sampleKey == null) {
+          sampleKey = deletePK;
+        }
+        lsnIndex.putIfNewer(deletePK,
+            (Long) deleteTransactionIdAccessor.get(structLike),
+            (Long) deleteOffsetAccessor.get(structLike));
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return DeleteIndexCache.Built.of(
+        lsnIndex, DeleteIndexCache.estimateSize(sampleKey, lsnIndex.size()));
+  }
 
+  private DeleteIndexCache.Built<StructLikeBaseMap<ChangedLsn>> buildEqDeleteMap(Schema pkSchema) {
+    StructProjection deletePKProjectRow = StructProjection.create(deleteSchema, pkSchema);
     StructLikeBaseMap<ChangedLsn> structLikeMap = structLikeCollections.createStructLikeMap(pkSchema.asStruct());
+    long count = 0;
+    StructLike sampleKey = null;
     //init map
-    try (CloseableIterable<StructLike> deletes = structLikeIterable) {
+    try (CloseableIterable<StructLike> deletes = openEqDeletes()) {
       Iterator<StructLike> it = getArcticFileIo() == null ? deletes.iterator()
           : getArcticFileIo().doAs(deletes::iterator);
       while (it.hasNext()) {
@@ -255,6 +368,12 @@ public abstract class ArcticDeleteFilter<T> {
         ChangedLsn deleteLsn = deleteLSN(structLike);
 
         ChangedLsn old = structLikeMap.get(deletePK);
+        if (old == null) {
+          count++;
+          if (sampleKey == null) {
+            sampleKey = deletePK;
+          }
+        }
         if (old == null || old.compareTo(deleteLsn) <= 0) {
           structLikeMap.put(deletePK, deleteLsn);
         }
@@ -262,36 +381,8 @@ public abstract class ArcticDeleteFilter<T> {
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
-
-    Predicate<T> isInDeleteSet = record -> {
-      StructLike data = asStructLike(record);
-      StructLike dataPk = dataPKProjectRow.copyFor(data);
-      ChangedLsn dataLSN = dataLSN(data);
-      ChangedLsn deleteLsn = structLikeMap.get(dataPk);
-      if (deleteLsn == null) {
-        return false;
-      }
-
-      return deleteLsn.compareTo(dataLSN) > 0;
-    };
-
-    this.eqPredicate = new CloseablePredicate<>(isInDeleteSet, structLikeMap);
-    return isInDeleteSet;
-  }
-
-  private CloseableIterable<T> applyEqDeletes(CloseableIterable<T> records, Predicate<T> predicate) {
-    if (eqDeletes.isEmpty()) {
-      return records;
-    }
-
-    Filter<T> remainingRowsFilter = new Filter<T>() {
-      @Override
-      protected boolean shouldKeep(T item) {
-        return predicate.test(item);
-      }
-    };
-
-    return remainingRowsFilter.filter(records);
+    return DeleteIndexCache.Built.of(
+        structLikeMap, DeleteIndexCache.estimateSize(sampleKey, count));
   }
 
   private CloseableIterable<Record> openDeletes(PrimaryKeyedFile deleteFile) {
@@ -337,36 +428,13 @@ public abstract class ArcticDeleteFilter<T> {
       return record -> false;
     }
 
-    // if there are fewer deletes than a reasonable number to keep in memory, use a set
-    if (positionMap == null) {
-      positionMap = new HashMap<>();
-      List<CloseableIterable<Record>> deletes = Lists.transform(posDeletes, this::openPosDeletes);
-      CloseableIterator<Record> iterator = CloseableIterable.concat(deletes).iterator();
-      while (iterator.hasNext()) {
-        Record deleteRecord = iterator.next();
-        String path = FILENAME_ACCESSOR.get(deleteRecord).toString();
-        if (!pathSets.contains(path)) {
-          continue;
-        }
-        Set<Long> posSet = positionMap.get(path);
-        if (posSet == null) {
-          posSet = new HashSet<>();
-          positionMap.put(path, posSet);
-        }
-        posSet.add((Long) POSITION_ACCESSOR.get(deleteRecord));
-      }
-    }
-
+    initPositionMap();
     return item -> {
-
-      Set<Long> posSet;
+      Roaring64Bitmap posSet;
       if (currentDataPath != null) {
-        if (currentPosSet == null) {
-          currentPosSet = positionMap.get(currentDataPath);
-        }
-        posSet = currentPosSet;
+        posSet = currentPositions();
       } else {
-        posSet = positionMap.get(filePath(item));
+        posSet = positionsOf(filePathAccessor.get(asStructLike(item)));
       }
 
       if (posSet == null) {
@@ -376,6 +444,123 @@ public abstract class ArcticDeleteFilter<T> {
     };
   }
 
+  /**
+   * Compute which rows in a range of positions of a data file are not deleted by position deletes.
+   *
+   * @param dataPath      the path of the data file
+   * @param startPosition the position of the first row in the range
+   * @param keepMask      the mask to fill, keepMask[i] is false if the row at startPosition + i is deleted
+   * @param length        the number of rows in the range
+   * @return true if any row in the range is deleted
+   */
+  public boolean fillPositionKeepMask(String dataPath, long startPosition, boolean[] keepMask, int length) {
+    return fillPositionKeepMask(dataPath, startPosition, keepMask, 0, length);
+  }
+
+  /**
+   * Same as {@link #fillPositionKeepMask(String, long, boolean[], int)}, but fill the mask from an offset.
+   *
+   * @param offset the index in keepMask of the row at startPosition
+   */
+  public boolean fillPositionKeepMask(
+      String dataPath, long startPosition, boolean[] keepMask, int offset, int length) {
+    Preconditions.checkArgument(keepMask.length >= offset + length, "keepMask is shorter than %s",
+        offset + length);
+    Arrays.fill(keepMask, offset, offset + length, true);
+    if (posDeletes.isEmpty() || length == 0) {
+      return false;
+    }
+
+    initPositionMap();
+    Roaring64Bitmap posSet = dataPath.equals(currentDataPath) ? currentPositions() : positionMap.get(dataPath);
+    if (posSet == null) {
+      return false;
+    }
+    long endPosition = startPosition + length - 1;
+    long deletedBefore = startPosition == 0 ? 0 : posSet.rankLong(startPosition - 1);
+    if (posSet.rankLong(endPosition) == deletedBefore) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      keepMask[offset + i] = !posSet.contains(startPosition + i);
+    }
+    return true;
+  }
+
+  /**
+   * Compute which rows of a batch are not deleted by equality deletes, so columnar readers don't have to
+   * iterate the records through {@link #filter(CloseableIterable)}. Rows already masked out are not probed.
+   *
+   * @param rowAt    returns the row at an index of the batch, the returned row could be reused across indexes
+   * @param keepMask the mask to update, keepMask[i] is set to false if the row at index i is deleted
+   * @param length   the number of rows in the batch
+   * @return true if any row in the batch is deleted
+   */
+  public boolean fillEqDeleteKeepMask(IntFunction<T> rowAt, boolean[] keepMask, int length) {
+    Preconditions.checkArgument(keepMask.length >= length, "keepMask is shorter than %s", length);
+    if (eqDeletes.isEmpty()) {
+      return false;
+    }
+    Predicate<T> isDeleted = applyEqDeletes();
+    boolean anyDeleted = false;
+    for (int i = 0; i < length; i++) {
+      if (keepMask[i] && isDeleted.test(rowAt.apply(i))) {
+        keepMask[i] = false;
+        anyDeleted = true;
+      }
+    }
+    return anyDeleted;
+  }
+
+  /**
+   * Close the resources held to filter equality deletes, like what closing the iterable returned by
+   * {@link #filter(CloseableIterable)} does.
+   */
+  public void closeEqDeletes() {
+    if (eqPredicate != null) {
+      try {
+        eqPredicate.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private void initPositionMap() {
+    if (positionMap != null) {
+      return;
+    }
+    positionMap = new HashMap<>();
+    List<CloseableIterable<Record>> deletes = Lists.transform(posDeletes, this::openPosDeletes);
+    CloseableIterator<Record> iterator = CloseableIterable.concat(deletes).iterator();
+    while (iterator.hasNext()) {
+      Record deleteRecord = iterator.next();
+      String path = FILENAME_ACCESSOR.get(deleteRecord).toString();
+      if (!pathSets.contains(path)) {
+        continue;
+      }
+      positionMap.computeIfAbsent(path, k -> new Roaring64Bitmap())
+          .addLong((Long) POSITION_ACCESSOR.get(deleteRecord));
+    }
+    positionMap.values().forEach(Roaring64Bitmap::runOptimize);
+  }
+
+  private Roaring64Bitmap currentPositions() {
+    if (currentPosSet == null) {
+      currentPosSet = positionMap.get(currentDataPath);
+    }
+    return currentPosSet;
+  }
+
+  private Roaring64Bitmap positionsOf(Object filePath) {
+    // only convert the path to string when the file changes, to avoid allocating for every row
+    if (filePath != lastFilePath && !filePath.equals(lastFilePath)) {
+      lastFilePath = filePath;
+      lastPosSet = positionMap.get(filePath.toString());
+    }
+    return lastPosSet;
+  }
+
   private CloseableIterable<T> apply(CloseableIterable<T> records, Predicate<T> predicate) {
     Filter<T> filter = new Filter<T>() {
       @Override
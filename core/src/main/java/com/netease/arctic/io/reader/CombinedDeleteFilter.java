@@ -44,6 +44,7 @@ import org.apache.iceberg.parquet.Parquet;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
 import org.apache.iceberg.relocated.com.google.common.collect.ImmutableSet;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableSortedSet;
 import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.types.TypeUtil;
@@ -182,34 +183,13 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
       return record -> false;
     }
 
-    CloseableIterable<RecordWithLsn> deleteRecords = CloseableIterable.transform(
-        CloseableIterable.concat(
-            Iterables.transform(
-                eqDeletes, s -> CloseableIterable.transform(
-                    openDeletes(ContentFiles.asDeleteFile(s), deleteSchema),
-                    r -> new RecordWithLsn(s.dataSequenceNumber(), r)))),
-        RecordWithLsn::recordCopy);
-
     InternalRecordWrapper internalRecordWrapper = new InternalRecordWrapper(deleteSchema.asStruct());
-
-    StructLikeBaseMap<Long> structLikeMap = structLikeCollections.createStructLikeMap(deleteSchema.asStruct());
-
-    //init map
-    try (CloseableIterable<RecordWithLsn> deletes = deleteRecords) {
-      Iterator<RecordWithLsn> it = getArcticFileIo() == null ? deletes.iterator()
-          : getArcticFileIo().doAs(deletes::iterator);
-      while (it.hasNext()) {
-        RecordWithLsn recordWithLsn = it.next();
-        Long lsn = recordWithLsn.getLsn();
-        StructLike deletePK = internalRecordWrapper.copyFor(recordWithLsn.getRecord());
-        Long old = structLikeMap.get(deletePK);
-        if (old == null || old.compareTo(lsn) <= 0) {
-          structLikeMap.put(deletePK, lsn);
-        }
-      }
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
+    // the map is shared with other tasks reading the same delete files if the delete index cache is enabled, unless
+    // it is spillable, whose spilled part belongs to the building thread
+    DeleteIndexCache.Reference<StructLikeBaseMap<Long>> reference = structLikeCollections.isEnableSpillableMap() ?
+        DeleteIndexCache.build(this::buildEqDeleteMap) :
+        DeleteIndexCache.acquireOrBuild(eqDeleteIndexKey(), this::buildEqDeleteMap);
+    StructLikeBaseMap<Long> structLikeMap = reference.get();
 
     Predicate<StructForDelete<T>> isInDeleteSet = structForDelete -> {
       StructLike dataPk = internalRecordWrapper.copyFor(structForDelete.getPk());
@@ -222,7 +202,7 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
       return deleteLsn.compareTo(dataLSN) > 0;
     };
 
-    CloseablePredicate<StructForDelete<T>> closeablePredicate = new CloseablePredicate<>(isInDeleteSet, structLikeMap);
+    CloseablePredicate<StructForDelete<T>> closeablePredicate = new CloseablePredicate<>(isInDeleteSet, reference);
     this.eqPredicate = closeablePredicate;
     return isInDeleteSet;
   }
@@ -251,6 +231,55 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
     return remainingRowsFilter.filter(records);
   }
 
+  private Object eqDeleteIndexKey() {
+    return ImmutableList.of(
+        CombinedDeleteFilter.class.getName(),
+        ImmutableSortedSet.copyOf(Lists.transform(eqDeletes, file -> file.path().toString())),
+        deleteSchema.asStruct());
+  }
+
+  private DeleteIndexCache.Built<StructLikeBaseMap<Long>> buildEqDeleteMap() {
+    CloseableIterable<RecordWithLsn> deleteRecords = CloseableIterable.transform(
+        CloseableIterable.concat(
+            Iterables.transform(
+                eqDeletes, s -> CloseableIterable.transform(
+                    openDeletes(ContentFiles.asDeleteFile(s), deleteSchema),
+                    r -> new RecordWithLsn(s.dataSequenceNumber(), r)))),
+        RecordWithLsn::recordCopy);
+
+    InternalRecordWrapper internalRecordWrapper = new InternalRecordWrapper(deleteSchema.asStruct());
+
+    StructLikeBaseMap<Long> structLikeMap = structLikeCollections.createStructLikeMap(deleteSchema.asStruct());
+
+    //init map
+    long count = 0;
+    StructLike sampleKey = null;
+    try (CloseableIterable<RecordWithLsn> deletes = deleteRecords) {
+      Iterator<RecordWithLsn> it = getArcticFileIo() == null ? deletes.iterator()
+          : getArcticFileIo().doAs(deletes::iterator);
+      while (it.hasNext()) {
+        RecordWithLsn recordWithLsn = it.next();
+        Long lsn = recordWithLsn.getLsn();
+        StructLike deletePK = internalRecordWrapper.copyFor(recordWithLsn.getRecord());
+        Long old = structLikeMap.get(deletePK);
+        if (old == null) {
+          count++;
+          if (sampleKey == null) {
+            sampleKey = recordWithLsn.getRecord();
+          }
+        }
+        if (old == null || old.compareTo(lsn) <= 0) {
+          structLikeMap.put(deletePK, lsn);
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+
+    return DeleteIndexCache.Built.of(
+        structLikeMap, DeleteIndexCache.estimateSize(sampleKey, count));
+  }
+
   private CloseableIterable<StructForDelete<T>> applyPosDeletes(CloseableIterable<StructForDelete<T>> records) {
     return applyPosDeletesBase(records, applyPosDeletes().negate());
   }
@@ -0,0 +1,348 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.io.reader;
+
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide cache of the indexes built from equality delete files, shared by the delete filters of all tasks
+ * running in the process.
+ * <p>
+ * Tasks of the same partition usually read the same delete files, so the index is built by the first task and
+ * reused by the others. Entries are reference counted, an index is only closed after it is evicted and released by
+ * all readers. Entries not referenced are evicted in LRU order once the estimated size of the cache exceeds its
+ * bound, an index bigger than the bound is never cached. The cache is disabled until {@link #initialize(long)} is
+ * called.
+ * <p>
+ * When the process-wide cache is disabled, the threads of one task can still share indexes through a cache created
+ * by {@link #unbounded()} and bound to them by {@link #callBound(Callable)}.
+ * <p>
+ * Only in-memory indexes are shared. A spillable index keeps its spilled part in the RocksDB backend of the thread
+ * building it, which is neither safe to read from other threads nor to drop from the thread evicting it, so it is
+ * built through {@link #build(Supplier)} and owned by its reader.
+ */
+public class DeleteIndexCache implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DeleteIndexCache.class);
+
+  // the wrapper, the hash table node and the value held for each key
+  private static final long ENTRY_OVERHEAD_BYTES = 64;
+
+  private static volatile DeleteIndexCache instance;
+
+  private static final ThreadLocal<DeleteIndexCache> BOUND = new ThreadLocal<>();
+
+  private final long maxSizeInBytes;
+  private final Map<Object, Entry<?>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long sizeInBytes = 0;
+
+  DeleteIndexCache(long maxSizeInBytes) {
+    Preconditions.checkArgument(maxSizeInBytes > 0, "maxSizeInBytes must be positive");
+    this.maxSizeInBytes = maxSizeInBytes;
+  }
+
+  /**
+   * Enable the process-wide cache, it is a no-op if the cache has been enabled.
+   *
+   * @param maxSizeInBytes the bound of the estimated size of cached indexes
+   */
+  public static void initialize(long maxSizeInBytes) {
+    if (instance == null && maxSizeInBytes > 0) {
+      synchronized (DeleteIndexCache.class) {
+        if (instance == null) {
+          instance = new DeleteIndexCache(maxSizeInBytes);
+          LOG.info("Enabled delete index cache of {} bytes", maxSizeInBytes);
+        }
+      }
+    }
+  }
+
+  /**
+   * Create a cache without bound, the indexes it holds are closed by {@link #close()}.
+   */
+  public static DeleteIndexCache unbounded() {
+    return new DeleteIndexCache(Long.MAX_VALUE);
+  }
+
+  /**
+   * Get the index of a key through the process-wide cache if it is enabled, or through the cache bound to the current
+   * thread if there is one, or build the index otherwise.
+   *
+   * @param key     identifies the index, like the delete file paths and the schema of the index
+   * @param builder builds the index and estimates its size
+   * @return a reference to the index, it should be closed once the index is no longer used
+   */
+  public static <I extends Closeable> Reference<I> acquireOrBuild(Object key, Supplier<Built<I>> builder) {
+    DeleteIndexCache cache = instance != null ? instance : BOUND.get();
+    if (cache == null) {
+      return build(builder);
+    }
+    return cache.acquire(key, builder);
+  }
+
+  /**
+   * Build an index which is not shared, like a spillable index.
+   *
+   * @param builder builds the index
+   * @return a reference to the index, closing it closes the index
+   */
+  public static <I extends Closeable> Reference<I> build(Supplier<Built<I>> builder) {
+    return new Reference<>(null, null, builder.get().index);
+  }
+
+  /**
+   * Get the index of a key, building it if it is not cached. Concurrent callers of the same key wait for the index
+   * built by the first one instead of building it again.
+   *
+   * @param key     identifies the index, like the delete file paths and the schema of the index
+   * @param builder builds the index and estimates its size
+   * @return a reference to the index, it should be closed once the index is no longer used
+   */
+  public <I extends Closeable> Reference<I> acquire(Object key, Supplier<Built<I>> builder) {
+    Entry<I> entry;
+    boolean building = false;
+    synchronized (this) {
+      @SuppressWarnings("unchecked")
+      Entry<I> cached = (Entry<I>) entries.get(key);
+      if (cached == null) {
+        cached = new Entry<>(key);
+        entries.put(key, cached);
+        building = true;
+      }
+      cached.refCount++;
+      entry = cached;
+    }
+
+    if (building) {
+      Built<I> built;
+      try {
+        built = builder.get();
+      } catch (RuntimeException | Error e) {
+        synchronized (this) {
+          entries.remove(key, entry);
+          entry.refCount--;
+        }
+        entry.future.completeExceptionally(e);
+        throw e;
+      }
+      entry.future.complete(built);
+      List<Entry<?>> evicted;
+      synchronized (this) {
+        if (built.sizeInBytes > maxSizeInBytes) {
+          entries.remove(key, entry);
+        } else {
+          sizeInBytes += built.sizeInBytes;
+        }
+        evicted = evict();
+      }
+      closeAll(evicted);
+    } else {
+      try {
+        entry.future.join();
+      } catch (CompletionException e) {
+        synchronized (this) {
+          entry.refCount--;
+        }
+        throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+      }
+    }
+    return new Reference<>(this, entry, entry.future.join().index);
+  }
+
+  /**
+   * Call an action with this cache bound to the current thread, so indexes built by the action are shared with the
+   * other threads calling actions bound to this cache.
+   *
+   * @param action the action to call
+   * @return the result of the action
+   */
+  public <T> T callBound(Callable<T> action) throws Exception {
+    DeleteIndexCache previous = BOUND.get();
+    BOUND.set(this);
+    try {
+      return action.call();
+    } finally {
+      if (previous == null) {
+        BOUND.remove();
+      } else {
+        BOUND.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Remove all entries, the indexes not referenced are closed at once and the others once they are released.
+   */
+  @Override
+  public void close() {
+    List<Entry<?>> toClose = Lists.newArrayList();
+    synchronized (this) {
+      for (Entry<?> entry : entries.values()) {
+        if (entry.refCount == 0 && entry.future.isDone() && !entry.future.isCompletedExceptionally()) {
+          toClose.add(entry);
+        }
+      }
+      entries.clear();
+      sizeInBytes = 0;
+    }
+    closeAll(toClose);
+  }
+
+  /**
+   * Estimate the memory used by an in-memory index by the size of a sample key.
+   *
+   * @param sampleKey a key of the index, null if the index is empty
+   * @param entries   the number of keys in the index
+   * @return the estimated size in bytes
+   */
+  public static long estimateSize(StructLike sampleKey, long entries) {
+    if (sampleKey == null) {
+      return 0;
+    }
+    long keySize = 0;
+    for (int i = 0; i < sampleKey.size(); i++) {
+      Object value = sampleKey.get(i, Object.class);
+      if (value != null) {
+        keySize += RamUsageEstimator.sizeOfObject(value, 0);
+      }
+    }
+    return entries * (keySize + ENTRY_OVERHEAD_BYTES);
+  }
+
+  synchronized long sizeInBytes() {
+    return sizeInBytes;
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private void release(Entry<?> entry) {
+    List<Entry<?>> toClose;
+    synchronized (this) {
+      entry.refCount--;
+      if (entries.get(entry.key) != entry) {
+        // the entry is not cached, close it once the last reader releases it
+        toClose = entry.refCount == 0 ? Lists.newArrayList(entry) : Lists.newArrayList();
+      } else {
+        toClose = evict();
+      }
+    }
+    closeAll(toClose);
+  }
+
+  private List<Entry<?>> evict() {
+    List<Entry<?>> evicted = Lists.newArrayList();
+    Iterator<Entry<?>> iterator = entries.values().iterator();
+    while (sizeInBytes > maxSizeInBytes && iterator.hasNext()) {
+      Entry<?> entry = iterator.next();
+      if (entry.refCount == 0 && entry.future.isDone()) {
+        iterator.remove();
+        sizeInBytes -= entry.future.join().sizeInBytes;
+        evicted.add(entry);
+      }
+    }
+    return evicted;
+  }
+
+  private static void closeAll(List<Entry<?>> entries) {
+    for (Entry<?> entry : entries) {
+      try {
+        entry.future.join().index.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close delete index {}", entry.key, e);
+      }
+    }
+  }
+
+  /**
+   * A built index and its estimated size in memory.
+   */
+  public static class Built<I extends Closeable> {
+    private final I index;
+    private final long sizeInBytes;
+
+    private Built(I index, long sizeInBytes) {
+      this.index = index;
+      this.sizeInBytes = sizeInBytes;
+    }
+
+    public static <I extends Closeable> Built<I> of(I index, long sizeInBytes) {
+      return new Built<>(index, sizeInBytes);
+    }
+  }
+
+  /**
+   * A reference to an index, closing it releases a cached index or closes an index not cached, and is idempotent.
+   */
+  public static class Reference<I extends Closeable> implements Closeable {
+    private final DeleteIndexCache cache;
+    private final Entry<I> entry;
+    private final I index;
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    private Reference(DeleteIndexCache cache, Entry<I> entry, I index) {
+      this.cache = cache;
+      this.entry = entry;
+      this.index = index;
+    }
+
+    public I get() {
+      return index;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (released.compareAndSet(false, true)) {
+        if (cache != null) {
+          cache.release(entry);
+        } else {
+          index.close();
+        }
+      }
+    }
+  }
+
+  private static class Entry<I extends Closeable> {
+    private final Object key;
+    private final CompletableFuture<Built<I>> future = new CompletableFuture<>();
+    private int refCount = 0;
+
+    private Entry(Object key) {
+      this.key = key;
+    }
+  }
+}
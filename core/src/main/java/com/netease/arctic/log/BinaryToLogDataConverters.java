@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.log;
+
+import com.netease.arctic.log.data.LogArrayData;
+import com.netease.arctic.log.data.LogMapData;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tool class used to convert from the compact binary written by {@link LogDataToBinaryConverters} to {@link LogData}.
+ * Struct fields are resolved by field id, so messages written with an older schema or read with a projected schema
+ * are decoded into the right fields.
+ * {@link T} indicate an actual value wrapped within {@link LogData}
+ */
+public class BinaryToLogDataConverters<T> implements Serializable {
+  private static final long serialVersionUID = 3571824169040658107L;
+  // null flag byte + 4 bytes float
+  private static final int FLOAT_VALUE_LENGTH = 5;
+
+  private final LogData.Factory<T> factory;
+  private final LogArrayData.Factory arrayFactory;
+  private final LogMapData.Factory mapFactory;
+
+  public BinaryToLogDataConverters(
+      LogData.Factory<T> factory,
+      LogArrayData.Factory arrayFactory,
+      LogMapData.Factory mapFactory) {
+    this.factory = Preconditions.checkNotNull(factory);
+    this.arrayFactory = Preconditions.checkNotNull(arrayFactory);
+    this.mapFactory = Preconditions.checkNotNull(mapFactory);
+  }
+
+  /**
+   * Runtime converter that reads a value from the message bytes.
+   */
+  interface BinaryToLogDataConverter extends Serializable {
+    Object read(ByteBuffer input);
+  }
+
+  public BinaryToLogDataConverter createConverter(Type type) {
+    return wrapIntoNullableConverter(createNotNullConverter(type));
+  }
+
+  private BinaryToLogDataConverter createNotNullConverter(Type type) {
+    switch (type.typeId()) {
+      case BOOLEAN:
+        return input -> input.get() != 0;
+      case INTEGER:
+      case DATE:
+        return input -> (int) readVarLong(input);
+      case LONG:
+      case TIME:
+        return BinaryToLogDataConverters::readVarLong;
+      case FLOAT:
+        return input -> Float.intBitsToFloat(input.getInt());
+      case DOUBLE:
+        return input -> Double.longBitsToDouble(input.getLong());
+      case TIMESTAMP:
+        Types.TimestampType timestamp = (Types.TimestampType) type;
+        if (timestamp.shouldAdjustToUTC()) {
+          return input -> Instant.ofEpochSecond(readVarLong(input), readVarLong(input));
+        } else {
+          return input -> LocalDateTime.ofEpochSecond(readVarLong(input), (int) readVarLong(input), ZoneOffset.UTC);
+        }
+      case STRING:
+        return input -> {
+          int length = (int) readVarLong(input);
+          String value = new String(input.array(), input.arrayOffset() + input.position(), length,
+              StandardCharsets.UTF_8);
+          input.position(input.position() + length);
+          return value;
+        };
+      case UUID:
+      case FIXED:
+      case BINARY:
+        return BinaryToLogDataConverters::readLengthAndBytes;
+      case DECIMAL:
+        return input -> {
+          int scale = (int) readVarLong(input);
+          return new BigDecimal(new BigInteger(readLengthAndBytes(input)), scale);
+        };
+      case LIST:
+        return createListConverter(type);
+      case MAP:
+        return createMapConverter(type);
+      case STRUCT:
+        return createStructConverter(type);
+      default:
+        throw new UnsupportedOperationException("Not Support to parse type: " + type);
+    }
+  }
+
+  /**
+   * Read the fields written with their field ids, fields missing in the given struct type are skipped and fields
+   * missing in the message are null.
+   */
+  private BinaryToLogDataConverter createStructConverter(Type type) {
+    final List<Types.NestedField> fields = type.asNestedType().asStructType().fields();
+    final Type[] fieldTypes = fields.stream()
+        .map(Types.NestedField::type)
+        .toArray(Type[]::new);
+    final BinaryToLogDataConverter[] fieldConverters = new BinaryToLogDataConverter[fieldTypes.length];
+    final Map<Integer, Integer> positionsById = new HashMap<>();
+    for (int i = 0; i < fieldTypes.length; i++) {
+      fieldConverters[i] = createConverter(fieldTypes[i]);
+      positionsById.put(fields.get(i).fieldId(), i);
+    }
+    // a float field promoted to double is still written as float by older writers
+    final BinaryToLogDataConverter floatToDoubleConverter =
+        wrapIntoNullableConverter(input -> (double) Float.intBitsToFloat(input.getInt()));
+
+    return input -> {
+      Object[] struct = new Object[fieldConverters.length];
+      int fieldCount = (int) readVarLong(input);
+      for (int i = 0; i < fieldCount; i++) {
+        int fieldId = (int) readVarLong(input);
+        int valueLength = (int) readVarLong(input);
+        int valueEnd = input.position() + valueLength;
+        Integer pos = positionsById.get(fieldId);
+        if (pos != null) {
+          BinaryToLogDataConverter converter = fieldConverters[pos];
+          if (fieldTypes[pos].typeId() == Type.TypeID.DOUBLE && valueLength == FLOAT_VALUE_LENGTH) {
+            converter = floatToDoubleConverter;
+          }
+          struct[pos] = converter.read(input);
+          if (input.position() != valueEnd) {
+            throw new IllegalStateException(String.format(
+                "Field %s is written in a type which is not compatible with %s.",
+                fields.get(pos).name(), fieldTypes[pos]));
+          }
+        }
+        input.position(valueEnd);
+      }
+      return factory.createActualValue(struct, fieldTypes);
+    };
+  }
+
+  private BinaryToLogDataConverter createMapConverter(Type type) {
+    Types.MapType map = type.asNestedType().asMapType();
+    Type keyType = map.keyType();
+    Type valueType = map.valueType();
+    final BinaryToLogDataConverter keyConverter = createConverter(keyType);
+    final BinaryToLogDataConverter valueConverter = createConverter(valueType);
+    return input -> {
+      int numElements = (int) readVarLong(input);
+      Map<Object, Object> result = new HashMap<>();
+      for (int i = 0; i < numElements; i++) {
+        Object key = factory.convertIfNecessary(keyType, keyConverter.read(input));
+        Object value = factory.convertIfNecessary(valueType, valueConverter.read(input));
+        result.put(key, value);
+      }
+      return mapFactory.create(result);
+    };
+  }
+
+  private BinaryToLogDataConverter createListConverter(Type type) {
+    Type elementType = type.asNestedType().asListType().elementType();
+    final BinaryToLogDataConverter elementConverter = createConverter(elementType);
+    return input -> {
+      int numElements = (int) readVarLong(input);
+      Object[] array = null;
+      for (int i = 0; i < numElements; i++) {
+        Object value = factory.convertIfNecessary(elementType, elementConverter.read(input));
+        if (value != null) {
+          if (array == null) {
+            array = (Object[]) Array.newInstance(value.getClass(), numElements);
+          }
+          array[i] = value;
+        }
+      }
+      array = array == null ? new Object[numElements] : array;
+      return arrayFactory.create(array);
+    };
+  }
+
+  private static BinaryToLogDataConverter wrapIntoNullableConverter(BinaryToLogDataConverter converter) {
+    return input -> {
+      if (input.get() == 0) {
+        return null;
+      }
+      return converter.read(input);
+    };
+  }
+
+  private static byte[] readLengthAndBytes(ByteBuffer input) {
+    byte[] bytes = new byte[(int) readVarLong(input)];
+    input.get(bytes);
+    return bytes;
+  }
+
+  private static long readVarLong(ByteBuffer input) {
+    long zigZag = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = input.get();
+      zigZag |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return (zigZag >>> 1) ^ -(zigZag & 1);
+  }
+}
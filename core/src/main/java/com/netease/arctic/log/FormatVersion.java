@@ -28,7 +28,14 @@ import static com.netease.arctic.log.LogData.MAGIC_NUMBER;
  * Log format version.
  */
 public enum FormatVersion {
-  FORMAT_VERSION_V1(new MessageBytes().append(MAGIC_NUMBER).append((byte) 1).toBytes());
+  /**
+   * The actual value is encoded as JSON.
+   */
+  FORMAT_VERSION_V1(new MessageBytes().append(MAGIC_NUMBER).append((byte) 1).toBytes()),
+  /**
+   * The actual value is encoded as compact binary, with struct fields tagged by their field ids.
+   */
+  FORMAT_VERSION_V2(new MessageBytes().append(MAGIC_NUMBER).append((byte) 2).toBytes());
 
   /**
    * the version of log format, contains a fixed magic number and actual version number,
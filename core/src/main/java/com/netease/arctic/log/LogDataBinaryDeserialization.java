@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.log;
+
+import com.netease.arctic.log.data.LogArrayData;
+import com.netease.arctic.log.data.LogMapData;
+import org.apache.iceberg.Schema;
+
+import java.nio.ByteBuffer;
+
+import static com.netease.arctic.utils.FlipUtil.convertToBoolean;
+import static org.apache.iceberg.relocated.com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Deserialization that deserializes compact binary bytes written by {@link LogDataBinarySerialization} into an
+ * instance of {@link LogData}. Fields are read from the message bytes in place into the actual value through
+ * {@link LogData.Factory#createActualValue(Object[], org.apache.iceberg.types.Type[])}.
+ */
+public class LogDataBinaryDeserialization<T> implements LogDataDeserialization<T> {
+  private static final long serialVersionUID = 2912740865273549981L;
+  private static final int ROW_BEGINNING_POS = 18;
+
+  private final BinaryToLogDataConverters.BinaryToLogDataConverter binaryToLogDataConverter;
+  private final LogData.Factory<T> factory;
+
+  public LogDataBinaryDeserialization(
+      Schema schema,
+      LogData.Factory<T> factory,
+      LogArrayData.Factory arrayFactory,
+      LogMapData.Factory mapFactory) {
+    this.factory = factory;
+    this.binaryToLogDataConverter =
+        new BinaryToLogDataConverters<>(factory, arrayFactory, mapFactory)
+            .createConverter(schema.asStruct());
+  }
+
+  @Override
+  public LogData<T> deserialize(byte[] message) {
+    checkArgument(message != null, "message is null.");
+    checkArgument(message.length >= ROW_BEGINNING_POS, "message is illegal.");
+    ByteBuffer input = ByteBuffer.wrap(message);
+    byte[] versionBytes = new byte[4];
+    input.get(versionBytes);
+    byte[] upstreamIdBytes = new byte[4];
+    input.get(upstreamIdBytes);
+    long epicNo = input.getLong();
+    boolean flip = convertToBoolean(input.get());
+    byte changeActionByte = input.get();
+
+    if (flip) {
+      // we can ignore actual value which should be empty, when flip is true.
+      return factory.create(null, versionBytes, upstreamIdBytes, epicNo, true, changeActionByte);
+    }
+
+    T actualValue = (T) binaryToLogDataConverter.read(input);
+    return factory.create(actualValue, versionBytes, upstreamIdBytes, epicNo, false, changeActionByte);
+  }
+}
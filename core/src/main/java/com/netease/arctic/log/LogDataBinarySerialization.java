@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.log;
+
+import org.apache.iceberg.Schema;
+
+/**
+ * Serialization that serializes an instance of {@link LogData} into compact binary bytes,
+ * see {@link FormatVersion#FORMAT_VERSION_V2}.
+ */
+public class LogDataBinarySerialization<T> implements LogDataSerialization<T> {
+  private static final long serialVersionUID = -6310972287631582377L;
+
+  private final Schema schema;
+  private final LogData.FieldGetterFactory<T> fieldGetterFactory;
+
+  private transient LogDataToBinaryConverters.LogDataToBinaryConverter logDataToBinaryConverter;
+  /**
+   * Reusable output buffer.
+   */
+  private transient LogDataToBinaryConverters.BinaryOutput output;
+
+  public LogDataBinarySerialization(Schema schema, LogData.FieldGetterFactory<T> fieldGetterFactory) {
+    this.schema = schema;
+    this.fieldGetterFactory = fieldGetterFactory;
+  }
+
+  @Override
+  public byte[] serialize(LogData<T> element) {
+    if (output == null) {
+      output = new LogDataToBinaryConverters.BinaryOutput();
+      logDataToBinaryConverter = LogDataToBinaryConverters.createConverter(schema.asStruct(), fieldGetterFactory);
+    }
+    output.reset();
+
+    // 4 bytes version + 4 bytes upstreamId + 8 bytes EpicNo + 1 byte flip + 1 byte rowKind + n bytes object data
+    output.writeBytes(element.getVersionBytes());
+    output.writeBytes(element.getUpstreamIdBytes());
+    output.writeLong(element.getEpicNo());
+    output.writeByte(element.getFlipByte());
+    output.writeByte(element.getChangeActionByte());
+
+    if (element.getFlip()) {
+      // would ignore serializing actual value if flip is true.
+      return output.toBytes();
+    }
+
+    try {
+      logDataToBinaryConverter.write(element.getActualValue(), output);
+    } catch (Throwable t) {
+      throw new RuntimeException("Could not serialize row '" + element + "'. ", t);
+    }
+    return output.toBytes();
+  }
+}
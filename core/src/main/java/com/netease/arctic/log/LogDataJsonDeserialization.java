@@ -32,7 +32,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.Serializable;
 
 import static com.netease.arctic.utils.FlipUtil.convertToBoolean;
 import static org.apache.iceberg.relocated.com.google.common.base.Preconditions.checkArgument;
@@ -41,7 +40,7 @@ import static org.apache.iceberg.relocated.com.google.common.base.Preconditions.
  * Deserialization that deserializes a JSON bytes array into an instance of {@link LogData}
  * through {@link LogData.Factory#create(Object, Object...)}
  */
-public class LogDataJsonDeserialization<T> implements Serializable {
+public class LogDataJsonDeserialization<T> implements LogDataDeserialization<T> {
   private static final long serialVersionUID = -5741370033707067127L;
   private static final Logger LOG = LoggerFactory.getLogger(LogDataJsonDeserialization.class);
   private static final int ROW_BEGINNING_POS = 18;
@@ -85,6 +84,7 @@ public class LogDataJsonDeserialization<T> implements Serializable {
         });
   }
 
+  @Override
   public LogData<T> deserialize(byte[] message) throws IOException {
     try {
       checkArgument(message != null, "message is null.");
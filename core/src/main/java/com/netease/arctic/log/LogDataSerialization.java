@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.log;
+
+import org.apache.iceberg.Schema;
+
+import java.io.Serializable;
+
+/**
+ * Serialization that serializes an instance of {@link LogData} into bytes of the log store message.
+ */
+public interface LogDataSerialization<T> extends Serializable {
+
+  byte[] serialize(LogData<T> element);
+
+  /**
+   * Create the serialization writing messages of the given {@link FormatVersion}.
+   */
+  static <T> LogDataSerialization<T> create(
+      FormatVersion version,
+      Schema schema,
+      LogData.FieldGetterFactory<T> fieldGetterFactory) {
+    switch (version) {
+      case FORMAT_VERSION_V1:
+        return new LogDataJsonSerialization<>(schema, fieldGetterFactory);
+      case FORMAT_VERSION_V2:
+        return new LogDataBinarySerialization<>(schema, fieldGetterFactory);
+      default:
+        throw new UnsupportedOperationException("Not support log format version: " + version.asString());
+    }
+  }
+}
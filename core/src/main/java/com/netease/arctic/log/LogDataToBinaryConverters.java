@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.log;
+
+import com.netease.arctic.log.data.LogArrayData;
+import com.netease.arctic.log.data.LogMapData;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tool class used to convert from {@link LogData} to compact binary.
+ * Values are prefixed by a null flag byte, integral values are written as zig-zag varints and variable-length values
+ * are prefixed by their varint length. A struct is written as its field count followed by the fields, each one
+ * prefixed by its field id and the length of its value, so that readers resolve fields by id and skip the fields
+ * missing in their read schema.
+ */
+public class LogDataToBinaryConverters implements Serializable {
+  private static final long serialVersionUID = -2470931462094718205L;
+
+  /**
+   * Runtime converter that writes the actual value wrapped within {@link LogData} into {@link BinaryOutput}
+   */
+  interface LogDataToBinaryConverter extends Serializable {
+    void write(Object source, BinaryOutput output);
+  }
+
+  public static <T> LogDataToBinaryConverter createConverter(
+      Type type,
+      LogData.FieldGetterFactory<T> fieldGetterFactory) {
+    return wrapIntoNullableConverter(createNotNullConverter(type, fieldGetterFactory));
+  }
+
+  private static <T> LogDataToBinaryConverter createNotNullConverter(
+      Type type,
+      LogData.FieldGetterFactory<T> fieldGetterFactory) {
+    switch (type.typeId()) {
+      case BOOLEAN:
+        return (source, output) -> output.writeByte((Boolean) source ? (byte) 1 : (byte) 0);
+      case INTEGER:
+      case DATE:
+        return (source, output) -> output.writeVarLong((int) source);
+      case LONG:
+      case TIME:
+        return (source, output) -> output.writeVarLong((long) source);
+      case FLOAT:
+        return (source, output) -> output.writeInt(Float.floatToIntBits((float) source));
+      case DOUBLE:
+        return (source, output) -> output.writeLong(Double.doubleToLongBits((double) source));
+      case TIMESTAMP:
+        Types.TimestampType timestamp = (Types.TimestampType) type;
+        if (timestamp.shouldAdjustToUTC()) {
+          return (source, output) -> {
+            Instant instant = (Instant) source;
+            output.writeVarLong(instant.getEpochSecond());
+            output.writeVarLong(instant.getNano());
+          };
+        } else {
+          return (source, output) -> {
+            LocalDateTime localDateTime = (LocalDateTime) source;
+            output.writeVarLong(localDateTime.toEpochSecond(ZoneOffset.UTC));
+            output.writeVarLong(localDateTime.getNano());
+          };
+        }
+      case STRING:
+        return (source, output) -> output.writeLengthAndBytes(source.toString().getBytes(StandardCharsets.UTF_8));
+      case UUID:
+      case FIXED:
+      case BINARY:
+        return (source, output) -> output.writeLengthAndBytes((byte[]) source);
+      case DECIMAL:
+        return (source, output) -> {
+          BigDecimal decimal = (BigDecimal) source;
+          output.writeVarLong(decimal.scale());
+          output.writeLengthAndBytes(decimal.unscaledValue().toByteArray());
+        };
+      case LIST:
+        return createListConverter(type, fieldGetterFactory);
+      case MAP:
+        return createMapConverter(type, fieldGetterFactory);
+      case STRUCT:
+        return createStructConverter(type, fieldGetterFactory);
+      default:
+        throw new UnsupportedOperationException("Not Support to parse type: " + type);
+    }
+  }
+
+  private static <T> LogDataToBinaryConverter createMapConverter(
+      Type type,
+      LogData.FieldGetterFactory<T> fieldGetterFactory) {
+    Types.MapType map = type.asNestedType().asMapType();
+    Types.NestedField keyField = map.field(map.keyId());
+    Types.NestedField valueField = map.field(map.valueId());
+    final LogDataToBinaryConverter keyConverter = createConverter(keyField.type(), fieldGetterFactory);
+    final LogDataToBinaryConverter valueConverter = createConverter(valueField.type(), fieldGetterFactory);
+    final LogArrayData.ElementGetter keyGetter = LogArrayData.createElementGetter(keyField);
+    final LogArrayData.ElementGetter valueGetter = LogArrayData.createElementGetter(valueField);
+    return (source, output) -> {
+      LogMapData mapData = (LogMapData) source;
+      LogArrayData keyArray = mapData.keyArray();
+      LogArrayData valueArray = mapData.valueArray();
+      int numElements = mapData.size();
+      output.writeVarLong(numElements);
+      for (int i = 0; i < numElements; i++) {
+        keyConverter.write(keyGetter.getElementOrNull(keyArray, i), output);
+        valueConverter.write(valueGetter.getElementOrNull(valueArray, i), output);
+      }
+    };
+  }
+
+  private static <T> LogDataToBinaryConverter createListConverter(
+      Type type,
+      LogData.FieldGetterFactory<T> fieldGetterFactory) {
+    Types.ListType list = type.asNestedType().asListType();
+    Types.NestedField elementField = list.field(list.elementId());
+    final LogDataToBinaryConverter elementConverter = createConverter(elementField.type(), fieldGetterFactory);
+    final LogArrayData.ElementGetter elementGetter = LogArrayData.createElementGetter(elementField);
+    return (source, output) -> {
+      LogArrayData array = (LogArrayData) source;
+      int numElements = array.size();
+      output.writeVarLong(numElements);
+      for (int i = 0; i < numElements; i++) {
+        elementConverter.write(elementGetter.getElementOrNull(array, i), output);
+      }
+    };
+  }
+
+  private static <T> LogDataToBinaryConverter createStructConverter(
+      Type type,
+      LogData.FieldGetterFactory<T> fieldGetterFactory) {
+    final List<Types.NestedField> fields = type.asNestedType().asStructType().fields();
+    final int fieldCount = fields.size();
+    final List<LogDataToBinaryConverter> fieldConverters = new ArrayList<>();
+    final List<LogData.FieldGetter<T>> fieldGetters = new ArrayList<>();
+    for (int i = 0; i < fieldCount; i++) {
+      Type fieldType = fields.get(i).type();
+      fieldConverters.add(createConverter(fieldType, fieldGetterFactory));
+      fieldGetters.add(fieldGetterFactory.createFieldGetter(fieldType, i));
+    }
+
+    final int[] fieldIds = fields.stream().mapToInt(Types.NestedField::fieldId).toArray();
+
+    return (source, output) -> {
+      T actualValue = (T) source;
+      output.writeVarLong(fieldCount);
+      for (int i = 0; i < fieldCount; i++) {
+        try {
+          Object field = fieldGetters.get(i).getFieldOrNull(actualValue, i);
+          output.writeVarLong(fieldIds[i]);
+          int valuePosition = output.position();
+          fieldConverters.get(i).write(field, output);
+          output.prependLength(valuePosition);
+        } catch (Throwable t) {
+          throw new RuntimeException(
+              String.format("Fail to serialize at field: %s.", fields.get(i).name()), t);
+        }
+      }
+    };
+  }
+
+  private static LogDataToBinaryConverter wrapIntoNullableConverter(LogDataToBinaryConverter converter) {
+    return (source, output) -> {
+      if (source == null) {
+        output.writeByte((byte) 0);
+        return;
+      }
+      output.writeByte((byte) 1);
+      converter.write(source, output);
+    };
+  }
+
+  /**
+   * A growable byte buffer which is reused across messages.
+   */
+  static class BinaryOutput {
+    private byte[] buffer = new byte[256];
+    private int position;
+
+    void reset() {
+      position = 0;
+    }
+
+    void writeByte(byte value) {
+      ensureCapacity(1);
+      buffer[position++] = value;
+    }
+
+    void writeBytes(byte[] bytes) {
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+    }
+
+    void writeLengthAndBytes(byte[] bytes) {
+      writeVarLong(bytes.length);
+      writeBytes(bytes);
+    }
+
+    void writeInt(int value) {
+      ensureCapacity(4);
+      for (int shift = 24; shift >= 0; shift -= 8) {
+        buffer[position++] = (byte) (value >>> shift);
+      }
+    }
+
+    void writeLong(long value) {
+      ensureCapacity(8);
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        buffer[position++] = (byte) (value >>> shift);
+      }
+    }
+
+    void writeVarLong(long value) {
+      // zig-zag encoding so that small negative values are written in few bytes as well
+      long zigZag = (value << 1) ^ (value >> 63);
+      ensureCapacity(10);
+      while ((zigZag & ~0x7FL) != 0) {
+        buffer[position++] = (byte) ((zigZag & 0x7F) | 0x80);
+        zigZag >>>= 7;
+      }
+      buffer[position++] = (byte) zigZag;
+    }
+
+    int position() {
+      return position;
+    }
+
+    /**
+     * Insert the varint length of the bytes written since the given position in front of them.
+     */
+    void prependLength(int valuePosition) {
+      int valueLength = position - valuePosition;
+      int end = position;
+      writeVarLong(valueLength);
+      int lengthBytes = position - end;
+      byte[] length = Arrays.copyOfRange(buffer, end, position);
+      System.arraycopy(buffer, valuePosition, buffer, valuePosition + lengthBytes, valueLength);
+      System.arraycopy(length, 0, buffer, valuePosition, lengthBytes);
+    }
+
+    byte[] toBytes() {
+      return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int length) {
+      if (position + length > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+      }
+    }
+  }
+}
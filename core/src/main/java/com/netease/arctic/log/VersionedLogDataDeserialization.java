@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.log;
+
+import com.netease.arctic.log.data.LogArrayData;
+import com.netease.arctic.log.data.LogMapData;
+import org.apache.iceberg.Schema;
+
+import java.io.IOException;
+
+import static org.apache.iceberg.relocated.com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Deserialization that deserializes messages of all {@link FormatVersion}s, according to the version bytes at the
+ * beginning of each message. So a log store could be read while its writers switch the format version.
+ */
+public class VersionedLogDataDeserialization<T> implements LogDataDeserialization<T> {
+  private static final long serialVersionUID = -8390512753180914471L;
+  private static final int VERSION_LENGTH = 4;
+
+  private final LogDataJsonDeserialization<T> jsonDeserialization;
+  private final LogDataBinaryDeserialization<T> binaryDeserialization;
+
+  public VersionedLogDataDeserialization(
+      Schema schema,
+      LogData.Factory<T> factory,
+      LogArrayData.Factory arrayFactory,
+      LogMapData.Factory mapFactory) {
+    this.jsonDeserialization = new LogDataJsonDeserialization<>(schema, factory, arrayFactory, mapFactory);
+    this.binaryDeserialization = new LogDataBinaryDeserialization<>(schema, factory, arrayFactory, mapFactory);
+  }
+
+  @Override
+  public LogData<T> deserialize(byte[] message) throws IOException {
+    checkArgument(message != null && message.length >= VERSION_LENGTH, "message is illegal.");
+    if (isVersion(message, FormatVersion.FORMAT_VERSION_V2)) {
+      return binaryDeserialization.deserialize(message);
+    }
+    return jsonDeserialization.deserialize(message);
+  }
+
+  private static boolean isVersion(byte[] message, FormatVersion version) {
+    byte[] versionBytes = version.asBytes();
+    for (int i = 0; i < VERSION_LENGTH; i++) {
+      if (message[i] != versionBytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
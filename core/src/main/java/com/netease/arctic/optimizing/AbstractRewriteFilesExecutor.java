@@ -20,6 +20,7 @@ package com.netease.arctic.optimizing;
 
 import com.netease.arctic.data.DataTreeNode;
 import com.netease.arctic.io.ArcticFileIO;
+import com.netease.arctic.io.reader.DeleteIndexCache;
 import com.netease.arctic.io.writer.SetTreeNode;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.utils.map.StructLikeCollections;
@@ -42,13 +43,23 @@ import org.apache.iceberg.io.DeleteWriteResult;
 import org.apache.iceberg.io.FileAppenderFactory;
 import org.apache.iceberg.io.FileWriter;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.iceberg.util.PropertyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import static org.apache.iceberg.TableProperties.DEFAULT_FILE_FORMAT;
 import static org.apache.iceberg.TableProperties.DEFAULT_FILE_FORMAT_DEFAULT;
@@ -57,6 +68,13 @@ import static org.apache.iceberg.TableProperties.DELETE_DEFAULT_FILE_FORMAT;
 /**
  * An abstract OptimizingExecutor implementation that rewrites the rewrittenDataFiles
  * in RewriteInput and generates new position delete for rePosDeletedDataFiles.
+ * <p>
+ * With a parallelism greater than 1, the data files are split into groups of similar size processed by a bounded
+ * pool of workers. Every worker reads its group with all delete files of the task and writes to its own writer, the
+ * equality delete index is built once and shared by the workers through {@link DeleteIndexCache}.
+ * <p>
+ * Files are rewritten by the calling thread alone when the spillable map is enabled, since a spilled index lives in a
+ * RocksDB backend bound to the thread building it, which would be leaked with the short-lived workers.
  */
 public abstract class AbstractRewriteFilesExecutor implements OptimizingExecutor<RewriteFilesOutput> {
 
@@ -72,20 +90,46 @@ public abstract class AbstractRewriteFilesExecutor implements OptimizingExecutor
 
   protected StructLikeCollections structLikeCollections;
 
+  protected final int parallelism;
+
+  // number of the data files written by concatenating the input files, 0 if they are rewritten row by row
+  private int concatenatedDataFileCnt;
+
   public AbstractRewriteFilesExecutor(
       RewriteFilesInput input, ArcticTable table,
       StructLikeCollections structLikeCollections) {
+    this(input, table, structLikeCollections, 1);
+  }
+
+  public AbstractRewriteFilesExecutor(
+      RewriteFilesInput input, ArcticTable table,
+      StructLikeCollections structLikeCollections, int parallelism) {
     this.input = input;
     this.table = table;
     this.io = table.io();
     this.structLikeCollections = structLikeCollections;
-    dataReader = dataReader();
+    this.parallelism = Math.max(1, parallelism);
+    dataReader = dataReader(input);
   }
 
-  protected abstract OptimizingDataReader dataReader();
+  /**
+   * Create a reader of the input, the input is either the input of the task or a part of it with the same delete
+   * files.
+   */
+  protected abstract OptimizingDataReader dataReader(RewriteFilesInput input);
 
   protected abstract FileWriter<PositionDelete<Record>, DeleteWriteResult> posWriter();
 
+  /**
+   * Rewrite the data files without decoding their rows if possible, see {@link DataFileConcatenator}.
+   *
+   * @param dataFiles the data files to rewrite
+   * @return the rewritten files, or null to rewrite the files row by row
+   */
+  protected List<DataFile> concatDataFiles(DataFile[] dataFiles) throws IOException {
+    return null;
+  }
+
   protected abstract FileWriter<Record, DataWriteResult> dataWriter();
 
   @Override
@@ -98,11 +142,26 @@ public abstract class AbstractRewriteFilesExecutor implements OptimizingExecutor
     long startTime = System.currentTimeMillis();
     try {
       if (!ArrayUtils.isEmpty(input.rePosDeletedDataFiles())) {
-        deleteFiles = io.doAs(this::equalityToPosition);
+        deleteFiles = io.doAs(() -> execute(
+            input.rePosDeletedDataFiles(),
+            files -> new RewriteFilesInput(null, files, input.readOnlyDeleteFiles(),
+                input.rewrittenDeleteFiles(), table),
+            this::equalityToPosition));
       }
 
       if (!ArrayUtils.isEmpty(input.rewrittenDataFiles())) {
-        dataFiles = io.doAs(this::rewriterDataFiles);
+        dataFiles = io.doAs(() -> {
+          List<DataFile> concatenated = concatDataFiles(input.rewrittenDataFiles());
+          if (concatenated != null) {
+            concatenatedDataFileCnt = concatenated.size();
+            return concatenated;
+          }
+          return execute(
+              input.rewrittenDataFiles(),
+              files -> new RewriteFilesInput(files, null, input.readOnlyDeleteFiles(),
+                  input.rewrittenDeleteFiles(), table),
+              this::rewriterDataFiles);
+        });
       }
     } finally {
       dataReader.close();
@@ -116,11 +175,88 @@ public abstract class AbstractRewriteFilesExecutor implements OptimizingExecutor
         summary);
   }
 
-  private List<DeleteFile> equalityToPosition() throws Exception {
+  private <F> List<F> execute(
+      DataFile[] files,
+      Function<DataFile[], RewriteFilesInput> inputOfFiles,
+      ReaderAction<F> action) throws Exception {
+    List<DataFile[]> groups = spillable() ? Collections.singletonList(files) : splitBySize(files, parallelism);
+    if (groups.size() <= 1) {
+      return action.apply(dataReader);
+    }
+
+    LOG.info("Process {} data files of table optimize task in {} groups", files.length, groups.size());
+    ExecutorService workers = Executors.newFixedThreadPool(groups.size(), new ThreadFactoryBuilder()
+        .setDaemon(true)
+        .setNameFormat("rewrite-files-worker-%d")
+        .build());
+    try (DeleteIndexCache deleteIndexCache = DeleteIndexCache.unbounded()) {
+      List<Future<List<F>>> futures = Lists.newArrayList();
+      for (DataFile[] group : groups) {
+        futures.add(workers.submit(() -> io.doAs(() -> deleteIndexCache.callBound(() -> {
+          OptimizingDataReader reader = dataReader(inputOfFiles.apply(group));
+          try {
+            return action.apply(reader);
+          } finally {
+            reader.close();
+          }
+        }))));
+      }
+      List<F> result = Lists.newArrayList();
+      for (Future<List<F>> future : futures) {
+        result.addAll(future.get());
+      }
+      return result;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  private boolean spillable() {
+    return structLikeCollections != null && structLikeCollections.isEnableSpillableMap();
+  }
+
+  /**
+   * Split files into at most the given number of groups, assigning the biggest files first to the smallest group.
+   */
+  static List<DataFile[]> splitBySize(DataFile[] files, int groupCount) {
+    int count = Math.min(groupCount, files.length);
+    if (count <= 1) {
+      return Collections.singletonList(files);
+    }
+    List<List<DataFile>> groups = Lists.newArrayList();
+    long[] groupSizes = new long[count];
+    for (int i = 0; i < count; i++) {
+      groups.add(Lists.newArrayList());
+    }
+    DataFile[] sorted = Arrays.copyOf(files, files.length);
+    Arrays.sort(sorted, Comparator.comparingLong(DataFile::fileSizeInBytes).reversed());
+    for (DataFile file : sorted) {
+      int smallest = 0;
+      for (int i = 1; i < count; i++) {
+        if (groupSizes[i] < groupSizes[smallest]) {
+          smallest = i;
+        }
+      }
+      groups.get(smallest).add(file);
+      groupSizes[smallest] += file.fileSizeInBytes();
+    }
+    List<DataFile[]> result = Lists.newArrayList();
+    for (List<DataFile> group : groups) {
+      result.add(group.toArray(new DataFile[0]));
+    }
+    return result;
+  }
+
+  private List<DeleteFile> equalityToPosition(OptimizingDataReader reader) throws Exception {
     FileWriter<PositionDelete<Record>, DeleteWriteResult> posDeleteWriter = posWriter();
 
     try (CloseableIterator<Record> iterator =
-        dataReader.readDeletedData().iterator()) {
+        reader.readDeletedData().iterator()) {
       PositionDelete<Record> positionDelete = PositionDelete.create();
       while (iterator.hasNext()) {
         Record record = iterator.next();
@@ -141,11 +277,11 @@ public abstract class AbstractRewriteFilesExecutor implements OptimizingExecutor
     return posDeleteWriter.result().deleteFiles();
   }
 
-  private List<DataFile> rewriterDataFiles() throws Exception {
+  private List<DataFile> rewriterDataFiles(OptimizingDataReader reader) throws Exception {
     List<DataFile> result = Lists.newArrayList();
     FileWriter<Record, DataWriteResult> writer = dataWriter();
 
-    try (CloseableIterator<Record> records = dataReader.readData().iterator()) {
+    try (CloseableIterator<Record> records = reader.readData().iterator()) {
       while (records.hasNext()) {
         Record record = records.next();
         writer.write(record);
@@ -236,7 +372,12 @@ public abstract class AbstractRewriteFilesExecutor implements OptimizingExecutor
     summary.setPosDeleteFileCnt(posDeleteFileCnt);
     summary.setPosDeleteFileTotalSize(posDeleteFileTotalSize);
     summary.setExecuteDuration(duration);
+    summary.setConcatenatedDataFileCnt(concatenatedDataFileCnt);
 
     return summary.getSummary();
   }
+
+  private interface ReaderAction<F> {
+    List<F> apply(OptimizingDataReader reader) throws Exception;
+  }
 }
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizing;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.Metrics;
+import org.apache.iceberg.MetricsConfig;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.io.FileIO;
+import org.apache.iceberg.io.InputFile;
+import org.apache.iceberg.orc.OrcMetrics;
+import org.apache.iceberg.parquet.ParquetUtil;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.orc.CompressionKind;
+import org.apache.orc.OrcFile;
+import org.apache.orc.Reader;
+import org.apache.orc.TypeDescription;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.hadoop.util.HadoopOutputFile;
+import org.apache.parquet.schema.MessageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Rewrites data files without decoding their rows, by appending the row groups of parquet files or the stripes of orc
+ * files to the target files. It only applies to files of the same format and the same file schema, and should only be
+ * used if no delete applies to the files.
+ * <p>
+ * Row groups and stripes are copied unchanged, they are neither merged nor re-encoded. So concatenating reduces the
+ * number of files, and with it the files to open and the metadata to track, but not the cost of reading the rows:
+ * small row groups of the source files stay small row groups, with their own column chunks and statistics, in the
+ * target files.
+ */
+public class DataFileConcatenator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DataFileConcatenator.class);
+
+  private final FileIO io;
+  private final Configuration conf;
+  private final PartitionSpec spec;
+  private final StructLike partition;
+  private final MetricsConfig metricsConfig;
+  private final long targetSize;
+  private final Supplier<String> locations;
+
+  /**
+   * @param io            the io of the table
+   * @param conf          the hadoop configuration to access the files
+   * @param spec          the partition spec of the files
+   * @param partition     the partition of the files
+   * @param metricsConfig the metrics config of the table
+   * @param targetSize    the target size of the rewritten files
+   * @param locations     generates the location of a new file
+   */
+  public DataFileConcatenator(
+      FileIO io, Configuration conf, PartitionSpec spec, StructLike partition,
+      MetricsConfig metricsConfig, long targetSize, Supplier<String> locations) {
+    this.io = io;
+    this.conf = conf;
+    this.spec = spec;
+    this.partition = partition;
+    this.metricsConfig = metricsConfig;
+    this.targetSize = targetSize;
+    this.locations = locations;
+  }
+
+  /**
+   * Concatenate the files into files of the target size.
+   *
+   * @param files the files to rewrite
+   * @return the new files, or null if the files can not be concatenated and nothing is written
+   */
+  public List<DataFile> concat(DataFile[] files) throws IOException {
+    if (files.length < 2) {
+      return null;
+    }
+    FileFormat format = files[0].format();
+    for (DataFile file : files) {
+      if (file.format() != format || file.specId() != spec.specId()) {
+        return null;
+      }
+    }
+
+    switch (format) {
+      case PARQUET:
+        if (!sameParquetSchema(files)) {
+          return null;
+        }
+        break;
+      case ORC:
+        if (!sameOrcSchema(files)) {
+          return null;
+        }
+        break;
+      default:
+        return null;
+    }
+
+    List<DataFile> result = Lists.newArrayList();
+    try {
+      for (List<DataFile> bin : binsOfTargetSize(files)) {
+        String location = locations.get();
+        boolean concatenated = format == FileFormat.PARQUET ?
+            concatParquet(bin, location) : concatOrc(bin, location);
+        if (!concatenated) {
+          LOG.info("Can not concatenate files to {}, fall back to rewriting rows", location);
+          io.deleteFile(location);
+          deleteAll(result);
+          return null;
+        }
+        result.add(dataFile(format, location));
+      }
+    } catch (IOException | RuntimeException e) {
+      deleteAll(result);
+      throw e;
+    }
+    return result;
+  }
+
+  /**
+   * Split the files into bins of the target size. A bin never holds a single file, which would only be copied, so a
+   * bin is closed only once it holds two files at least, and a single file left at last is put into the last bin.
+   */
+  private List<List<DataFile>> binsOfTargetSize(DataFile[] files) {
+    List<List<DataFile>> bins = Lists.newArrayList();
+    List<DataFile> bin = Lists.newArrayList();
+    long binSize = 0;
+    for (DataFile file : files) {
+      if (bin.size() > 1 && binSize + file.fileSizeInBytes() > targetSize) {
+        bins.add(bin);
+        bin = Lists.newArrayList();
+        binSize = 0;
+      }
+      bin.add(file);
+      binSize += file.fileSizeInBytes();
+    }
+    if (bin.size() == 1 && !bins.isEmpty()) {
+      bins.get(bins.size() - 1).addAll(bin);
+    } else {
+      bins.add(bin);
+    }
+    return bins;
+  }
+
+  private boolean sameParquetSchema(DataFile[] files) throws IOException {
+    MessageType schema = null;
+    for (DataFile file : files) {
+      MessageType fileSchema = parquetFooter(file.path().toString()).getFileMetaData().getSchema();
+      if (schema != null && !schema.equals(fileSchema)) {
+        return false;
+      }
+      schema = fileSchema;
+    }
+    return true;
+  }
+
+  private boolean sameOrcSchema(DataFile[] files) throws IOException {
+    TypeDescription schema = null;
+    CompressionKind compression = null;
+    for (DataFile file : files) {
+      try (Reader reader = OrcFile.createReader(new Path(file.path().toString()), OrcFile.readerOptions(conf))) {
+        if (schema != null && (!schema.equals(reader.getSchema()) ||
+            compression != reader.getCompressionKind())) {
+          return false;
+        }
+        schema = reader.getSchema();
+        compression = reader.getCompressionKind();
+      }
+    }
+    return true;
+  }
+
+  private boolean concatParquet(List<DataFile> files, String location) throws IOException {
+    ParquetMetadata footer = parquetFooter(files.get(0).path().toString());
+    Map<String, String> keyValueMetadata = footer.getFileMetaData().getKeyValueMetaData();
+    ParquetFileWriter writer = new ParquetFileWriter(
+        HadoopOutputFile.fromPath(new Path(location), conf),
+        footer.getFileMetaData().getSchema(),
+        ParquetFileWriter.Mode.CREATE,
+        ParquetWriter.DEFAULT_BLOCK_SIZE,
+        0);
+    writer.start();
+    for (DataFile file : files) {
+      writer.appendFile(HadoopInputFile.fromPath(new Path(file.path().toString()), conf));
+    }
+    writer.end(keyValueMetadata);
+    return true;
+  }
+
+  private boolean concatOrc(List<DataFile> files, String location) throws IOException {
+    List<Path> paths = Lists.newArrayList();
+    for (DataFile file : files) {
+      paths.add(new Path(file.path().toString()));
+    }
+    List<Path> merged = OrcFile.mergeFiles(new Path(location), OrcFile.writerOptions(conf), paths);
+    return merged.size() == paths.size();
+  }
+
+  private ParquetMetadata parquetFooter(String path) throws IOException {
+    try (ParquetFileReader reader = ParquetFileReader.open(HadoopInputFile.fromPath(new Path(path), conf))) {
+      return reader.getFooter();
+    }
+  }
+
+  private DataFile dataFile(FileFormat format, String location) throws IOException {
+    InputFile inputFile = io.newInputFile(location);
+    DataFiles.Builder builder = DataFiles.builder(spec)
+        .withPath(location)
+        .withFormat(format)
+        .withFileSizeInBytes(inputFile.getLength());
+    if (spec.isPartitioned()) {
+      builder.withPartition(partition);
+    }
+    if (format == FileFormat.PARQUET) {
+      Metrics metrics = ParquetUtil.fileMetrics(inputFile, metricsConfig);
+      builder.withMetrics(metrics)
+          .withSplitOffsets(ParquetUtil.getSplitOffsets(parquetFooter(location)));
+    } else {
+      builder.withMetrics(OrcMetrics.fromInputFile(inputFile, metricsConfig));
+    }
+    return builder.build();
+  }
+
+  private void deleteAll(List<DataFile> files) {
+    for (DataFile file : files) {
+      try {
+        io.deleteFile(file.path().toString());
+      } catch (RuntimeException e) {
+        LOG.warn("Failed to delete concatenated file {}", file.path(), e);
+      }
+    }
+  }
+}
@@ -22,6 +22,8 @@ import com.netease.arctic.io.reader.GenericCombinedIcebergDataReader;
 import com.netease.arctic.io.writer.IcebergFanoutPosDeleteWriter;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.utils.map.StructLikeCollections;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.MetricsConfig;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.TableProperties;
@@ -32,6 +34,7 @@ import org.apache.iceberg.deletes.EqualityDeleteWriter;
 import org.apache.iceberg.deletes.PositionDelete;
 import org.apache.iceberg.deletes.PositionDeleteWriter;
 import org.apache.iceberg.encryption.EncryptedOutputFile;
+import org.apache.iceberg.hadoop.HadoopFileIO;
 import org.apache.iceberg.io.DataWriteResult;
 import org.apache.iceberg.io.DataWriter;
 import org.apache.iceberg.io.DeleteWriteResult;
@@ -39,7 +42,11 @@ import org.apache.iceberg.io.FileWriter;
 import org.apache.iceberg.io.FileWriterFactory;
 import org.apache.iceberg.io.OutputFileFactory;
 import org.apache.iceberg.io.RollingDataWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -47,6 +54,8 @@ import java.util.UUID;
  */
 public class IcebergRewriteExecutor extends AbstractRewriteFilesExecutor {
 
+  private static final Logger LOG = LoggerFactory.getLogger(IcebergRewriteExecutor.class);
+
   public IcebergRewriteExecutor(
       RewriteFilesInput input,
       ArcticTable table,
@@ -54,8 +63,16 @@ public class IcebergRewriteExecutor extends AbstractRewriteFilesExecutor {
     super(input, table, structLikeCollections);
   }
 
+  public IcebergRewriteExecutor(
+      RewriteFilesInput input,
+      ArcticTable table,
+      StructLikeCollections structLikeCollections,
+      int parallelism) {
+    super(input, table, structLikeCollections, parallelism);
+  }
+
   @Override
-  protected OptimizingDataReader dataReader() {
+  protected OptimizingDataReader dataReader(RewriteFilesInput input) {
     return new GenericCombinedIcebergDataReader(
         io,
         table.schema(),
@@ -76,6 +93,29 @@ public class IcebergRewriteExecutor extends AbstractRewriteFilesExecutor {
         UUID.randomUUID().toString());
   }
 
+  /**
+   * Concatenate the data files if no delete applies to them and they are in the format of the table.
+   */
+  @Override
+  protected List<DataFile> concatDataFiles(DataFile[] dataFiles) throws IOException {
+    if (input.deleteFiles().length > 0 || !(io instanceof HadoopFileIO) ||
+        dataFiles[0].format() != dataFileFormat()) {
+      return null;
+    }
+    OutputFileFactory outputFileFactory = OutputFileFactory
+        .builderFor(table.asUnkeyedTable(), table.spec().specId(), 0)
+        .format(dataFileFormat())
+        .build();
+    DataFileConcatenator concatenator = new DataFileConcatenator(
+        io, ((HadoopFileIO) io).conf(), table.spec(), partition(), MetricsConfig.forTable(table.asUnkeyedTable()),
+        targetSize(), () -> outputFileFactory.newOutputFile(partition()).encryptingOutputFile().location());
+    List<DataFile> result = concatenator.concat(dataFiles);
+    if (result != null) {
+      LOG.info("Concatenated {} data files to {} files", dataFiles.length, result.size());
+    }
+    return result;
+  }
+
   @Override
   protected FileWriter<Record, DataWriteResult> dataWriter() {
     OutputFileFactory outputFileFactory = OutputFileFactory
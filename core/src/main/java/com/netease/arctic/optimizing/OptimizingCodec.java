@@ -0,0 +1,459 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.optimizing;
+
+import com.netease.arctic.data.DataFileType;
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.DefaultKeyedFile;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.TableIdentifier;
+import com.netease.arctic.utils.SerializationUtil;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.ContentFileCodec;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.util.ByteBuffers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Versioned binary codec for {@link RewriteFilesInput}, {@link RewriteFilesOutput} and the map of task inputs of an
+ * optimizing process, used for both the thrift payload between AMS and optimizers and the persisted task files.
+ * <p>
+ * Content files are encoded by {@link ContentFileCodec}, the table of an input is either java serialized once per
+ * payload or, when the caller supplies a handle for it, replaced by a {@link TableHandle} that the reader resolves back
+ * to a table, see {@link #serialize(Object, Function)} and {@link #deserialize(ByteBuffer, Function)}. The partition
+ * specs of decoded files are those of the input table, files of an output carry no table so the reader must supply
+ * it, see {@link #deserialize(byte[], ArcticTable)}.
+ * Payloads start with a magic header followed by the codec version, anything else is decoded as a plain java
+ * serialized object, so data written before this codec existed stays readable. Objects the codec can not represent
+ * losslessly are java serialized as before.
+ */
+public class OptimizingCodec {
+
+  private static final byte[] MAGIC = {'A', 'O', 'C'};
+  private static final byte VERSION = 1;
+
+  private static final byte INPUT = 1;
+  private static final byte OUTPUT = 2;
+  private static final byte INPUT_MAP = 3;
+
+  private static final byte ICEBERG_FILE = 0;
+  private static final byte KEYED_FILE = 1;
+
+  private static final byte TABLE_OBJECT = 0;
+  private static final byte TABLE_HANDLE = 1;
+
+  private OptimizingCodec() {
+  }
+
+  public static ByteBuffer serialize(Object obj) {
+    return ByteBuffer.wrap(toBytes(obj));
+  }
+
+  /**
+   * Serialize an object, tables for which {@code tableHandles} returns a handle are written as the handle.
+   */
+  public static ByteBuffer serialize(Object obj, Function<ArcticTable, TableHandle> tableHandles) {
+    return ByteBuffer.wrap(toBytes(obj, tableHandles));
+  }
+
+  public static byte[] toBytes(Object obj) {
+    return toBytes(obj, null);
+  }
+
+  public static byte[] toBytes(Object obj, Function<ArcticTable, TableHandle> tableHandles) {
+    if (canEncode(obj)) {
+      try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
+           DataOutputStream out = new DataOutputStream(bos)) {
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        new Encoder(out, tableHandles).writeObject(obj);
+        out.flush();
+        return bos.toByteArray();
+      } catch (IOException e) {
+        throw new IllegalArgumentException("serialization error of " + obj, e);
+      }
+    }
+    return SerializationUtil.simpleSerialize(obj).array();
+  }
+
+  public static <T> T deserialize(ByteBuffer buffer) {
+    return deserialize(ByteBuffers.toByteArray(buffer));
+  }
+
+  /**
+   * Deserialize an object, tables written as {@link TableHandle} are resolved by {@code tableResolver}.
+   */
+  public static <T> T deserialize(ByteBuffer buffer, Function<TableHandle, ArcticTable> tableResolver) {
+    return deserialize(ByteBuffers.toByteArray(buffer), tableResolver);
+  }
+
+  public static <T> T deserialize(byte[] bytes) {
+    return deserialize(bytes, (Function<TableHandle, ArcticTable>) null);
+  }
+
+  public static <T> T deserialize(byte[] bytes, Function<TableHandle, ArcticTable> tableResolver) {
+    return deserialize(bytes, tableResolver, null);
+  }
+
+  /**
+   * Deserialize an object whose content files belong to {@code table}, e.g. an output of a task of the table.
+   */
+  public static <T> T deserialize(byte[] bytes, ArcticTable table) {
+    return deserialize(bytes, null, table);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T deserialize(
+      byte[] bytes, Function<TableHandle, ArcticTable> tableResolver, ArcticTable defaultTable) {
+    if (bytes == null) {
+      return null;
+    }
+    if (!isEncoded(bytes)) {
+      return SerializationUtil.simpleDeserialize(bytes);
+    }
+    byte version = bytes[MAGIC.length];
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported optimizing codec version " + version);
+    }
+    try (DataInputStream in = new DataInputStream(
+        new ByteArrayInputStream(bytes, MAGIC.length + 1, bytes.length - MAGIC.length - 1))) {
+      return (T) new Decoder(in, tableResolver, defaultTable).readObject();
+    } catch (IOException e) {
+      throw new IllegalArgumentException("deserialization error ", e);
+    }
+  }
+
+  private static boolean isEncoded(byte[] bytes) {
+    if (bytes.length <= MAGIC.length) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (bytes[i] != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean canEncode(Object obj) {
+    if (obj instanceof RewriteFilesInput) {
+      return canEncode(((RewriteFilesInput) obj).allFiles());
+    } else if (obj instanceof RewriteFilesOutput) {
+      RewriteFilesOutput output = (RewriteFilesOutput) obj;
+      return canEncode(output.getDataFiles()) && canEncode(output.getDeleteFiles());
+    } else if (obj instanceof Map && !((Map<?, ?>) obj).isEmpty()) {
+      return ((Map<?, ?>) obj).entrySet().stream()
+          .allMatch(e -> e.getKey() instanceof Integer && e.getValue() instanceof RewriteFilesInput &&
+              canEncode(e.getValue()));
+    }
+    return false;
+  }
+
+  private static boolean canEncode(ContentFile<?>[] files) {
+    if (files == null) {
+      return true;
+    }
+    for (ContentFile<?> file : files) {
+      if (file == null ||
+          !(ContentFileCodec.isIcebergFile(file) || file instanceof DefaultKeyedFile) ||
+          !ContentFileCodec.canEncode(file)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static class Encoder {
+    private final DataOutputStream out;
+    private final ContentFileCodec.Writer fileWriter;
+    private final Function<ArcticTable, TableHandle> tableHandles;
+    private final Map<ArcticTable, Integer> tables = new IdentityHashMap<>();
+
+    Encoder(DataOutputStream out, Function<ArcticTable, TableHandle> tableHandles) {
+      this.out = out;
+      this.tableHandles = tableHandles;
+      this.fileWriter = new ContentFileCodec.Writer(out);
+    }
+
+    @SuppressWarnings("unchecked")
+    void writeObject(Object obj) throws IOException {
+      if (obj instanceof RewriteFilesInput) {
+        out.writeByte(INPUT);
+        writeInput((RewriteFilesInput) obj);
+      } else if (obj instanceof RewriteFilesOutput) {
+        out.writeByte(OUTPUT);
+        writeOutput((RewriteFilesOutput) obj);
+      } else {
+        out.writeByte(INPUT_MAP);
+        Map<Integer, RewriteFilesInput> inputs = (Map<Integer, RewriteFilesInput>) obj;
+        out.writeInt(inputs.size());
+        for (Map.Entry<Integer, RewriteFilesInput> entry : inputs.entrySet()) {
+          out.writeInt(entry.getKey());
+          writeInput(entry.getValue());
+        }
+      }
+    }
+
+    private void writeInput(RewriteFilesInput input) throws IOException {
+      writeTableRef(input.getTable());
+      writeStringMap(input.getOptions());
+      writeFiles(input.rewrittenDataFiles());
+      writeFiles(input.rePosDeletedDataFiles());
+      writeFiles(input.readOnlyDeleteFiles());
+      writeFiles(input.rewrittenDeleteFiles());
+    }
+
+    private void writeOutput(RewriteFilesOutput output) throws IOException {
+      writeFiles(output.getDataFiles());
+      writeFiles(output.getDeleteFiles());
+      writeStringMap(output.summary());
+    }
+
+    private void writeTableRef(ArcticTable table) throws IOException {
+      if (table == null) {
+        out.writeInt(-1);
+        return;
+      }
+      Integer ref = tables.get(table);
+      if (ref != null) {
+        out.writeInt(ref);
+        return;
+      }
+      ref = tables.size();
+      tables.put(table, ref);
+      out.writeInt(ref);
+      TableHandle handle = tableHandles == null ? null : tableHandles.apply(table);
+      if (handle == null) {
+        out.writeByte(TABLE_OBJECT);
+        ContentFileCodec.writeBytes(out, SerializationUtil.simpleSerialize(table));
+      } else {
+        out.writeByte(TABLE_HANDLE);
+        writeHandle(handle);
+      }
+    }
+
+    private void writeHandle(TableHandle handle) throws IOException {
+      ContentFileCodec.writeString(out, handle.getCatalogUrl());
+      ContentFileCodec.writeString(out, handle.getIdentifier().getCatalog());
+      ContentFileCodec.writeString(out, handle.getIdentifier().getDatabase());
+      ContentFileCodec.writeString(out, handle.getIdentifier().getTableName());
+      out.writeLong(handle.getSnapshotId());
+      out.writeLong(handle.getChangeSnapshotId());
+      out.writeInt(handle.getSchemaId());
+      ContentFileCodec.writeString(out, handle.getAuthFingerprint());
+      ContentFileCodec.writeString(out, handle.getPropertiesFingerprint());
+    }
+
+    private void writeFiles(ContentFile<?>[] files) throws IOException {
+      if (files == null) {
+        out.writeInt(-1);
+        return;
+      }
+      out.writeInt(files.length);
+      for (ContentFile<?> file : files) {
+        if (file instanceof DefaultKeyedFile) {
+          DefaultKeyedFile keyedFile = (DefaultKeyedFile) file;
+          out.writeByte(KEYED_FILE);
+          out.writeLong(keyedFile.transactionId());
+          out.writeByte(keyedFile.type().id());
+          out.writeLong(keyedFile.node().mask());
+          out.writeLong(keyedFile.node().index());
+        } else {
+          out.writeByte(ICEBERG_FILE);
+        }
+        fileWriter.write(file);
+      }
+    }
+
+    private void writeStringMap(Map<String, String> map) throws IOException {
+      if (map == null) {
+        out.writeInt(-1);
+        return;
+      }
+      out.writeInt(map.size());
+      for (Map.Entry<String, String> entry : map.entrySet()) {
+        ContentFileCodec.writeString(out, entry.getKey());
+        ContentFileCodec.writeString(out, entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Returns the partition specs of the table by spec id, including those of the change store of a keyed table.
+   */
+  private static Map<Integer, PartitionSpec> partitionSpecs(ArcticTable table) {
+    Map<Integer, PartitionSpec> specs = Maps.newHashMap();
+    if (table.isKeyedTable()) {
+      specs.putAll(table.asKeyedTable().baseTable().specs());
+      table.asKeyedTable().changeTable().specs().forEach(specs::putIfAbsent);
+    } else if (table.isUnkeyedTable()) {
+      specs.putAll(table.asUnkeyedTable().specs());
+    } else {
+      specs.put(table.spec().specId(), table.spec());
+    }
+    return specs;
+  }
+
+  private static class Decoder {
+    private final DataInputStream in;
+    private final ContentFileCodec.Reader fileReader;
+    private final Function<TableHandle, ArcticTable> tableResolver;
+    private final ArcticTable defaultTable;
+    private final List<ArcticTable> tables = Lists.newArrayList();
+    private final Map<ArcticTable, Map<Integer, PartitionSpec>> tableSpecs = new IdentityHashMap<>();
+
+    Decoder(
+        DataInputStream in, Function<TableHandle, ArcticTable> tableResolver, ArcticTable defaultTable) {
+      this.in = in;
+      this.tableResolver = tableResolver;
+      this.defaultTable = defaultTable;
+      this.fileReader = new ContentFileCodec.Reader(in);
+    }
+
+    Object readObject() throws IOException {
+      byte kind = in.readByte();
+      switch (kind) {
+        case INPUT:
+          return readInput();
+        case OUTPUT:
+          return readOutput();
+        case INPUT_MAP:
+          int size = in.readInt();
+          Map<Integer, RewriteFilesInput> inputs = Maps.newHashMapWithExpectedSize(size);
+          for (int i = 0; i < size; i++) {
+            inputs.put(in.readInt(), readInput());
+          }
+          return inputs;
+        default:
+          throw new IllegalArgumentException("Unknown optimizing payload kind " + kind);
+      }
+    }
+
+    private RewriteFilesInput readInput() throws IOException {
+      ArcticTable table = readTableRef();
+      Map<String, String> options = readStringMap();
+      ArcticTable filesTable = table == null ? defaultTable : table;
+      RewriteFilesInput input = new RewriteFilesInput(
+          readFiles(new DataFile[0], filesTable),
+          readFiles(new DataFile[0], filesTable),
+          readFiles(new ContentFile<?>[0], filesTable),
+          readFiles(new ContentFile<?>[0], filesTable),
+          table);
+      if (options != null) {
+        input.options(options);
+      }
+      return input;
+    }
+
+    private RewriteFilesOutput readOutput() throws IOException {
+      DataFile[] dataFiles = readFiles(new DataFile[0], defaultTable);
+      DeleteFile[] deleteFiles = readFiles(new DeleteFile[0], defaultTable);
+      return new RewriteFilesOutput(dataFiles, deleteFiles, readStringMap());
+    }
+
+    private ArcticTable readTableRef() throws IOException {
+      int ref = in.readInt();
+      if (ref < 0) {
+        return null;
+      }
+      if (ref < tables.size()) {
+        return tables.get(ref);
+      }
+      ArcticTable table;
+      if (in.readByte() == TABLE_OBJECT) {
+        table = SerializationUtil.simpleDeserialize(ContentFileCodec.readBytes(in));
+      } else {
+        TableHandle handle = readHandle();
+        if (tableResolver == null) {
+          throw new IllegalStateException("Can not resolve table handle " + handle + " without a table resolver");
+        }
+        table = tableResolver.apply(handle);
+      }
+      tables.add(table);
+      return table;
+    }
+
+    private TableHandle readHandle() throws IOException {
+      String catalogUrl = ContentFileCodec.readString(in);
+      TableIdentifier identifier = TableIdentifier.of(
+          ContentFileCodec.readString(in), ContentFileCodec.readString(in), ContentFileCodec.readString(in));
+      long snapshotId = in.readLong();
+      long changeSnapshotId = in.readLong();
+      int schemaId = in.readInt();
+      return new TableHandle(catalogUrl, identifier, snapshotId, changeSnapshotId, schemaId,
+          ContentFileCodec.readString(in), ContentFileCodec.readString(in));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <F extends ContentFile<?>> F[] readFiles(F[] type, ArcticTable table) throws IOException {
+      int size = in.readInt();
+      if (size < 0) {
+        return null;
+      }
+      Map<Integer, PartitionSpec> specs = null;
+      if (size > 0) {
+        Preconditions.checkState(table != null, "Can not decode content files without the table they belong to");
+        specs = tableSpecs.computeIfAbsent(table, OptimizingCodec::partitionSpecs);
+      }
+      List<ContentFile<?>> files = Lists.newArrayListWithCapacity(size);
+      for (int i = 0; i < size; i++) {
+        byte fileType = in.readByte();
+        if (fileType == KEYED_FILE) {
+          long transactionId = in.readLong();
+          DataFileType dataFileType = DataFileType.ofId(in.readByte());
+          DataTreeNode node = DataTreeNode.of(in.readLong(), in.readLong());
+          DataFile dataFile = (DataFile) fileReader.read(specs);
+          files.add(DefaultKeyedFile.of(
+              dataFile, new DefaultKeyedFile.FileMeta(transactionId, dataFileType, node)));
+        } else {
+          files.add(fileReader.read(specs));
+        }
+      }
+      return files.toArray(type);
+    }
+
+    private Map<String, String> readStringMap() throws IOException {
+      int size = in.readInt();
+      if (size < 0) {
+        return null;
+      }
+      Map<String, String> map = Maps.newHashMapWithExpectedSize(size);
+      for (int i = 0; i < size; i++) {
+        map.put(ContentFileCodec.readString(in), ContentFileCodec.readString(in));
+      }
+      return map;
+    }
+  }
+}
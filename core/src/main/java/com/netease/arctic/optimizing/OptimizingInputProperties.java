@@ -39,6 +39,8 @@ public class OptimizingInputProperties {
 
   public static final String TASK_EXECUTOR_FACTORY_IMPL = "task-executor-factory-impl";
 
+  public static final String REWRITE_PARALLELISM = "rewrite-parallelism";
+
   private final Map<String, String> properties;
 
   private OptimizingInputProperties(Map<String, String> properties) {
@@ -78,6 +80,11 @@ public class OptimizingInputProperties {
     return this;
   }
 
+  public OptimizingInputProperties setRewriteParallelism(int rewriteParallelism) {
+    properties.put(REWRITE_PARALLELISM, String.valueOf(rewriteParallelism));
+    return this;
+  }
+
   public OptimizingInputProperties needMoveFile2HiveLocation() {
     properties.put(MOVE_FILE_TO_HIVE_LOCATION, "true");
     return this;
@@ -103,6 +110,14 @@ public class OptimizingInputProperties {
     return properties.get(TASK_EXECUTOR_FACTORY_IMPL);
   }
 
+  public int getRewriteParallelism() {
+    String s = properties.get(REWRITE_PARALLELISM);
+    if (StringUtils.isBlank(s)) {
+      return 1;
+    }
+    return Integer.parseInt(s);
+  }
+
   public boolean getMoveFile2HiveLocation() {
     String s = properties.get(MOVE_FILE_TO_HIVE_LOCATION);
     if (StringUtils.isBlank(s)) {
@@ -37,6 +37,8 @@ public class OptimizingTaskSummary {
 
   public static final String EXECUTE_DURATION = "executor_duration";
 
+  public static final String CONCATENATED_DATA_FILE_CNT = "concatenated_data_file_cnt";
+
   private final Map<String, String> summary = new HashMap<>();
 
   public void setDataFileCnt(int dataFileCnt) {
@@ -67,6 +69,10 @@ public class OptimizingTaskSummary {
     summary.put(EXECUTE_DURATION, String.valueOf(executeDuration));
   }
 
+  public void setConcatenatedDataFileCnt(int concatenatedDataFileCnt) {
+    summary.put(CONCATENATED_DATA_FILE_CNT, String.valueOf(concatenatedDataFileCnt));
+  }
+
   public Map<String, String> getSummary() {
     return summary;
   }
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.optimizing;
+
+import com.netease.arctic.io.ArcticHadoopFileIO;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.TableIdentifier;
+import com.netease.arctic.table.TableMetaStore;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.hash.Hasher;
+import org.apache.iceberg.relocated.com.google.common.hash.Hashing;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * A lightweight reference to the table of an optimizing task, shipped instead of the java serialized table.
+ * <p>
+ * Optimizers resolve the handle by loading the table from the catalog at {@link #getCatalogUrl()}, and may reuse a
+ * loaded table for every task carrying an equal handle. The handle pins the snapshots, schema, authentication and
+ * properties the task was planned against, so any change of them produces a different handle.
+ */
+public class TableHandle implements Serializable {
+
+  public static final long NO_SNAPSHOT = -1L;
+
+  private final String catalogUrl;
+  private final TableIdentifier identifier;
+  private final long snapshotId;
+  private final long changeSnapshotId;
+  private final int schemaId;
+  private final String authFingerprint;
+  private final String propertiesFingerprint;
+
+  public TableHandle(
+      String catalogUrl,
+      TableIdentifier identifier,
+      long snapshotId,
+      long changeSnapshotId,
+      int schemaId,
+      String authFingerprint,
+      String propertiesFingerprint) {
+    Preconditions.checkNotNull(catalogUrl, "catalogUrl can not be null");
+    Preconditions.checkNotNull(identifier, "identifier can not be null");
+    this.catalogUrl = catalogUrl;
+    this.identifier = identifier;
+    this.snapshotId = snapshotId;
+    this.changeSnapshotId = changeSnapshotId;
+    this.schemaId = schemaId;
+    this.authFingerprint = authFingerprint == null ? "" : authFingerprint;
+    this.propertiesFingerprint = propertiesFingerprint == null ? "" : propertiesFingerprint;
+  }
+
+  /**
+   * Build the handle of a table.
+   *
+   * @param table            the table to refer to
+   * @param tableServiceUrl  url of the AMS table service, thrift://host:port or zookeeper://host:port/cluster
+   * @return the handle of the table
+   */
+  public static TableHandle of(ArcticTable table, String tableServiceUrl) {
+    String catalogUrl = tableServiceUrl.endsWith("/") ?
+        tableServiceUrl + table.id().getCatalog() :
+        tableServiceUrl + "/" + table.id().getCatalog();
+    long snapshotId;
+    long changeSnapshotId = NO_SNAPSHOT;
+    if (table.isKeyedTable()) {
+      snapshotId = snapshotId(table.asKeyedTable().baseTable());
+      changeSnapshotId = snapshotId(table.asKeyedTable().changeTable());
+    } else {
+      snapshotId = snapshotId(table.asUnkeyedTable());
+    }
+    return new TableHandle(
+        catalogUrl,
+        table.id(),
+        snapshotId,
+        changeSnapshotId,
+        table.schema().schemaId(),
+        authFingerprint(table),
+        propertiesFingerprint(table.properties()));
+  }
+
+  private static long snapshotId(Table table) {
+    Snapshot snapshot = table.currentSnapshot();
+    return snapshot == null ? NO_SNAPSHOT : snapshot.snapshotId();
+  }
+
+  private static String authFingerprint(ArcticTable table) {
+    if (!(table.io() instanceof ArcticHadoopFileIO)) {
+      return "";
+    }
+    TableMetaStore metaStore = ((ArcticHadoopFileIO) table.io()).getTableMetaStore();
+    Hasher hasher = Hashing.md5().newHasher();
+    putBytes(hasher, metaStore.getHdfsSite());
+    putBytes(hasher, metaStore.getCoreSite());
+    putBytes(hasher, metaStore.getMetaStoreSite());
+    putBytes(hasher, metaStore.getKrbConf());
+    putBytes(hasher, metaStore.getKrbKeyTab());
+    putString(hasher, metaStore.getKrbPrincipal());
+    putString(hasher, metaStore.getAuthMethod());
+    putString(hasher, metaStore.getHadoopUsername());
+    return hasher.hash().toString();
+  }
+
+  /**
+   * The fingerprint of table properties, equal properties always have equal fingerprints.
+   */
+  public static String propertiesFingerprint(Map<String, String> properties) {
+    Hasher hasher = Hashing.md5().newHasher();
+    new TreeMap<>(properties).forEach((key, value) -> {
+      putString(hasher, key);
+      putString(hasher, value);
+    });
+    return hasher.hash().toString();
+  }
+
+  private static void putBytes(Hasher hasher, byte[] bytes) {
+    if (bytes == null) {
+      hasher.putInt(-1);
+    } else {
+      hasher.putInt(bytes.length).putBytes(bytes);
+    }
+  }
+
+  private static void putString(Hasher hasher, String value) {
+    putBytes(hasher, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public String getCatalogUrl() {
+    return catalogUrl;
+  }
+
+  public TableIdentifier getIdentifier() {
+    return identifier;
+  }
+
+  public long getSnapshotId() {
+    return snapshotId;
+  }
+
+  public long getChangeSnapshotId() {
+    return changeSnapshotId;
+  }
+
+  public int getSchemaId() {
+    return schemaId;
+  }
+
+  public String getAuthFingerprint() {
+    return authFingerprint;
+  }
+
+  public String getPropertiesFingerprint() {
+    return propertiesFingerprint;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    TableHandle that = (TableHandle) o;
+    return snapshotId == that.snapshotId &&
+        changeSnapshotId == that.changeSnapshotId &&
+        schemaId == that.schemaId &&
+        Objects.equals(catalogUrl, that.catalogUrl) &&
+        Objects.equals(identifier, that.identifier) &&
+        Objects.equals(authFingerprint, that.authFingerprint) &&
+        Objects.equals(propertiesFingerprint, that.propertiesFingerprint);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(catalogUrl, identifier, snapshotId, changeSnapshotId, schemaId, authFingerprint,
+        propertiesFingerprint);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("catalogUrl", catalogUrl)
+        .add("identifier", identifier)
+        .add("snapshotId", snapshotId)
+        .add("changeSnapshotId", changeSnapshotId)
+        .add("schemaId", schemaId)
+        .toString();
+  }
+}
@@ -26,15 +26,16 @@ import com.netease.arctic.table.TableProperties;
 import com.netease.arctic.utils.TablePropertyUtil;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.PartitionSpec;
-import org.apache.iceberg.StructLike;
 import org.apache.iceberg.TableScan;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.util.BinPacking;
 import org.apache.iceberg.util.PropertyUtil;
 import org.apache.iceberg.util.StructLikeMap;
+import org.apache.iceberg.util.ThreadPools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +47,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -57,13 +61,12 @@ public class BasicKeyedTableScan implements KeyedTableScan {
   private static final Logger LOG = LoggerFactory.getLogger(BasicKeyedTableScan.class);
 
   private final BasicKeyedTable table;
-  List<NodeFileScanTask> splitTasks = new ArrayList<>();
-  private final StructLikeMap<List<NodeFileScanTask>> fileScanTasks;
   private final int lookBack;
   private final long openFileCost;
   private final long splitSize;
   private Double splitTaskByDeleteRatio;
   private Expression expression;
+  private ExecutorService planExecutor;
 
   public BasicKeyedTableScan(BasicKeyedTable table) {
     this.table = table;
@@ -73,7 +76,10 @@ public class BasicKeyedTableScan implements KeyedTableScan {
         TableProperties.SPLIT_SIZE, TableProperties.SPLIT_SIZE_DEFAULT);
     this.lookBack = PropertyUtil.propertyAsInt(table.properties(),
         TableProperties.SPLIT_LOOKBACK, TableProperties.SPLIT_LOOKBACK_DEFAULT);
-    this.fileScanTasks = StructLikeMap.create(table.spec().partitionType());
+    if (PropertyUtil.propertyAsBoolean(table.properties(),
+        TableProperties.SPLIT_PLAN_IN_PARALLEL, TableProperties.SPLIT_PLAN_IN_PARALLEL_DEFAULT)) {
+      this.planExecutor = ThreadPools.getWorkerPool();
+    }
   }
 
   /**
@@ -111,16 +117,21 @@ public class BasicKeyedTableScan implements KeyedTableScan {
     StructLikeMap<Collection<ArcticFileScanTask>> partitionedFiles =
         groupFilesByPartition(table.spec(), changeFileList, baseFileList);
     LOG.info("planning table {} need plan partition size {}", table.id(), partitionedFiles.size());
-    partitionedFiles.forEach(this::partitionPlan);
-    LOG.info("planning table {} partitionPlan end", table.id());
-    // 2.split node task (FileScanTask -> FileScanTask List)
-    split();
-    LOG.info("planning table {} split end", table.id());
+    // 2.plan node tasks of each partition and split them (FileScanTask -> FileScanTask List),
+    // partitions are consumed one by one so combined tasks are returned before all partitions are planned
+    Iterable<NodeFileScanTask> splitTasks = Iterables.concat(
+        Iterables.transform(planPartitions(partitionedFiles), this::split));
     // 3.combine node task (FileScanTask List -> CombinedScanTask)
     return combineNode(CloseableIterable.withNoopClose(splitTasks),
         splitSize, lookBack, openFileCost);
   }
 
+  @Override
+  public KeyedTableScan planWith(ExecutorService executorService) {
+    this.planExecutor = executorService;
+    return this;
+  }
+
   @Override
   public KeyedTableScan enableSplitTaskByDeleteRatio(double splitTaskByDeleteRatio) {
     this.splitTaskByDeleteRatio = splitTaskByDeleteRatio;
@@ -157,45 +168,67 @@ public class BasicKeyedTableScan implements KeyedTableScan {
     return CloseableIterable.transform(changeTableScan.planFiles(), s -> (ArcticFileScanTask) s);
   }
 
-  private void split() {
-    fileScanTasks.forEach((structLike, fileScanTasks1) -> {
-      for (NodeFileScanTask task : fileScanTasks1) {
-        if (task.dataTasks().size() < 2) {
-          splitTasks.add(task);
-          continue;
-        }
+  private Iterable<List<NodeFileScanTask>> planPartitions(
+      StructLikeMap<Collection<ArcticFileScanTask>> partitionedFiles) {
+    if (planExecutor == null) {
+      return Iterables.transform(partitionedFiles.values(), this::partitionPlan);
+    }
+    List<Future<List<NodeFileScanTask>>> plannedPartitions = partitionedFiles.values().stream()
+        .map(partitionFiles -> planExecutor.submit(() -> partitionPlan(partitionFiles)))
+        .collect(Collectors.toList());
+    return Iterables.transform(plannedPartitions, this::waitPartitionPlanned);
+  }
 
-        if (splitTaskByDeleteRatio != null) {
-          long deleteWeight = task.arcticEquityDeletes().stream().mapToLong(s -> s.file().fileSizeInBytes())
-              .map(s -> s + openFileCost)
-              .sum();
+  private List<NodeFileScanTask> waitPartitionPlanned(Future<List<NodeFileScanTask>> plannedPartition) {
+    try {
+      return plannedPartition.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while planning table " + table.id(), e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to plan table " + table.id(), e.getCause());
+    }
+  }
 
-          long dataWeight = task.dataTasks().stream().mapToLong(s -> s.file().fileSizeInBytes())
-              .map(s -> s + openFileCost)
-              .sum();
-          double deleteRatio = deleteWeight * 1.0 / dataWeight;
+  private List<NodeFileScanTask> split(List<NodeFileScanTask> partitionTasks) {
+    List<NodeFileScanTask> splitTasks = new ArrayList<>();
+    for (NodeFileScanTask task : partitionTasks) {
+      if (task.dataTasks().size() < 2) {
+        splitTasks.add(task);
+        continue;
+      }
 
-          if (deleteRatio < splitTaskByDeleteRatio) {
-            long targetSize = Math.min(new Double(deleteWeight / splitTaskByDeleteRatio).longValue(), splitSize);
-            split(task, targetSize);
-            continue;
-          }
-        }
+      if (splitTaskByDeleteRatio != null) {
+        long deleteWeight = task.arcticEquityDeletes().stream().mapToLong(s -> s.file().fileSizeInBytes())
+            .map(s -> s + openFileCost)
+            .sum();
+
+        long dataWeight = task.dataTasks().stream().mapToLong(s -> s.file().fileSizeInBytes())
+            .map(s -> s + openFileCost)
+            .sum();
+        double deleteRatio = deleteWeight * 1.0 / dataWeight;
 
-        if (task.cost() <= splitSize) {
-          splitTasks.add(task);
+        if (deleteRatio < splitTaskByDeleteRatio) {
+          long targetSize = Math.min(new Double(deleteWeight / splitTaskByDeleteRatio).longValue(), splitSize);
+          splitTasks.addAll(split(task, targetSize));
           continue;
         }
-        split(task, splitSize);
       }
-    });
+
+      if (task.cost() <= splitSize) {
+        splitTasks.add(task);
+        continue;
+      }
+      splitTasks.addAll(split(task, splitSize));
+    }
+    return splitTasks;
   }
 
-  private void split(NodeFileScanTask task, long targetSize) {
+  private List<NodeFileScanTask> split(NodeFileScanTask task, long targetSize) {
     CloseableIterable<NodeFileScanTask> tasksIterable =
         splitNode(CloseableIterable.withNoopClose(task.dataTasks()),
             task.arcticEquityDeletes(), targetSize, lookBack, openFileCost);
-    splitTasks.addAll(Lists.newArrayList(tasksIterable));
+    return Lists.newArrayList(tasksIterable);
   }
 
   public CloseableIterable<NodeFileScanTask> splitNode(
@@ -229,9 +262,10 @@ public class BasicKeyedTableScan implements KeyedTableScan {
   /**
    * Construct tree node task according to partition
    * 1. Put all files into the node they originally belonged to
-   * 2. Find all data nodes, traverse, and find the delete that intersects them
+   * 2. Index the equality deletes of each node by (mask, index)
+   * 3. Find all data nodes, and look up the deletes of their ancestors and descendants in the index
    */
-  private void partitionPlan(StructLike partition, Collection<ArcticFileScanTask> keyedTableTasks) {
+  private List<NodeFileScanTask> partitionPlan(Collection<ArcticFileScanTask> keyedTableTasks) {
     Map<DataTreeNode, NodeFileScanTask> nodeFileScanTaskMap = new HashMap<>();
     // planfiles() cannot guarantee the uniqueness of the file,
     // so Set<path> here is used to remove duplicate files
@@ -246,20 +280,13 @@ public class BasicKeyedTableScan implements KeyedTableScan {
       }
     });
 
+    // mask -> index -> equality deletes of the node, taken before any delete of other nodes is attached
+    Map<Long, Map<Long, List<ArcticFileScanTask>>> nodeDeletes = new HashMap<>();
     nodeFileScanTaskMap.forEach((treeNode, nodeFileScanTask) -> {
-      if (!nodeFileScanTask.isDataNode()) {
-        return;
+      if (!nodeFileScanTask.arcticEquityDeletes().isEmpty()) {
+        nodeDeletes.computeIfAbsent(treeNode.mask(), mask -> new HashMap<>())
+            .put(treeNode.index(), Lists.newArrayList(nodeFileScanTask.arcticEquityDeletes()));
       }
-
-      nodeFileScanTaskMap.forEach((treeNode1, nodeFileScanTask1) -> {
-        if (!treeNode1.equals(treeNode) && (treeNode1.isSonOf(treeNode) || treeNode.isSonOf(treeNode1))) {
-          List<ArcticFileScanTask> deletes = nodeFileScanTask1.arcticEquityDeletes().stream()
-              .filter(file -> file.file().node().equals(treeNode1))
-              .collect(Collectors.toList());
-
-          nodeFileScanTask.addTasks(deletes);
-        }
-      });
     });
 
     List<NodeFileScanTask> fileScanTaskList = new ArrayList<>();
@@ -267,10 +294,43 @@ public class BasicKeyedTableScan implements KeyedTableScan {
       if (!nodeFileScanTask.isDataNode()) {
         return;
       }
+
+      nodeDeletes.forEach((mask, deletesOfLevel) -> {
+        if (mask < treeNode.mask()) {
+          // a node has at most one ancestor in each upper level
+          List<ArcticFileScanTask> deletes = deletesOfLevel.get(treeNode.index() & mask);
+          if (deletes != null) {
+            nodeFileScanTask.addTasks(deletes);
+          }
+        } else if (mask > treeNode.mask()) {
+          attachDescendantDeletes(nodeFileScanTask, treeNode, mask, deletesOfLevel);
+        }
+      });
       fileScanTaskList.add(nodeFileScanTask);
     });
 
-    fileScanTasks.put(partition, fileScanTaskList);
+    return fileScanTaskList;
+  }
+
+  private void attachDescendantDeletes(
+      NodeFileScanTask nodeFileScanTask, DataTreeNode treeNode,
+      long mask, Map<Long, List<ArcticFileScanTask>> deletesOfLevel) {
+    long step = treeNode.mask() + 1;
+    if ((mask + 1) / step <= deletesOfLevel.size()) {
+      // descendants in a lower level are index, index + step, index + 2 * step ...
+      for (long index = treeNode.index(); index <= mask; index += step) {
+        List<ArcticFileScanTask> deletes = deletesOfLevel.get(index);
+        if (deletes != null) {
+          nodeFileScanTask.addTasks(deletes);
+        }
+      }
+    } else {
+      deletesOfLevel.forEach((index, deletes) -> {
+        if ((index & treeNode.mask()) == treeNode.index()) {
+          nodeFileScanTask.addTasks(deletes);
+        }
+      });
+    }
   }
 
   public StructLikeMap<Collection<ArcticFileScanTask>> groupFilesByPartition(
@@ -21,6 +21,8 @@ package com.netease.arctic.scan;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.io.CloseableIterable;
 
+import java.util.concurrent.ExecutorService;
+
 /**
  * API for configuring a {@link com.netease.arctic.table.KeyedTable} scan.
  */
@@ -41,6 +43,14 @@ public interface KeyedTableScan {
    */
   CloseableIterable<CombinedScanTask> planTasks();
 
+  /**
+   * Plan the partitions of this scan in parallel with the given executor service.
+   *
+   * @param executorService the executor service to plan partitions with
+   * @return this scan for chaining
+   */
+  KeyedTableScan planWith(ExecutorService executorService);
+
   /**
    * To enable the feature of splitting tasks based on the delete ratio,
    * If the delete ratio under a node is less than splitTaskByDeleteRatio value,
@@ -109,6 +109,10 @@ public class TableProperties {
   public static final String SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES = "self-optimizing.full.rewrite-all-files";
   public static final boolean SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES_DEFAULT = true;
 
+  public static final String SELF_OPTIMIZING_COMMIT_PARTITION_BATCH_SIZE =
+      "self-optimizing.commit.partition-batch-size";
+  public static final int SELF_OPTIMIZING_COMMIT_PARTITION_BATCH_SIZE_DEFAULT = 0; // commit the whole process
+
   /**
    * deprecated table optimize related properties
    */
@@ -172,6 +176,9 @@ public class TableProperties {
   public static final String MIN_ORPHAN_FILE_EXISTING_TIME = "clean-orphan-file.min-existing-time-minutes";
   public static final long MIN_ORPHAN_FILE_EXISTING_TIME_DEFAULT = 2880; // 2 Days
 
+  public static final String ORPHAN_CLEAN_VALID_FILES_MEMORY_SIZE = "clean-orphan-file.valid-files.memory-size-bytes";
+  public static final long ORPHAN_CLEAN_VALID_FILES_MEMORY_SIZE_DEFAULT = 256 * 1024 * 1024; // 256 MB
+
   public static final String ENABLE_TABLE_TRASH = "table-trash.enabled";
   public static final boolean ENABLE_TABLE_TRASH_DEFAULT = false;
 
@@ -242,6 +249,9 @@ public class TableProperties {
 
   public static final String SPLIT_OPEN_FILE_COST = org.apache.iceberg.TableProperties.SPLIT_OPEN_FILE_COST;
   public static final long SPLIT_OPEN_FILE_COST_DEFAULT = 4 * 1024 * 1024; // 4MB
+
+  public static final String SPLIT_PLAN_IN_PARALLEL = "read.split.plan-in-parallel";
+  public static final boolean SPLIT_PLAN_IN_PARALLEL_DEFAULT = false;
   /**
    * log store related properties
    */
@@ -264,6 +274,7 @@ public class TableProperties {
 
   public static final String LOG_STORE_DATA_VERSION = "log-store.data-version";
   public static final String LOG_STORE_DATA_VERSION_DEFAULT = "v1";
+  public static final String LOG_STORE_DATA_VERSION_V2 = "v2";
 
   public static final String LOG_STORE_PROPERTIES_PREFIX = "properties.";
 
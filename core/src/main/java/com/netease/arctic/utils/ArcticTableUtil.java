@@ -3,6 +3,16 @@ package com.netease.arctic.utils;
 import com.netease.arctic.catalog.IcebergCatalogWrapper;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.UnkeyedTable;
+import org.apache.iceberg.HasTableOperations;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.hadoop.Util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 
 public class ArcticTableUtil {
   /**
@@ -37,4 +47,45 @@ public class ArcticTableUtil {
     }
     return tableRootLocation;
   }
+
+  /**
+   * Check whether the loaded metadata of all stores of the arctic table is still current, without refreshing the
+   * table. Only Hadoop table stores can be checked this way, by comparing the version hint with the version of the
+   * loaded metadata file. Other stores are treated as changed.
+   */
+  public static boolean isCurrentMetadata(ArcticTable arcticTable) {
+    return arcticTable.io().doAs(() -> {
+      if (arcticTable.isKeyedTable()) {
+        return isCurrentStoreMetadata(arcticTable.asKeyedTable().baseTable()) &&
+            isCurrentStoreMetadata(arcticTable.asKeyedTable().changeTable());
+      }
+      return isCurrentStoreMetadata(arcticTable.asUnkeyedTable());
+    });
+  }
+
+  private static boolean isCurrentStoreMetadata(Table store) {
+    if (!(store instanceof HasTableOperations)) {
+      return false;
+    }
+    TableMetadata current = ((HasTableOperations) store).operations().current();
+    if (current == null || current.metadataFileLocation() == null) {
+      return false;
+    }
+    // metadata files of Hadoop tables are named as v<version>.metadata.json, optionally with a codec extension
+    String metadataLocation = current.metadataFileLocation();
+    int nameStart = metadataLocation.lastIndexOf('/') + 1;
+    String fileName = metadataLocation.substring(nameStart);
+    int versionEnd = fileName.indexOf('.');
+    if (!fileName.startsWith("v") || versionEnd < 0) {
+      return false;
+    }
+    String versionHintLocation = metadataLocation.substring(0, nameStart) + Util.VERSION_HINT_FILENAME;
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        store.io().newInputFile(versionHintLocation).newStream(), StandardCharsets.UTF_8))) {
+      String versionHint = reader.readLine();
+      return versionHint != null && versionHint.trim().equals(fileName.substring(1, versionEnd));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read version hint " + versionHintLocation, e);
+    }
+  }
 }
@@ -24,6 +24,7 @@ import com.netease.arctic.ams.api.TableMeta;
 import com.netease.arctic.ams.api.properties.CatalogMetaProperties;
 import com.netease.arctic.catalog.ArcticCatalog;
 import com.netease.arctic.catalog.BasicIcebergCatalog;
+import com.netease.arctic.catalog.CachingArcticCatalog;
 import com.netease.arctic.io.ArcticFileIO;
 import com.netease.arctic.op.ArcticHadoopTableOperations;
 import com.netease.arctic.op.ArcticTableOperations;
@@ -181,7 +182,19 @@ public class CatalogUtil {
    * @return Whether native iceberg catalog. true is native iceberg catalog, false isn't native iceberg catalog.
    */
   public static boolean isIcebergCatalog(ArcticCatalog arcticCatalog) {
-    return arcticCatalog instanceof BasicIcebergCatalog;
+    return unwrap(arcticCatalog) instanceof BasicIcebergCatalog;
+  }
+
+  /**
+   * get the catalog wrapped by a {@link CachingArcticCatalog}
+   * @param arcticCatalog target arctic catalog
+   * @return the wrapped catalog if it is cached, or the catalog itself
+   */
+  public static ArcticCatalog unwrap(ArcticCatalog arcticCatalog) {
+    if (arcticCatalog instanceof CachingArcticCatalog) {
+      return ((CachingArcticCatalog) arcticCatalog).wrapped();
+    }
+    return arcticCatalog;
   }
 
   /**
@@ -0,0 +1,398 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.utils.map;
+
+import com.netease.arctic.data.ChangedLsn;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.types.Comparators;
+import org.apache.iceberg.types.JavaHash;
+import org.apache.iceberg.types.JavaHashes;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+
+import java.io.Closeable;
+import java.util.Comparator;
+
+/**
+ * In-memory index from primary keys to the latest {@link ChangedLsn} deleting them, used to apply equality deletes.
+ * <p>
+ * Keys are hashed into an open addressing table with linear probing, and the lsn is kept as two primitive longs, so
+ * neither probing nor updating an existing key allocates. Single-column long, int and string keys are stored
+ * directly, other keys are stored as {@link StructLike}.
+ */
+public abstract class ChangedLsnIndex implements Closeable {
+
+  private static final int DEFAULT_CAPACITY = 1 << 10;
+
+  private boolean[] used;
+  private long[] transactionIds;
+  private long[] fileOffsets;
+  private int mask;
+  private int size;
+
+  private boolean hasNullKey;
+  private long nullKeyTransactionId;
+  private long nullKeyFileOffset;
+
+  /**
+   * Create an index for keys of the given type.
+   *
+   * @param keyType the type of primary keys
+   * @return an index specialized for the key type
+   */
+  public static ChangedLsnIndex create(Types.StructType keyType) {
+    if (keyType.fields().size() == 1) {
+      Type type = keyType.fields().get(0).type();
+      switch (type.typeId()) {
+        case INTEGER:
+        case LONG:
+          return new LongKeyIndex();
+        case STRING:
+          return new StringKeyIndex();
+        default:
+      }
+    }
+    return new StructKeyIndex(keyType);
+  }
+
+  /**
+   * Record that the key is deleted at the lsn, unless it has been deleted at a bigger lsn.
+   *
+   * @param key           the primary key, it is held by the index if the key is not stored directly
+   * @param transactionId the transaction id of the delete
+   * @param fileOffset    the file offset of the delete
+   */
+  public void putIfNewer(StructLike key, long transactionId, long fileOffset) {
+    if (isNullKey(key)) {
+      if (!hasNullKey || compare(transactionId, fileOffset, nullKeyTransactionId, nullKeyFileOffset) >= 0) {
+        hasNullKey = true;
+        nullKeyTransactionId = transactionId;
+        nullKeyFileOffset = fileOffset;
+      }
+      return;
+    }
+    if (used == null) {
+      allocate(DEFAULT_CAPACITY);
+    }
+    int slot = slotOf(key);
+    if (used[slot]) {
+      if (compare(transactionId, fileOffset, transactionIds[slot], fileOffsets[slot]) >= 0) {
+        transactionIds[slot] = transactionId;
+        fileOffsets[slot] = fileOffset;
+      }
+      return;
+    }
+    used[slot] = true;
+    storeKey(slot, key);
+    transactionIds[slot] = transactionId;
+    fileOffsets[slot] = fileOffset;
+    size++;
+    // keep the load factor under 0.5
+    if (size * 2 > used.length) {
+      resize();
+    }
+  }
+
+  /**
+   * Whether the row of the key written at the lsn is deleted, which means the key is deleted at a bigger lsn.
+   *
+   * @param key           the primary key, it is not held by the index
+   * @param transactionId the transaction id of the row
+   * @param fileOffset    the file offset of the row
+   * @return true if the row is deleted
+   */
+  public boolean isDeleted(StructLike key, long transactionId, long fileOffset) {
+    if (isNullKey(key)) {
+      return hasNullKey && compare(nullKeyTransactionId, nullKeyFileOffset, transactionId, fileOffset) > 0;
+    }
+    if (used == null) {
+      return false;
+    }
+    int slot = slotOf(key);
+    return used[slot] && compare(transactionIds[slot], fileOffsets[slot], transactionId, fileOffset) > 0;
+  }
+
+  public int size() {
+    return hasNullKey ? size + 1 : size;
+  }
+
+  @Override
+  public void close() {
+    // do nothing and gc will discard it
+  }
+
+  protected abstract boolean isNullKey(StructLike key);
+
+  protected abstract int hash(StructLike key);
+
+  protected abstract int storedHash(int slot);
+
+  protected abstract boolean keyEquals(int slot, StructLike key);
+
+  protected abstract void storeKey(int slot, StructLike key);
+
+  protected abstract void allocateKeys(int capacity);
+
+  /**
+   * Move stored keys to a new key table of the given capacity.
+   *
+   * @param newSlots    the new slot of each old slot, -1 for empty slots
+   * @param newCapacity the capacity of the new key table
+   */
+  protected abstract void moveKeys(int[] newSlots, int newCapacity);
+
+  protected static int mix(int hash) {
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private static int compare(long transactionId, long fileOffset, long otherTransactionId, long otherFileOffset) {
+    int result = Long.compare(transactionId, otherTransactionId);
+    return result != 0 ? result : Long.compare(fileOffset, otherFileOffset);
+  }
+
+  private int slotOf(StructLike key) {
+    int slot = hash(key) & mask;
+    while (used[slot] && !keyEquals(slot, key)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void allocate(int capacity) {
+    used = new boolean[capacity];
+    transactionIds = new long[capacity];
+    fileOffsets = new long[capacity];
+    mask = capacity - 1;
+    allocateKeys(capacity);
+  }
+
+  private void resize() {
+    int newCapacity = used.length * 2;
+    int newMask = newCapacity - 1;
+    boolean[] newUsed = new boolean[newCapacity];
+    long[] newTransactionIds = new long[newCapacity];
+    long[] newFileOffsets = new long[newCapacity];
+    int[] newSlots = new int[used.length];
+    for (int i = 0; i < used.length; i++) {
+      if (!used[i]) {
+        newSlots[i] = -1;
+        continue;
+      }
+      int slot = storedHash(i) & newMask;
+      while (newUsed[slot]) {
+        slot = (slot + 1) & newMask;
+      }
+      newUsed[slot] = true;
+      newTransactionIds[slot] = transactionIds[i];
+      newFileOffsets[slot] = fileOffsets[i];
+      newSlots[i] = slot;
+    }
+    moveKeys(newSlots, newCapacity);
+    used = newUsed;
+    transactionIds = newTransactionIds;
+    fileOffsets = newFileOffsets;
+    mask = newMask;
+  }
+
+  private static class LongKeyIndex extends ChangedLsnIndex {
+    private long[] keys;
+
+    private static long keyOf(StructLike key) {
+      return key.get(0, Number.class).longValue();
+    }
+
+    @Override
+    protected boolean isNullKey(StructLike key) {
+      return key.get(0, Object.class) == null;
+    }
+
+    @Override
+    protected int hash(StructLike key) {
+      return mix(Long.hashCode(keyOf(key)));
+    }
+
+    @Override
+    protected int storedHash(int slot) {
+      return mix(Long.hashCode(keys[slot]));
+    }
+
+    @Override
+    protected boolean keyEquals(int slot, StructLike key) {
+      return keys[slot] == keyOf(key);
+    }
+
+    @Override
+    protected void storeKey(int slot, StructLike key) {
+      keys[slot] = keyOf(key);
+    }
+
+    @Override
+    protected void allocateKeys(int capacity) {
+      keys = new long[capacity];
+    }
+
+    @Override
+    protected void moveKeys(int[] newSlots, int newCapacity) {
+      long[] newKeys = new long[newCapacity];
+      for (int i = 0; i < newSlots.length; i++) {
+        if (newSlots[i] >= 0) {
+          newKeys[newSlots[i]] = keys[i];
+        }
+      }
+      keys = newKeys;
+    }
+  }
+
+  private static class StringKeyIndex extends ChangedLsnIndex {
+    private static final Comparator<CharSequence> CHAR_SEQUENCES = Comparators.charSequences();
+
+    private CharSequence[] keys;
+
+    // readers may pass avro Utf8 or other char sequences, which are compared and hashed without copying
+    private static CharSequence keyOf(StructLike key) {
+      return key.get(0, CharSequence.class);
+    }
+
+    @Override
+    protected boolean isNullKey(StructLike key) {
+      return key.get(0, Object.class) == null;
+    }
+
+    @Override
+    protected int hash(StructLike key) {
+      return mix(JavaHashes.hashCode(keyOf(key)));
+    }
+
+    @Override
+    protected int storedHash(int slot) {
+      return mix(JavaHashes.hashCode(keys[slot]));
+    }
+
+    @Override
+    protected boolean keyEquals(int slot, StructLike key) {
+      return CHAR_SEQUENCES.compare(keys[slot], keyOf(key)) == 0;
+    }
+
+    @Override
+    protected void storeKey(int slot, StructLike key) {
+      // the char sequence may be reused by the reader, so hold an immutable copy
+      keys[slot] = keyOf(key).toString();
+    }
+
+    @Override
+    protected void allocateKeys(int capacity) {
+      keys = new CharSequence[capacity];
+    }
+
+    @Override
+    protected void moveKeys(int[] newSlots, int newCapacity) {
+      CharSequence[] newKeys = new CharSequence[newCapacity];
+      for (int i = 0; i < newSlots.length; i++) {
+        if (newSlots[i] >= 0) {
+          newKeys[newSlots[i]] = keys[i];
+        }
+      }
+      keys = newKeys;
+    }
+  }
+
+  private static class StructKeyIndex extends ChangedLsnIndex {
+    private final JavaHash<StructLike> structHash;
+    // the comparators of Iceberg are not null-safe, while any column of a primary key may be null
+    private final Comparator<Object>[] fieldComparators;
+    private StructLike[] keys;
+    private int[] hashes;
+
+    @SuppressWarnings("unchecked")
+    private StructKeyIndex(Types.StructType keyType) {
+      this.structHash = JavaHash.forType(keyType);
+      this.fieldComparators = keyType.fields().stream()
+          .map(field -> Comparators.nullsFirst().thenComparing(fieldComparator(field.type())))
+          .toArray(Comparator[]::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparator<Object> fieldComparator(Type type) {
+      switch (type.typeId()) {
+        case STRUCT:
+          return (Comparator<Object>) (Comparator<?>) Comparators.forType(type.asStructType());
+        case LIST:
+          return (Comparator<Object>) (Comparator<?>) Comparators.forType(type.asListType());
+        case MAP:
+          throw new UnsupportedOperationException("Cannot compare keys of map type " + type);
+        default:
+          return Comparators.forType(type.asPrimitiveType());
+      }
+    }
+
+    @Override
+    protected boolean isNullKey(StructLike key) {
+      return false;
+    }
+
+    @Override
+    protected int hash(StructLike key) {
+      return mix(structHash.hash(key));
+    }
+
+    @Override
+    protected int storedHash(int slot) {
+      return hashes[slot];
+    }
+
+    @Override
+    protected boolean keyEquals(int slot, StructLike key) {
+      StructLike storedKey = keys[slot];
+      for (int i = 0; i < fieldComparators.length; i++) {
+        if (fieldComparators[i].compare(storedKey.get(i, Object.class), key.get(i, Object.class)) != 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    protected void storeKey(int slot, StructLike key) {
+      keys[slot] = key;
+      hashes[slot] = hash(key);
+    }
+
+    @Override
+    protected void allocateKeys(int capacity) {
+      keys = new StructLike[capacity];
+      hashes = new int[capacity];
+    }
+
+    @Override
+    protected void moveKeys(int[] newSlots, int newCapacity) {
+      StructLike[] newKeys = new StructLike[newCapacity];
+      int[] newHashes = new int[newCapacity];
+      for (int i = 0; i < newSlots.length; i++) {
+        if (newSlots[i] >= 0) {
+          newKeys[newSlots[i]] = keys[i];
+          newHashes[newSlots[i]] = hashes[i];
+        }
+      }
+      keys = newKeys;
+      hashes = newHashes;
+    }
+  }
+}
@@ -44,6 +44,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -315,6 +316,23 @@ public class RocksDBBackend {
     }
   }
 
+  /**
+   * Retrieve the values for the given keys in a column family with a single multi-get, the returned list has the
+   * same order as the keys and holds null for absent keys.
+   *
+   * @param columnFamilyHandle Column Family Handle
+   * @param keys               Keys to be retrieved
+   */
+  public List<byte[]> multiGet(ColumnFamilyHandle columnFamilyHandle, List<byte[]> keys) {
+    Preconditions.checkArgument(!closed);
+    try {
+      Preconditions.checkNotNull(columnFamilyHandle, "Column Family Handle couldn't be null!");
+      return rocksDB.multiGetAsList(Collections.nCopies(keys.size(), columnFamilyHandle), keys);
+    } catch (Exception e) {
+      throw new ArcticIOException(e);
+    }
+  }
+
   public RocksDB getDB() {
     return rocksDB;
   }
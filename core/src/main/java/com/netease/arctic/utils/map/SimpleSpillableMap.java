@@ -19,10 +19,15 @@
 package com.netease.arctic.utils.map;
 
 import com.netease.arctic.utils.SerializationUtil;
+import org.apache.iceberg.io.CloseableIterator;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.rocksdb.RocksIterator;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -136,6 +141,34 @@ public class SimpleSpillableMap<K, T> implements SimpleMap<K, T> {
     diskBasedMap.ifPresent(map -> map.delete(key));
   }
 
+  /**
+   * Iterate the keys in memory and then the keys spilled to disk. The iterator must be closed to release the
+   * RocksDB iterator if it is not exhausted, and the map must not be modified while iterating.
+   */
+  public CloseableIterator<K> keyIterator() {
+    Iterator<K> inMemoryKeys = memoryMap.keySet().iterator();
+    if (!diskBasedMap.isPresent()) {
+      return CloseableIterator.withClose(inMemoryKeys);
+    }
+    CloseableIterator<K> spilledKeys = diskBasedMap.get().keyIterator();
+    return new CloseableIterator<K>() {
+      @Override
+      public boolean hasNext() {
+        return inMemoryKeys.hasNext() || spilledKeys.hasNext();
+      }
+
+      @Override
+      public K next() {
+        return inMemoryKeys.hasNext() ? inMemoryKeys.next() : spilledKeys.next();
+      }
+
+      @Override
+      public void close() throws IOException {
+        spilledKeys.close();
+      }
+    };
+  }
+
   public void close() {
     memoryMap = null;
     diskBasedMap.ifPresent(SimpleSpilledMap::close);
@@ -179,6 +212,32 @@ public class SimpleSpillableMap<K, T> implements SimpleMap<K, T> {
       rocksDB.delete(columnFamily, keySerializer.serialize(key));
     }
 
+    public CloseableIterator<K> keyIterator() {
+      RocksIterator iterator = rocksDB.getDB().newIterator(rocksDB.getColumnFamilyHandle(columnFamily));
+      iterator.seekToFirst();
+      return new CloseableIterator<K>() {
+        @Override
+        public boolean hasNext() {
+          return iterator.isValid();
+        }
+
+        @Override
+        public K next() {
+          if (!iterator.isValid()) {
+            throw new NoSuchElementException();
+          }
+          K key = keySerializer.deserialize(iterator.key());
+          iterator.next();
+          return key;
+        }
+
+        @Override
+        public void close() {
+          iterator.close();
+        }
+      };
+    }
+
     public void close() {
       rocksDB.dropColumnFamily(columnFamily);
     }
@@ -48,6 +48,10 @@ public class StructLikeCollections implements Serializable {
     this.backendBaseDir = backendBaseDir;
   }
 
+  public boolean isEnableSpillableMap() {
+    return enableSpillableMap;
+  }
+
   public <T> StructLikeBaseMap<T> createStructLikeMap(Types.StructType type) {
     if (!enableSpillableMap) {
       return StructLikeMemoryMap.create(type);
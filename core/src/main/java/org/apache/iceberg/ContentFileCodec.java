@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.iceberg;
+
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.ByteBuffers;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of Iceberg {@link DataFile} and {@link DeleteFile}.
+ * <p>
+ * Files are written field by field with the id of their partition spec, and partition values use Iceberg's
+ * single-value binary representation of the partition type. The reader resolves the spec id against the partition
+ * specs of the table the files belong to. Unlike the java serialization of {@link GenericDataFile}, data and file
+ * sequence numbers are kept without carrying any class descriptors or Avro schemas along.
+ * <p>
+ * Placed in package {@code org.apache.iceberg} to restore sort order ids and sequence numbers on decoded files.
+ */
+public class ContentFileCodec {
+
+  private ContentFileCodec() {
+  }
+
+  /**
+   * Returns true if the file is a plain Iceberg file, as read from manifests or built by {@link DataFiles} and
+   * {@link FileMetadata}.
+   */
+  public static boolean isIcebergFile(ContentFile<?> file) {
+    return file instanceof BaseFile;
+  }
+
+  /**
+   * Returns true if the partition of the file can be encoded.
+   */
+  public static boolean canEncode(ContentFile<?> file) {
+    return file.partition() instanceof PartitionData;
+  }
+
+  public static class Writer {
+    private final DataOutput out;
+
+    public Writer(DataOutput out) {
+      this.out = out;
+    }
+
+    public void write(ContentFile<?> file) throws IOException {
+      Preconditions.checkArgument(canEncode(file), "Unsupported content file %s", file.path());
+      PartitionData partition = (PartitionData) file.partition();
+      Types.StructType partitionType = partition.getPartitionType();
+
+      out.writeByte(file.content().id());
+      out.writeInt(file.specId());
+      writeString(out, file.path().toString());
+      writeString(out, file.format().name());
+      List<Types.NestedField> partitionFields = partitionType.fields();
+      out.writeInt(partitionFields.size());
+      for (int i = 0; i < partitionFields.size(); i++) {
+        Object value = partition.get(i, Object.class);
+        writeBytes(out, value == null ? null : Conversions.toByteBuffer(partitionFields.get(i).type(), value));
+      }
+      out.writeLong(file.fileSizeInBytes());
+      out.writeLong(file.recordCount());
+      writeLongMap(file.columnSizes());
+      writeLongMap(file.valueCounts());
+      writeLongMap(file.nullValueCounts());
+      writeLongMap(file.nanValueCounts());
+      writeBytesMap(file.lowerBounds());
+      writeBytesMap(file.upperBounds());
+      writeBytes(out, file.keyMetadata());
+      writeLongList(file.splitOffsets());
+      writeIntList(file.equalityFieldIds());
+      writeNullableLong(file.sortOrderId() == null ? null : file.sortOrderId().longValue());
+      writeNullableLong(file.dataSequenceNumber());
+      writeNullableLong(file.fileSequenceNumber());
+    }
+
+    private void writeLongMap(Map<Integer, Long> map) throws IOException {
+      if (map == null) {
+        out.writeInt(-1);
+        return;
+      }
+      out.writeInt(map.size());
+      for (Map.Entry<Integer, Long> entry : map.entrySet()) {
+        out.writeInt(entry.getKey());
+        out.writeLong(entry.getValue());
+      }
+    }
+
+    private void writeBytesMap(Map<Integer, ByteBuffer> map) throws IOException {
+      if (map == null) {
+        out.writeInt(-1);
+        return;
+      }
+      out.writeInt(map.size());
+      for (Map.Entry<Integer, ByteBuffer> entry : map.entrySet()) {
+        out.writeInt(entry.getKey());
+        writeBytes(out, entry.getValue());
+      }
+    }
+
+    private void writeLongList(List<Long> list) throws IOException {
+      if (list == null) {
+        out.writeInt(-1);
+        return;
+      }
+      out.writeInt(list.size());
+      for (Long value : list) {
+        out.writeLong(value);
+      }
+    }
+
+    private void writeIntList(List<Integer> list) throws IOException {
+      if (list == null) {
+        out.writeInt(-1);
+        return;
+      }
+      out.writeInt(list.size());
+      for (Integer value : list) {
+        out.writeInt(value);
+      }
+    }
+
+    private void writeNullableLong(Long value) throws IOException {
+      out.writeBoolean(value != null);
+      if (value != null) {
+        out.writeLong(value);
+      }
+    }
+  }
+
+  public static class Reader {
+    private final DataInput in;
+
+    public Reader(DataInput in) {
+      this.in = in;
+    }
+
+    /**
+     * Read a file of a table.
+     *
+     * @param specs partition specs of the table by spec id
+     */
+    public ContentFile<?> read(Map<Integer, PartitionSpec> specs) throws IOException {
+      FileContent content = FileContent.values()[in.readByte()];
+      int specId = in.readInt();
+      String path = readString(in);
+      FileFormat format = FileFormat.valueOf(readString(in));
+      int partitionSize = in.readInt();
+      PartitionSpec spec = specs.get(specId);
+      Preconditions.checkState(spec != null, "Unknown partition spec id %s of file %s", specId, path);
+      Types.StructType partitionType = spec.partitionType();
+      Preconditions.checkState(partitionSize == partitionType.fields().size(),
+          "Partition of file %s does not match the partition spec %s", path, spec);
+      PartitionData partition = null;
+      if (spec.isPartitioned()) {
+        partition = new PartitionData(partitionType);
+        for (int i = 0; i < partitionSize; i++) {
+          ByteBuffer value = readBytes(in);
+          Type type = partitionType.fields().get(i).type();
+          partition.set(i, value == null ? null : Conversions.fromByteBuffer(type, value));
+        }
+      }
+      long fileSize = in.readLong();
+      long recordCount = in.readLong();
+      Metrics metrics = new Metrics(recordCount, readLongMap(), readLongMap(), readLongMap(), readLongMap(),
+          readBytesMap(), readBytesMap());
+      ByteBuffer keyMetadata = readBytes(in);
+      List<Long> splitOffsets = readLongList();
+      List<Integer> equalityFieldIds = readIntList();
+      Long sortOrderId = readNullableLong();
+      Long dataSequenceNumber = readNullableLong();
+      Long fileSequenceNumber = readNullableLong();
+
+      Integer sortOrder = sortOrderId == null ? null : sortOrderId.intValue();
+
+      // built directly since the builders take a sort order instead of its id
+      BaseFile<?> file;
+      if (content == FileContent.DATA) {
+        file = new GenericDataFile(specId, path, format, partition, fileSize, metrics, keyMetadata, splitOffsets,
+            sortOrder);
+      } else {
+        int[] equalityIds = content == FileContent.EQUALITY_DELETES ?
+            equalityFieldIds.stream().mapToInt(Integer::intValue).toArray() : null;
+        file = new GenericDeleteFile(specId, content, path, format, partition, fileSize, metrics, equalityIds,
+            sortOrder, splitOffsets, keyMetadata);
+      }
+      file.setDataSequenceNumber(dataSequenceNumber);
+      file.setFileSequenceNumber(fileSequenceNumber);
+      return file;
+    }
+
+    private Map<Integer, Long> readLongMap() throws IOException {
+      int size = in.readInt();
+      if (size < 0) {
+        return null;
+      }
+      Map<Integer, Long> map = Maps.newHashMapWithExpectedSize(size);
+      for (int i = 0; i < size; i++) {
+        map.put(in.readInt(), in.readLong());
+      }
+      return map;
+    }
+
+    private Map<Integer, ByteBuffer> readBytesMap() throws IOException {
+      int size = in.readInt();
+      if (size < 0) {
+        return null;
+      }
+      Map<Integer, ByteBuffer> map = Maps.newHashMapWithExpectedSize(size);
+      for (int i = 0; i < size; i++) {
+        map.put(in.readInt(), readBytes(in));
+      }
+      return map;
+    }
+
+    private List<Long> readLongList() throws IOException {
+      int size = in.readInt();
+      if (size < 0) {
+        return null;
+      }
+      List<Long> list = Lists.newArrayListWithCapacity(size);
+      for (int i = 0; i < size; i++) {
+        list.add(in.readLong());
+      }
+      return list;
+    }
+
+    private List<Integer> readIntList() throws IOException {
+      int size = in.readInt();
+      if (size < 0) {
+        return null;
+      }
+      List<Integer> list = Lists.newArrayListWithCapacity(size);
+      for (int i = 0; i < size; i++) {
+        list.add(in.readInt());
+      }
+      return list;
+    }
+
+    private Long readNullableLong() throws IOException {
+      return in.readBoolean() ? in.readLong() : null;
+    }
+  }
+
+  public static void writeString(DataOutput out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  public static String readString(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  public static void writeBytes(DataOutput out, ByteBuffer value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = ByteBuffers.toByteArray(value);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  public static ByteBuffer readBytes(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return ByteBuffer.wrap(bytes);
+  }
+}
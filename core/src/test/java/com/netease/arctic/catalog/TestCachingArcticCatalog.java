@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.catalog;
+
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.table.ArcticTable;
+import org.apache.iceberg.exceptions.NoSuchTableException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestCachingArcticCatalog extends CatalogTestBase {
+
+  private CachingArcticCatalog cachingCatalog;
+
+  public TestCachingArcticCatalog(CatalogTestHelper catalogTestHelper) {
+    super(catalogTestHelper);
+  }
+
+  @Parameterized.Parameters(name = "testFormat = {0}")
+  public static Object[] parameters() {
+    return new Object[] {new BasicCatalogTestHelper(TableFormat.MIXED_ICEBERG)};
+  }
+
+  @Before
+  public void before() {
+    if (!getCatalog().listDatabases().contains(TableTestHelper.TEST_DB_NAME)) {
+      getCatalog().createDatabase(TableTestHelper.TEST_DB_NAME);
+    }
+    cachingCatalog = (CachingArcticCatalog) CachingArcticCatalog.wrap(CatalogLoader.load(getCatalogUrl()), 60000, 10);
+    cachingCatalog.newTableBuilder(TableTestHelper.TEST_TABLE_ID, BasicTableTestHelper.TABLE_SCHEMA)
+        .withPartitionSpec(BasicTableTestHelper.SPEC)
+        .withPrimaryKeySpec(BasicTableTestHelper.PRIMARY_KEY_SPEC)
+        .create();
+  }
+
+  @Test
+  public void testReuseLoadedTable() {
+    ArcticTable table = cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID);
+    Assert.assertSame(table, cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID));
+    Assert.assertTrue(cachingCatalog.tableExists(TableTestHelper.TEST_TABLE_ID));
+
+    cachingCatalog.invalidateTable(TableTestHelper.TEST_TABLE_ID);
+    Assert.assertNotSame(table, cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID));
+  }
+
+  @Test
+  public void testRefreshCommitsOfOtherClients() {
+    ArcticTable table = cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID);
+    Assert.assertNull(table.properties().get("test.key"));
+    getCatalog().loadTable(TableTestHelper.TEST_TABLE_ID).updateProperties().set("test.key", "v1").commit();
+
+    ArcticTable reloaded = cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID);
+    // the shared instance is replaced rather than refreshed
+    Assert.assertNotSame(table, reloaded);
+    Assert.assertNull(table.properties().get("test.key"));
+    Assert.assertEquals("v1", reloaded.properties().get("test.key"));
+    Assert.assertSame(reloaded, cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID));
+  }
+
+  @Test
+  public void testInvalidateOnDrop() {
+    cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID);
+    Assert.assertTrue(cachingCatalog.dropTable(TableTestHelper.TEST_TABLE_ID, true));
+    Assert.assertFalse(cachingCatalog.tableExists(TableTestHelper.TEST_TABLE_ID));
+    Assert.assertThrows(NoSuchTableException.class, () -> cachingCatalog.loadTable(TableTestHelper.TEST_TABLE_ID));
+  }
+}
@@ -22,6 +22,7 @@ import com.netease.arctic.TestAms;
 import com.netease.arctic.ams.api.CatalogMeta;
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.ams.api.properties.CatalogMetaProperties;
+import com.netease.arctic.utils.CatalogUtil;
 import org.apache.iceberg.CatalogProperties;
 import org.apache.iceberg.TestCatalogUtil;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
@@ -76,6 +77,22 @@ public class TestCatalogLoader {
     TEST_AMS.getAmsHandler().dropCatalog(TEST_CATALOG_NAME);
   }
 
+  @Test
+  public void testLoadCatalogWithTableCache() {
+    Map<String, String> properties = Maps.newHashMap();
+    properties.put(CatalogMetaProperties.KEY_WAREHOUSE, "/temp");
+    CatalogMeta catalogMeta = CatalogTestHelpers.buildCatalogMeta(TEST_CATALOG_NAME,
+        CatalogMetaProperties.CATALOG_TYPE_HADOOP, properties, TableFormat.ICEBERG);
+    TEST_AMS.getAmsHandler().createCatalog(catalogMeta);
+    Map<String, String> clientProperties = Maps.newHashMap();
+    clientProperties.put(CatalogMetaProperties.CLIENT_TABLE_CACHE_ENABLED, "true");
+    ArcticCatalog loadCatalog = CatalogLoader.load(getCatalogUrl(TEST_CATALOG_NAME), clientProperties);
+    Assert.assertEquals(TEST_CATALOG_NAME, loadCatalog.name());
+    Assert.assertTrue(loadCatalog instanceof CachingArcticCatalog);
+    Assert.assertTrue(CatalogUtil.isIcebergCatalog(loadCatalog));
+    TEST_AMS.getAmsHandler().dropCatalog(TEST_CATALOG_NAME);
+  }
+
   @Test
   public void testLoadNotExistedCatalog() {
     Assert.assertThrows("catalog not found, please check catalog name", IllegalArgumentException.class,
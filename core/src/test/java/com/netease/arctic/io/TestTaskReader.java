@@ -24,15 +24,18 @@ import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.catalog.BasicCatalogTestHelper;
 import com.netease.arctic.catalog.CatalogTestHelper;
 import com.netease.arctic.data.ChangeAction;
+import com.netease.arctic.io.reader.ArcticDeleteFilter;
 import com.netease.arctic.io.reader.BaseIcebergPosDeleteReader;
 import com.netease.arctic.scan.CombinedScanTask;
 import com.netease.arctic.scan.KeyedTableScanTask;
+import org.apache.iceberg.StructLike;
 import org.apache.iceberg.data.GenericRecord;
 import org.apache.iceberg.data.Record;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.DeleteSchemaUtil;
+import org.apache.iceberg.io.InputFile;
 import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
@@ -177,6 +180,38 @@ public class TestTaskReader extends TableDataTestBase {
     Assert.assertEquals(expectRecords, readRecords);
   }
 
+  @Test
+  public void testPositionKeepMask() {
+    Assume.assumeFalse(useDiskMap);
+    String dataPath = dataFileForPositionDelete.path().toString();
+    KeyedTableScanTask scanTask = planReadTask(Expressions.alwaysTrue()).stream()
+        .filter(task -> task.dataTasks().stream().anyMatch(t -> t.file().path().toString().equals(dataPath)))
+        .findAny()
+        .orElseThrow(() -> new IllegalStateException("Cannot find task of the position deleted file"));
+    ArcticDeleteFilter<Record> deleteFilter = new ArcticDeleteFilter<Record>(scanTask,
+        getArcticTable().schema(), getArcticTable().schema(), getArcticTable().asKeyedTable().primaryKeySpec()) {
+      @Override
+      protected StructLike asStructLike(Record record) {
+        return record;
+      }
+
+      @Override
+      protected InputFile getInputFile(String location) {
+        return getArcticTable().io().newInputFile(location);
+      }
+    };
+
+    boolean[] keepMask = new boolean[3];
+    Assert.assertTrue(deleteFilter.fillPositionKeepMask(dataPath, 0, keepMask, 3));
+    Assert.assertArrayEquals(new boolean[] {false, true, true}, keepMask);
+    Assert.assertFalse(deleteFilter.fillPositionKeepMask(dataPath, 1, keepMask, 3));
+    Assert.assertArrayEquals(new boolean[] {true, true, true}, keepMask);
+
+    keepMask = new boolean[4];
+    Assert.assertTrue(deleteFilter.fillPositionKeepMask(dataPath, 0, keepMask, 1, 3));
+    Assert.assertArrayEquals(new boolean[] {false, false, true, true}, keepMask);
+  }
+
   @Test
   public void testReadDeletedData() {
     Set<Record> records = Sets.newHashSet(tableTestHelper().readKeyedTable(getArcticTable().asKeyedTable(),
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.io.reader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestDeleteIndexCache {
+
+  private static class Index implements Closeable {
+    private boolean closed = false;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  @Test
+  public void testShareAndEvict() throws IOException {
+    DeleteIndexCache cache = new DeleteIndexCache(100);
+    AtomicInteger builds = new AtomicInteger();
+    DeleteIndexCache.Reference<Index> first = cache.acquire("a", () -> {
+      builds.incrementAndGet();
+      return DeleteIndexCache.Built.of(new Index(), 60);
+    });
+    DeleteIndexCache.Reference<Index> second = cache.acquire("a", () -> {
+      builds.incrementAndGet();
+      return DeleteIndexCache.Built.of(new Index(), 60);
+    });
+    Assert.assertEquals(1, builds.get());
+    Assert.assertSame(first.get(), second.get());
+
+    // "a" is referenced, so it is kept even if the cache is over its bound
+    DeleteIndexCache.Reference<Index> other = cache.acquire("b", () -> DeleteIndexCache.Built.of(new Index(), 60));
+    Assert.assertFalse(first.get().closed);
+    first.close();
+    first.close();
+    Assert.assertFalse(second.get().closed);
+    second.close();
+    Assert.assertTrue(second.get().closed);
+    Assert.assertFalse(other.get().closed);
+
+    other.close();
+    Assert.assertFalse(other.get().closed);
+    DeleteIndexCache.Reference<Index> cached = cache.acquire("b", () -> {
+      throw new IllegalStateException("should be cached");
+    });
+    Assert.assertSame(other.get(), cached.get());
+    cached.close();
+  }
+
+  @Test
+  public void testIndexBiggerThanCache() throws IOException {
+    DeleteIndexCache cache = new DeleteIndexCache(100);
+    DeleteIndexCache.Reference<Index> reference =
+        cache.acquire("a", () -> DeleteIndexCache.Built.of(new Index(), 200));
+    Index index = reference.get();
+    DeleteIndexCache.Reference<Index> rebuilt =
+        cache.acquire("a", () -> DeleteIndexCache.Built.of(new Index(), 200));
+    Assert.assertNotSame(index, rebuilt.get());
+
+    reference.close();
+    Assert.assertTrue(index.closed);
+    rebuilt.close();
+    Assert.assertTrue(rebuilt.get().closed);
+  }
+
+  @Test
+  public void testBuildFailure() {
+    DeleteIndexCache cache = new DeleteIndexCache(100);
+    Assert.assertThrows(IllegalStateException.class, () -> cache.acquire("a", () -> {
+      throw new IllegalStateException("build failed");
+    }));
+    DeleteIndexCache.Reference<Index> reference =
+        cache.acquire("a", () -> DeleteIndexCache.Built.of(new Index(), 10));
+    Assert.assertFalse(reference.get().closed);
+  }
+}
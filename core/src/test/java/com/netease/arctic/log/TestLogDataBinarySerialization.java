@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.log;
+
+import com.netease.arctic.data.ChangeAction;
+import com.netease.arctic.utils.IdGenerator;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TestLogDataBinarySerialization extends FormatTestBase {
+
+  @Test
+  public void testLogDataSerialize() throws IOException {
+    LogDataSerialization<UserPojo> serialization =
+        LogDataSerialization.create(FormatVersion.FORMAT_VERSION_V2, userSchema, fieldGetterFactory);
+    LogData<UserPojo> logData = createLogData(FormatVersion.FORMAT_VERSION_V2, false);
+
+    byte[] bytes = serialization.serialize(logData);
+    Assert.assertNotNull(bytes);
+    byte[] jsonBytes = new LogDataJsonSerialization<>(userSchema, fieldGetterFactory)
+        .serialize(createLogData(FormatVersion.FORMAT_VERSION_V1, false));
+    Assert.assertTrue(bytes.length < jsonBytes.length);
+
+    LogData<UserPojo> result =
+        new LogDataBinaryDeserialization<>(userSchema, factory, arrayFactory, mapFactory).deserialize(bytes);
+    check(logData, result);
+  }
+
+  @Test
+  public void testFlipSerialize() throws IOException {
+    LogDataSerialization<UserPojo> serialization =
+        LogDataSerialization.create(FormatVersion.FORMAT_VERSION_V2, userSchema, fieldGetterFactory);
+    LogData<UserPojo> flip = createLogData(FormatVersion.FORMAT_VERSION_V2, true);
+
+    byte[] bytes = serialization.serialize(flip);
+    assertEquals(18, bytes.length);
+
+    LogData<UserPojo> result =
+        new LogDataBinaryDeserialization<>(userSchema, factory, arrayFactory, mapFactory).deserialize(bytes);
+    assertEquals(flip.getEpicNo(), result.getEpicNo());
+    Assert.assertTrue(result.getFlip());
+    Assert.assertNull(result.getActualValue());
+  }
+
+  @Test
+  public void testDeserializeAllVersions() throws IOException {
+    LogDataDeserialization<UserPojo> deserialization =
+        new VersionedLogDataDeserialization<>(userSchema, factory, arrayFactory, mapFactory);
+    for (FormatVersion version : FormatVersion.values()) {
+      LogData<UserPojo> logData = createLogData(version, false);
+      byte[] bytes = LogDataSerialization.create(version, userSchema, fieldGetterFactory).serialize(logData);
+      check(logData, deserialization.deserialize(bytes));
+    }
+  }
+
+  @Test
+  public void testDeserializeWithProjectedSchema() throws IOException {
+    LogData<UserPojo> logData = createLogData(FormatVersion.FORMAT_VERSION_V2, false);
+    byte[] bytes = LogDataSerialization.create(FormatVersion.FORMAT_VERSION_V2, userSchema, fieldGetterFactory)
+        .serialize(logData);
+
+    Schema projected = userSchema.select("f_string", "f_long");
+    UserPojo result = new VersionedLogDataDeserialization<>(projected, factory, arrayFactory, mapFactory)
+        .deserialize(bytes).getActualValue();
+    assertArrayEquals(new Object[] {-123456789L, "ssss_string"}, result.objects);
+  }
+
+  @Test
+  public void testDeserializeWithEvolvedSchema() throws IOException {
+    LogData<UserPojo> logData = createLogData(FormatVersion.FORMAT_VERSION_V2, false);
+    byte[] bytes = LogDataSerialization.create(FormatVersion.FORMAT_VERSION_V2, userSchema, fieldGetterFactory)
+        .serialize(logData);
+
+    // a column is added, f_int is dropped and f_float is promoted to double after the message is written
+    Schema evolved = new Schema(
+        Types.NestedField.optional(100, "f_added", Types.StringType.get()),
+        Types.NestedField.optional(7, "f_float", Types.DoubleType.get()),
+        Types.NestedField.optional(2, "f_long", Types.LongType.get()));
+    UserPojo result = new VersionedLogDataDeserialization<>(evolved, factory, arrayFactory, mapFactory)
+        .deserialize(bytes).getActualValue();
+    assertArrayEquals(new Object[] {null, (double) 123.45f, -123456789L}, result.objects);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testDeserializeWithIncompatibleSchema() throws IOException {
+    LogData<UserPojo> logData = createLogData(FormatVersion.FORMAT_VERSION_V2, false);
+    byte[] bytes = LogDataSerialization.create(FormatVersion.FORMAT_VERSION_V2, userSchema, fieldGetterFactory)
+        .serialize(logData);
+
+    Schema incompatible = new Schema(Types.NestedField.optional(13, "f_string", Types.LongType.get()));
+    new LogDataBinaryDeserialization<>(incompatible, factory, arrayFactory, mapFactory).deserialize(bytes);
+  }
+
+  private LogData<UserPojo> createLogData(FormatVersion version, boolean flip) {
+    UserPojo subUserPojo = new UserPojo();
+    subUserPojo.objects = new Object[] {false, -2, 987654321L};
+    UserPojo userPojo = new UserPojo();
+    userPojo.objects = new Object[] {
+        // boolean
+        true,
+        // int
+        1,
+        // long
+        -123456789L,
+        // struct
+        subUserPojo,
+        // float double
+        123.45f, 123.456789d,
+        // date int
+        (int) LocalDate.of(2022, 11, 11).toEpochDay(),
+        // time nanosecond long
+        LocalTime.of(13, 23, 23, 98766545).toNanoOfDay(),
+        // timestamp local time
+        LocalDateTime.of(2022, 12, 12, 13, 14, 14, 987654234),
+        // timestamp with time zone
+        Instant.parse("2022-12-13T13:33:44.98765432Z"),
+        "ssss_string",
+        // uuid
+        new byte[] {1},
+        // fixed
+        new byte[] {'1'},
+        // binary
+        new byte[] {2},
+        BigDecimal.valueOf(111.111),
+        new GenericArrayData(new Long[] {123L, 234L, null, 345L}, 4, false),
+        new GenericArrayData(new int[] {123, 234, 0, 345}, 4, true),
+        new GenericArrayData(new UserPojo[] {subUserPojo}, 1, false),
+        new GenericMapData(new HashMap<Long, String>() {
+          {
+            put(1123L, "Str_123");
+            put(1124L, "Str_123");
+            put(1125L, "Str_123");
+          }
+        })
+    };
+    return new LogDataUser(
+        version.asBytes(),
+        IdGenerator.generateUpstreamId(),
+        123455L,
+        flip,
+        ChangeAction.INSERT,
+        flip ? null : userPojo
+    );
+  }
+
+  private void check(LogData<UserPojo> expected, LogData<UserPojo> actual) {
+    assertArrayEquals(expected.getVersionBytes(), actual.getVersionBytes());
+    assertArrayEquals(expected.getUpstreamIdBytes(), actual.getUpstreamIdBytes());
+    assertEquals(expected.getEpicNo(), actual.getEpicNo());
+    assertEquals(expected.getFlip(), actual.getFlip());
+    assertEquals(expected.getChangeActionByte(), actual.getChangeActionByte());
+    assertEquals(expected.getActualValue().toString(), actual.getActualValue().toString());
+  }
+}
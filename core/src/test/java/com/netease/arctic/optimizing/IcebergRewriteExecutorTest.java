@@ -71,6 +71,10 @@ public class IcebergRewriteExecutorTest extends TableTestBase {
 
   private RewriteFilesInput dataScanTask;
 
+  private RewriteFilesInput multiDataScanTask;
+
+  private RewriteFilesInput noDeleteScanTask;
+
   private final Schema posSchema = new Schema(
       MetadataColumns.FILE_PATH,
       MetadataColumns.ROW_POSITION
@@ -138,6 +142,29 @@ public class IcebergRewriteExecutorTest extends TableTestBase {
         new DeleteFile[] {},
         getArcticTable());
 
+    DataFile otherDataFile = FileHelpers.writeDataFile(getArcticTable().asUnkeyedTable(),
+        outputFileFactory.newOutputFile(partitionData).encryptingOutputFile(), partitionData,
+        Arrays.asList(
+            MixedDataTestHelpers.createRecord(4, "tom", 3, "1970-01-01T08:00:00"),
+            MixedDataTestHelpers.createRecord(5, "jack", 4, "1970-01-01T08:00:00")));
+
+    multiDataScanTask = new RewriteFilesInput(
+        new DataFile[] {MixedDataTestHelpers.wrapIcebergDataFile(dataFile, 1L),
+                        MixedDataTestHelpers.wrapIcebergDataFile(otherDataFile, 1L)},
+        new DataFile[] {},
+        new DeleteFile[] {MixedDataTestHelpers.wrapIcebergDeleteFile(eqDeleteFile, 2L),
+                          MixedDataTestHelpers.wrapIcebergDeleteFile(posDeleteFile, 3L)},
+        new DeleteFile[] {},
+        getArcticTable());
+
+    noDeleteScanTask = new RewriteFilesInput(
+        new DataFile[] {MixedDataTestHelpers.wrapIcebergDataFile(dataFile, 1L),
+                        MixedDataTestHelpers.wrapIcebergDataFile(otherDataFile, 1L)},
+        new DataFile[] {},
+        new DeleteFile[] {},
+        new DeleteFile[] {},
+        getArcticTable());
+
     dataScanTask = new RewriteFilesInput(
         new DataFile[] {MixedDataTestHelpers.wrapIcebergDataFile(dataFile,1L)},
         new DataFile[] {MixedDataTestHelpers.wrapIcebergDataFile(dataFile,1L)},
@@ -191,6 +218,87 @@ public class IcebergRewriteExecutorTest extends TableTestBase {
     Assert.assertTrue(output.getDeleteFiles() == null || output.getDeleteFiles().length == 0);
   }
 
+  @Test
+  public void readDataWithSpillableMapSequentially() {
+    // spilled indexes are bound to the thread building them, so the files are rewritten by one thread
+    IcebergRewriteExecutor executor = new IcebergRewriteExecutor(
+        multiDataScanTask,
+        getArcticTable(),
+        new StructLikeCollections(true, 1024L * 1024),
+        2
+    );
+
+    RewriteFilesOutput output = executor.execute();
+
+    Assert.assertEquals(1, output.getDataFiles().length);
+  }
+
+  @Test
+  public void readDataInParallel() throws IOException {
+    IcebergRewriteExecutor executor = new IcebergRewriteExecutor(
+        multiDataScanTask,
+        getArcticTable(),
+        StructLikeCollections.DEFAULT,
+        2
+    );
+
+    RewriteFilesOutput output = executor.execute();
+
+    Assert.assertEquals(2, output.getDataFiles().length);
+    List<Integer> ids = Lists.newArrayList();
+    for (DataFile dataFile : output.getDataFiles()) {
+      try (CloseableIterable<Record> records = openFile(dataFile.path().toString(),
+          dataFile.format(), getArcticTable().schema(), new HashMap<>())) {
+        records.forEach(record -> ids.add((Integer) record.get(0)));
+      }
+    }
+    Collections.sort(ids);
+    Assert.assertEquals(Lists.newArrayList(3, 4, 5), ids);
+  }
+
+  @Test
+  public void rewriteWithoutDeletes() throws IOException {
+    IcebergRewriteExecutor executor = new IcebergRewriteExecutor(
+        noDeleteScanTask,
+        getArcticTable(),
+        StructLikeCollections.DEFAULT
+    );
+
+    RewriteFilesOutput output = executor.execute();
+
+    Assert.assertEquals(1, output.getDataFiles().length);
+    // files are concatenated without decoding their rows unless the format is avro
+    Assert.assertEquals(fileFormat == FileFormat.AVRO ? "0" : "1",
+        output.summary().get(OptimizingTaskSummary.CONCATENATED_DATA_FILE_CNT));
+    DataFile dataFile = output.getDataFiles()[0];
+    Assert.assertEquals(5L, dataFile.recordCount());
+    try (CloseableIterable<Record> records = openFile(dataFile.path().toString(),
+        dataFile.format(), getArcticTable().schema(), new HashMap<>())) {
+      Assert.assertEquals(5, Iterables.size(records));
+    }
+  }
+
+  @Test
+  public void rewriteWithoutDeletesToSmallTargetSize() throws IOException {
+    // every file exceeds the target size, but a file is never concatenated alone
+    getArcticTable().updateProperties()
+        .set(com.netease.arctic.table.TableProperties.SELF_OPTIMIZING_TARGET_SIZE, "1")
+        .commit();
+    IcebergRewriteExecutor executor = new IcebergRewriteExecutor(
+        noDeleteScanTask,
+        getArcticTable(),
+        StructLikeCollections.DEFAULT
+    );
+
+    RewriteFilesOutput output = executor.execute();
+
+    Assert.assertEquals(5L, Arrays.stream(output.getDataFiles()).mapToLong(DataFile::recordCount).sum());
+    if (fileFormat != FileFormat.AVRO) {
+      Assert.assertEquals(1, output.getDataFiles().length);
+      Assert.assertEquals("1", output.summary().get(OptimizingTaskSummary.CONCATENATED_DATA_FILE_CNT));
+    }
+  }
+
   private CloseableIterable<Record> openFile(
       String path, FileFormat fileFormat, Schema fileProjection,
       Map<Integer, ?> idToConstant) {
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.optimizing;
+
+import com.netease.arctic.data.DataFileType;
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.DefaultKeyedFile;
+import com.netease.arctic.data.PrimaryKeyedFile;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.TableIdentifier;
+import com.netease.arctic.utils.SerializationUtil;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.FileMetadata;
+import org.apache.iceberg.Metrics;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.SortOrder;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+public class TestOptimizingCodec {
+
+  private static final Schema SCHEMA = new Schema(
+      Types.NestedField.required(1, "id", Types.IntegerType.get()),
+      Types.NestedField.required(2, "name", Types.StringType.get()),
+      Types.NestedField.required(3, "ts", Types.TimestampType.withoutZone())
+  );
+
+  private static final PartitionSpec SPEC = PartitionSpec.builderFor(SCHEMA).day("ts").identity("name").build();
+
+  private static final ArcticTable TABLE = table(SPEC);
+
+  private static ArcticTable table(PartitionSpec spec) {
+    return (ArcticTable) Proxy.newProxyInstance(
+        ArcticTable.class.getClassLoader(), new Class<?>[] {ArcticTable.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "isKeyedTable":
+            case "isUnkeyedTable":
+              return false;
+            case "spec":
+              return spec;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  private static DataFile dataFile(String path, String partitionPath) {
+    return DataFiles.builder(SPEC)
+        .withPath(path)
+        .withFormat(FileFormat.PARQUET)
+        .withFileSizeInBytes(1024)
+        .withPartitionPath(partitionPath)
+        .withMetrics(new Metrics(
+            10L,
+            ImmutableMap.of(1, 100L),
+            ImmutableMap.of(1, 10L),
+            ImmutableMap.of(1, 0L),
+            null,
+            ImmutableMap.of(1, Conversions.toByteBuffer(Types.IntegerType.get(), 1)),
+            ImmutableMap.of(1, Conversions.toByteBuffer(Types.IntegerType.get(), 10))))
+        .withSplitOffsets(Lists.newArrayList(4L))
+        .build();
+  }
+
+  private static DeleteFile posDeleteFile(String path) {
+    return FileMetadata.deleteFileBuilder(SPEC)
+        .ofPositionDeletes()
+        .withPath(path)
+        .withFormat(FileFormat.PARQUET)
+        .withFileSizeInBytes(128)
+        .withRecordCount(2)
+        .withPartitionPath("ts_day=2022-01-01/name=a")
+        .build();
+  }
+
+  private static DeleteFile eqDeleteFile(String path) {
+    return FileMetadata.deleteFileBuilder(SPEC)
+        .ofEqualityDeletes(1)
+        .withPath(path)
+        .withFormat(FileFormat.AVRO)
+        .withFileSizeInBytes(64)
+        .withRecordCount(1)
+        .withPartitionPath("ts_day=2022-01-01/name=a")
+        .build();
+  }
+
+  private static RewriteFilesInput input() {
+    DataFile keyed = DefaultKeyedFile.of(
+        dataFile("/base/data/file-B-5-00000-0-1.parquet", "ts_day=2022-01-01/name=a"),
+        new DefaultKeyedFile.FileMeta(5, DataFileType.BASE_FILE, DataTreeNode.of(3, 1)));
+    RewriteFilesInput input = new RewriteFilesInput(
+        new DataFile[] {dataFile("/data/a.parquet", "ts_day=2022-01-01/name=a"), keyed},
+        new DataFile[] {dataFile("/data/b.parquet", "ts_day=2022-01-02/name=null")},
+        new ContentFile<?>[] {eqDeleteFile("/data/eq.avro")},
+        new ContentFile<?>[] {posDeleteFile("/data/pos.parquet")},
+        null);
+    input.option("key", "value");
+    return input;
+  }
+
+  @Test
+  public void testInput() {
+    RewriteFilesInput input = input();
+    RewriteFilesInput decoded = OptimizingCodec.deserialize(OptimizingCodec.toBytes(input), TABLE);
+
+    Assert.assertEquals(input.getOptions(), decoded.getOptions());
+    Assert.assertNull(decoded.getTable());
+    assertFiles(input.rewrittenDataFiles(), decoded.rewrittenDataFiles());
+    assertFiles(input.rePosDeletedDataFiles(), decoded.rePosDeletedDataFiles());
+    assertFiles(input.readOnlyDeleteFiles(), decoded.readOnlyDeleteFiles());
+    assertFiles(input.rewrittenDeleteFiles(), decoded.rewrittenDeleteFiles());
+
+    Assert.assertTrue(decoded.rewrittenDataFiles()[1] instanceof PrimaryKeyedFile);
+    PrimaryKeyedFile keyed = (PrimaryKeyedFile) decoded.rewrittenDataFiles()[1];
+    Assert.assertEquals(5L, (long) keyed.transactionId());
+    Assert.assertEquals(DataFileType.BASE_FILE, keyed.type());
+    Assert.assertEquals(DataTreeNode.of(3, 1), keyed.node());
+  }
+
+  @Test
+  public void testOutput() {
+    RewriteFilesOutput output = new RewriteFilesOutput(
+        new DataFile[] {dataFile("/data/c.parquet", "ts_day=2022-01-01/name=a")},
+        new DeleteFile[] {posDeleteFile("/data/pos.parquet")},
+        ImmutableMap.of("new-data-files", "1"));
+    RewriteFilesOutput decoded = OptimizingCodec.deserialize(OptimizingCodec.toBytes(output), TABLE);
+
+    Assert.assertEquals(output.summary(), decoded.summary());
+    assertFiles(output.getDataFiles(), decoded.getDataFiles());
+    assertFiles(output.getDeleteFiles(), decoded.getDeleteFiles());
+  }
+
+  @Test
+  public void testDeleteFileWithSplitOffsets() {
+    DeleteFile deleteFile = FileMetadata.deleteFileBuilder(SPEC)
+        .ofPositionDeletes()
+        .withPath("/data/pos-split.parquet")
+        .withFormat(FileFormat.PARQUET)
+        .withFileSizeInBytes(256)
+        .withRecordCount(4)
+        .withSplitOffsets(Lists.newArrayList(4L, 128L))
+        .withPartitionPath("ts_day=2022-01-01/name=a")
+        .build();
+    RewriteFilesOutput output = new RewriteFilesOutput(new DataFile[0], new DeleteFile[] {deleteFile}, null);
+    RewriteFilesOutput decoded = OptimizingCodec.deserialize(OptimizingCodec.toBytes(output), TABLE);
+
+    assertFiles(output.getDeleteFiles(), decoded.getDeleteFiles());
+    Assert.assertEquals(Lists.newArrayList(4L, 128L), decoded.getDeleteFiles()[0].splitOffsets());
+  }
+
+  @Test
+  public void testInputMap() {
+    Map<Integer, RewriteFilesInput> inputs = ImmutableMap.of(1, input(), 2, input());
+    Map<Integer, RewriteFilesInput> decoded = OptimizingCodec.deserialize(OptimizingCodec.toBytes(inputs), TABLE);
+
+    Assert.assertEquals(inputs.keySet(), decoded.keySet());
+    for (Integer taskId : inputs.keySet()) {
+      assertFiles(inputs.get(taskId).allFiles(), decoded.get(taskId).allFiles());
+    }
+  }
+
+  @Test
+  public void testTableHandle() {
+    ArcticTable table = table(SPEC);
+    TableHandle handle = new TableHandle("thrift://127.0.0.1:1260/catalog",
+        TableIdentifier.of("catalog", "db", "table"), 10L, TableHandle.NO_SNAPSHOT, 1, "auth", "props");
+    Map<Integer, RewriteFilesInput> inputs = Maps.newHashMap();
+    for (int taskId = 1; taskId <= 2; taskId++) {
+      RewriteFilesInput input = input();
+      inputs.put(taskId, new RewriteFilesInput(input.rewrittenDataFiles(), input.rePosDeletedDataFiles(),
+          input.readOnlyDeleteFiles(), input.rewrittenDeleteFiles(), table));
+    }
+    byte[] bytes = OptimizingCodec.toBytes(inputs, t -> t == table ? handle : null);
+
+    List<TableHandle> resolved = Lists.newArrayList();
+    Map<Integer, RewriteFilesInput> decoded = OptimizingCodec.deserialize(bytes, h -> {
+      resolved.add(h);
+      return table;
+    });
+    Assert.assertEquals(Lists.newArrayList(handle), resolved);
+    Assert.assertSame(table, decoded.get(1).getTable());
+    Assert.assertSame(table, decoded.get(2).getTable());
+    assertFiles(inputs.get(1).allFiles(), decoded.get(1).allFiles());
+
+    Assert.assertThrows(IllegalStateException.class, () -> OptimizingCodec.deserialize(bytes));
+  }
+
+  @Test
+  public void testResolveSpecsOfTable() {
+    DataFile file = DataFiles.builder(SPEC)
+        .withPath("/data/sorted.parquet")
+        .withFormat(FileFormat.PARQUET)
+        .withFileSizeInBytes(1024)
+        .withRecordCount(10)
+        .withPartitionPath("ts_day=2022-01-01/name=a")
+        .withSortOrder(SortOrder.builderFor(SCHEMA).withOrderId(3).asc("id").build())
+        .build();
+    RewriteFilesOutput output = new RewriteFilesOutput(new DataFile[] {file}, null, null);
+    byte[] bytes = OptimizingCodec.toBytes(output);
+
+    DataFile decoded = OptimizingCodec.<RewriteFilesOutput>deserialize(bytes, TABLE).getDataFiles()[0];
+    Assert.assertEquals(Integer.valueOf(3), decoded.sortOrderId());
+    assertFiles(output.getDataFiles(), new DataFile[] {decoded});
+
+    PartitionSpec otherSpec = PartitionSpec.builderFor(SCHEMA).withSpecId(1).identity("name").build();
+    Assert.assertThrows(IllegalStateException.class, () -> OptimizingCodec.deserialize(bytes, table(otherSpec)));
+    Assert.assertThrows(IllegalStateException.class, () -> OptimizingCodec.deserialize(bytes));
+  }
+
+  @Test
+  public void testDecodeJavaSerialized() {
+    RewriteFilesInput input = input();
+    ByteBuffer legacy = SerializationUtil.simpleSerialize(input);
+    RewriteFilesInput decoded = OptimizingCodec.deserialize(legacy);
+    assertFiles(input.allFiles(), decoded.allFiles());
+
+    Map<String, String> other = ImmutableMap.of("a", "b");
+    Assert.assertEquals(other, OptimizingCodec.deserialize(OptimizingCodec.serialize(other)));
+  }
+
+  @Test
+  public void testEncodedSmallerThanJavaSerialized() {
+    RewriteFilesInput input = input();
+    Assert.assertTrue(OptimizingCodec.toBytes(input).length <
+        SerializationUtil.simpleSerialize(input).array().length);
+  }
+
+  private static void assertFiles(ContentFile<?>[] expected, ContentFile<?>[] actual) {
+    Assert.assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      ContentFile<?> e = expected[i];
+      ContentFile<?> a = actual[i];
+      Assert.assertEquals(e.getClass(), a.getClass());
+      Assert.assertEquals(e.content(), a.content());
+      Assert.assertEquals(e.path().toString(), a.path().toString());
+      Assert.assertEquals(e.format(), a.format());
+      Assert.assertEquals(e.specId(), a.specId());
+      Assert.assertEquals(SPEC.partitionToPath(e.partition()), SPEC.partitionToPath(a.partition()));
+      Assert.assertEquals(e.fileSizeInBytes(), a.fileSizeInBytes());
+      Assert.assertEquals(e.recordCount(), a.recordCount());
+      assertMapEquals(e.columnSizes(), a.columnSizes());
+      assertMapEquals(e.valueCounts(), a.valueCounts());
+      assertMapEquals(e.nullValueCounts(), a.nullValueCounts());
+      assertMapEquals(e.lowerBounds(), a.lowerBounds());
+      assertMapEquals(e.upperBounds(), a.upperBounds());
+      Assert.assertEquals(e.splitOffsets(), a.splitOffsets());
+      Assert.assertEquals(e.equalityFieldIds(), a.equalityFieldIds());
+      Assert.assertEquals(e.sortOrderId(), a.sortOrderId());
+      Assert.assertEquals(e.dataSequenceNumber(), a.dataSequenceNumber());
+    }
+  }
+
+  private static <V> void assertMapEquals(Map<Integer, V> expected, Map<Integer, V> actual) {
+    Assert.assertEquals(
+        expected == null ? null : Maps.newHashMap(expected),
+        actual == null ? null : Maps.newHashMap(actual));
+  }
+}
@@ -35,6 +35,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class TestKeyedTableScan extends TableDataTestBase {
 
@@ -46,8 +48,24 @@ public class TestKeyedTableScan extends TableDataTestBase {
     assertFileCount(6, 2, 1);
   }
 
+  @Test
+  public void testPlanTasksInParallel() throws IOException {
+    writeInsertFileIntoBaseStore();
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try {
+      assertFileCount(getArcticTable().asKeyedTable().newScan().planWith(executorService), 6, 2, 1);
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
   private void assertFileCount(int baseFileCnt, int insertFileCnt, int equDeleteFileCnt) throws IOException {
-    CloseableIterable<CombinedScanTask> combinedScanTasks = getArcticTable().asKeyedTable().newScan().planTasks();
+    assertFileCount(getArcticTable().asKeyedTable().newScan(), baseFileCnt, insertFileCnt, equDeleteFileCnt);
+  }
+
+  private void assertFileCount(
+      KeyedTableScan scan, int baseFileCnt, int insertFileCnt, int equDeleteFileCnt) throws IOException {
+    CloseableIterable<CombinedScanTask> combinedScanTasks = scan.planTasks();
     final List<ArcticFileScanTask> allBaseTasks = new ArrayList<>();
     final List<ArcticFileScanTask> allInsertTasks = new ArrayList<>();
     final List<ArcticFileScanTask> allEquDeleteTasks = new ArrayList<>();
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.utils.map;
+
+import org.apache.avro.util.Utf8;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.function.IntFunction;
+
+public class TestChangedLsnIndex {
+
+  private static final Types.StructType LONG_KEY = Types.StructType.of(
+      Types.NestedField.required(1, "id", Types.LongType.get()));
+
+  private static final Types.StructType INT_KEY = Types.StructType.of(
+      Types.NestedField.required(1, "id", Types.IntegerType.get()));
+
+  private static final Types.StructType STRING_KEY = Types.StructType.of(
+      Types.NestedField.required(1, "id", Types.StringType.get()));
+
+  private static final Types.StructType STRUCT_KEY = Types.StructType.of(
+      Types.NestedField.required(1, "id", Types.IntegerType.get()),
+      Types.NestedField.optional(2, "name", Types.StringType.get()));
+
+  @Test
+  public void testLongKey() {
+    testIndex(LONG_KEY, i -> key(LONG_KEY, (long) i));
+  }
+
+  @Test
+  public void testIntKey() {
+    testIndex(INT_KEY, i -> key(INT_KEY, i));
+  }
+
+  @Test
+  public void testStringKey() {
+    testIndex(STRING_KEY, i -> key(STRING_KEY, "key-" + i));
+  }
+
+  @Test
+  public void testStructKey() {
+    testIndex(STRUCT_KEY, i -> key(STRUCT_KEY, i, i % 2 == 0 ? null : "name-" + i));
+  }
+
+  @Test
+  public void testNullKey() {
+    ChangedLsnIndex index = ChangedLsnIndex.create(LONG_KEY);
+    Assert.assertFalse(index.isDeleted(key(LONG_KEY, (Object) null), 1, 1));
+    index.putIfNewer(key(LONG_KEY, (Object) null), 2, 1);
+    Assert.assertTrue(index.isDeleted(key(LONG_KEY, (Object) null), 1, 1));
+    Assert.assertFalse(index.isDeleted(key(LONG_KEY, 0L), 1, 1));
+    Assert.assertEquals(1, index.size());
+  }
+
+  @Test
+  public void testNullStringKey() {
+    ChangedLsnIndex index = ChangedLsnIndex.create(STRING_KEY);
+    index.putIfNewer(key(STRING_KEY, (Object) null), 2, 1);
+    index.putIfNewer(key(STRING_KEY, "null"), 1, 1);
+    Assert.assertTrue(index.isDeleted(key(STRING_KEY, (Object) null), 1, 1));
+    Assert.assertFalse(index.isDeleted(key(STRING_KEY, "null"), 1, 1));
+    Assert.assertEquals(2, index.size());
+  }
+
+  @Test
+  public void testNullStructKey() {
+    ChangedLsnIndex index = ChangedLsnIndex.create(STRUCT_KEY);
+    index.putIfNewer(key(STRUCT_KEY, null, null), 2, 1);
+    index.putIfNewer(key(STRUCT_KEY, 0, null), 2, 1);
+    Assert.assertTrue(index.isDeleted(key(STRUCT_KEY, null, null), 1, 1));
+    Assert.assertTrue(index.isDeleted(key(STRUCT_KEY, 0, null), 1, 1));
+    Assert.assertFalse(index.isDeleted(key(STRUCT_KEY, null, "name"), 1, 1));
+    Assert.assertFalse(index.isDeleted(key(STRUCT_KEY, 0, "name"), 1, 1));
+    Assert.assertEquals(2, index.size());
+  }
+
+  @Test
+  public void testCharSequenceKey() {
+    ChangedLsnIndex index = ChangedLsnIndex.create(STRING_KEY);
+    Utf8 reused = new Utf8("key-1");
+    index.putIfNewer(key(STRING_KEY, reused), 2, 1);
+    // the reader reuses the char sequence for the next row
+    reused.set("key-2");
+    Assert.assertTrue(index.isDeleted(key(STRING_KEY, "key-1"), 1, 1));
+    Assert.assertTrue(index.isDeleted(key(STRING_KEY, new Utf8("key-1")), 1, 1));
+    Assert.assertFalse(index.isDeleted(key(STRING_KEY, reused), 1, 1));
+  }
+
+  private void testIndex(Types.StructType keyType, IntFunction<StructLike> keyOf) {
+    ChangedLsnIndex index = ChangedLsnIndex.create(keyType);
+    int count = 10000;
+    for (int i = 0; i < count; i++) {
+      index.putIfNewer(keyOf.apply(i), i, 10);
+      // an older delete should not overwrite the newer one
+      index.putIfNewer(keyOf.apply(i), i, 5);
+    }
+    Assert.assertEquals(count, index.size());
+
+    for (int i = 0; i < count; i++) {
+      Assert.assertTrue(index.isDeleted(keyOf.apply(i), i, 9));
+      Assert.assertFalse(index.isDeleted(keyOf.apply(i), i, 10));
+      Assert.assertFalse(index.isDeleted(keyOf.apply(i), i + 1, 0));
+    }
+    Assert.assertFalse(index.isDeleted(keyOf.apply(count), 0, 0));
+    index.close();
+  }
+
+  private static StructLike key(Types.StructType keyType, Object... values) {
+    GenericRecord record = GenericRecord.create(keyType);
+    for (int i = 0; i < values.length; i++) {
+      record.set(i, values[i]);
+    }
+    return record;
+  }
+}
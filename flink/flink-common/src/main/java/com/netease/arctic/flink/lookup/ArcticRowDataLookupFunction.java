@@ -51,7 +51,8 @@ public class ArcticRowDataLookupFunction extends TableFunction<RowData> {
       Configuration config,
       Predicate<RowData> predicate,
       AbstractAdaptHiveKeyedDataReader<RowData> flinkArcticMORDataReader,
-      DataIteratorReaderFunction<RowData> readerFunction) {
+      DataIteratorReaderFunction<RowData> readerFunction,
+      LookupBucketAssigner bucketAssigner) {
     this.basicLookupFunction =
         new BasicLookupFunction<>(
             tableFactory,
@@ -63,7 +64,8 @@ public class ArcticRowDataLookupFunction extends TableFunction<RowData> {
             config,
             predicate,
             flinkArcticMORDataReader,
-            readerFunction);
+            readerFunction,
+            bucketAssigner);
   }
 
   @Override
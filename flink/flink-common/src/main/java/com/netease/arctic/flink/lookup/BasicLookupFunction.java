@@ -20,6 +20,7 @@ package com.netease.arctic.flink.lookup;
 
 import static com.netease.arctic.flink.lookup.LookupMetrics.GROUP_NAME_LOOKUP;
 import static com.netease.arctic.flink.lookup.LookupMetrics.LOADING_TIME_MS;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_PARTIAL_LOADING;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_RELOADING_INTERVAL;
 import static com.netease.arctic.flink.util.ArcticUtils.loadArcticTable;
 import static org.apache.flink.util.Preconditions.checkArgument;
@@ -27,9 +28,11 @@ import static org.apache.flink.util.Preconditions.checkArgument;
 import com.netease.arctic.flink.read.MixedIncrementalLoader;
 import com.netease.arctic.flink.read.hybrid.enumerator.MergeOnReadIncrementalPlanner;
 import com.netease.arctic.flink.read.hybrid.reader.DataIteratorReaderFunction;
+import com.netease.arctic.flink.read.hybrid.split.ArcticSplit;
 import com.netease.arctic.flink.table.ArcticTableLoader;
 import com.netease.arctic.hive.io.reader.AbstractAdaptHiveKeyedDataReader;
 import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.utils.SchemaUtil;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
@@ -78,6 +81,10 @@ public class BasicLookupFunction<T> implements Serializable {
   private final TableFactory<T> kvTableFactory;
   private final AbstractAdaptHiveKeyedDataReader<T> flinkArcticMORDataReader;
   private final DataIteratorReaderFunction<T> readerFunction;
+  private final LookupBucketAssigner bucketAssigner;
+  private transient LookupBucketAssigner lookupKeyAssigner;
+  private transient int subtask;
+  private transient int parallelism;
 
   private transient ScheduledExecutorService executor;
   private final AtomicReference<Throwable> failureThrowable = new AtomicReference<>();
@@ -93,6 +100,36 @@ public class BasicLookupFunction<T> implements Serializable {
       Predicate<T> predicate,
       AbstractAdaptHiveKeyedDataReader<T> flinkArcticMORDataReader,
       DataIteratorReaderFunction<T> readerFunction) {
+    this(
+        tableFactory,
+        arcticTable,
+        joinKeys,
+        projectSchema,
+        filters,
+        tableLoader,
+        config,
+        predicate,
+        flinkArcticMORDataReader,
+        readerFunction,
+        null);
+  }
+
+  /**
+   * @param bucketAssigner if not null, this subtask only loads the primary keys assigned to it, and
+   *     the lookup keys must be partitioned by the same assigner.
+   */
+  public BasicLookupFunction(
+      TableFactory<T> tableFactory,
+      ArcticTable arcticTable,
+      List<String> joinKeys,
+      Schema projectSchema,
+      List<Expression> filters,
+      ArcticTableLoader tableLoader,
+      Configuration config,
+      Predicate<T> predicate,
+      AbstractAdaptHiveKeyedDataReader<T> flinkArcticMORDataReader,
+      DataIteratorReaderFunction<T> readerFunction,
+      LookupBucketAssigner bucketAssigner) {
     checkArgument(
         arcticTable.isKeyedTable(),
         String.format(
@@ -109,6 +146,7 @@ public class BasicLookupFunction<T> implements Serializable {
     this.predicate = predicate;
     this.flinkArcticMORDataReader = flinkArcticMORDataReader;
     this.readerFunction = readerFunction;
+    this.bucketAssigner = bucketAssigner;
   }
 
   /**
@@ -138,6 +176,27 @@ public class BasicLookupFunction<T> implements Serializable {
     metricGroup.gauge(LOADING_TIME_MS, () -> lookupLoadingTimeMs.get());
 
     LOG.info("projected schema {}.\n table schema {}.", projectSchema, arcticTable.schema());
+    Predicate<T> rowPredicate = predicate;
+    Predicate<ArcticSplit> splitFilter = null;
+    if (bucketAssigner != null) {
+      StreamingRuntimeContext runtimeContext = getRuntimeContext(context);
+      int subtask = runtimeContext.getIndexOfThisSubtask();
+      int parallelism = runtimeContext.getNumberOfParallelSubtasks();
+      this.subtask = subtask;
+      this.parallelism = parallelism;
+      this.lookupKeyAssigner =
+          bucketAssigner.withRowSchema(SchemaUtil.selectInOrder(projectSchema, joinKeys));
+      LOG.info(
+          "Partial loading is enabled, subtask {} of {} loads buckets of mask {}.",
+          subtask,
+          parallelism,
+          bucketAssigner.bucketMask(parallelism));
+      splitFilter = split -> bucketAssigner.serves(split, subtask, parallelism);
+      rowPredicate =
+          row ->
+              bucketAssigner.subtask((RowData) row, parallelism) == subtask
+                  && (predicate == null || predicate.test(row));
+    }
     kvTable =
         kvTableFactory.create(
             new RowDataStateFactory(generateRocksDBPath(context, arcticTable.name()), metricGroup),
@@ -145,7 +204,7 @@ public class BasicLookupFunction<T> implements Serializable {
             joinKeys,
             projectSchema,
             config,
-            predicate);
+            rowPredicate);
     kvTable.open();
 
     this.incrementalLoader =
@@ -153,7 +212,8 @@ public class BasicLookupFunction<T> implements Serializable {
             new MergeOnReadIncrementalPlanner(loader),
             flinkArcticMORDataReader,
             readerFunction,
-            filters);
+            filters,
+            splitFilter);
   }
 
   public void start() {
@@ -183,12 +243,28 @@ public class BasicLookupFunction<T> implements Serializable {
     checkErrorAndRethrow();
     try {
       RowData lookupKey = GenericRowData.of(values);
+      checkLoaded(lookupKey);
       return kvTable.get(lookupKey);
     } catch (Exception e) {
       throw new FlinkRuntimeException(e);
     }
   }
 
+  /**
+   * Look up several keys at once, see {@link KVTable#getAll(List)}.
+   *
+   * @return the results in the same order as the keys.
+   */
+  public List<List<T>> lookupAll(List<RowData> lookupKeys) {
+    checkErrorAndRethrow();
+    try {
+      lookupKeys.forEach(this::checkLoaded);
+      return kvTable.getAll(lookupKeys);
+    } catch (Exception e) {
+      throw new FlinkRuntimeException(e);
+    }
+  }
+
   /**
    * Check whether it is time to periodically load data to kvTable. Support to use {@link
    * Expression} filters to filter the data.
@@ -244,6 +320,20 @@ public class BasicLookupFunction<T> implements Serializable {
     }
   }
 
+  /**
+   * Fails fast if the lookup key is assigned to another subtask, whose rows are never loaded by
+   * this one, rather than silently missing the match.
+   */
+  private void checkLoaded(RowData lookupKey) {
+    if (lookupKeyAssigner != null && lookupKeyAssigner.subtask(lookupKey, parallelism) != subtask) {
+      throw new IllegalStateException(
+          String.format(
+              "The lookup key %s is not loaded by subtask %s of %s, the probe side must be"
+                  + " partitioned by LookupKeyPartitioner when %s is enabled.",
+              lookupKey, subtask, parallelism, LOOKUP_PARTIAL_LOADING.key()));
+    }
+  }
+
   private void checkErrorAndRethrow() {
     Throwable cause = failureThrowable.get();
     if (cause != null) {
@@ -258,12 +348,16 @@ public class BasicLookupFunction<T> implements Serializable {
   }
 
   private static String getTmpDirectoryFromTMContainer(FunctionContext context) {
+    String[] tmpDirectories =
+        getRuntimeContext(context).getTaskManagerRuntimeInfo().getTmpDirectories();
+    return tmpDirectories[ThreadLocalRandom.current().nextInt(tmpDirectories.length)];
+  }
+
+  private static StreamingRuntimeContext getRuntimeContext(FunctionContext context) {
     try {
       Field field = context.getClass().getDeclaredField("context");
       field.setAccessible(true);
-      StreamingRuntimeContext runtimeContext = (StreamingRuntimeContext) field.get(context);
-      String[] tmpDirectories = runtimeContext.getTaskManagerRuntimeInfo().getTmpDirectories();
-      return tmpDirectories[ThreadLocalRandom.current().nextInt(tmpDirectories.length)];
+      return (StreamingRuntimeContext) field.get(context);
     } catch (NoSuchFieldException | IllegalAccessException e) {
       throw new RuntimeException(e);
     }
@@ -34,14 +34,15 @@ import java.io.Serializable;
 /**
  * This is a wrapper for {@link BinaryRowDataSerializer}. It is used to serialize and deserialize
  * RowData.
+ *
+ * <p>The conversion and I/O buffers are kept per thread, so one wrapper can be shared by the
+ * loading thread and the lookup threads.
  */
 public class BinaryRowDataSerializerWrapper implements Serializable {
 
   private static final long serialVersionUID = 1L;
   protected BinaryRowDataSerializer serializer;
-  private RowDataSerializer rowDataSerializer;
-  private DataOutputSerializer outputView;
-  private DataInputDeserializer inputView;
+  private transient volatile ThreadLocal<Buffers> buffers;
   private final Schema schema;
 
   public BinaryRowDataSerializerWrapper(Schema schema) {
@@ -50,27 +51,46 @@ public class BinaryRowDataSerializerWrapper implements Serializable {
   }
 
   public byte[] serialize(RowData rowData) throws IOException {
-    if (rowDataSerializer == null) {
+    Buffers current = buffers();
+    if (current.rowDataSerializer == null) {
       RowType rowType = FlinkSchemaUtil.convert(schema);
-      rowDataSerializer = new RowDataSerializer(rowType);
+      current.rowDataSerializer = new RowDataSerializer(rowType);
     }
-    BinaryRowData binaryRowData = rowDataSerializer.toBinaryRow(rowData);
-    if (outputView == null) {
-      outputView = new DataOutputSerializer(32);
+    BinaryRowData binaryRowData = current.rowDataSerializer.toBinaryRow(rowData);
+    if (current.outputView == null) {
+      current.outputView = new DataOutputSerializer(32);
     }
-    outputView.clear();
-    serializer.serialize(binaryRowData, outputView);
-    return outputView.getCopyOfBuffer();
+    current.outputView.clear();
+    serializer.serialize(binaryRowData, current.outputView);
+    return current.outputView.getCopyOfBuffer();
   }
 
   public RowData deserialize(byte[] recordBytes) throws IOException {
     if (recordBytes == null) {
       return null;
     }
-    if (inputView == null) {
-      inputView = new DataInputDeserializer();
+    Buffers current = buffers();
+    if (current.inputView == null) {
+      current.inputView = new DataInputDeserializer();
+    }
+    current.inputView.setBuffer(recordBytes);
+    return serializer.deserialize(current.inputView);
+  }
+
+  private Buffers buffers() {
+    if (buffers == null) {
+      synchronized (this) {
+        if (buffers == null) {
+          buffers = ThreadLocal.withInitial(Buffers::new);
+        }
+      }
     }
-    inputView.setBuffer(recordBytes);
-    return serializer.deserialize(inputView);
+    return buffers.get();
+  }
+
+  private static class Buffers {
+    private RowDataSerializer rowDataSerializer;
+    private DataOutputSerializer outputView;
+    private DataInputDeserializer inputView;
   }
 }
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.flink.lookup;
+
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.PrimaryKeyData;
+import com.netease.arctic.flink.read.hybrid.split.ArcticSplit;
+import com.netease.arctic.scan.KeyedTableScanTask;
+import com.netease.arctic.scan.NodeFileScanTask;
+import com.netease.arctic.table.KeyedTable;
+import com.netease.arctic.table.PrimaryKeySpec;
+import com.netease.arctic.table.TableProperties;
+import com.netease.arctic.utils.CompatiblePropertyUtil;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.util.Preconditions;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.flink.FlinkSchemaUtil;
+import org.apache.iceberg.flink.RowDataWrapper;
+
+import java.io.Serializable;
+
+/**
+ * Assigns the primary keys of a keyed table to the parallel subtasks of a lookup join, so that
+ * each subtask only loads the {@link DataTreeNode}s and rows it serves.
+ *
+ * <p>A key belongs to bucket {@code hash(pk) & mask} and a bucket is served by subtask {@code
+ * bucket % parallelism}, where the hash is the same one the writers use to place rows into tree
+ * nodes. The probe side must be partitioned by {@link LookupKeyPartitioner} built on the same table
+ * so that every key arrives at the subtask that loaded it.
+ */
+public class LookupBucketAssigner implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  /** Every subtask serves at least this many buckets, to keep the buckets evenly distributed. */
+  private static final int MIN_BUCKETS_PER_SUBTASK = 4;
+
+  private final PrimaryKeySpec primaryKeySpec;
+  private final Schema rowSchema;
+  private final int baseBuckets;
+  private transient PrimaryKeyData primaryKeyData;
+  private transient RowDataWrapper rowDataWrapper;
+
+  /**
+   * @param table the keyed table looked up.
+   * @param rowSchema the schema of the rows to be assigned, it must contain all the primary key
+   *     fields.
+   */
+  public LookupBucketAssigner(KeyedTable table, Schema rowSchema) {
+    this(
+        table.primaryKeySpec(),
+        rowSchema,
+        CompatiblePropertyUtil.propertyAsInt(
+            table.properties(),
+            TableProperties.BASE_FILE_INDEX_HASH_BUCKET,
+            TableProperties.BASE_FILE_INDEX_HASH_BUCKET_DEFAULT));
+  }
+
+  public LookupBucketAssigner(PrimaryKeySpec primaryKeySpec, Schema rowSchema, int baseBuckets) {
+    primaryKeySpec
+        .fieldNames()
+        .forEach(
+            name ->
+                Preconditions.checkArgument(
+                    rowSchema.findField(name) != null,
+                    "Primary key field %s is missing in the schema %s",
+                    name,
+                    rowSchema));
+    this.primaryKeySpec = primaryKeySpec;
+    this.rowSchema = rowSchema;
+    this.baseBuckets = baseBuckets;
+  }
+
+  /** Returns an assigner of the same buckets for the rows of another schema, e.g. lookup keys. */
+  public LookupBucketAssigner withRowSchema(Schema schema) {
+    return new LookupBucketAssigner(primaryKeySpec, schema, baseBuckets);
+  }
+
+  /** The mask of the buckets for the given parallelism, always in the form of 2^n - 1. */
+  public long bucketMask(int parallelism) {
+    int buckets = Math.max(baseBuckets, MIN_BUCKETS_PER_SUBTASK * parallelism);
+    return Long.highestOneBit(buckets - 1) * 2 - 1;
+  }
+
+  /** Returns the subtask serving the primary key of the row. */
+  public int subtask(RowData row, int parallelism) {
+    if (primaryKeyData == null) {
+      primaryKeyData = new PrimaryKeyData(primaryKeySpec, rowSchema);
+      rowDataWrapper = new RowDataWrapper(FlinkSchemaUtil.convert(rowSchema), rowSchema.asStruct());
+    }
+    primaryKeyData.primaryKey(rowDataWrapper.wrap(row));
+    return subtaskOfBucket(primaryKeyData.hashCode() & bucketMask(parallelism), parallelism);
+  }
+
+  /** Returns true if the rows of the tree node may be served by the subtask. */
+  public boolean serves(DataTreeNode node, int subtask, int parallelism) {
+    long mask = bucketMask(parallelism);
+    if (node.mask() >= mask) {
+      return subtaskOfBucket(node.index() & mask, parallelism) == subtask;
+    }
+    // the node covers every bucket whose lower bits equal to the node index
+    for (long bucket = node.index(); bucket <= mask; bucket += node.mask() + 1) {
+      if (subtaskOfBucket(bucket, parallelism) == subtask) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns false only if the split has no rows served by the subtask. */
+  public boolean serves(ArcticSplit split, int subtask, int parallelism) {
+    DataTreeNode node = null;
+    if (split.isSnapshotSplit() || split.isChangelogSplit()) {
+      node = split.dataTreeNode();
+    } else if (split.isMergeOnReadSplit()) {
+      KeyedTableScanTask task = split.asMergeOnReadSplit().keyedTableScanTask();
+      if (task instanceof NodeFileScanTask) {
+        node = ((NodeFileScanTask) task).treeNode();
+      }
+    }
+    return node == null || serves(node, subtask, parallelism);
+  }
+
+  private static int subtaskOfBucket(long bucket, int parallelism) {
+    return (int) (bucket % parallelism);
+  }
+}
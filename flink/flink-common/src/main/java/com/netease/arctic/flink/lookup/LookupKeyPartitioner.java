@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.flink.lookup;
+
+import com.netease.arctic.table.KeyedTable;
+import com.netease.arctic.utils.SchemaUtil;
+import org.apache.flink.api.common.functions.Partitioner;
+import org.apache.flink.table.data.RowData;
+
+/**
+ * Partitions the lookup keys of the probe side to the lookup join subtasks that load them when
+ * {@code lookup.partial-loading} is enabled, e.g. {@code stream.partitionCustom(partitioner,
+ * keySelector)}. The number of partitions must equal the parallelism of the lookup join.
+ */
+public class LookupKeyPartitioner implements Partitioner<RowData> {
+  private static final long serialVersionUID = 1L;
+
+  private final LookupBucketAssigner bucketAssigner;
+
+  private LookupKeyPartitioner(LookupBucketAssigner bucketAssigner) {
+    this.bucketAssigner = bucketAssigner;
+  }
+
+  /**
+   * Creates the partitioner of a keyed table, the keys to partition must only contain the primary
+   * key fields, in the order of the primary key spec.
+   */
+  public static LookupKeyPartitioner forPrimaryKey(KeyedTable table) {
+    return new LookupKeyPartitioner(
+        new LookupBucketAssigner(
+            table,
+            SchemaUtil.selectInOrder(table.schema(), table.primaryKeySpec().fieldNames())));
+  }
+
+  @Override
+  public int partition(RowData key, int numPartitions) {
+    return bucketAssigner.subtask(key, numPartitions);
+  }
+}
@@ -27,6 +27,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /** A class used to store the state of a lookup record. For {@link UniqueIndexTable}. */
@@ -91,6 +93,42 @@ public class RocksDBRecordState extends RocksDBCacheState<byte[]> {
     return Optional.ofNullable(deserializeValue(recordBytes));
   }
 
+  /**
+   * Retrieve the RowData of several keys, the keys missing in guava cache are fetched from the
+   * rocksDB in a single multi-get.
+   *
+   * @param keyBytes the serialized keys.
+   * @return the records in the same order as the keys.
+   */
+  public List<Optional<RowData>> getAll(List<byte[]> keyBytes) throws IOException {
+    byte[][] records = new byte[keyBytes.size()][];
+    List<Integer> missingPositions = new ArrayList<>();
+    List<byte[]> missingKeys = new ArrayList<>();
+    for (int i = 0; i < keyBytes.size(); i++) {
+      records[i] = guavaCache.getIfPresent(wrap(keyBytes.get(i)));
+      if (records[i] == null) {
+        missingPositions.add(i);
+        missingKeys.add(keyBytes.get(i));
+      }
+    }
+    if (!missingKeys.isEmpty()) {
+      List<byte[]> fetched = rocksDB.multiGet(columnFamilyHandle, missingKeys);
+      for (int i = 0; i < fetched.size(); i++) {
+        byte[] recordBytes = fetched.get(i);
+        if (recordBytes != null) {
+          int position = missingPositions.get(i);
+          records[position] = recordBytes;
+          guavaCache.put(wrap(keyBytes.get(position)), recordBytes);
+        }
+      }
+    }
+    List<Optional<RowData>> result = new ArrayList<>(records.length);
+    for (byte[] recordBytes : records) {
+      result.add(Optional.ofNullable(deserializeValue(recordBytes)));
+    }
+    return result;
+  }
+
   /**
    * Putting the serialized RowData key and value into the rocksDB and cache.
    *
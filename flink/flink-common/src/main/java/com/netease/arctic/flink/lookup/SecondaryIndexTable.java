@@ -33,6 +33,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -99,6 +100,39 @@ public class SecondaryIndexTable extends UniqueIndexTable {
     return Collections.emptyList();
   }
 
+  /**
+   * Resolves the unique keys of every join key first, then fetches all the matched records in a
+   * single batch.
+   */
+  @Override
+  public List<List<RowData>> getAll(List<RowData> keys) throws IOException {
+    List<Integer> uniqueKeyCounts = new ArrayList<>(keys.size());
+    List<byte[]> uniqueKeyBytes = new ArrayList<>();
+    for (RowData key : keys) {
+      Collection<ByteArrayWrapper> uniqueKeys = setState.get(key);
+      uniqueKeyCounts.add(uniqueKeys.size());
+      uniqueKeys.forEach(uniqueKey -> uniqueKeyBytes.add(uniqueKey.bytes));
+    }
+    List<Optional<RowData>> records =
+        uniqueKeyBytes.isEmpty() ? Collections.emptyList() : recordState.getAll(uniqueKeyBytes);
+
+    List<List<RowData>> results = new ArrayList<>(keys.size());
+    int offset = 0;
+    for (int count : uniqueKeyCounts) {
+      if (count == 0) {
+        results.add(Collections.emptyList());
+        continue;
+      }
+      List<RowData> result = new ArrayList<>(count);
+      for (int i = offset; i < offset + count; i++) {
+        records.get(i).ifPresent(result::add);
+      }
+      results.add(result);
+      offset += count;
+    }
+    return results;
+  }
+
   @Override
   public void upsert(Iterator<RowData> dataStream) throws IOException {
     while (dataStream.hasNext()) {
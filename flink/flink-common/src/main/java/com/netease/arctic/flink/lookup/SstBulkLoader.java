@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.flink.lookup;
+
+import com.netease.arctic.ArcticIOException;
+import com.netease.arctic.utils.map.RocksDBBackend;
+import org.apache.flink.shaded.guava30.com.google.common.primitives.UnsignedBytes;
+import org.apache.flink.util.FileUtils;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Bootstraps a column family by writing the {@link LookupRecord}s into sorted SST files and
+ * ingesting them into RocksDB, bypassing the memtable and the write-ahead log.
+ *
+ * <p>Records are buffered until the buffer size is reached, then sorted by key and written into
+ * one SST file. When a key occurs several times in a buffer, only the last record is kept. Each SST
+ * file is ingested once written, so the files ingested later take precedence over the earlier ones,
+ * which keeps the order of the records.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class SstBulkLoader implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(SstBulkLoader.class);
+  private static final Comparator<byte[]> KEY_COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
+  private static final Comparator<LookupRecord> RECORD_COMPARATOR =
+      (r1, r2) -> KEY_COMPARATOR.compare(r1.keyBytes(), r2.keyBytes());
+
+  private final RocksDBBackend rocksDB;
+  private final ColumnFamilyHandle columnFamilyHandle;
+  private final String columnFamilyName;
+  private final long bufferSize;
+  private final List<LookupRecord> buffer = new ArrayList<>();
+  private long bufferedBytes;
+  private File sstDirectory;
+  private int sstFileCount;
+  private long ingestedRecords;
+
+  public SstBulkLoader(
+      RocksDBBackend rocksDB,
+      ColumnFamilyHandle columnFamilyHandle,
+      String columnFamilyName,
+      long bufferSize) {
+    this.rocksDB = rocksDB;
+    this.columnFamilyHandle = columnFamilyHandle;
+    this.columnFamilyName = columnFamilyName;
+    this.bufferSize = bufferSize;
+  }
+
+  public void add(LookupRecord record) {
+    buffer.add(record);
+    bufferedBytes += record.keyBytes().length + record.valueBytes().length;
+    if (bufferedBytes >= bufferSize) {
+      flush();
+    }
+  }
+
+  /** Writes the buffered records into an SST file and ingests it. */
+  public void flush() {
+    if (buffer.isEmpty()) {
+      return;
+    }
+    // the sort is stable, so the last record of the same key is the latest one
+    buffer.sort(RECORD_COMPARATOR);
+    File sstFile = new File(sstDirectory(), columnFamilyName + "-" + sstFileCount++ + ".sst");
+    long start = System.currentTimeMillis();
+    try (EnvOptions envOptions = new EnvOptions();
+        Options options = new Options();
+        SstFileWriter writer = new SstFileWriter(envOptions, options)) {
+      writer.open(sstFile.getAbsolutePath());
+      for (int i = 0; i < buffer.size(); i++) {
+        LookupRecord record = buffer.get(i);
+        if (i + 1 < buffer.size()
+            && KEY_COMPARATOR.compare(record.keyBytes(), buffer.get(i + 1).keyBytes()) == 0) {
+          continue;
+        }
+        if (record.opType() == LookupRecord.OpType.PUT_BYTES) {
+          writer.put(record.keyBytes(), record.valueBytes());
+        } else {
+          writer.delete(record.keyBytes());
+        }
+      }
+      writer.finish();
+    } catch (RocksDBException e) {
+      throw new ArcticIOException(e);
+    }
+
+    try (IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions()) {
+      ingestOptions.setMoveFiles(true);
+      rocksDB
+          .getDB()
+          .ingestExternalFile(
+              columnFamilyHandle,
+              Collections.singletonList(sstFile.getAbsolutePath()),
+              ingestOptions);
+    } catch (RocksDBException e) {
+      throw new ArcticIOException(e);
+    }
+    ingestedRecords += buffer.size();
+    LOG.info(
+        "Ingested {} records of {} bytes into column family {}, cost {}ms.",
+        buffer.size(),
+        bufferedBytes,
+        columnFamilyName,
+        System.currentTimeMillis() - start);
+    buffer.clear();
+    bufferedBytes = 0;
+  }
+
+  public long ingestedRecords() {
+    return ingestedRecords;
+  }
+
+  private File sstDirectory() {
+    if (sstDirectory == null) {
+      try {
+        // place the files next to the db, so that they could be moved into it
+        sstDirectory =
+            Files.createTempDirectory(
+                    Paths.get(rocksDB.getRocksDBBasePath()).toAbsolutePath().getParent(),
+                    columnFamilyName + "-bulk-load-")
+                .toFile();
+      } catch (IOException e) {
+        throw new ArcticIOException(e);
+      }
+    }
+    return sstDirectory;
+  }
+
+  @Override
+  public void close() {
+    buffer.clear();
+    if (sstDirectory != null) {
+      FileUtils.deleteDirectoryQuietly(sstDirectory);
+      sstDirectory = null;
+    }
+  }
+}
@@ -27,7 +27,8 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
 import com.netease.arctic.flink.read.internals.KafkaFetcher;
 import com.netease.arctic.flink.shuffle.LogRecordV1;
 import com.netease.arctic.log.LogData;
-import com.netease.arctic.log.LogDataJsonDeserialization;
+import com.netease.arctic.log.LogDataDeserialization;
+import com.netease.arctic.log.VersionedLogDataDeserialization;
 import org.apache.flink.api.common.eventtime.WatermarkStrategy;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.streaming.api.functions.source.SourceFunction;
@@ -62,7 +63,7 @@ import java.util.Queue;
 @Deprecated
 public class LogKafkaFetcher extends KafkaFetcher<RowData> {
   private static final Logger LOG = LoggerFactory.getLogger(LogKafkaFetcher.class);
-  private final LogDataJsonDeserialization<RowData> logDataJsonDeserialization;
+  private final LogDataDeserialization<RowData> logDataDeserialization;
   private final LogReadHelper logReadHelper;
   private final boolean logRetractionEnable;
   LogKafkaConsumerThread<RowData> logKafkaConsumerThread;
@@ -110,8 +111,8 @@ public class LogKafkaFetcher extends KafkaFetcher<RowData> {
         handover,
         logKafkaConsumerThread,
         unassignedPartitionsQueue);
-    this.logDataJsonDeserialization =
-        new LogDataJsonDeserialization<>(
+    this.logDataDeserialization =
+        new VersionedLogDataDeserialization<>(
             schema, LogRecordV1.factory, LogRecordV1.arrayFactory, LogRecordV1.mapFactory);
     this.logRetractionEnable = logRetractionEnable;
     this.logReadHelper = logReadHelper;
@@ -134,7 +135,7 @@ public class LogKafkaFetcher extends KafkaFetcher<RowData> {
             "Can't deserialize arctic log queue message due to it does not contain magic number.");
       } else {
         // new format version
-        LogData<RowData> logData = logDataJsonDeserialization.deserialize(record.value());
+        LogData<RowData> logData = logDataDeserialization.deserialize(record.value());
         if (!logData.getFlip() && filterByRowKind(logData.getActualValue())) {
           LOG.info(
               "filter the rowData, because of logConsumerAppendOnly is true, and rowData={}.",
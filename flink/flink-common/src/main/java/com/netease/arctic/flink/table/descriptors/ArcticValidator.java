@@ -254,6 +254,47 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
               "Configuration option for specifying the interval in seconds to reload lookup data in RocksDB."
                   + "\nThe default value is 10 seconds.");
 
+  public static final ConfigOption<Boolean> LOOKUP_ASYNC =
+      ConfigOptions.key("lookup.async")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription(
+              "Whether to use the asynchronous lookup join, concurrent lookup keys are grouped into"
+                  + " batches and fetched from RocksDB by multi-get.");
+
+  public static final ConfigOption<Integer> LOOKUP_ASYNC_BATCH_SIZE =
+      ConfigOptions.key("lookup.async.batch-size")
+          .intType()
+          .defaultValue(128)
+          .withDescription(
+              "The maximum number of lookup keys in a batch of the asynchronous lookup.");
+
+  public static final ConfigOption<Duration> LOOKUP_ASYNC_MAX_WAIT =
+      ConfigOptions.key("lookup.async.max-wait")
+          .durationType()
+          .defaultValue(Duration.ofMillis(2))
+          .withDescription(
+              "The maximum time a lookup key waits for its batch to be filled up before the batch"
+                  + " is fetched.");
+
+  public static final ConfigOption<Integer> LOOKUP_ASYNC_THREADS =
+      ConfigOptions.key("lookup.async.threads")
+          .intType()
+          .defaultValue(4)
+          .withDescription(
+              "The number of I/O threads fetching the batches of the asynchronous lookup.");
+
+  public static final ConfigOption<Boolean> LOOKUP_PARTIAL_LOADING =
+      ConfigOptions.key("lookup.partial-loading")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription(
+              "Whether each subtask of the lookup join only loads the tree nodes and rows of the"
+                  + " primary keys assigned to it, instead of the whole table. It requires the join"
+                  + " keys to contain all the primary keys, and the probe side to be partitioned by"
+                  + " LookupKeyPartitioner. It is only supported by lookup functions used in DataStream"
+                  + " programs, since SQL lookup joins cannot partition the probe side.");
+
   public static final ConfigOption<Boolean> ROCKSDB_AUTO_COMPACTIONS =
       ConfigOptions.key("rocksdb.auto-compactions")
           .booleanType()
@@ -268,6 +309,31 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
           .defaultValue(5)
           .withDescription("Writing data into rocksDB thread number.");
 
+  public static final ConfigOption<Integer> ROCKSDB_WRITING_QUEUE_CAPACITY =
+      ConfigOptions.key("rocksdb.writing-queue.capacity")
+          .intType()
+          .defaultValue(10000)
+          .withDescription(
+              "The maximum number of records waiting to be written into rocksDB by the writing"
+                  + " threads. Loading the table is blocked when the queue is full.");
+
+  public static final ConfigOption<Boolean> ROCKSDB_BULK_LOAD_ENABLED =
+      ConfigOptions.key("rocksdb.bulk-load.enabled")
+          .booleanType()
+          .defaultValue(true)
+          .withDescription(
+              "Whether to write the records into sorted SST files and ingest them into rocksDB"
+                  + " during the initialization process, instead of putting them one by one."
+                  + " It is not applied when lookup.cache.ttl-after-write is set.");
+
+  public static final ConfigOption<Long> ROCKSDB_BULK_LOAD_BUFFER_SIZE =
+      ConfigOptions.key("rocksdb.bulk-load.buffer-size")
+          .longType()
+          .defaultValue(64 * 1024 * 1024L)
+          .withDescription(
+              "The bytes of records buffered in memory and sorted into one SST file when bulk"
+                  + " loading. Default is 64MB.");
+
   public static final ConfigOption<Long> ROCKSDB_BLOCK_CACHE_CAPACITY =
       ConfigOptions.key("rocksdb.block-cache.capacity")
           .longType()
@@ -28,6 +28,9 @@ public class LookupUtil {
     return new LookupOptions.Builder()
         .lruMaximumSize(config.get(ArcticValidator.LOOKUP_CACHE_MAX_ROWS))
         .writeRecordThreadNum(config.get(ArcticValidator.ROCKSDB_WRITING_THREADS))
+        .writingQueueCapacity(config.get(ArcticValidator.ROCKSDB_WRITING_QUEUE_CAPACITY))
+        .bulkLoadEnabled(config.get(ArcticValidator.ROCKSDB_BULK_LOAD_ENABLED))
+        .bulkLoadBufferSize(config.get(ArcticValidator.ROCKSDB_BULK_LOAD_BUFFER_SIZE))
         .ttlAfterWrite(config.get(ArcticValidator.LOOKUP_CACHE_TTL_AFTER_WRITE))
         .blockCacheCapacity(config.get(ArcticValidator.ROCKSDB_BLOCK_CACHE_CAPACITY))
         .blockCacheNumShardBits(config.get(ArcticValidator.ROCKSDB_BLOCK_CACHE_NUM_SHARD_BITS))
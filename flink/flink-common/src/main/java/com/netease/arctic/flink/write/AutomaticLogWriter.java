@@ -22,6 +22,7 @@ import com.netease.arctic.flink.shuffle.ShuffleHelper;
 import com.netease.arctic.flink.table.ArcticTableLoader;
 import com.netease.arctic.flink.write.hidden.HiddenLogWriter;
 import com.netease.arctic.flink.write.hidden.LogMsgFactory;
+import com.netease.arctic.log.FormatVersion;
 import com.netease.arctic.log.LogData;
 import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.StateSnapshotContext;
@@ -56,9 +57,33 @@ public class AutomaticLogWriter extends ArcticLogWriter {
       ShuffleHelper helper,
       ArcticTableLoader tableLoader,
       Duration writeLogstoreWatermarkGap) {
+    this(
+        schema,
+        producerConfig,
+        topic,
+        factory,
+        fieldGetterFactory,
+        jobId,
+        helper,
+        tableLoader,
+        writeLogstoreWatermarkGap,
+        FormatVersion.FORMAT_VERSION_V1);
+  }
+
+  public AutomaticLogWriter(
+      Schema schema,
+      Properties producerConfig,
+      String topic,
+      LogMsgFactory<RowData> factory,
+      LogData.FieldGetterFactory<RowData> fieldGetterFactory,
+      byte[] jobId,
+      ShuffleHelper helper,
+      ArcticTableLoader tableLoader,
+      Duration writeLogstoreWatermarkGap,
+      FormatVersion logVersion) {
     this.arcticLogWriter =
         new HiddenLogWriter(
-            schema, producerConfig, topic, factory, fieldGetterFactory, jobId, helper);
+            schema, producerConfig, topic, factory, fieldGetterFactory, jobId, helper, logVersion);
     this.status = new AutomaticDoubleWriteStatus(tableLoader, writeLogstoreWatermarkGap);
   }
 
@@ -26,7 +26,7 @@ import com.netease.arctic.flink.shuffle.ShuffleHelper;
 import com.netease.arctic.flink.write.ArcticLogWriter;
 import com.netease.arctic.log.FormatVersion;
 import com.netease.arctic.log.LogData;
-import com.netease.arctic.log.LogDataJsonSerialization;
+import com.netease.arctic.log.LogDataSerialization;
 import org.apache.flink.api.common.state.ListState;
 import org.apache.flink.api.common.state.ListStateDescriptor;
 import org.apache.flink.api.common.typeutils.base.IntSerializer;
@@ -72,9 +72,9 @@ public abstract class AbstractHiddenLogWriter extends ArcticLogWriter {
 
   private GlobalFlipCommitter flipCommitter;
   private final LogData.FieldGetterFactory<RowData> fieldGetterFactory;
-  protected transient LogDataJsonSerialization<RowData> logDataJsonSerialization;
+  protected transient LogDataSerialization<RowData> logDataSerialization;
 
-  protected FormatVersion logVersion = FormatVersion.FORMAT_VERSION_V1;
+  protected final FormatVersion logVersion;
   protected byte[] jobIdentify;
   // start from 1L, epicNo is similar to checkpoint id.
   protected long epicNo = 1L;
@@ -89,6 +89,26 @@ public abstract class AbstractHiddenLogWriter extends ArcticLogWriter {
       LogData.FieldGetterFactory<RowData> fieldGetterFactory,
       byte[] jobId,
       ShuffleHelper helper) {
+    this(
+        schema,
+        producerConfig,
+        topic,
+        factory,
+        fieldGetterFactory,
+        jobId,
+        helper,
+        FormatVersion.FORMAT_VERSION_V1);
+  }
+
+  public AbstractHiddenLogWriter(
+      Schema schema,
+      Properties producerConfig,
+      String topic,
+      LogMsgFactory<RowData> factory,
+      LogData.FieldGetterFactory<RowData> fieldGetterFactory,
+      byte[] jobId,
+      ShuffleHelper helper,
+      FormatVersion logVersion) {
     this.schema = schema;
     this.producerConfig = checkNotNull(producerConfig);
     this.topic = checkNotNull(topic);
@@ -96,6 +116,7 @@ public abstract class AbstractHiddenLogWriter extends ArcticLogWriter {
     this.fieldGetterFactory = fieldGetterFactory;
     this.jobIdentify = jobId;
     this.helper = helper;
+    this.logVersion = checkNotNull(logVersion);
   }
 
   @Override
@@ -153,10 +174,11 @@ public abstract class AbstractHiddenLogWriter extends ArcticLogWriter {
       hiddenLogJobIdentifyState.add(new String(jobIdentify, StandardCharsets.UTF_8));
     }
 
-    logDataJsonSerialization =
-        new LogDataJsonSerialization<>(checkNotNull(schema), checkNotNull(fieldGetterFactory));
+    logDataSerialization =
+        LogDataSerialization.create(
+            logVersion, checkNotNull(schema), checkNotNull(fieldGetterFactory));
 
-    producer = factory.createProducer(producerConfig, topic, logDataJsonSerialization, helper);
+    producer = factory.createProducer(producerConfig, topic, logDataSerialization, helper);
 
     parallelismState.clear();
     parallelismState.add(parallelism);
@@ -23,7 +23,7 @@ import static org.apache.iceberg.relocated.com.google.common.base.Preconditions.
 import com.netease.arctic.flink.shuffle.ShuffleHelper;
 import com.netease.arctic.flink.write.hidden.ArcticLogPartitioner;
 import com.netease.arctic.flink.write.hidden.LogMsgFactory;
-import com.netease.arctic.log.LogDataJsonSerialization;
+import com.netease.arctic.log.LogDataSerialization;
 
 import java.util.Properties;
 
@@ -35,11 +35,11 @@ public class HiddenKafkaFactory<T> implements LogMsgFactory<T> {
   public Producer<T> createProducer(
       Properties producerConfig,
       String topic,
-      LogDataJsonSerialization<T> logDataJsonSerialization,
+      LogDataSerialization<T> logDataSerialization,
       ShuffleHelper helper) {
     checkNotNull(topic);
     return new HiddenKafkaProducer<>(
-        producerConfig, topic, logDataJsonSerialization, new ArcticLogPartitioner<>(helper));
+        producerConfig, topic, logDataSerialization, new ArcticLogPartitioner<>(helper));
   }
 
   @Override
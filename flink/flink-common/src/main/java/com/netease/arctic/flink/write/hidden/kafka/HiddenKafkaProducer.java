@@ -23,7 +23,7 @@ import static org.apache.kafka.clients.producer.ProducerConfig.TRANSACTIONAL_ID_
 import com.netease.arctic.flink.write.hidden.ArcticLogPartitioner;
 import com.netease.arctic.flink.write.hidden.LogMsgFactory;
 import com.netease.arctic.log.LogData;
-import com.netease.arctic.log.LogDataJsonSerialization;
+import com.netease.arctic.log.LogDataSerialization;
 import org.apache.flink.streaming.connectors.kafka.FlinkKafkaErrorCode;
 import org.apache.flink.streaming.connectors.kafka.FlinkKafkaException;
 import org.apache.flink.streaming.connectors.kafka.internals.FlinkKafkaInternalProducer;
@@ -57,7 +57,7 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
 
   private final String topic;
 
-  private final LogDataJsonSerialization<T> logDataJsonSerialization;
+  private final LogDataSerialization<T> logDataSerialization;
 
   /** The callback than handles error propagation or logging callbacks. */
   @Nullable protected transient Callback callback;
@@ -73,11 +73,11 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
   public HiddenKafkaProducer(
       Properties producerConfig,
       String topic,
-      LogDataJsonSerialization<T> logDataJsonSerialization,
+      LogDataSerialization<T> logDataSerialization,
       ArcticLogPartitioner<T> arcticLogPartitioner) {
     this.producerConfig = producerConfig;
     this.topic = topic;
-    this.logDataJsonSerialization = logDataJsonSerialization;
+    this.logDataSerialization = logDataSerialization;
     this.arcticLogPartitioner = arcticLogPartitioner;
   }
 
@@ -100,7 +100,7 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
   @Override
   public void send(LogData<T> logData) throws Exception {
     checkErroneous();
-    byte[] message = logDataJsonSerialization.serialize(logData);
+    byte[] message = logDataSerialization.serialize(logData);
     int partition = arcticLogPartitioner.partition(logData, partitions);
     ProducerRecord<byte[], byte[]> producerRecord =
         new ProducerRecord<>(topic, partition, null, null, message);
@@ -110,7 +110,7 @@ public class HiddenKafkaProducer<T> implements LogMsgFactory.Producer<T> {
   @Override
   public void sendToAllPartitions(LogData<T> logData) throws Exception {
     checkErroneous();
-    byte[] message = logDataJsonSerialization.serialize(logData);
+    byte[] message = logDataSerialization.serialize(logData);
     List<ProducerRecord<byte[], byte[]>> recordList =
         IntStream.of(partitions)
             .mapToObj(i -> new ProducerRecord<byte[], byte[]>(topic, i, null, null, message))
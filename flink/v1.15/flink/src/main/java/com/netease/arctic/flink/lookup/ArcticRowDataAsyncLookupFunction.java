@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.flink.lookup;
+
+import static com.netease.arctic.flink.lookup.LookupMetrics.GROUP_NAME_LOOKUP;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC_BATCH_SIZE;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC_MAX_WAIT;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC_THREADS;
+
+import com.netease.arctic.flink.read.hybrid.reader.DataIteratorReaderFunction;
+import com.netease.arctic.flink.table.ArcticTableLoader;
+import com.netease.arctic.hive.io.reader.AbstractAdaptHiveKeyedDataReader;
+import com.netease.arctic.table.ArcticTable;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.AsyncTableFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.expressions.Expression;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * An asynchronous lookup function for {@link RowData} type. Concurrent lookup keys are grouped into
+ * batches by {@link BatchLookupExecutor} and fetched through {@link KVTable#getAll(List)}.
+ */
+public class ArcticRowDataAsyncLookupFunction extends AsyncTableFunction<RowData> {
+  private static final long serialVersionUID = 4128569032117405874L;
+  private final BasicLookupFunction<RowData> basicLookupFunction;
+  private final int batchSize;
+  private final long maxWaitMs;
+  private final int ioThreads;
+  private transient BatchLookupExecutor<RowData> batchLookupExecutor;
+
+  public ArcticRowDataAsyncLookupFunction(
+      TableFactory<RowData> tableFactory,
+      ArcticTable arcticTable,
+      List<String> joinKeys,
+      Schema projectSchema,
+      List<Expression> filters,
+      ArcticTableLoader tableLoader,
+      Configuration config,
+      Predicate<RowData> predicate,
+      AbstractAdaptHiveKeyedDataReader<RowData> flinkArcticMORDataReader,
+      DataIteratorReaderFunction<RowData> readerFunction,
+      LookupBucketAssigner bucketAssigner) {
+    this.basicLookupFunction =
+        new BasicLookupFunction<>(
+            tableFactory,
+            arcticTable,
+            joinKeys,
+            projectSchema,
+            filters,
+            tableLoader,
+            config,
+            predicate,
+            flinkArcticMORDataReader,
+            readerFunction,
+            bucketAssigner);
+    this.batchSize = config.get(LOOKUP_ASYNC_BATCH_SIZE);
+    this.maxWaitMs = config.get(LOOKUP_ASYNC_MAX_WAIT).toMillis();
+    this.ioThreads = config.get(LOOKUP_ASYNC_THREADS);
+  }
+
+  @Override
+  public void open(FunctionContext context) throws IOException {
+    basicLookupFunction.open(context);
+    batchLookupExecutor =
+        new BatchLookupExecutor<>(basicLookupFunction::lookupAll, batchSize, maxWaitMs, ioThreads);
+    batchLookupExecutor.open(context.getMetricGroup().addGroup(GROUP_NAME_LOOKUP));
+  }
+
+  public void eval(CompletableFuture<Collection<RowData>> future, Object... rowKey) {
+    batchLookupExecutor
+        .submit(GenericRowData.of(rowKey))
+        .whenComplete(
+            (results, throwable) -> {
+              if (throwable != null) {
+                future.completeExceptionally(throwable);
+              } else {
+                future.complete(results);
+              }
+            });
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (batchLookupExecutor != null) {
+      batchLookupExecutor.close();
+    }
+    basicLookupFunction.close();
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netease.arctic.flink.lookup;
+
+import static com.netease.arctic.flink.lookup.LookupMetrics.ASYNC_BATCH_COUNT;
+import static com.netease.arctic.flink.lookup.LookupMetrics.ASYNC_BATCH_SIZE;
+import static com.netease.arctic.flink.lookup.LookupMetrics.ASYNC_IN_FLIGHT;
+
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Groups the lookup keys submitted concurrently into batches and fetches every batch on a
+ * dedicated I/O thread pool.
+ *
+ * <p>A batch is dispatched once it holds {@code batchSize} keys or its first key has waited for
+ * {@code maxWaitMs}, whichever comes first.
+ *
+ * @param <T> the type of the lookup results
+ */
+public class BatchLookupExecutor<T> {
+  private static final Logger LOG = LoggerFactory.getLogger(BatchLookupExecutor.class);
+
+  private final Function<List<RowData>, List<List<T>>> batchLookup;
+  private final int batchSize;
+  private final long maxWaitNanos;
+  private final int ioThreads;
+  private final BlockingQueue<LookupRequest<T>> pendingRequests = new LinkedBlockingQueue<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile int lastBatchSize;
+  private Counter batchCounter;
+
+  private ExecutorService ioExecutor;
+  private Thread dispatcher;
+  private volatile boolean running;
+
+  public BatchLookupExecutor(
+      Function<List<RowData>, List<List<T>>> batchLookup,
+      int batchSize,
+      long maxWaitMs,
+      int ioThreads) {
+    Preconditions.checkArgument(batchSize > 0, "batchSize must be greater than 0");
+    Preconditions.checkArgument(maxWaitMs >= 0, "maxWaitMs must not be negative");
+    Preconditions.checkArgument(ioThreads > 0, "ioThreads must be greater than 0");
+    this.batchLookup = batchLookup;
+    this.batchSize = batchSize;
+    this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+    this.ioThreads = ioThreads;
+  }
+
+  public void open(MetricGroup metricGroup) {
+    metricGroup.gauge(ASYNC_IN_FLIGHT, inFlight::get);
+    metricGroup.gauge(ASYNC_BATCH_SIZE, () -> lastBatchSize);
+    batchCounter = metricGroup.counter(ASYNC_BATCH_COUNT);
+
+    ioExecutor =
+        Executors.newFixedThreadPool(
+            ioThreads, new ExecutorThreadFactory("Arctic-lookup-async-io"));
+    running = true;
+    dispatcher =
+        new ExecutorThreadFactory("Arctic-lookup-async-dispatcher").newThread(this::dispatch);
+    dispatcher.start();
+  }
+
+  /** Submit a lookup key, the returned future is completed once the key's batch is fetched. */
+  public CompletableFuture<List<T>> submit(RowData key) {
+    Preconditions.checkState(running, "The batch lookup executor is not running");
+    LookupRequest<T> request = new LookupRequest<>(key);
+    inFlight.incrementAndGet();
+    pendingRequests.add(request);
+    return request.future;
+  }
+
+  private void dispatch() {
+    while (running) {
+      try {
+        LookupRequest<T> first = pendingRequests.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        List<LookupRequest<T>> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < batchSize) {
+          if (pendingRequests.drainTo(batch, batchSize - batch.size()) > 0) {
+            continue;
+          }
+          long remaining = deadline - System.nanoTime();
+          if (remaining <= 0) {
+            break;
+          }
+          LookupRequest<T> next = pendingRequests.poll(remaining, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+        ioExecutor.execute(() -> lookup(batch));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (Throwable t) {
+        LOG.error("Failed to dispatch lookup batch.", t);
+      }
+    }
+  }
+
+  private void lookup(List<LookupRequest<T>> batch) {
+    lastBatchSize = batch.size();
+    batchCounter.inc();
+    try {
+      List<RowData> keys = new ArrayList<>(batch.size());
+      batch.forEach(request -> keys.add(request.key));
+      List<List<T>> results = batchLookup.apply(keys);
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).future.complete(results.get(i));
+      }
+    } catch (Throwable t) {
+      batch.forEach(request -> request.future.completeExceptionally(t));
+    } finally {
+      inFlight.addAndGet(-batch.size());
+    }
+  }
+
+  public void close() throws InterruptedException {
+    running = false;
+    if (dispatcher != null) {
+      dispatcher.interrupt();
+      dispatcher.join();
+    }
+    if (ioExecutor != null) {
+      ioExecutor.shutdown();
+      ioExecutor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+    LookupRequest<T> request;
+    while ((request = pendingRequests.poll()) != null) {
+      request.future.completeExceptionally(
+          new IllegalStateException("The batch lookup executor is closed"));
+    }
+  }
+
+  private static class LookupRequest<T> {
+    private final RowData key;
+    private final CompletableFuture<List<T>> future = new CompletableFuture<>();
+
+    private LookupRequest(RowData key) {
+      this.key = key;
+    }
+  }
+}
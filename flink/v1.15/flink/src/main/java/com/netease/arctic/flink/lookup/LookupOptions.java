@@ -32,6 +32,9 @@ public class LookupOptions implements Serializable {
   private final Duration ttlAfterWrite;
   private final long blockCacheCapacity;
   private final int blockCacheNumShardBits;
+  private final int writingQueueCapacity;
+  private final boolean bulkLoadEnabled;
+  private final long bulkLoadBufferSize;
 
   private LookupOptions(Builder builder) {
     this.lruMaximumSize = builder.lruMaximumSize;
@@ -39,6 +42,9 @@ public class LookupOptions implements Serializable {
     this.ttlAfterWrite = builder.ttlAfterWrite;
     this.blockCacheCapacity = builder.blockCacheCapacity;
     this.blockCacheNumShardBits = builder.blockCacheNumShardBits;
+    this.writingQueueCapacity = builder.writingQueueCapacity;
+    this.bulkLoadEnabled = builder.bulkLoadEnabled;
+    this.bulkLoadBufferSize = builder.bulkLoadBufferSize;
   }
 
   public long lruMaximumSize() {
@@ -65,6 +71,18 @@ public class LookupOptions implements Serializable {
     return blockCacheNumShardBits;
   }
 
+  public int writingQueueCapacity() {
+    return writingQueueCapacity;
+  }
+
+  public boolean isBulkLoadEnabled() {
+    return bulkLoadEnabled;
+  }
+
+  public long bulkLoadBufferSize() {
+    return bulkLoadBufferSize;
+  }
+
   @Override
   public String toString() {
     return "LookupOptions{"
@@ -78,6 +96,12 @@ public class LookupOptions implements Serializable {
         + blockCacheCapacity
         + ", blockCacheNumShardBits="
         + blockCacheNumShardBits
+        + ", writingQueueCapacity="
+        + writingQueueCapacity
+        + ", bulkLoadEnabled="
+        + bulkLoadEnabled
+        + ", bulkLoadBufferSize="
+        + bulkLoadBufferSize
         + "}";
   }
 
@@ -87,6 +111,9 @@ public class LookupOptions implements Serializable {
     private Duration ttlAfterWrite;
     private long blockCacheCapacity;
     private int blockCacheNumShardBits;
+    private int writingQueueCapacity = 10000;
+    private boolean bulkLoadEnabled;
+    private long bulkLoadBufferSize = 64 * 1024 * 1024L;
 
     /** LRU cache max size. */
     public Builder lruMaximumSize(long lruMaximumSize) {
@@ -126,6 +153,27 @@ public class LookupOptions implements Serializable {
       return this;
     }
 
+    /** The maximum number of records waiting to be written by the writing threads. */
+    public Builder writingQueueCapacity(int writingQueueCapacity) {
+      Preconditions.checkArgument(
+          writingQueueCapacity > 0, "writingQueueCapacity must be greater than 0");
+      this.writingQueueCapacity = writingQueueCapacity;
+      return this;
+    }
+
+    /** Ingest sorted SST files into RocksDB during the initialization. */
+    public Builder bulkLoadEnabled(boolean bulkLoadEnabled) {
+      this.bulkLoadEnabled = bulkLoadEnabled;
+      return this;
+    }
+
+    public Builder bulkLoadBufferSize(long bulkLoadBufferSize) {
+      Preconditions.checkArgument(
+          bulkLoadBufferSize > 0, "bulkLoadBufferSize must be greater than 0");
+      this.bulkLoadBufferSize = bulkLoadBufferSize;
+      return this;
+    }
+
     public LookupOptions build() {
       return new LookupOptions(this);
     }
@@ -38,12 +38,12 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -72,7 +72,8 @@ public abstract class RocksDBCacheState<V> {
   private ExecutorService writeRocksDBService;
   private final AtomicBoolean initialized = new AtomicBoolean(false);
   private final AtomicBoolean closed = new AtomicBoolean(false);
-  protected Queue<LookupRecord> lookupRecordsQueue;
+  protected BlockingQueue<LookupRecord> lookupRecordsQueue;
+  private SstBulkLoader bulkLoader;
 
   private final int writeRocksDBThreadNum;
   private List<Future<?>> writeRocksDBThreadFutures;
@@ -112,7 +113,17 @@ public abstract class RocksDBCacheState<V> {
 
     addGauge(columnFamilyName + "_queue_size", () -> lookupRecordsQueue.size());
 
-    lookupRecordsQueue = new ConcurrentLinkedQueue<>();
+    lookupRecordsQueue = new LinkedBlockingQueue<>(lookupOptions.writingQueueCapacity());
+    // the values of a TTL db carry a timestamp, they can't be written into SST files directly
+    if (lookupOptions.isBulkLoadEnabled()
+        && !secondaryIndexMemoryMapEnabled
+        && !lookupOptions.isTTLAfterWriteValidated()) {
+      bulkLoader =
+          new SstBulkLoader(
+              rocksDB, columnFamilyHandle, columnFamilyName, lookupOptions.bulkLoadBufferSize());
+      writeRocksDBThreadFutures = Collections.emptyList();
+      return;
+    }
     writeRocksDBThreadFutures =
         IntStream.range(0, writeRocksDBThreadNum)
             .mapToObj(
@@ -150,24 +161,53 @@ public abstract class RocksDBCacheState<V> {
     return new ByteArrayWrapper(bytes, bytes.length);
   }
 
+  /**
+   * Hands the record over to the bulk loader if enabled, otherwise to the writing threads. Blocks
+   * when the writing threads fall behind and the queue is full.
+   */
   protected void putIntoQueue(LookupRecord lookupRecord) {
     Preconditions.checkNotNull(lookupRecord);
-    lookupRecordsQueue.add(lookupRecord);
+    if (bulkLoader != null) {
+      bulkLoader.add(lookupRecord);
+      return;
+    }
+    try {
+      while (!lookupRecordsQueue.offer(lookupRecord, 100, TimeUnit.MILLISECONDS)) {
+        checkConcurrentFailed();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FlinkRuntimeException(e);
+    }
   }
 
   /** Waiting for the writing threads completed. */
   public void waitWriteRocksDBDone() {
-    long every5SecondsPrint = Long.MIN_VALUE;
+    if (bulkLoader != null) {
+      bulkLoader.flush();
+      LOG.info(
+          "Ingested {} records into column family {}.",
+          bulkLoader.ingestedRecords(),
+          columnFamilyName);
+      bulkLoader.close();
+      bulkLoader = null;
+    }
 
-    while (true) {
-      if (lookupRecordsQueue.isEmpty()) {
-        initialized.set(true);
-        break;
-      } else if (every5SecondsPrint < System.currentTimeMillis()) {
+    long every5SecondsPrint = Long.MIN_VALUE;
+    while (!lookupRecordsQueue.isEmpty()) {
+      checkConcurrentFailed();
+      if (every5SecondsPrint < System.currentTimeMillis()) {
         LOG.info("Currently rocksDB queue size is {}.", lookupRecordsQueue.size());
         every5SecondsPrint = System.currentTimeMillis() + 5000;
       }
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new FlinkRuntimeException(e);
+      }
     }
+    initialized.set(true);
     // Wait for all threads to finish
     for (Future<?> future : writeRocksDBThreadFutures) {
       try {
@@ -214,6 +254,10 @@ public abstract class RocksDBCacheState<V> {
       writeRocksDBService = null;
     }
     closed.set(true);
+    if (bulkLoader != null) {
+      bulkLoader.close();
+      bulkLoader = null;
+    }
     if (lookupRecordsQueue != null) {
       lookupRecordsQueue.clear();
       lookupRecordsQueue = null;
@@ -270,7 +314,7 @@ public abstract class RocksDBCacheState<V> {
       LOG.info("{} starting.", name);
       try {
         while (!closed.get() && !initialized.get()) {
-          LookupRecord record = lookupRecordsQueue.poll();
+          LookupRecord record = lookupRecordsQueue.poll(100, TimeUnit.MILLISECONDS);
           if (record != null) {
             switch (record.opType()) {
               case PUT_BYTES:
@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -81,6 +82,17 @@ public class UniqueIndexTable implements KVTable<RowData> {
     return record.map(Collections::singletonList).orElse(Collections.emptyList());
   }
 
+  @Override
+  public List<List<RowData>> getAll(List<RowData> keys) throws IOException {
+    List<byte[]> keyBytes = new ArrayList<>(keys.size());
+    for (RowData key : keys) {
+      keyBytes.add(recordState.serializeKey(key));
+    }
+    return recordState.getAll(keyBytes).stream()
+        .map(record -> record.map(Collections::singletonList).orElse(Collections.emptyList()))
+        .collect(Collectors.toList());
+  }
+
   @Override
   public void upsert(Iterator<RowData> dataStream) throws IOException {
     while (dataStream.hasNext()) {
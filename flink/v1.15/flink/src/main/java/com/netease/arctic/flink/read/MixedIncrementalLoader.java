@@ -33,6 +33,7 @@ import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
 /**
  * This is a mixed-format table(mixed iceberg, mixed-hive) incremental loader.
@@ -54,16 +55,31 @@ public class MixedIncrementalLoader<T> implements AutoCloseable {
   private final List<Expression> filters;
   private final AtomicReference<ArcticEnumeratorOffset> enumeratorPosition;
   private final Queue<ArcticSplit> splitQueue;
+  private final Predicate<ArcticSplit> splitFilter;
 
   public MixedIncrementalLoader(
       ContinuousSplitPlanner continuousSplitPlanner,
       AbstractAdaptHiveKeyedDataReader<T> flinkArcticMORDataReader,
       DataIteratorReaderFunction<T> readerFunction,
       List<Expression> filters) {
+    this(continuousSplitPlanner, flinkArcticMORDataReader, readerFunction, filters, null);
+  }
+
+  /**
+   * @param splitFilter only the splits accepted by this filter are loaded, nullable to load all the
+   *     splits.
+   */
+  public MixedIncrementalLoader(
+      ContinuousSplitPlanner continuousSplitPlanner,
+      AbstractAdaptHiveKeyedDataReader<T> flinkArcticMORDataReader,
+      DataIteratorReaderFunction<T> readerFunction,
+      List<Expression> filters,
+      Predicate<ArcticSplit> splitFilter) {
     this.continuousSplitPlanner = continuousSplitPlanner;
     this.flinkArcticMORDataReader = flinkArcticMORDataReader;
     this.readerFunction = readerFunction;
     this.filters = filters;
+    this.splitFilter = splitFilter;
     this.enumeratorPosition = new AtomicReference<>();
     this.splitQueue = new ArrayDeque<>();
   }
@@ -75,6 +91,7 @@ public class MixedIncrementalLoader<T> implements AutoCloseable {
     this.continuousSplitPlanner = continuousSplitPlanner;
     this.readerFunction = readerFunction;
     this.filters = filters;
+    this.splitFilter = null;
     this.enumeratorPosition = new AtomicReference<>();
     this.splitQueue = new ArrayDeque<>();
   }
@@ -84,8 +101,14 @@ public class MixedIncrementalLoader<T> implements AutoCloseable {
       ContinuousEnumerationResult planResult =
           continuousSplitPlanner.planSplits(enumeratorPosition.get(), filters);
       if (!planResult.isEmpty()) {
-        planResult.splits().forEach(split -> LOG.info("Putting this split into queue: {}.", split));
-        splitQueue.addAll(planResult.splits());
+        for (ArcticSplit split : planResult.splits()) {
+          if (splitFilter != null && !splitFilter.test(split)) {
+            LOG.debug("Skipping this split: {}.", split);
+            continue;
+          }
+          LOG.info("Putting this split into queue: {}.", split);
+          splitQueue.add(split);
+        }
       }
       if (!planResult.toOffset().isEmpty()) {
         enumeratorPosition.set(planResult.toOffset());
@@ -18,13 +18,16 @@
 
 package com.netease.arctic.flink.table;
 
+import com.netease.arctic.flink.lookup.ArcticRowDataAsyncLookupFunction;
 import com.netease.arctic.flink.lookup.ArcticRowDataLookupFunction;
 import com.netease.arctic.flink.lookup.KVTableFactory;
+import com.netease.arctic.flink.lookup.LookupKeyPartitioner;
 import com.netease.arctic.flink.lookup.filter.RowDataPredicate;
 import com.netease.arctic.flink.lookup.filter.RowDataPredicateExpressionVisitor;
 import com.netease.arctic.flink.read.hybrid.reader.DataIteratorReaderFunction;
 import com.netease.arctic.flink.read.hybrid.reader.RowDataReaderFunction;
 import com.netease.arctic.flink.read.source.FlinkArcticMORDataReader;
+import com.netease.arctic.flink.table.descriptors.ArcticValidator;
 import com.netease.arctic.flink.util.FilterUtil;
 import com.netease.arctic.flink.util.IcebergAndFlinkFilters;
 import com.netease.arctic.hive.io.reader.AbstractAdaptHiveKeyedDataReader;
@@ -34,6 +37,7 @@ import org.apache.flink.api.common.eventtime.WatermarkStrategy;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.table.api.DataTypes;
 import org.apache.flink.table.connector.ChangelogMode;
+import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
 import org.apache.flink.table.connector.source.DataStreamScanProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.LookupTableSource;
@@ -46,6 +50,7 @@ import org.apache.flink.table.connector.source.abilities.SupportsWatermarkPushDo
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.expressions.CallExpression;
 import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.functions.AsyncTableFunction;
 import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
 import org.apache.flink.table.functions.FunctionIdentifier;
 import org.apache.flink.table.functions.TableFunction;
@@ -245,17 +250,62 @@ public class ArcticDynamicSource
           "Arctic lookup join doesn't support the row field as a joining key.");
       joinKeys[i] = context.getKeys()[i][0];
     }
+    checkPartialLoadingDisabled();
 
+    if (lookupConfig().get(ArcticValidator.LOOKUP_ASYNC)) {
+      return AsyncTableFunctionProvider.of(getAsyncLookupFunction(joinKeys));
+    }
     return TableFunctionProvider.of(getLookupFunction(joinKeys));
   }
 
-  protected TableFunction<RowData> getLookupFunction(int[] joinKeys) {
+  protected AsyncTableFunction<RowData> getAsyncLookupFunction(int[] joinKeys) {
     Schema projectedSchema = getProjectedSchema();
 
     List<String> joinKeyNames = getJoinKeyNames(joinKeys, projectedSchema);
 
+    Optional<RowDataPredicate> rowDataPredicate =
+        generatePredicate(projectedSchema, flinkExpression);
+
+    return new ArcticRowDataAsyncLookupFunction(
+        KVTableFactory.INSTANCE,
+        arcticTable,
+        joinKeyNames,
+        projectedSchema,
+        filters,
+        tableLoader,
+        lookupConfig(),
+        rowDataPredicate.orElse(null),
+        generateMORReader(arcticTable, projectedSchema),
+        generateReaderFunction(arcticTable, projectedSchema),
+        // partial loading is rejected for SQL lookup joins
+        null);
+  }
+
+  private Configuration lookupConfig() {
     Configuration config = new Configuration();
     properties.forEach(config::setString);
+    return config;
+  }
+
+  /**
+   * The partial loading needs the probe side to be partitioned by {@link LookupKeyPartitioner},
+   * which SQL lookup joins cannot do, so every subtask would receive keys it never loaded and
+   * silently miss their matches.
+   */
+  private void checkPartialLoadingDisabled() {
+    Preconditions.checkArgument(
+        !lookupConfig().get(ArcticValidator.LOOKUP_PARTIAL_LOADING),
+        "%s is not supported by SQL lookup joins, since the probe side cannot be partitioned by"
+            + " LookupKeyPartitioner.",
+        ArcticValidator.LOOKUP_PARTIAL_LOADING.key());
+  }
+
+  protected TableFunction<RowData> getLookupFunction(int[] joinKeys) {
+    Schema projectedSchema = getProjectedSchema();
+
+    List<String> joinKeyNames = getJoinKeyNames(joinKeys, projectedSchema);
+
+    Configuration config = lookupConfig();
 
     Optional<RowDataPredicate> rowDataPredicate =
         generatePredicate(projectedSchema, flinkExpression);
@@ -275,7 +325,9 @@ public class ArcticDynamicSource
         config,
         rowDataPredicate.orElse(null),
         flinkArcticMORDataReader,
-        readerFunction);
+        readerFunction,
+        // partial loading is rejected for SQL lookup joins
+        null);
   }
 
   protected DataIteratorReaderFunction<RowData> generateReaderFunction(
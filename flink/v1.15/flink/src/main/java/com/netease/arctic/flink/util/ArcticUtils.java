@@ -23,6 +23,7 @@ import static com.netease.arctic.table.TableProperties.ENABLE_LOG_STORE;
 import static com.netease.arctic.table.TableProperties.LOG_STORE_ADDRESS;
 import static com.netease.arctic.table.TableProperties.LOG_STORE_DATA_VERSION;
 import static com.netease.arctic.table.TableProperties.LOG_STORE_DATA_VERSION_DEFAULT;
+import static com.netease.arctic.table.TableProperties.LOG_STORE_DATA_VERSION_V2;
 import static com.netease.arctic.table.TableProperties.LOG_STORE_MESSAGE_TOPIC;
 import static com.netease.arctic.table.TableProperties.LOG_STORE_STORAGE_TYPE_DEFAULT;
 import static com.netease.arctic.table.TableProperties.LOG_STORE_STORAGE_TYPE_KAFKA;
@@ -38,6 +39,7 @@ import com.netease.arctic.flink.write.ArcticLogWriter;
 import com.netease.arctic.flink.write.AutomaticLogWriter;
 import com.netease.arctic.flink.write.hidden.HiddenLogWriter;
 import com.netease.arctic.flink.write.hidden.kafka.HiddenKafkaFactory;
+import com.netease.arctic.log.FormatVersion;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.PrimaryKeySpec;
 import com.netease.arctic.table.TableProperties;
@@ -170,34 +172,43 @@ public class ArcticUtils {
 
     String version =
         properties.getOrDefault(LOG_STORE_DATA_VERSION, LOG_STORE_DATA_VERSION_DEFAULT);
+    FormatVersion logVersion;
     if (LOG_STORE_DATA_VERSION_DEFAULT.equals(version)) {
-      if (arcticEmitMode.equals(ArcticValidator.ARCTIC_EMIT_AUTO)) {
-        LOG.info(
-            "arctic emit mode is auto, and we will build automatic log writer: AutomaticLogWriter(v1)");
-        return new AutomaticLogWriter(
-            FlinkSchemaUtil.convert(tableSchema),
-            producerConfig,
-            topic,
-            new HiddenKafkaFactory<>(),
-            LogRecordV1.fieldGetterFactory,
-            IdGenerator.generateUpstreamId(),
-            helper,
-            tableLoader,
-            watermarkWriteGap);
-      }
+      logVersion = FormatVersion.FORMAT_VERSION_V1;
+    } else if (LOG_STORE_DATA_VERSION_V2.equals(version)) {
+      logVersion = FormatVersion.FORMAT_VERSION_V2;
+    } else {
+      throw new UnsupportedOperationException(
+          "don't support log version '" + version + "'. only support 'v1', 'v2' or empty");
+    }
 
-      LOG.info("build log writer: HiddenLogWriter(v1)");
-      return new HiddenLogWriter(
+    if (arcticEmitMode.equals(ArcticValidator.ARCTIC_EMIT_AUTO)) {
+      LOG.info(
+          "arctic emit mode is auto, and we will build automatic log writer: AutomaticLogWriter({})",
+          version);
+      return new AutomaticLogWriter(
           FlinkSchemaUtil.convert(tableSchema),
           producerConfig,
           topic,
           new HiddenKafkaFactory<>(),
           LogRecordV1.fieldGetterFactory,
           IdGenerator.generateUpstreamId(),
-          helper);
+          helper,
+          tableLoader,
+          watermarkWriteGap,
+          logVersion);
     }
-    throw new UnsupportedOperationException(
-        "don't support log version '" + version + "'. only support 'v1' or empty");
+
+    LOG.info("build log writer: HiddenLogWriter({})", version);
+    return new HiddenLogWriter(
+        FlinkSchemaUtil.convert(tableSchema),
+        producerConfig,
+        topic,
+        new HiddenKafkaFactory<>(),
+        LogRecordV1.fieldGetterFactory,
+        IdGenerator.generateUpstreamId(),
+        helper,
+        logVersion);
   }
 
   /**
@@ -19,13 +19,18 @@
 package com.netease.arctic.flink.lookup;
 
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_CACHE_TTL_AFTER_WRITE;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ROCKSDB_BULK_LOAD_BUFFER_SIZE;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ROCKSDB_WRITING_THREADS;
 import static org.junit.Assert.assertEquals;
 
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.PrimaryKeyData;
 import com.netease.arctic.flink.lookup.filter.RowDataPredicate;
 import com.netease.arctic.flink.lookup.filter.RowDataPredicateExpressionVisitor;
 import com.netease.arctic.flink.lookup.filter.TestRowDataPredicateBase;
 import com.netease.arctic.flink.table.descriptors.ArcticValidator;
+import com.netease.arctic.table.PrimaryKeySpec;
+import com.netease.arctic.utils.SchemaUtil;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.core.memory.DataInputDeserializer;
 import org.apache.flink.core.memory.DataOutputSerializer;
@@ -49,6 +54,7 @@ import org.apache.flink.table.types.utils.TypeConversions;
 import org.apache.flink.types.RowKind;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.flink.FlinkSchemaUtil;
+import org.apache.iceberg.flink.RowDataWrapper;
 import org.apache.iceberg.types.Types;
 import org.junit.Assert;
 import org.junit.Before;
@@ -72,6 +78,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
@@ -212,6 +220,43 @@ public class TestKVTable extends TestRowDataPredicateBase {
     }
   }
 
+  @Test
+  public void testBulkLoadInitialization() throws IOException {
+    // flush every few records, so that the later SST files override the earlier ones
+    config.set(ROCKSDB_BULK_LOAD_BUFFER_SIZE, 64L);
+    List<String> joinKeys = Lists.newArrayList("id", "grade");
+    try (UniqueIndexTable uniqueIndexTable = (UniqueIndexTable) createTable(joinKeys)) {
+      uniqueIndexTable.open();
+
+      initTable(
+          uniqueIndexTable,
+          upsertStream(
+              row(RowKind.INSERT, 3, "3", 3),
+              row(RowKind.INSERT, 1, "1", 1),
+              row(RowKind.INSERT, 2, "2", 2),
+              row(RowKind.UPDATE_BEFORE, 1, "1", 1),
+              row(RowKind.UPDATE_AFTER, 1, "1", 10),
+              row(RowKind.DELETE, 2, "2", 2),
+              row(RowKind.INSERT, 4, "4", 4),
+              row(RowKind.INSERT, 3, "3", 30)));
+
+      if (!uniqueIndexTable.initialized()) {
+        uniqueIndexTable.waitInitializationCompleted();
+      }
+
+      assertTable(
+          uniqueIndexTable,
+          row(1, "1"),
+          row(1, "1", 10),
+          row(2, "2"),
+          null,
+          row(3, "3"),
+          row(3, "3", 30),
+          row(4, "4"),
+          row(4, "4", 4));
+    }
+  }
+
   @Test
   public void testSecondaryKeysMapping() throws IOException {
     // primary keys are id and grade.
@@ -303,6 +348,103 @@ public class TestKVTable extends TestRowDataPredicateBase {
     assertTableSet(secondaryIndexTable, row(3), row(3, "3", 5), row(3, "4", 4));
   }
 
+  @Test
+  public void testGetAll() throws IOException {
+    try (UniqueIndexTable uniqueIndexTable =
+        (UniqueIndexTable) createTable(Lists.newArrayList("id", "grade"))) {
+      uniqueIndexTable.open();
+      initTable(
+          uniqueIndexTable,
+          upsertStream(row(RowKind.INSERT, 1, "1", 1), row(RowKind.INSERT, 2, "2", 2)));
+      uniqueIndexTable.waitInitializationCompleted();
+
+      List<List<RowData>> results =
+          uniqueIndexTable.getAll(Lists.newArrayList(row(2, "2"), row(3, "3"), row(1, "1")));
+      assertEquals(3, results.size());
+      assertRecord(row(2, "2", 2), results.get(0).get(0));
+      assertEquals(0, results.get(1).size());
+      assertRecord(row(1, "1", 1), results.get(2).get(0));
+    }
+
+    try (SecondaryIndexTable secondaryIndexTable =
+        (SecondaryIndexTable) createTable(Lists.newArrayList("id"))) {
+      secondaryIndexTable.open();
+      initTable(
+          secondaryIndexTable,
+          upsertStream(
+              row(RowKind.INSERT, 1, "1", 1),
+              row(RowKind.INSERT, 2, "2", 2),
+              row(RowKind.INSERT, 2, "3", 3)));
+      secondaryIndexTable.waitInitializationCompleted();
+
+      List<List<RowData>> results =
+          secondaryIndexTable.getAll(Lists.newArrayList(row(2), row(3), row(1)));
+      assertEquals(3, results.size());
+      assertEquals(2, results.get(0).size());
+      assertEquals(0, results.get(1).size());
+      assertEquals(1, results.get(2).size());
+      assertRecord(row(1, "1", 1), results.get(2).get(0));
+    }
+  }
+
+  @Test
+  public void testBatchLookupExecutor() throws Exception {
+    List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    BatchLookupExecutor<Integer> executor =
+        new BatchLookupExecutor<>(
+            keys -> {
+              batchSizes.add(keys.size());
+              return keys.stream()
+                  .map(key -> Collections.singletonList(key.getInt(0)))
+                  .collect(Collectors.toList());
+            },
+            4,
+            1000,
+            2);
+    executor.open(new ConstantFunctionContext(new Configuration()).getMetricGroup());
+    try {
+      List<CompletableFuture<List<Integer>>> futures = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        futures.add(executor.submit(row(i)));
+      }
+      for (int i = 0; i < 10; i++) {
+        assertEquals(Collections.singletonList(i), futures.get(i).get(10, TimeUnit.SECONDS));
+      }
+      Assert.assertTrue(batchSizes.stream().allMatch(size -> size <= 4));
+      assertEquals(10, batchSizes.stream().mapToInt(Integer::intValue).sum());
+    } finally {
+      executor.close();
+    }
+  }
+
+  @Test
+  public void testBucketAssigner() {
+    PrimaryKeySpec primaryKeySpec =
+        PrimaryKeySpec.builderFor(arcticSchema).addColumn("id").addColumn("grade").build();
+    LookupBucketAssigner rowAssigner = new LookupBucketAssigner(primaryKeySpec, arcticSchema, 4);
+    LookupBucketAssigner keyAssigner =
+        new LookupBucketAssigner(
+            primaryKeySpec, SchemaUtil.selectInOrder(arcticSchema, primaryKeys), 4);
+    PrimaryKeyData primaryKeyData = new PrimaryKeyData(primaryKeySpec, arcticSchema);
+    RowDataWrapper wrapper =
+        new RowDataWrapper(FlinkSchemaUtil.convert(arcticSchema), arcticSchema.asStruct());
+    int parallelism = 3;
+    for (int i = 0; i < 100; i++) {
+      RowData row = row(i, String.valueOf(i % 7), i);
+      int subtask = rowAssigner.subtask(row, parallelism);
+      assertEquals(subtask, keyAssigner.subtask(row(i, String.valueOf(i % 7)), parallelism));
+
+      // the tree nodes containing the row must be loaded by the subtask serving it
+      primaryKeyData.primaryKey(wrapper.wrap(row));
+      for (long mask : new long[] {0, 1, 3, 15, 255}) {
+        Assert.assertTrue(rowAssigner.serves(primaryKeyData.treeNode(mask), subtask, parallelism));
+      }
+    }
+    for (int subtask = 0; subtask < parallelism; subtask++) {
+      Assert.assertTrue(rowAssigner.serves(DataTreeNode.of(0, 0), subtask, parallelism));
+    }
+  }
+
   @Test
   public void testCacheExpired() throws InterruptedException {
     Cache<Integer, Integer> cache =
@@ -30,6 +30,7 @@ import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.types.Row;
 import org.apache.flink.util.CloseableIterator;
+import org.apache.flink.util.ExceptionUtils;
 import org.apache.iceberg.flink.FlinkSchemaUtil;
 import org.apache.iceberg.io.TaskWriter;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
@@ -138,6 +139,21 @@ public class LookupITCase extends CatalogITCaseBase implements FlinkTaskWriterBa
     Assert.assertEquals(DataUtil.toRowSet(expects), actual);
   }
 
+  @Test
+  public void testPartialLoadingRejected() {
+    try {
+      exec(
+          "select L.id, D.name from vi L LEFT JOIN arctic.%s.DIM "
+              + "/*+OPTIONS('lookup.partial-loading'='true')*/ "
+              + "for system_time as of L.proc AS D ON L.id = D.id",
+          db);
+      Assert.fail("partial loading should be rejected by SQL lookup joins");
+    } catch (Exception e) {
+      Assert.assertTrue(
+          ExceptionUtils.findThrowableWithMessage(e, "lookup.partial-loading").isPresent());
+    }
+  }
+
   @Override
   public String getMetastoreUrl() {
     return getCatalogUrl();
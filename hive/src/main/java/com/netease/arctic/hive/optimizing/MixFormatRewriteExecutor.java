@@ -35,12 +35,21 @@ public class MixFormatRewriteExecutor extends AbstractRewriteFilesExecutor {
       ArcticTable table,
       StructLikeCollections structLikeCollections,
       String outputDir) {
-    super(input, table, structLikeCollections);
+    this(input, table, structLikeCollections, outputDir, 1);
+  }
+
+  public MixFormatRewriteExecutor(
+      RewriteFilesInput input,
+      ArcticTable table,
+      StructLikeCollections structLikeCollections,
+      String outputDir,
+      int parallelism) {
+    super(input, table, structLikeCollections, parallelism);
     this.outputDir = outputDir;
   }
 
   @Override
-  protected OptimizingDataReader dataReader() {
+  protected OptimizingDataReader dataReader(RewriteFilesInput input) {
     return new MixFormatOptimizingDataReader(table, structLikeCollections, input);
   }
 
@@ -42,6 +42,6 @@ public class MixFormatRewriteExecutorFactory implements OptimizingExecutorFactor
   public OptimizingExecutor createExecutor(RewriteFilesInput input) {
     OptimizingInputProperties optimizingConfig = OptimizingInputProperties.parse(properties);
     return new MixFormatRewriteExecutor(input, input.getTable(), optimizingConfig.getStructLikeCollections(),
-        optimizingConfig.getOutputDir());
+        optimizingConfig.getOutputDir(), optimizingConfig.getRewriteParallelism());
   }
 }
@@ -32,6 +32,6 @@ public class CatalogUtil {
    * @return Whether hive catalog. true is hive catalog, false isn't hive catalog.
    */
   public static boolean isHiveCatalog(ArcticCatalog arcticCatalog) {
-    return arcticCatalog instanceof ArcticHiveCatalog;
+    return com.netease.arctic.utils.CatalogUtil.unwrap(arcticCatalog) instanceof ArcticHiveCatalog;
   }
 }
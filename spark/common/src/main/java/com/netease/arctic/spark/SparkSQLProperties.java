@@ -35,6 +35,24 @@ public class SparkSQLProperties {
 
   public static final String CHECK_SOURCE_DUPLICATES_ENABLE_DEFAULT = "false";
 
+  /**
+   * How source duplicates are checked. "query" validates the whole source with an extra aggregate
+   * query before writing. "in-write" checks primary keys inside each write task while writing,
+   * which needs optimize write and finds duplicates within the same partition.
+   */
+  public static final String CHECK_SOURCE_DUPLICATES_MODE =
+      "spark.sql.arctic.check-source-data-uniqueness.mode";
+
+  public static final String CHECK_SOURCE_DUPLICATES_MODE_QUERY = "query";
+  public static final String CHECK_SOURCE_DUPLICATES_MODE_IN_WRITE = "in-write";
+  public static final String CHECK_SOURCE_DUPLICATES_MODE_DEFAULT =
+      CHECK_SOURCE_DUPLICATES_MODE_QUERY;
+
+  public static final String CHECK_SOURCE_DUPLICATES_MAX_IN_MEMORY_BYTES =
+      "spark.sql.arctic.check-source-data-uniqueness.max-in-memory-bytes";
+
+  public static final String CHECK_SOURCE_DUPLICATES_MAX_IN_MEMORY_BYTES_DEFAULT = "67108864";
+
   public static final String OPTIMIZE_WRITE_ENABLED = "spark.sql.arctic.optimize-write-enabled";
   public static final String OPTIMIZE_WRITE_ENABLED_DEFAULT = "true";
 }
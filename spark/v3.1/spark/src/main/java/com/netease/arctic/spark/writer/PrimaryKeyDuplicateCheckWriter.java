@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.spark.writer;
+
+import com.netease.arctic.data.PrimaryKeyData;
+import com.netease.arctic.spark.SparkInternalRowWrapper;
+import com.netease.arctic.table.KeyedTable;
+import com.netease.arctic.utils.StructLikeSet;
+import com.netease.arctic.utils.map.StructLikeCollections;
+import org.apache.iceberg.PartitionKey;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.spark.SparkSchemaUtil;
+import org.apache.iceberg.types.Types;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.connector.write.DataWriter;
+import org.apache.spark.sql.connector.write.WriterCommitMessage;
+
+import java.io.IOException;
+
+/**
+ * A {@link DataWriter} that fails the write task when two incoming rows share the same primary key
+ * in the same partition, and otherwise passes every row to the wrapped writer.
+ *
+ * <p>It relies on the write being distributed and ordered by partition and primary key bucket, so
+ * that all rows of a key land in one task and rows of one partition arrive together. Keys seen so
+ * far are kept in a spillable set which is reset whenever the partition changes.
+ */
+public class PrimaryKeyDuplicateCheckWriter implements DataWriter<InternalRow> {
+  private final DataWriter<InternalRow> writer;
+  private final StructLikeCollections structLikeCollections;
+  private final SparkInternalRowWrapper rowWrapper;
+  private final Types.StructType primaryKeyType;
+  private final PrimaryKeyData primaryKey;
+  private final PartitionKey partitionKey;
+
+  private PartitionKey currentPartition;
+  private StructLikeSet seenKeys;
+
+  public PrimaryKeyDuplicateCheckWriter(
+      DataWriter<InternalRow> writer, KeyedTable table, long maxInMemorySizeInBytes) {
+    this.writer = writer;
+    this.structLikeCollections = new StructLikeCollections(true, maxInMemorySizeInBytes);
+    this.rowWrapper = new SparkInternalRowWrapper(SparkSchemaUtil.convert(table.schema()));
+    this.primaryKeyType = table.primaryKeySpec().primaryKeyStruct();
+    this.primaryKey = new PrimaryKeyData(table.primaryKeySpec(), table.schema());
+    this.partitionKey = new PartitionKey(table.spec(), table.schema());
+  }
+
+  @Override
+  public void write(InternalRow record) throws IOException {
+    StructLike row = rowWrapper.wrap(record);
+    partitionKey.partition(row);
+    if (seenKeys == null || !partitionKey.equals(currentPartition)) {
+      resetSeenKeys();
+      currentPartition = partitionKey.copy();
+    }
+
+    primaryKey.primaryKey(row);
+    if (seenKeys.contains(primaryKey)) {
+      throw new IllegalStateException(
+          "There are multiple rows with primary key "
+              + primaryKey
+              + " in partition "
+              + currentPartition.toPath()
+              + " of the inserted data, which cannot guarantee the uniqueness of the primary key.");
+    }
+    seenKeys.add(primaryKey.copy());
+    writer.write(record);
+  }
+
+  private void resetSeenKeys() throws IOException {
+    if (seenKeys != null) {
+      seenKeys.close();
+    }
+    seenKeys = structLikeCollections.createStructLikeSet(primaryKeyType);
+  }
+
+  @Override
+  public WriterCommitMessage commit() throws IOException {
+    return writer.commit();
+  }
+
+  @Override
+  public void abort() throws IOException {
+    writer.abort();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      writer.close();
+    } finally {
+      if (seenKeys != null) {
+        seenKeys.close();
+        seenKeys = null;
+      }
+    }
+  }
+}
@@ -35,6 +35,7 @@ import com.netease.arctic.catalog.ArcticCatalog;
 import com.netease.arctic.hive.utils.HiveTableUtil;
 import com.netease.arctic.op.OverwriteBaseFiles;
 import com.netease.arctic.op.RewritePartitions;
+import com.netease.arctic.spark.SparkSQLProperties;
 import com.netease.arctic.spark.io.TaskWriters;
 import com.netease.arctic.spark.sql.utils.RowDeltaUtils;
 import com.netease.arctic.table.KeyedTable;
@@ -73,6 +74,8 @@ public class KeyedSparkBatchWrite implements ArcticSparkWriteBuilder.ArcticWrite
   private final String hiveSubdirectory;
 
   private final boolean orderedWriter;
+  private final boolean checkDuplicates;
+  private final long checkDuplicatesMaxInMemoryBytes;
   private final ArcticCatalog catalog;
 
   KeyedSparkBatchWrite(KeyedTable table, LogicalWriteInfo info, ArcticCatalog catalog) {
@@ -83,6 +86,15 @@ public class KeyedSparkBatchWrite implements ArcticSparkWriteBuilder.ArcticWrite
     this.orderedWriter =
         Boolean.parseBoolean(
             info.options().getOrDefault("writer.distributed-and-ordered", "false"));
+    this.checkDuplicates =
+        Boolean.parseBoolean(
+            info.options().getOrDefault("writer.check-primary-key-duplicates", "false"));
+    this.checkDuplicatesMaxInMemoryBytes =
+        Long.parseLong(
+            info.options()
+                .getOrDefault(
+                    "writer.check-primary-key-duplicates.max-in-memory-bytes",
+                    SparkSQLProperties.CHECK_SOURCE_DUPLICATES_MAX_IN_MEMORY_BYTES_DEFAULT));
     this.catalog = catalog;
   }
 
@@ -165,7 +177,8 @@ public class KeyedSparkBatchWrite implements ArcticSparkWriteBuilder.ArcticWrite
     @Override
     public DataWriterFactory createBatchWriterFactory(PhysicalWriteInfo info) {
       getBlocker();
-      return new ChangeWriteFactory(table, dsSchema, txId, orderedWriter);
+      return new ChangeWriteFactory(table, dsSchema, txId, orderedWriter)
+          .withDuplicateCheck(checkDuplicates, checkDuplicatesMaxInMemoryBytes);
     }
 
     @Override
@@ -185,7 +198,8 @@ public class KeyedSparkBatchWrite implements ArcticSparkWriteBuilder.ArcticWrite
     @Override
     public DataWriterFactory createBatchWriterFactory(PhysicalWriteInfo info) {
       getBlocker();
-      return new BaseWriterFactory(table, dsSchema, txId, hiveSubdirectory, orderedWriter);
+      return new BaseWriterFactory(table, dsSchema, txId, hiveSubdirectory, orderedWriter)
+          .withDuplicateCheck(checkDuplicates, checkDuplicatesMaxInMemoryBytes);
     }
 
     @Override
@@ -212,7 +226,8 @@ public class KeyedSparkBatchWrite implements ArcticSparkWriteBuilder.ArcticWrite
     @Override
     public DataWriterFactory createBatchWriterFactory(PhysicalWriteInfo info) {
       getBlocker();
-      return new BaseWriterFactory(table, dsSchema, txId, hiveSubdirectory, orderedWriter);
+      return new BaseWriterFactory(table, dsSchema, txId, hiveSubdirectory, orderedWriter)
+          .withDuplicateCheck(checkDuplicates, checkDuplicatesMaxInMemoryBytes);
     }
 
     @Override
@@ -256,6 +271,8 @@ public class KeyedSparkBatchWrite implements ArcticSparkWriteBuilder.ArcticWrite
     protected final StructType dsSchema;
     protected final Long transactionId;
     protected final boolean orderedWrite;
+    protected boolean checkDuplicates = false;
+    protected long checkDuplicatesMaxInMemoryBytes;
 
     AbstractWriterFactory(
         KeyedTable table, StructType dsSchema, Long transactionId, boolean orderedWrite) {
@@ -265,6 +282,19 @@ public class KeyedSparkBatchWrite implements ArcticSparkWriteBuilder.ArcticWrite
       this.orderedWrite = orderedWrite;
     }
 
+    AbstractWriterFactory withDuplicateCheck(boolean enabled, long maxInMemoryBytes) {
+      this.checkDuplicates = enabled;
+      this.checkDuplicatesMaxInMemoryBytes = maxInMemoryBytes;
+      return this;
+    }
+
+    protected DataWriter<InternalRow> wrapDuplicateCheck(DataWriter<InternalRow> writer) {
+      if (!checkDuplicates) {
+        return writer;
+      }
+      return new PrimaryKeyDuplicateCheckWriter(writer, table, checkDuplicatesMaxInMemoryBytes);
+    }
+
     public TaskWriter<InternalRow> newWriter(int partitionId, long taskId, StructType schema) {
       return TaskWriters.of(table)
           .withTransactionId(transactionId)
@@ -302,7 +332,7 @@ public class KeyedSparkBatchWrite implements ArcticSparkWriteBuilder.ArcticWrite
               .withHiveSubdirectory(hiveSubdirectory);
 
       TaskWriter<InternalRow> writer = writerBuilder.newBaseWriter(true);
-      return new SimpleInternalRowDataWriter(writer);
+      return wrapDuplicateCheck(new SimpleInternalRowDataWriter(writer));
     }
   }
 
@@ -315,11 +345,12 @@ public class KeyedSparkBatchWrite implements ArcticSparkWriteBuilder.ArcticWrite
 
     @Override
     public DataWriter<InternalRow> createWriter(int partitionId, long taskId) {
-      return new SimpleRowLevelDataWriter(
-          newWriter(partitionId, taskId, dsSchema),
-          newWriter(partitionId, taskId, dsSchema),
-          dsSchema,
-          true);
+      return wrapDuplicateCheck(
+          new SimpleRowLevelDataWriter(
+              newWriter(partitionId, taskId, dsSchema),
+              newWriter(partitionId, taskId, dsSchema),
+              dsSchema,
+              true));
     }
   }
 
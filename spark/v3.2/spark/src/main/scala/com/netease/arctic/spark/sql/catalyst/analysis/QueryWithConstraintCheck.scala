@@ -19,7 +19,7 @@
 package com.netease.arctic.spark.sql.catalyst.analysis
 
 import com.netease.arctic.spark.{ArcticSparkCatalog, ArcticSparkSessionCatalog, SparkSQLProperties}
-import com.netease.arctic.spark.sql.ArcticExtensionUtils.isArcticKeyedRelation
+import com.netease.arctic.spark.sql.ArcticExtensionUtils.{isArcticKeyedRelation, isUpsert}
 import com.netease.arctic.spark.sql.catalyst.plans.QueryWithConstraintCheckPlan
 import com.netease.arctic.spark.table.ArcticSparkTable
 import org.apache.spark.sql.SparkSession
@@ -34,20 +34,36 @@ import org.apache.spark.sql.execution.datasources.v2.DataSourceV2Relation
 case class QueryWithConstraintCheck(spark: SparkSession) extends Rule[LogicalPlan] {
 
   override def apply(plan: LogicalPlan): LogicalPlan = plan resolveOperatorsUp {
-    case a @ AppendData(r: DataSourceV2Relation, query, _, _, _)
-        if checkDuplicatesEnabled() && isArcticKeyedRelation(r) =>
+    case a @ AppendData(r: DataSourceV2Relation, _, writeOptions, _, _)
+        if checkDuplicatesEnabled() && isArcticKeyedRelation(r) && checkInWrite(writeOptions) &&
+          !isUpsert(r) =>
+      a.copy(writeOptions = withInWriteCheck(writeOptions))
+
+    case a @ OverwritePartitionsDynamic(r: DataSourceV2Relation, _, writeOptions, _, _)
+        if checkDuplicatesEnabled() && isArcticKeyedRelation(r) && checkInWrite(writeOptions) =>
+      a.copy(writeOptions = withInWriteCheck(writeOptions))
+
+    case a @ OverwriteByExpression(r: DataSourceV2Relation, _, _, writeOptions, _, _)
+        if checkDuplicatesEnabled() && isArcticKeyedRelation(r) && checkInWrite(writeOptions) =>
+      a.copy(writeOptions = withInWriteCheck(writeOptions))
+
+    case a @ AppendData(r: DataSourceV2Relation, query, writeOptions, _, _)
+        if checkDuplicatesEnabled() && isArcticKeyedRelation(r) &&
+          !writeOptions.contains(IN_WRITE_CHECK_OPTION) =>
       val validateQuery = buildValidatePrimaryKeyDuplication(r, query)
       val checkDataQuery = QueryWithConstraintCheckPlan(query, validateQuery)
       a.copy(query = checkDataQuery)
 
-    case a @ OverwritePartitionsDynamic(r: DataSourceV2Relation, query, _, _, _)
-        if checkDuplicatesEnabled() && isArcticKeyedRelation(r) =>
+    case a @ OverwritePartitionsDynamic(r: DataSourceV2Relation, query, writeOptions, _, _)
+        if checkDuplicatesEnabled() && isArcticKeyedRelation(r) &&
+          !writeOptions.contains(IN_WRITE_CHECK_OPTION) =>
       val validateQuery = buildValidatePrimaryKeyDuplication(r, query)
       val checkDataQuery = QueryWithConstraintCheckPlan(query, validateQuery)
       a.copy(query = checkDataQuery)
 
-    case a @ OverwriteByExpression(r: DataSourceV2Relation, deleteExpr, query, _, _, _)
-        if checkDuplicatesEnabled() && isArcticKeyedRelation(r) =>
+    case a @ OverwriteByExpression(r: DataSourceV2Relation, deleteExpr, query, writeOptions, _, _)
+        if checkDuplicatesEnabled() && isArcticKeyedRelation(r) &&
+          !writeOptions.contains(IN_WRITE_CHECK_OPTION) =>
       val validateQuery = buildValidatePrimaryKeyDuplication(r, query)
       var finalExpr: Expression = deleteExpr
       deleteExpr match {
@@ -72,6 +88,31 @@ case class QueryWithConstraintCheck(spark: SparkSession) extends Rule[LogicalPla
       SparkSQLProperties.CHECK_SOURCE_DUPLICATES_ENABLE_DEFAULT))
   }
 
+  /**
+   * Whether the duplicate check of this write can be done by the write tasks themselves, which
+   * saves computing the source twice. It requires optimize write, which shuffles the rows by
+   * partition and primary key bucket so that rows with the same key end up in the same task.
+   */
+  def checkInWrite(writeOptions: Map[String, String]): Boolean = {
+    val conf = spark.sessionState.conf
+    val mode = conf.getConfString(
+      SparkSQLProperties.CHECK_SOURCE_DUPLICATES_MODE,
+      SparkSQLProperties.CHECK_SOURCE_DUPLICATES_MODE_DEFAULT)
+    val optimizeWriteEnabled = java.lang.Boolean.parseBoolean(conf.getConfString(
+      SparkSQLProperties.OPTIMIZE_WRITE_ENABLED,
+      SparkSQLProperties.OPTIMIZE_WRITE_ENABLED_DEFAULT))
+    SparkSQLProperties.CHECK_SOURCE_DUPLICATES_MODE_IN_WRITE.equalsIgnoreCase(mode) &&
+    optimizeWriteEnabled && !writeOptions.contains(IN_WRITE_CHECK_OPTION)
+  }
+
+  def withInWriteCheck(writeOptions: Map[String, String]): Map[String, String] = {
+    val maxInMemoryBytes = spark.sessionState.conf.getConfString(
+      SparkSQLProperties.CHECK_SOURCE_DUPLICATES_MAX_IN_MEMORY_BYTES,
+      SparkSQLProperties.CHECK_SOURCE_DUPLICATES_MAX_IN_MEMORY_BYTES_DEFAULT)
+    writeOptions + (IN_WRITE_CHECK_OPTION -> "true") +
+      (IN_WRITE_CHECK_MAX_IN_MEMORY_BYTES_OPTION -> maxInMemoryBytes)
+  }
+
   def isCreateKeyedTable(catalog: TableCatalog, props: Map[String, String]): Boolean = {
     catalog match {
       case _: ArcticSparkCatalog =>
@@ -124,5 +165,8 @@ case class QueryWithConstraintCheck(spark: SparkSession) extends Rule[LogicalPla
   }
 
   final private val SUM_ROW_ID_ALIAS_NAME = "_sum_"
+  final private val IN_WRITE_CHECK_OPTION = "writer.check-primary-key-duplicates"
+  final private val IN_WRITE_CHECK_MAX_IN_MEMORY_BYTES_OPTION =
+    "writer.check-primary-key-duplicates.max-in-memory-bytes"
 
 }
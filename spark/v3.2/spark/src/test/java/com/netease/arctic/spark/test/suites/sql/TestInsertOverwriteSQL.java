@@ -22,6 +22,7 @@ import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.data.ChangeAction;
 import com.netease.arctic.hive.table.SupportHive;
 import com.netease.arctic.spark.SparkSQLProperties;
+import com.netease.arctic.spark.sql.catalyst.plans.QueryWithConstraintCheckPlan;
 import com.netease.arctic.spark.test.SparkTableTestBase;
 import com.netease.arctic.spark.test.extensions.EnableCatalogSelect;
 import com.netease.arctic.spark.test.utils.Asserts;
@@ -39,6 +40,7 @@ import org.apache.iceberg.Schema;
 import org.apache.iceberg.data.Record;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.types.Types;
+import org.apache.spark.sql.catalyst.plans.logical.LogicalPlan;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -442,4 +444,82 @@ public class TestInsertOverwriteSQL extends SparkTableTestBase {
     }
     Assertions.assertEquals(expectChecked, failed);
   }
+
+  public static Arguments[] testSourceDuplicateCheckInWrite() {
+    return new Arguments[] {
+      Arguments.arguments(MIXED_ICEBERG, idPrimaryKeySpec, ptSpec, STATIC, true, true),
+      Arguments.arguments(MIXED_ICEBERG, idPrimaryKeySpec, ptSpec, DYNAMIC, true, true),
+      Arguments.arguments(MIXED_ICEBERG, idPrimaryKeySpec, ptSpec, DYNAMIC, false, false),
+      Arguments.arguments(MIXED_HIVE, idPrimaryKeySpec, ptSpec, STATIC, true, true),
+      Arguments.arguments(MIXED_HIVE, idPrimaryKeySpec, ptSpec, DYNAMIC, true, true),
+      Arguments.arguments(MIXED_HIVE, idPrimaryKeySpec, ptSpec, DYNAMIC, false, false),
+    };
+  }
+
+  @DisplayName("TestSQL: INSERT OVERWRITE duplicate check source in write tasks")
+  @ParameterizedTest()
+  @MethodSource
+  public void testSourceDuplicateCheckInWrite(
+      TableFormat format,
+      PrimaryKeySpec keySpec,
+      PartitionSpec ptSpec,
+      String mode,
+      boolean duplicateSource,
+      boolean expectChecked) {
+    spark().conf().set(OVERWRITE_MODE_KEY, mode);
+    spark().conf().set(SparkSQLProperties.OPTIMIZE_WRITE_ENABLED, true);
+    spark().conf().set(SparkSQLProperties.CHECK_SOURCE_DUPLICATES_ENABLE, true);
+    spark()
+        .conf()
+        .set(
+            SparkSQLProperties.CHECK_SOURCE_DUPLICATES_MODE,
+            SparkSQLProperties.CHECK_SOURCE_DUPLICATES_MODE_IN_WRITE);
+    try {
+      table =
+          createTarget(
+              schema, builder -> builder.withPartitionSpec(ptSpec).withPrimaryKeySpec(keySpec));
+      List<Record> sourceData = Lists.newArrayList(this.base);
+      if (duplicateSource) {
+        sourceData.addAll(this.source);
+      }
+      createViewSource(schema, sourceData);
+      String insertSql = "INSERT OVERWRITE " + target() + " SELECT * FROM " + source();
+
+      // the source is not queried for duplicates, the write tasks check them instead
+      LogicalPlan analyzed =
+          spark()
+              .sessionState()
+              .analyzer()
+              .execute(spark().sessionState().sqlParser().parsePlan(insertSql));
+      Assertions.assertTrue(
+          analyzed.find(plan -> plan instanceof QueryWithConstraintCheckPlan).isEmpty());
+
+      Exception failure = null;
+      try {
+        sql(insertSql);
+      } catch (Exception e) {
+        failure = e;
+      }
+      Assertions.assertEquals(expectChecked, failure != null);
+      if (expectChecked) {
+        Assertions.assertTrue(
+            isPrimaryKeyDuplicateFailure(failure),
+            "expect the failure of PrimaryKeyDuplicateCheckWriter, but got " + failure);
+      }
+    } finally {
+      spark().conf().unset(SparkSQLProperties.CHECK_SOURCE_DUPLICATES_MODE);
+      spark().conf().unset(SparkSQLProperties.OPTIMIZE_WRITE_ENABLED);
+    }
+  }
+
+  private static boolean isPrimaryKeyDuplicateFailure(Throwable failure) {
+    // the failure of the write task is wrapped by the spark job failure
+    for (Throwable t = failure; t != null; t = t.getCause()) {
+      if (t.getMessage() != null
+          && t.getMessage().contains("There are multiple rows with primary key")) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
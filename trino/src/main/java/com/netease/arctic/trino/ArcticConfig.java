@@ -31,6 +31,8 @@ public class ArcticConfig {
 
   private boolean enableSplitTaskByDeleteRatio = true;
 
+  private boolean bucketExecutionEnabled = false;
+
   public String getCatalogUrl() {
     return catalogUrl;
   }
@@ -51,6 +53,10 @@ public class ArcticConfig {
     return enableSplitTaskByDeleteRatio;
   }
 
+  public boolean isBucketExecutionEnabled() {
+    return bucketExecutionEnabled;
+  }
+
   @Config("arctic.url")
   public void setCatalogUrl(String catalogUrl) {
     this.catalogUrl = catalogUrl;
@@ -72,6 +78,12 @@ public class ArcticConfig {
     this.enableSplitTaskByDeleteRatio = enableSplitTaskByDeleteRatio;
   }
 
+  @Config("arctic.bucket-execution-enabled")
+  @ConfigDescription("Enable bucketed execution on primary key buckets of keyed table")
+  public void setBucketExecutionEnabled(boolean bucketExecutionEnabled) {
+    this.bucketExecutionEnabled = bucketExecutionEnabled;
+  }
+
   @Config("arctic.split-task-by-delete-ratio")
   public void setSplitTaskByDeleteRatio(double splitTaskByDeleteRatio) {
     this.splitTaskByDeleteRatio = splitTaskByDeleteRatio;
@@ -27,6 +27,7 @@ import com.netease.arctic.catalog.ArcticCatalog;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.TableIdentifier;
 import com.netease.arctic.trino.keyed.KeyedConnectorMetadata;
+import com.netease.arctic.trino.keyed.KeyedPartitioningHandle;
 import com.netease.arctic.trino.keyed.KeyedTableHandle;
 import com.netease.arctic.trino.unkeyed.IcebergMetadata;
 import io.airlift.slice.Slice;
@@ -40,6 +41,7 @@ import io.trino.spi.connector.ConnectorMergeTableHandle;
 import io.trino.spi.connector.ConnectorMetadata;
 import io.trino.spi.connector.ConnectorOutputMetadata;
 import io.trino.spi.connector.ConnectorOutputTableHandle;
+import io.trino.spi.connector.ConnectorPartitioningHandle;
 import io.trino.spi.connector.ConnectorSession;
 import io.trino.spi.connector.ConnectorTableExecuteHandle;
 import io.trino.spi.connector.ConnectorTableHandle;
@@ -121,12 +123,37 @@ public class ArcticConnectorMetadata implements ConnectorMetadata {
   public ConnectorTableProperties getTableProperties(
       ConnectorSession session, ConnectorTableHandle table) {
     if (table instanceof KeyedTableHandle) {
-      return new ConnectorTableProperties();
+      return keyedConnectorMetadata.getTableProperties(session, table);
     } else {
       return icebergMetadata.getTableProperties(session, table);
     }
   }
 
+  @Override
+  public Optional<ConnectorPartitioningHandle> getCommonPartitioningHandle(
+      ConnectorSession session,
+      ConnectorPartitioningHandle left,
+      ConnectorPartitioningHandle right) {
+    if (left instanceof KeyedPartitioningHandle && right instanceof KeyedPartitioningHandle) {
+      return keyedConnectorMetadata.getCommonPartitioningHandle(session, left, right);
+    } else {
+      return icebergMetadata.getCommonPartitioningHandle(session, left, right);
+    }
+  }
+
+  @Override
+  public ConnectorTableHandle makeCompatiblePartitioning(
+      ConnectorSession session,
+      ConnectorTableHandle tableHandle,
+      ConnectorPartitioningHandle partitioningHandle) {
+    if (tableHandle instanceof KeyedTableHandle) {
+      return keyedConnectorMetadata.makeCompatiblePartitioning(
+          session, tableHandle, partitioningHandle);
+    } else {
+      return icebergMetadata.makeCompatiblePartitioning(session, tableHandle, partitioningHandle);
+    }
+  }
+
   @Override
   public ConnectorTableMetadata getTableMetadata(
       ConnectorSession session, ConnectorTableHandle table) {
@@ -119,9 +119,10 @@ public class ArcticModule implements Module {
         .to(IcebergPageSinkProvider.class)
         .in(Scopes.SINGLETON);
 
+    binder.bind(IcebergNodePartitioningProvider.class).in(Scopes.SINGLETON);
     binder
         .bind(ConnectorNodePartitioningProvider.class)
-        .to(IcebergNodePartitioningProvider.class)
+        .to(ArcticNodePartitioningProvider.class)
         .in(Scopes.SINGLETON);
 
     configBinder(binder).bindConfig(OrcReaderConfig.class);
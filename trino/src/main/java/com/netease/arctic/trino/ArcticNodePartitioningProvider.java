@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.trino;
+
+import static io.trino.spi.StandardErrorCode.NOT_SUPPORTED;
+import static io.trino.spi.connector.ConnectorBucketNodeMap.createBucketNodeMap;
+
+import com.netease.arctic.trino.keyed.KeyedBucketFunction;
+import com.netease.arctic.trino.keyed.KeyedConnectorSplit;
+import com.netease.arctic.trino.keyed.KeyedPartitioningHandle;
+import io.trino.plugin.iceberg.IcebergNodePartitioningProvider;
+import io.trino.spi.TrinoException;
+import io.trino.spi.connector.BucketFunction;
+import io.trino.spi.connector.ConnectorBucketNodeMap;
+import io.trino.spi.connector.ConnectorNodePartitioningProvider;
+import io.trino.spi.connector.ConnectorPartitioningHandle;
+import io.trino.spi.connector.ConnectorSession;
+import io.trino.spi.connector.ConnectorSplit;
+import io.trino.spi.connector.ConnectorTransactionHandle;
+import io.trino.spi.type.Type;
+
+import javax.inject.Inject;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
+
+/**
+ * {@link ArcticNodePartitioningProvider} is a Union {@link ConnectorNodePartitioningProvider}
+ * handling {@link KeyedPartitioningHandle} of keyed tables and delegating other handles to {@link
+ * IcebergNodePartitioningProvider}. This is final {@link ConnectorNodePartitioningProvider}
+ * provided to Trino
+ */
+public class ArcticNodePartitioningProvider implements ConnectorNodePartitioningProvider {
+
+  private final IcebergNodePartitioningProvider icebergNodePartitioningProvider;
+
+  @Inject
+  public ArcticNodePartitioningProvider(
+      IcebergNodePartitioningProvider icebergNodePartitioningProvider) {
+    this.icebergNodePartitioningProvider = icebergNodePartitioningProvider;
+  }
+
+  @Override
+  public Optional<ConnectorBucketNodeMap> getBucketNodeMapping(
+      ConnectorTransactionHandle transactionHandle,
+      ConnectorSession session,
+      ConnectorPartitioningHandle partitioningHandle) {
+    if (partitioningHandle instanceof KeyedPartitioningHandle) {
+      return Optional.of(
+          createBucketNodeMap(((KeyedPartitioningHandle) partitioningHandle).getBucketCount()));
+    }
+    return icebergNodePartitioningProvider.getBucketNodeMapping(
+        transactionHandle, session, partitioningHandle);
+  }
+
+  @Override
+  public ToIntFunction<ConnectorSplit> getSplitBucketFunction(
+      ConnectorTransactionHandle transactionHandle,
+      ConnectorSession session,
+      ConnectorPartitioningHandle partitioningHandle) {
+    if (partitioningHandle instanceof KeyedPartitioningHandle) {
+      long bucketMask = ((KeyedPartitioningHandle) partitioningHandle).getBucketCount() - 1;
+      return split -> {
+        KeyedConnectorSplit keyedSplit = (KeyedConnectorSplit) split;
+        // a finer node is entirely inside one bucket, but a coarser one spans several buckets
+        if (keyedSplit.getNodeMask() < bucketMask) {
+          throw new TrinoException(
+              NOT_SUPPORTED,
+              String.format(
+                  "Files of tree node (mask %d, index %d) are coarser than %d buckets, "
+                      + "disable session property %s to read this table",
+                  keyedSplit.getNodeMask(),
+                  keyedSplit.getNodeIndex(),
+                  bucketMask + 1,
+                  ArcticSessionProperties.ARCTIC_BUCKET_EXECUTION_ENABLED));
+        }
+        return (int) (keyedSplit.getNodeIndex() & bucketMask);
+      };
+    }
+    return icebergNodePartitioningProvider.getSplitBucketFunction(
+        transactionHandle, session, partitioningHandle);
+  }
+
+  @Override
+  public BucketFunction getBucketFunction(
+      ConnectorTransactionHandle transactionHandle,
+      ConnectorSession session,
+      ConnectorPartitioningHandle partitioningHandle,
+      List<Type> partitionChannelTypes,
+      int bucketCount) {
+    if (partitioningHandle instanceof KeyedPartitioningHandle) {
+      return new KeyedBucketFunction(partitionChannelTypes, bucketCount);
+    }
+    return icebergNodePartitioningProvider.getBucketFunction(
+        transactionHandle, session, partitioningHandle, partitionChannelTypes, bucketCount);
+  }
+}
@@ -40,6 +40,7 @@ public final class ArcticSessionProperties implements SessionPropertiesProvider
       "arctic_split_task_by_delete_ratio";
   private static final String ARCTIC_ENABLE_SPLIT_TASK_BY_DELETE_RATIO =
       "arctic_enable_split_task_by_delete_ratio";
+  static final String ARCTIC_BUCKET_EXECUTION_ENABLED = "arctic_bucket_execution_enabled";
   private final List<PropertyMetadata<?>> sessionProperties;
 
   @Inject
@@ -66,6 +67,12 @@ public final class ArcticSessionProperties implements SessionPropertiesProvider
                     "Enable task split by ratio",
                     arcticConfig.isEnableSplitTaskByDeleteRatio(),
                     false))
+            .add(
+                booleanProperty(
+                    ARCTIC_BUCKET_EXECUTION_ENABLED,
+                    "Expose primary key buckets of keyed table for bucketed execution",
+                    arcticConfig.isBucketExecutionEnabled(),
+                    false))
             .build();
   }
 
@@ -85,4 +92,8 @@ public final class ArcticSessionProperties implements SessionPropertiesProvider
   public static double splitTaskByDeleteRatio(ConnectorSession session) {
     return session.getProperty(ARCTIC_SPLIT_TASK_BY_DELETE_RATIO, Double.class);
   }
+
+  public static boolean isBucketExecutionEnabled(ConnectorSession session) {
+    return session.getProperty(ARCTIC_BUCKET_EXECUTION_ENABLED, Boolean.class);
+  }
 }
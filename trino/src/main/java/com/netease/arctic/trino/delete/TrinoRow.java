@@ -33,7 +33,7 @@ import javax.annotation.Nullable;
 public class TrinoRow implements StructLike {
   private final Type[] types;
   private final Page page;
-  private final int position;
+  private int position;
 
   private TrinoRow(Type[] types, Page page, int position) {
     this.types = requireNonNull(types, "types list is null");
@@ -42,6 +42,26 @@ public class TrinoRow implements StructLike {
     this.position = position;
   }
 
+  /**
+   * Creates a row which could be moved across the positions of the page, to read a page without
+   * creating a row for each position.
+   */
+  public static TrinoRow cursor(Type[] types, Page page) {
+    return new TrinoRow(types, page, 0);
+  }
+
+  /** Moves this row to another position of the page. */
+  public TrinoRow moveTo(int position) {
+    checkArgument(position >= 0, "page position must be non-negative: %s", position);
+    this.position = position;
+    return this;
+  }
+
+  /** Reads a BIGINT field without boxing. */
+  public long getLong(int i) {
+    return types[i].getLong(page.getBlock(i), position);
+  }
+
   /** Gets the position in the Block this row was originally created from. */
   public int getPosition() {
     return position;
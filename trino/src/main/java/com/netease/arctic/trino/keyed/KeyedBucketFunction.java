@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.trino.keyed;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.spi.type.BigintType.BIGINT;
+import static io.trino.spi.type.BooleanType.BOOLEAN;
+import static io.trino.spi.type.DateType.DATE;
+import static io.trino.spi.type.DoubleType.DOUBLE;
+import static io.trino.spi.type.IntegerType.INTEGER;
+import static io.trino.spi.type.RealType.REAL;
+import static io.trino.spi.type.TimestampType.TIMESTAMP_MICROS;
+import static io.trino.spi.type.TimestampWithTimeZoneType.TIMESTAMP_TZ_MICROS;
+import static io.trino.spi.type.VarbinaryType.VARBINARY;
+import static java.lang.Float.intBitsToFloat;
+import static java.lang.Math.toIntExact;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.spi.Page;
+import io.trino.spi.block.Block;
+import io.trino.spi.connector.BucketFunction;
+import io.trino.spi.type.DecimalType;
+import io.trino.spi.type.Decimals;
+import io.trino.spi.type.LongTimestampWithTimeZone;
+import io.trino.spi.type.Type;
+import io.trino.spi.type.VarcharType;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * BucketFunction for Keyed Table. It hashes primary key values the same way as {@link
+ * com.netease.arctic.data.PrimaryKeyData}, so a row is put in the bucket whose index is the index
+ * of its {@link com.netease.arctic.data.DataTreeNode} under the bucket mask.
+ */
+public class KeyedBucketFunction implements BucketFunction {
+
+  private final List<Type> types;
+
+  private final long mask;
+
+  public KeyedBucketFunction(List<Type> types, int bucketCount) {
+    checkArgument(
+        bucketCount > 0 && (bucketCount & (bucketCount - 1)) == 0,
+        "bucketCount must be a power of 2: %s",
+        bucketCount);
+    this.types = ImmutableList.copyOf(types);
+    this.mask = bucketCount - 1;
+  }
+
+  @Override
+  public int getBucket(Page page, int position) {
+    int hash = 1;
+    for (int channel = 0; channel < types.size(); channel++) {
+      hash = 31 * hash + hashCode(types.get(channel), page.getBlock(channel), position);
+    }
+    // same as PrimaryKeyData#hashCode and PrimaryKeyData#treeNode
+    hash = Math.abs(hash);
+    if (hash == Integer.MIN_VALUE) {
+      hash = Integer.MAX_VALUE;
+    }
+    return (int) (hash & mask);
+  }
+
+  /**
+   * Hash code of the Java object a writer hands to {@link com.netease.arctic.data.PrimaryKeyData}
+   * for this value, e.g. {@link String} for varchar and microseconds {@link Long} for timestamps.
+   */
+  private static int hashCode(Type type, Block block, int position) {
+    if (block.isNull(position)) {
+      return 0;
+    }
+    if (type.equals(BOOLEAN)) {
+      return Boolean.hashCode(BOOLEAN.getBoolean(block, position));
+    } else if (type.equals(INTEGER) || type.equals(DATE)) {
+      return Integer.hashCode(toIntExact(type.getLong(block, position)));
+    } else if (type.equals(BIGINT) || type.equals(TIMESTAMP_MICROS)) {
+      return Long.hashCode(type.getLong(block, position));
+    } else if (type.equals(REAL)) {
+      return Float.hashCode(intBitsToFloat(toIntExact(REAL.getLong(block, position))));
+    } else if (type.equals(DOUBLE)) {
+      return Double.hashCode(DOUBLE.getDouble(block, position));
+    } else if (type instanceof DecimalType) {
+      return Decimals.readBigDecimal((DecimalType) type, block, position).hashCode();
+    } else if (type instanceof VarcharType) {
+      return ((VarcharType) type).getSlice(block, position).toStringUtf8().hashCode();
+    } else if (type.equals(VARBINARY)) {
+      return ByteBuffer.wrap(VARBINARY.getSlice(block, position).getBytes()).hashCode();
+    } else if (type.equals(TIMESTAMP_TZ_MICROS)) {
+      LongTimestampWithTimeZone value =
+          (LongTimestampWithTimeZone) TIMESTAMP_TZ_MICROS.getObject(block, position);
+      return Long.hashCode(value.getEpochMillis() * 1000 + value.getPicosOfMilli() / 1_000_000);
+    }
+    throw new UnsupportedOperationException("Unsupported primary key type for bucketing: " + type);
+  }
+
+  /** Whether primary keys of this iceberg type can be bucketed by {@link KeyedBucketFunction} */
+  public static boolean isSupportedType(org.apache.iceberg.types.Type type) {
+    switch (type.typeId()) {
+      case BOOLEAN:
+      case INTEGER:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+      case DATE:
+      case DECIMAL:
+      case STRING:
+      case BINARY:
+      case TIMESTAMP:
+        return true;
+      default:
+        return false;
+    }
+  }
+}
@@ -22,7 +22,12 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.netease.arctic.table.TableProperties.BASE_FILE_INDEX_HASH_BUCKET;
+import static com.netease.arctic.table.TableProperties.BASE_FILE_INDEX_HASH_BUCKET_DEFAULT;
+import static com.netease.arctic.table.TableProperties.CHANGE_FILE_INDEX_HASH_BUCKET;
+import static com.netease.arctic.table.TableProperties.CHANGE_FILE_INDEX_HASH_BUCKET_DEFAULT;
 import static com.netease.arctic.trino.ArcticSessionProperties.isArcticStatisticsEnabled;
+import static com.netease.arctic.trino.ArcticSessionProperties.isBucketExecutionEnabled;
 import static io.trino.plugin.hive.HiveApplyProjectionUtil.extractSupportedProjectedColumns;
 import static io.trino.plugin.hive.HiveApplyProjectionUtil.replaceWithNewVariables;
 import static io.trino.plugin.hive.util.HiveUtil.isHiveSystemSchema;
@@ -38,6 +43,7 @@ import com.google.common.collect.Lists;
 import com.netease.arctic.catalog.ArcticCatalog;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.table.KeyedTable;
+import com.netease.arctic.table.PrimaryKeySpec;
 import com.netease.arctic.table.TableIdentifier;
 import com.netease.arctic.trino.util.ObjectSerializerUtil;
 import io.trino.plugin.hive.HiveApplyProjectionUtil;
@@ -50,9 +56,12 @@ import io.trino.spi.connector.Assignment;
 import io.trino.spi.connector.ColumnHandle;
 import io.trino.spi.connector.ColumnMetadata;
 import io.trino.spi.connector.ConnectorMetadata;
+import io.trino.spi.connector.ConnectorPartitioningHandle;
 import io.trino.spi.connector.ConnectorSession;
 import io.trino.spi.connector.ConnectorTableHandle;
 import io.trino.spi.connector.ConnectorTableMetadata;
+import io.trino.spi.connector.ConnectorTablePartitioning;
+import io.trino.spi.connector.ConnectorTableProperties;
 import io.trino.spi.connector.Constraint;
 import io.trino.spi.connector.ConstraintApplicationResult;
 import io.trino.spi.connector.ProjectionApplicationResult;
@@ -67,6 +76,7 @@ import io.trino.spi.statistics.ColumnStatistics;
 import io.trino.spi.statistics.DoubleRange;
 import io.trino.spi.statistics.Estimate;
 import io.trino.spi.statistics.TableStatistics;
+import io.trino.spi.type.Type;
 import io.trino.spi.type.TypeManager;
 import org.apache.iceberg.PartitionSpecParser;
 import org.apache.iceberg.Schema;
@@ -74,6 +84,7 @@ import org.apache.iceberg.SchemaParser;
 import org.apache.iceberg.TableProperties;
 import org.apache.iceberg.exceptions.NotFoundException;
 import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.PropertyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -169,6 +180,92 @@ public class KeyedConnectorMetadata implements ConnectorMetadata {
     return new ConnectorTableMetadata(schemaTableName, columnMetadata);
   }
 
+  @Override
+  public ConnectorTableProperties getTableProperties(
+      ConnectorSession session, ConnectorTableHandle tableHandle) {
+    if (!isBucketExecutionEnabled(session)) {
+      return new ConnectorTableProperties();
+    }
+    KeyedTableHandle keyedTableHandle = (KeyedTableHandle) tableHandle;
+    IcebergTableHandle icebergTableHandle = keyedTableHandle.getIcebergTableHandle();
+    KeyedTable arcticTable =
+        getArcticTable(
+                new SchemaTableName(
+                    icebergTableHandle.getSchemaName(), icebergTableHandle.getTableName()))
+            .asKeyedTable();
+    return new ConnectorTableProperties(
+        TupleDomain.all(),
+        getTablePartitioning(arcticTable, keyedTableHandle.getReadBucketCount()),
+        Optional.empty(),
+        Optional.empty(),
+        ImmutableList.of());
+  }
+
+  /**
+   * Expose the primary key buckets of the table as its partitioning. Files of base store and change
+   * store are hashed into trees of different heights, the coarser one decides how many buckets
+   * every file fits in. Files of a finer node belong to the bucket of its index under the mask.
+   */
+  private Optional<ConnectorTablePartitioning> getTablePartitioning(
+      KeyedTable arcticTable, Optional<Integer> readBucketCount) {
+    Map<String, String> properties = arcticTable.properties();
+    int bucketCount =
+        Math.min(
+            PropertyUtil.propertyAsInt(
+                properties, BASE_FILE_INDEX_HASH_BUCKET, BASE_FILE_INDEX_HASH_BUCKET_DEFAULT),
+            PropertyUtil.propertyAsInt(
+                properties, CHANGE_FILE_INDEX_HASH_BUCKET, CHANGE_FILE_INDEX_HASH_BUCKET_DEFAULT));
+    if (readBucketCount.isPresent()) {
+      bucketCount = Math.min(bucketCount, readBucketCount.get());
+    }
+    if (bucketCount <= 0 || (bucketCount & (bucketCount - 1)) != 0) {
+      return Optional.empty();
+    }
+
+    Map<String, IcebergColumnHandle> columns =
+        getColumns(arcticTable.schema(), typeManager).stream()
+            .collect(toImmutableMap(IcebergColumnHandle::getName, Function.identity()));
+    ImmutableList.Builder<ColumnHandle> primaryKeyColumns = ImmutableList.builder();
+    ImmutableList.Builder<Type> primaryKeyTypes = ImmutableList.builder();
+    for (PrimaryKeySpec.PrimaryKeyField field : arcticTable.primaryKeySpec().fields()) {
+      Types.NestedField nestedField = arcticTable.schema().findField(field.fieldName());
+      IcebergColumnHandle column = columns.get(field.fieldName());
+      if (column == null || !KeyedBucketFunction.isSupportedType(nestedField.type())) {
+        return Optional.empty();
+      }
+      primaryKeyColumns.add(column);
+      primaryKeyTypes.add(column.getType());
+    }
+    return Optional.of(
+        new ConnectorTablePartitioning(
+            new KeyedPartitioningHandle(bucketCount, primaryKeyTypes.build()),
+            primaryKeyColumns.build()));
+  }
+
+  @Override
+  public Optional<ConnectorPartitioningHandle> getCommonPartitioningHandle(
+      ConnectorSession session,
+      ConnectorPartitioningHandle left,
+      ConnectorPartitioningHandle right) {
+    KeyedPartitioningHandle leftHandle = (KeyedPartitioningHandle) left;
+    KeyedPartitioningHandle rightHandle = (KeyedPartitioningHandle) right;
+    if (!leftHandle.getPrimaryKeyTypes().equals(rightHandle.getPrimaryKeyTypes())) {
+      return Optional.empty();
+    }
+    // bucket counts are powers of 2, so each finer bucket lies in exactly one coarser bucket
+    return Optional.of(
+        leftHandle.getBucketCount() <= rightHandle.getBucketCount() ? leftHandle : rightHandle);
+  }
+
+  @Override
+  public ConnectorTableHandle makeCompatiblePartitioning(
+      ConnectorSession session,
+      ConnectorTableHandle tableHandle,
+      ConnectorPartitioningHandle partitioningHandle) {
+    return ((KeyedTableHandle) tableHandle)
+        .withReadBucketCount(((KeyedPartitioningHandle) partitioningHandle).getBucketCount());
+  }
+
   @Override
   public Map<String, ColumnHandle> getColumnHandles(
       ConnectorSession session, ConnectorTableHandle tableHandle) {
@@ -306,7 +403,10 @@ public class KeyedConnectorMetadata implements ConnectorMetadata {
             icebergTableHandle.getMaxScannedFileSize());
     return Optional.of(
         new ConstraintApplicationResult<>(
-            new KeyedTableHandle(newIcebergTableHandle, table.getPrimaryKeySpecBytes()),
+            new KeyedTableHandle(
+                newIcebergTableHandle,
+                table.getPrimaryKeySpecBytes(),
+                table.getReadBucketCount()),
             remainingConstraint.transformKeys(ColumnHandle.class::cast),
             false));
   }
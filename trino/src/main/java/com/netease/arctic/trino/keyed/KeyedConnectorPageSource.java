@@ -22,7 +22,9 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Throwables.throwIfInstanceOf;
 import static com.netease.arctic.ArcticErrorCode.ARCTIC_BAD_DATA;
 import static io.trino.plugin.iceberg.IcebergErrorCode.ICEBERG_BAD_DATA;
+import static io.trino.spi.type.BigintType.BIGINT;
 import static java.util.Objects.requireNonNull;
+import static org.apache.iceberg.MetadataColumns.ROW_POSITION;
 
 import com.google.common.collect.ImmutableList;
 import com.netease.arctic.data.DataFileType;
@@ -38,6 +40,7 @@ import io.trino.plugin.iceberg.IcebergColumnHandle;
 import io.trino.plugin.iceberg.IcebergFileFormat;
 import io.trino.spi.Page;
 import io.trino.spi.TrinoException;
+import io.trino.spi.block.Block;
 import io.trino.spi.connector.ColumnHandle;
 import io.trino.spi.connector.ConnectorPageSource;
 import io.trino.spi.connector.ConnectorSession;
@@ -45,10 +48,10 @@ import io.trino.spi.connector.ConnectorTransactionHandle;
 import io.trino.spi.connector.DynamicFilter;
 import io.trino.spi.type.Type;
 import io.trino.spi.type.TypeManager;
-import org.apache.iceberg.io.CloseableIterable;
 import org.joda.time.DateTimeZone;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -76,6 +79,9 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
   private final Type[] requireColumnTypes;
   private final int[] expectedColumnIndexes;
   private final Iterator<ArcticFileScanTask> dataTasksIt;
+  private final int rowPositionChannel;
+  private boolean[] keepMask = new boolean[0];
+  private String currentDataPath;
 
   private boolean close;
   long completedPositions;
@@ -118,6 +124,11 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
         requiredColumns.stream().map(IcebergColumnHandle::getType).toArray(Type[]::new);
 
     this.dataTasksIt = split.getKeyedTableScanTask().dataTasks().iterator();
+    this.rowPositionChannel =
+        requiredColumns.stream()
+            .map(IcebergColumnHandle::getId)
+            .collect(Collectors.toList())
+            .indexOf(ROW_POSITION.fieldId());
   }
 
   @Override
@@ -165,24 +176,7 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
       }
 
       if (arcticDeleteFilter != null) {
-        int positionCount = page.getPositionCount();
-        int[] positionsToKeep = new int[positionCount];
-        try (CloseableIterable<TrinoRow> filteredRows =
-            arcticDeleteFilter.filter(
-                CloseableIterable.withNoopClose(
-                    TrinoRow.fromPage(requireColumnTypes, page, positionCount)))) {
-          int positionsToKeepCount = 0;
-          for (TrinoRow rowToKeep : filteredRows) {
-            positionsToKeep[positionsToKeepCount] = rowToKeep.getPosition();
-            positionsToKeepCount++;
-          }
-          page =
-              page.getPositions(positionsToKeep, 0, positionsToKeepCount)
-                  .getColumns(expectedColumnIndexes);
-        } catch (IOException e) {
-          throw new TrinoException(
-              ICEBERG_BAD_DATA, "Failed to filter rows during merge-on-read operation", e);
-        }
+        page = filterDeletes(page);
       }
 
       return page;
@@ -193,6 +187,63 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
     }
   }
 
+  /**
+   * Filters the deleted rows of a page by reading the blocks directly: position deletes are applied
+   * on the ranges of consecutive row positions, and equality deletes are probed through a row
+   * cursor, so no row object is created for each position.
+   */
+  private Page filterDeletes(Page page) {
+    int positionCount = page.getPositionCount();
+    if (keepMask.length < positionCount) {
+      keepMask = new boolean[positionCount];
+    }
+    boolean anyDeleted;
+    try {
+      anyDeleted = fillPositionKeepMask(page, positionCount);
+      TrinoRow row = TrinoRow.cursor(requireColumnTypes, page);
+      anyDeleted |= arcticDeleteFilter.fillEqDeleteKeepMask(row::moveTo, keepMask, positionCount);
+    } catch (RuntimeException e) {
+      throw new TrinoException(
+          ICEBERG_BAD_DATA, "Failed to filter rows during merge-on-read operation", e);
+    }
+
+    if (anyDeleted) {
+      int[] positionsToKeep = new int[positionCount];
+      int positionsToKeepCount = 0;
+      for (int position = 0; position < positionCount; position++) {
+        if (keepMask[position]) {
+          positionsToKeep[positionsToKeepCount++] = position;
+        }
+      }
+      page = page.getPositions(positionsToKeep, 0, positionsToKeepCount);
+    }
+    return page.getColumns(expectedColumnIndexes);
+  }
+
+  private boolean fillPositionKeepMask(Page page, int positionCount) {
+    if (rowPositionChannel < 0) {
+      Arrays.fill(keepMask, 0, positionCount, true);
+      return false;
+    }
+    Block rowPositions = page.getBlock(rowPositionChannel);
+    boolean anyDeleted = false;
+    int runStart = 0;
+    while (runStart < positionCount) {
+      // positions are usually consecutive in a page, unless some rows are skipped by the reader
+      long startPosition = BIGINT.getLong(rowPositions, runStart);
+      int runEnd = runStart + 1;
+      while (runEnd < positionCount
+          && BIGINT.getLong(rowPositions, runEnd) == startPosition + runEnd - runStart) {
+        runEnd++;
+      }
+      anyDeleted |=
+          arcticDeleteFilter.fillPositionKeepMask(
+              currentDataPath, startPosition, keepMask, runStart, runEnd - runStart);
+      runStart = runEnd;
+    }
+    return anyDeleted;
+  }
+
   @Override
   public long getMemoryUsage() {
     return current == null ? 0 : current.getMemoryUsage();
@@ -204,6 +255,9 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
     if (current != null) {
       current.close();
     }
+    if (arcticDeleteFilter != null) {
+      arcticDeleteFilter.closeEqDeletes();
+    }
   }
 
   protected void closeWithSuppression(Throwable throwable) {
@@ -258,7 +312,8 @@ public class KeyedConnectorPageSource implements ConnectorPageSource {
       idToConstant.put(MetadataColumns.FILE_OFFSET_FILED_ID, Optional.of(Long.MAX_VALUE + ""));
     }
 
-    arcticDeleteFilter.setCurrentDataPath(arcticFileScanTask.file().path().toString());
+    currentDataPath = arcticFileScanTask.file().path().toString();
+    arcticDeleteFilter.setCurrentDataPath(currentDataPath);
 
     return icebergPageSourceProvider.createPageSource(
         transaction,
@@ -40,14 +40,22 @@ public class KeyedConnectorSplit implements ConnectorSplit {
 
   private final String partitionDataJson;
 
+  private final long nodeMask;
+
+  private final long nodeIndex;
+
   @JsonCreator
   public KeyedConnectorSplit(
       @JsonProperty("keyedTableScanTaskBytes") byte[] keyedTableScanTaskBytes,
       @JsonProperty("partitionSpecJson") String partitionSpecJson,
-      @JsonProperty("partitionDataJson") String partitionDataJson) {
+      @JsonProperty("partitionDataJson") String partitionDataJson,
+      @JsonProperty("nodeMask") long nodeMask,
+      @JsonProperty("nodeIndex") long nodeIndex) {
     this.keyedTableScanTaskBytes = keyedTableScanTaskBytes;
     this.partitionSpecJson = partitionSpecJson;
     this.partitionDataJson = partitionDataJson;
+    this.nodeMask = nodeMask;
+    this.nodeIndex = nodeIndex;
   }
 
   @JsonProperty
@@ -69,6 +77,18 @@ public class KeyedConnectorSplit implements ConnectorSplit {
     return partitionDataJson;
   }
 
+  /** Mask of the {@link com.netease.arctic.data.DataTreeNode} all files of this split belong to */
+  @JsonProperty
+  public long getNodeMask() {
+    return nodeMask;
+  }
+
+  /** Index of the {@link com.netease.arctic.data.DataTreeNode} all files of this split belong to */
+  @JsonProperty
+  public long getNodeIndex() {
+    return nodeIndex;
+  }
+
   @Override
   public boolean isRemotelyAccessible() {
     return true;
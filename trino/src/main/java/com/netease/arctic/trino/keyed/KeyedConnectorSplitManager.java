@@ -123,7 +123,9 @@ public class KeyedConnectorSplitManager implements ConnectorSplitManager {
                         new KeyedConnectorSplit(
                             ObjectSerializerUtil.write(s),
                             PartitionSpecParser.toJson(arcticFileScanTask.spec()),
-                            PartitionData.toJson(arcticFileScanTask.file().partition()));
+                            PartitionData.toJson(arcticFileScanTask.file().partition()),
+                            arcticFileScanTask.file().node().mask(),
+                            arcticFileScanTask.file().node().index());
                     return keyedConnectorSplit;
                   })
               .collect(Collectors.toList());
@@ -23,6 +23,7 @@ import static io.trino.plugin.iceberg.TypeConverter.toIcebergType;
 
 import com.netease.arctic.hive.io.reader.AdaptHiveArcticDeleteFilter;
 import com.netease.arctic.scan.KeyedTableScanTask;
+import com.netease.arctic.table.MetadataColumns;
 import com.netease.arctic.table.PrimaryKeySpec;
 import com.netease.arctic.trino.delete.TrinoRow;
 import io.trino.plugin.iceberg.IcebergColumnHandle;
@@ -39,6 +40,8 @@ import java.util.Optional;
 public class KeyedDeleteFilter extends AdaptHiveArcticDeleteFilter<TrinoRow> {
 
   private final FileIO fileIO;
+  private final int transactionIdIndex;
+  private final int fileOffsetIndex;
 
   protected KeyedDeleteFilter(
       KeyedTableScanTask keyedTableScanTask,
@@ -52,6 +55,12 @@ public class KeyedDeleteFilter extends AdaptHiveArcticDeleteFilter<TrinoRow> {
         filterSchema(tableSchema, requestedSchema),
         primaryKeySpec);
     this.fileIO = fileIO;
+    List<Integer> fieldIds =
+        requiredSchema().columns().stream()
+            .map(Types.NestedField::fieldId)
+            .collect(toImmutableList());
+    this.transactionIdIndex = fieldIds.indexOf(MetadataColumns.TRANSACTION_ID_FILED_ID);
+    this.fileOffsetIndex = fieldIds.indexOf(MetadataColumns.FILE_OFFSET_FILED_ID);
   }
 
   @Override
@@ -59,6 +68,16 @@ public class KeyedDeleteFilter extends AdaptHiveArcticDeleteFilter<TrinoRow> {
     return record;
   }
 
+  @Override
+  protected long dataTransactionId(TrinoRow record) {
+    return record.getLong(transactionIdIndex);
+  }
+
+  @Override
+  protected long dataFileOffset(TrinoRow record) {
+    return record.getLong(fileOffsetIndex);
+  }
+
   @Override
   protected InputFile getInputFile(String location) {
     return fileIO.newInputFile(location);
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.trino.keyed;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+import io.trino.spi.connector.ConnectorPartitioningHandle;
+import io.trino.spi.type.Type;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * ConnectorPartitioningHandle for Keyed Table, rows are bucketed by the hash of primary key the
+ * same way as {@link com.netease.arctic.data.DataTreeNode} of files
+ */
+public class KeyedPartitioningHandle implements ConnectorPartitioningHandle {
+
+  private final int bucketCount;
+
+  private final List<Type> primaryKeyTypes;
+
+  @JsonCreator
+  public KeyedPartitioningHandle(
+      @JsonProperty("bucketCount") int bucketCount,
+      @JsonProperty("primaryKeyTypes") List<Type> primaryKeyTypes) {
+    this.bucketCount = bucketCount;
+    this.primaryKeyTypes =
+        ImmutableList.copyOf(requireNonNull(primaryKeyTypes, "primaryKeyTypes is null"));
+  }
+
+  @JsonProperty
+  public int getBucketCount() {
+    return bucketCount;
+  }
+
+  @JsonProperty
+  public List<Type> getPrimaryKeyTypes() {
+    return primaryKeyTypes;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    KeyedPartitioningHandle that = (KeyedPartitioningHandle) o;
+    return bucketCount == that.bucketCount && primaryKeyTypes.equals(that.primaryKeyTypes);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(bucketCount, primaryKeyTypes);
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("bucketCount", bucketCount)
+        .add("primaryKeyTypes", primaryKeyTypes)
+        .toString();
+  }
+}
@@ -26,6 +26,7 @@ import io.trino.plugin.iceberg.IcebergColumnHandle;
 import io.trino.plugin.iceberg.IcebergTableHandle;
 import io.trino.spi.connector.ConnectorTableHandle;
 
+import java.util.Optional;
 import java.util.Set;
 
 /** ConnectorTableHandle for Keyed Table, beside contain primary beside IcebergTableHandle */
@@ -37,12 +38,20 @@ public class KeyedTableHandle implements ConnectorTableHandle {
 
   private final byte[] primaryKeySpecBytes;
 
+  private final Optional<Integer> readBucketCount;
+
+  public KeyedTableHandle(IcebergTableHandle icebergTableHandle, byte[] primaryKeySpecBytes) {
+    this(icebergTableHandle, primaryKeySpecBytes, Optional.empty());
+  }
+
   @JsonCreator
   public KeyedTableHandle(
       @JsonProperty("icebergTableHandle") IcebergTableHandle icebergTableHandle,
-      @JsonProperty("primaryKeySpecBytes") byte[] primaryKeySpecBytes) {
+      @JsonProperty("primaryKeySpecBytes") byte[] primaryKeySpecBytes,
+      @JsonProperty("readBucketCount") Optional<Integer> readBucketCount) {
     this.icebergTableHandle = icebergTableHandle;
     this.primaryKeySpecBytes = primaryKeySpecBytes;
+    this.readBucketCount = readBucketCount;
   }
 
   @JsonProperty
@@ -55,6 +64,15 @@ public class KeyedTableHandle implements ConnectorTableHandle {
     return primaryKeySpecBytes;
   }
 
+  /**
+   * Number of buckets this table is read with in bucketed execution, set when it is joined with a
+   * table of coarser primary key buckets. Empty means the bucket count of the table itself.
+   */
+  @JsonProperty
+  public Optional<Integer> getReadBucketCount() {
+    return readBucketCount;
+  }
+
   public PrimaryKeySpec getPrimaryKeySpec() {
     if (primaryKeySpec == null) {
       this.primaryKeySpec = ObjectSerializerUtil.read(primaryKeySpecBytes, PrimaryKeySpec.class);
@@ -65,6 +83,11 @@ public class KeyedTableHandle implements ConnectorTableHandle {
   public KeyedTableHandle withProjectedColumns(Set<IcebergColumnHandle> projectedColumns) {
     IcebergTableHandle newIcebergTableHandle =
         icebergTableHandle.withProjectedColumns(projectedColumns);
-    return new KeyedTableHandle(newIcebergTableHandle, primaryKeySpecBytes);
+    return new KeyedTableHandle(newIcebergTableHandle, primaryKeySpecBytes, readBucketCount);
+  }
+
+  public KeyedTableHandle withReadBucketCount(int readBucketCount) {
+    return new KeyedTableHandle(
+        icebergTableHandle, primaryKeySpecBytes, Optional.of(readBucketCount));
   }
 }
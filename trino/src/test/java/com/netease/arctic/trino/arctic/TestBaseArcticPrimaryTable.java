@@ -19,16 +19,26 @@
 package com.netease.arctic.trino.arctic;
 
 import static com.netease.arctic.ams.api.MockArcticMetastoreServer.TEST_CATALOG_NAME;
+import static io.trino.SystemSessionProperties.COLOCATED_JOIN;
+import static io.trino.SystemSessionProperties.JOIN_DISTRIBUTION_TYPE;
+import static io.trino.sql.planner.optimizations.PlanNodeSearcher.searchFrom;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.common.collect.ImmutableMap;
 import com.netease.arctic.TestedCatalogs;
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.catalog.CatalogTestHelper;
+import com.netease.arctic.table.TableProperties;
+import io.trino.Session;
+import io.trino.sql.planner.OptimizerConfig.JoinDistributionType;
+import io.trino.sql.planner.Plan;
+import io.trino.sql.planner.plan.ExchangeNode;
 import io.trino.testing.QueryRunner;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.Test;
 
+import java.util.function.Consumer;
+
 public class TestBaseArcticPrimaryTable extends TableTestBaseWithInitDataForTrino {
 
   public static final String PK_TABLE_FULL_NAME = "arctic.test_db.test_pk_table";
@@ -78,6 +88,66 @@ public class TestBaseArcticPrimaryTable extends TableTestBaseWithInitDataForTrin
             + "(TIMESTAMP'2022-01-01 12:00:00', 'mack')");
   }
 
+  @Test
+  public void tableMORWithBucketExecution() {
+    Session session = bucketExecutionSession();
+    assertQuery(
+        session,
+        "select a.id from " + PK_TABLE_FULL_NAME + " a join " + PK_TABLE_FULL_NAME + " b "
+            + "on a.id = b.id",
+        "VALUES 1, 2, 3, 6",
+        assertNoRemoteExchangeExceptGather());
+    assertQuery(
+        session,
+        "select id, count(*) from " + PK_TABLE_FULL_NAME + " group by id",
+        "VALUES (1, 1), (2, 1), (3, 1), (6, 1)",
+        assertNoRemoteExchangeExceptGather());
+  }
+
+  @Test
+  public void tableMORWithBucketExecutionOfCoarserFiles() {
+    // files are written in 4 buckets, which are coarser than the 16 buckets of the table now
+    testKeyedTable
+        .updateProperties()
+        .set(TableProperties.BASE_FILE_INDEX_HASH_BUCKET, "16")
+        .set(TableProperties.CHANGE_FILE_INDEX_HASH_BUCKET, "16")
+        .commit();
+    try {
+      assertQueryFails(
+          bucketExecutionSession(),
+          "select id, count(*) from " + PK_TABLE_FULL_NAME + " group by id",
+          "Files of tree node \\(mask 3, index \\d+\\) are coarser than 16 buckets.*");
+    } finally {
+      testKeyedTable
+          .updateProperties()
+          .remove(TableProperties.BASE_FILE_INDEX_HASH_BUCKET)
+          .remove(TableProperties.CHANGE_FILE_INDEX_HASH_BUCKET)
+          .commit();
+    }
+  }
+
+  private Session bucketExecutionSession() {
+    return Session.builder(getSession())
+        .setCatalogSessionProperty("arctic", "arctic_bucket_execution_enabled", "true")
+        .setSystemProperty(COLOCATED_JOIN, "true")
+        .setSystemProperty(JOIN_DISTRIBUTION_TYPE, JoinDistributionType.PARTITIONED.name())
+        .build();
+  }
+
+  /** Rows of the same key are read by the same task, only the final output is gathered. */
+  private static Consumer<Plan> assertNoRemoteExchangeExceptGather() {
+    return plan ->
+        assertThat(
+                searchFrom(plan.getRoot())
+                    .where(
+                        node ->
+                            node instanceof ExchangeNode
+                                && ((ExchangeNode) node).getScope() == ExchangeNode.Scope.REMOTE
+                                && ((ExchangeNode) node).getType() != ExchangeNode.Type.GATHER)
+                    .findAll())
+            .isEmpty();
+  }
+
   @Test
   public void baseQuery() {
     assertQuery("select id from " + "arctic.test_db.\"test_pk_table#base\"", "VALUES 1, 2, 3");